@@ -3,10 +3,12 @@ package org.sahli.asciidoc.confluence.publisher.cli;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toList;
 
 class ArgumentsParser {
 
@@ -29,6 +31,14 @@ class ArgumentsParser {
                 });
     }
 
+    Optional<List<String>> optionalListArgument(String key, String[] args) {
+        return optionalArgument(key, args)
+                .map((values) -> stream(values.split(","))
+                        .map(String::trim)
+                        .filter((value) -> !value.isEmpty())
+                        .collect(toList()));
+    }
+
     String mandatoryArgument(String key, String[] args) {
         return optionalArgument(key, args)
                 .orElseThrow(() -> new IllegalArgumentException("mandatory argument '" + key + "' is missing"));
@@ -16,19 +16,28 @@
 
 package org.sahli.asciidoc.confluence.publisher.cli;
 
+import org.sahli.asciidoc.confluence.publisher.client.AttachmentDigestCache;
 import org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisher;
 import org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisherListener;
 import org.sahli.asciidoc.confluence.publisher.client.OrphanRemovalStrategy;
+import org.sahli.asciidoc.confluence.publisher.client.PublishCheckpoint;
+import org.sahli.asciidoc.confluence.publisher.client.PublishPlan;
+import org.sahli.asciidoc.confluence.publisher.client.PublishStateJournal;
 import org.sahli.asciidoc.confluence.publisher.client.PublishingStrategy;
+import org.sahli.asciidoc.confluence.publisher.client.http.AsyncConfluenceRestV2Client;
+import org.sahli.asciidoc.confluence.publisher.client.http.BlockingConfluenceClient;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceClient;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePage;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV1Client;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConnectionPoolConfiguration;
+import org.sahli.asciidoc.confluence.publisher.client.http.PaginationConfiguration;
 import org.sahli.asciidoc.confluence.publisher.client.http.ProxyConfiguration;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePublisherMetadata;
 import org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluenceConverter;
 import org.sahli.asciidoc.confluence.publisher.converter.AsciidocPagesStructureProvider;
 import org.sahli.asciidoc.confluence.publisher.converter.FolderBasedAsciidocPagesStructureProvider;
+import org.sahli.asciidoc.confluence.publisher.converter.GitDiffAsciidocPagesStructureProvider;
 import org.sahli.asciidoc.confluence.publisher.converter.PageTitlePostProcessor;
 import org.sahli.asciidoc.confluence.publisher.converter.PrefixAndSuffixPageTitlePostProcessor;
 
@@ -39,15 +48,22 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 import static java.lang.Double.parseDouble;
 import static java.lang.Integer.parseInt;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.createTempDirectory;
 import static java.nio.file.Files.delete;
 import static java.nio.file.Files.walkFileTree;
+import static java.nio.file.Files.write;
+import static java.util.Collections.emptyList;
 import static org.sahli.asciidoc.confluence.publisher.client.OrphanRemovalStrategy.REMOVE_ORPHANS;
 import static org.sahli.asciidoc.confluence.publisher.client.PublishingStrategy.APPEND_TO_ANCESTOR;
 
@@ -64,6 +80,21 @@ public class AsciidocConfluencePublisherCommandLineClient {
         String versionMessage = argumentsParser.optionalArgument("versionMessage", args).orElse(null);
         Double maxRequestsPerSecond = argumentsParser.optionalArgument("maxRequestsPerSecond", args).map((value) -> parseDouble(value)).orElse(null);
         Integer connectionTTL = argumentsParser.optionalArgument("connectionTimeToLive", args).map(value -> parseInt(value)).orElse(null);
+        Integer maxConnectionsTotal = argumentsParser.optionalArgument("maxConnectionsTotal", args).map((value) -> parseInt(value)).orElse(null);
+        Integer maxConnectionsPerRoute = argumentsParser.optionalArgument("maxConnectionsPerRoute", args).map((value) -> parseInt(value)).orElse(null);
+        Integer keepAliveTimeout = argumentsParser.optionalArgument("keepAliveTimeout", args).map((value) -> parseInt(value)).orElse(null);
+        Integer idleConnectionTimeout = argumentsParser.optionalArgument("idleConnectionTimeout", args).map((value) -> parseInt(value)).orElse(null);
+        Integer socketTimeout = argumentsParser.optionalArgument("socketTimeout", args).map((value) -> parseInt(value)).orElse(null);
+        Boolean tcpNoDelay = argumentsParser.optionalBooleanArgument("tcpNoDelay", args).orElse(null);
+        int publishingParallelism = argumentsParser.optionalArgument("publishingParallelism", args).map((value) -> parseInt(value)).orElse(1);
+        Integer childPagesPageSize = argumentsParser.optionalArgument("childPagesPageSize", args).map((value) -> parseInt(value)).orElse(null);
+        Integer attachmentsPageSize = argumentsParser.optionalArgument("attachmentsPageSize", args).map((value) -> parseInt(value)).orElse(null);
+        Integer labelsPageSize = argumentsParser.optionalArgument("labelsPageSize", args).map((value) -> parseInt(value)).orElse(null);
+        int conversionParallelism = argumentsParser.optionalArgument("conversionParallelism", args).map((value) -> parseInt(value)).orElse(1);
+        boolean incrementalConversion = argumentsParser.optionalBooleanArgument("incrementalConversion", args).orElse(false);
+        boolean scanPageHeaders = argumentsParser.optionalBooleanArgument("scanPageHeaders", args).orElse(false);
+        String gitBaseRevision = argumentsParser.optionalArgument("gitBaseRevision", args).orElse(null);
+        String gitHeadRevision = argumentsParser.optionalArgument("gitHeadRevision", args).orElse(null);
         PublishingStrategy publishingStrategy = PublishingStrategy.valueOf(argumentsParser.optionalArgument("publishingStrategy", args).orElse(APPEND_TO_ANCESTOR.name()));
         OrphanRemovalStrategy orphanRemovalStrategy = OrphanRemovalStrategy.valueOf(argumentsParser.optionalArgument("orphanRemovalStrategy", args).orElse(REMOVE_ORPHANS.name()));
 
@@ -80,6 +111,8 @@ public class AsciidocConfluencePublisherCommandLineClient {
         }
 
         Charset sourceEncoding = Charset.forName(argumentsParser.optionalArgument("sourceEncoding", args).orElse("UTF-8"));
+        List<String> sourceIncludes = argumentsParser.optionalListArgument("sourceIncludes", args).orElse(emptyList());
+        List<String> sourceExcludes = argumentsParser.optionalListArgument("sourceExcludes", args).orElse(emptyList());
         String prefix = argumentsParser.optionalArgument("pageTitlePrefix", args).orElse(null);
         String suffix = argumentsParser.optionalArgument("pageTitleSuffix", args).orElse(null);
         Map<String, Object> attributes = argumentsParser.optionalJsonArgument("attributes", args).orElseGet(Collections::emptyMap);
@@ -92,25 +125,75 @@ public class AsciidocConfluencePublisherCommandLineClient {
 
         boolean convertOnly = argumentsParser.optionalBooleanArgument("convertOnly", args).orElse(false);
         boolean notifyWatchers = argumentsParser.optionalBooleanArgument("notifyWatchers", args).orElse(true);
+        boolean useContentManifest = argumentsParser.optionalBooleanArgument("useContentManifest", args).orElse(false);
+        boolean pipelinedPublishing = argumentsParser.optionalBooleanArgument("pipelinedPublishing", args).orElse(false);
+        boolean asyncRequests = argumentsParser.optionalBooleanArgument("asyncRequests", args).orElse(false);
+        boolean deduplicateAttachments = argumentsParser.optionalBooleanArgument("deduplicateAttachments", args).orElse(false);
+        boolean publishStateJournal = argumentsParser.optionalBooleanArgument("publishStateJournal", args).orElse(false);
+        Path publishStateJournalFile = argumentsParser.optionalArgument("publishStateJournalFile", args).map(Paths::get).orElse(null);
+        boolean verifyPublishState = argumentsParser.optionalBooleanArgument("verifyPublishState", args).orElse(false);
+        int publishStateVerificationInterval = argumentsParser.optionalArgument("publishStateVerificationInterval", args).map((value) -> parseInt(value)).orElse(24);
+        boolean resumablePublishing = argumentsParser.optionalBooleanArgument("resumablePublishing", args).orElse(false);
+        Path publishCheckpointFile = argumentsParser.optionalArgument("publishCheckpointFile", args).map(Paths::get).orElse(null);
+        boolean dryRun = argumentsParser.optionalBooleanArgument("dryRun", args).orElse(false);
+        Path publishPlanFile = argumentsParser.optionalArgument("publishPlanFile", args).map(Paths::get).orElse(null);
         String restApiVersion = argumentsParser.optionalArgument("restApiVersion", args).orElse("v2");
         boolean failOnError = argumentsParser.optionalBooleanArgument("failOnError", args).orElse(true);
 
         try {
-            AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, sourceEncoding);
+            AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, sourceEncoding, sourceIncludes, sourceExcludes);
+            if (gitBaseRevision != null) {
+                asciidocPagesStructureProvider = new GitDiffAsciidocPagesStructureProvider(asciidocPagesStructureProvider, gitBaseRevision, gitHeadRevision);
+            }
+
             PageTitlePostProcessor pageTitlePostProcessor = new PrefixAndSuffixPageTitlePostProcessor(prefix, suffix);
 
-            AsciidocConfluenceConverter asciidocConfluenceConverter = new AsciidocConfluenceConverter(spaceKey, ancestorId);
+            AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder(spaceKey, ancestorId)
+                    .conversionParallelism(conversionParallelism)
+                    .incrementalConversion(incrementalConversion)
+                    .scanPageHeaders(scanPageHeaders)
+                    .build();
             ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, pageTitlePostProcessor, buildFolder, attributes);
 
             if (convertOnly) {
                 System.out.println("Publishing to Confluence skipped ('convert only' is enabled)");
             } else {
-                System.out.println("Publishing to Confluence (REST API " + restApiVersion + ")");
+                System.out.println((dryRun ? "Computing publish plan for Confluence (dry run, REST API " : "Publishing to Confluence (REST API ") + restApiVersion + ")");
                 ProxyConfiguration proxyConfiguration = new ProxyConfiguration(proxyScheme, proxyHost, proxyPort, proxyUsername, proxyPassword);
-
-                ConfluenceClient confluenceClient = buildConfluenceClient(restApiVersion, rootConfluenceUrl, proxyConfiguration, skipSslVerification, maxRequestsPerSecond, connectionTTL, username, password);
-                ConfluencePublisher confluencePublisher = new ConfluencePublisher(confluencePublisherMetadata, publishingStrategy, orphanRemovalStrategy, confluenceClient, new SystemOutLoggingConfluencePublisherListener(), versionMessage, notifyWatchers);
-                confluencePublisher.publish();
+                PaginationConfiguration paginationConfiguration = new PaginationConfiguration(childPagesPageSize, attachmentsPageSize, labelsPageSize);
+                ConnectionPoolConfiguration connectionPoolConfiguration = new ConnectionPoolConfiguration(maxConnectionsTotal, maxConnectionsPerRoute, keepAliveTimeout, idleConnectionTimeout, socketTimeout, tcpNoDelay);
+                boolean connectionSettingsConfigured = Stream.of(maxConnectionsTotal, maxConnectionsPerRoute, keepAliveTimeout, idleConnectionTimeout, socketTimeout, tcpNoDelay, connectionTTL).anyMatch(Objects::nonNull);
+
+                ConfluenceClient confluenceClient = buildConfluenceClient(restApiVersion, asyncRequests, rootConfluenceUrl, proxyConfiguration, paginationConfiguration, connectionPoolConfiguration, connectionSettingsConfigured, skipSslVerification, maxRequestsPerSecond, connectionTTL, username, password);
+                ConfluencePublisher confluencePublisher = ConfluencePublisher.builder(confluencePublisherMetadata, confluenceClient)
+                        .publishingStrategy(publishingStrategy)
+                        .orphanRemovalStrategy(orphanRemovalStrategy)
+                        .confluencePublisherListener(new SystemOutLoggingConfluencePublisherListener())
+                        .versionMessage(versionMessage)
+                        .notifyWatchers(notifyWatchers)
+                        .publishingParallelism(publishingParallelism)
+                        .useContentManifest(useContentManifest)
+                        .pipelinedPublishing(pipelinedPublishing)
+                        .attachmentDigestCache(AttachmentDigestCache.load(buildFolder.resolve(AttachmentDigestCache.DEFAULT_CACHE_FILE_NAME)))
+                        .deduplicateAttachments(deduplicateAttachments)
+                        .publishStateJournal(publishStateJournal ? PublishStateJournal.load(publishStateJournalFile != null ? publishStateJournalFile : buildFolder.resolve(PublishStateJournal.DEFAULT_JOURNAL_FILE_NAME),
+                                Duration.ofHours(publishStateVerificationInterval), verifyPublishState) : PublishStateJournal.disabled())
+                        .publishCheckpoint(resumablePublishing ? PublishCheckpoint.load(publishCheckpointFile != null ? publishCheckpointFile : buildFolder.resolve(PublishCheckpoint.DEFAULT_CHECKPOINT_FILE_NAME)) : PublishCheckpoint.disabled())
+                        .build();
+
+                if (dryRun) {
+                    PublishPlan publishPlan = confluencePublisher.plan();
+                    printPublishPlan(publishPlan);
+
+                    if (publishPlanFile != null) {
+                        write(publishPlanFile, publishPlan.toJson().getBytes(UTF_8));
+                        System.out.println("Publish plan written to '" + publishPlanFile.toAbsolutePath() + "'");
+                    }
+                } else {
+                    confluencePublisher.publish();
+                }
+
+                confluenceClient.connectionPoolStatistics().ifPresent((statistics) -> System.out.println("Connection pool: " + statistics));
             }
         } catch (Exception e) {
             if (failOnError) {
@@ -125,14 +208,34 @@ public class AsciidocConfluencePublisherCommandLineClient {
         }
     }
 
-    private static ConfluenceClient buildConfluenceClient(String restApiVersion, String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, boolean skipSslVerification, Double maxRequestsPerSecond, Integer connectionTTL, String username, String password) {
+    private static ConfluenceClient buildConfluenceClient(String restApiVersion, boolean asyncRequests, String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, PaginationConfiguration paginationConfiguration, ConnectionPoolConfiguration connectionPoolConfiguration, boolean connectionSettingsConfigured, boolean skipSslVerification, Double maxRequestsPerSecond, Integer connectionTTL, String username, String password) {
         if ("v1".equals(restApiVersion)) {
-            return new ConfluenceRestV1Client(rootConfluenceUrl, proxyConfiguration, skipSslVerification, false, maxRequestsPerSecond, connectionTTL, username, password);
+            if (asyncRequests) {
+                System.out.println("Asynchronous requests are only supported for REST API v2, using blocking requests");
+            }
+
+            return new ConfluenceRestV1Client(rootConfluenceUrl, proxyConfiguration, connectionPoolConfiguration, skipSslVerification, false, maxRequestsPerSecond, connectionTTL, username, password);
+        } else if (asyncRequests && skipSslVerification) {
+            System.out.println("Asynchronous requests do not support skipping the SSL hostname verification, using blocking requests");
+
+            return new ConfluenceRestV2Client(rootConfluenceUrl, proxyConfiguration, paginationConfiguration, connectionPoolConfiguration, skipSslVerification, false, maxRequestsPerSecond, connectionTTL, username, password);
+        } else if (asyncRequests) {
+            if (connectionSettingsConfigured) {
+                System.out.println("Connection pool settings and connection time to live are not supported with asynchronous requests, using the connection handling of the JDK http client");
+            }
+
+            return new BlockingConfluenceClient(new AsyncConfluenceRestV2Client(rootConfluenceUrl, proxyConfiguration, paginationConfiguration, skipSslVerification, false, maxRequestsPerSecond, username, password));
         } else {
-            return new ConfluenceRestV2Client(rootConfluenceUrl, proxyConfiguration, skipSslVerification, false, maxRequestsPerSecond, connectionTTL, username, password);
+            return new ConfluenceRestV2Client(rootConfluenceUrl, proxyConfiguration, paginationConfiguration, connectionPoolConfiguration, skipSslVerification, false, maxRequestsPerSecond, connectionTTL, username, password);
         }
     }
 
+    private static void printPublishPlan(PublishPlan publishPlan) {
+        publishPlan.getOperations().forEach((operation) -> System.out.println("Planned " + operation));
+        publishPlan.getSummary().forEach((type, count) -> System.out.println("Planned " + type + " operations: " + count));
+        System.out.println("Estimated requests: " + publishPlan.getEstimatedRequests() + " (" + publishPlan.getReadRequests() + " read, " + publishPlan.getWriteRequests() + " write)");
+    }
+
     private static void deleteDirectory(Path buildFolder) throws IOException {
         walkFileTree(buildFolder, new SimpleFileVisitor<Path>() {
 
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePageMetadata;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.write;
+import static java.util.regex.Pattern.compile;
+import static java.util.regex.Pattern.quote;
+import static org.sahli.asciidoc.confluence.publisher.client.utils.InputStreamUtils.fileContent;
+
+/**
+ * Removes attachments with the same content from all but one page (the first page in pre-order of the page tree that
+ * attaches the content), so that each distinct attachment content is only uploaded once. References to a removed
+ * attachment in the content of a page are rewritten to reference the attachment of the owning page instead. The
+ * rewritten content is written to a separate file next to the original content file, which is left unchanged.
+ */
+class AttachmentDeduplicator {
+
+    private static final String DEDUPLICATED_CONTENT_FILE_PREFIX = "deduplicated-";
+
+    private final AttachmentDigestCache attachmentDigestCache;
+    private final Map<String, AttachmentOwner> attachmentOwnersByDigest = new HashMap<>();
+
+    AttachmentDeduplicator(AttachmentDigestCache attachmentDigestCache) {
+        this.attachmentDigestCache = attachmentDigestCache;
+    }
+
+    void deduplicate(List<ConfluencePageMetadata> pages) {
+        pages.forEach((page) -> {
+            deduplicate(page);
+            deduplicate(page.getChildren());
+        });
+    }
+
+    private void deduplicate(ConfluencePageMetadata page) {
+        Map<String, AttachmentOwner> duplicateAttachments = new TreeMap<>();
+
+        new TreeMap<>(page.getAttachments()).forEach((attachmentFileName, attachmentPath) -> {
+            String digest = this.attachmentDigestCache.digest(Paths.get(attachmentPath));
+            AttachmentOwner attachmentOwner = this.attachmentOwnersByDigest.putIfAbsent(digest, new AttachmentOwner(page, attachmentFileName));
+
+            if (attachmentOwner != null) {
+                duplicateAttachments.put(attachmentFileName, attachmentOwner);
+            }
+        });
+
+        if (duplicateAttachments.isEmpty()) {
+            return;
+        }
+
+        String content = fileContent(page.getContentFilePath(), UTF_8);
+
+        for (Map.Entry<String, AttachmentOwner> duplicateAttachment : duplicateAttachments.entrySet()) {
+            page.getAttachments().remove(duplicateAttachment.getKey());
+            content = replaceAttachmentReferences(content, duplicateAttachment.getKey(), duplicateAttachment.getValue(), page);
+        }
+
+        page.setContentFilePath(writeDeduplicatedContent(Paths.get(page.getContentFilePath()), content).toString());
+    }
+
+    private static String replaceAttachmentReferences(String content, String attachmentFileName, AttachmentOwner attachmentOwner, ConfluencePageMetadata page) {
+        Pattern attachmentReferencePattern = compile("<ri:attachment ri:filename=\"" + quote(attachmentFileName) + "\"\\s*(/?)>");
+        Matcher matcher = attachmentReferencePattern.matcher(content);
+        StringBuffer replacedContent = new StringBuffer();
+
+        while (matcher.find()) {
+            boolean selfClosing = !matcher.group(1).isEmpty();
+            String pageReference = attachmentOwner.page != page ? "<ri:page ri:content-title=\"" + escapeXmlAttribute(attachmentOwner.page.getTitle()) + "\"/>" : "";
+            String replacement = "<ri:attachment ri:filename=\"" + attachmentOwner.attachmentFileName + "\">" + pageReference + (selfClosing ? "</ri:attachment>" : "");
+
+            matcher.appendReplacement(replacedContent, Matcher.quoteReplacement(replacement));
+        }
+
+        matcher.appendTail(replacedContent);
+
+        return replacedContent.toString();
+    }
+
+    private static Path writeDeduplicatedContent(Path contentFilePath, String content) {
+        String contentFileName = contentFilePath.getFileName().toString();
+        Path deduplicatedContentFilePath = contentFilePath.resolveSibling(contentFileName.startsWith(DEDUPLICATED_CONTENT_FILE_PREFIX)
+                ? contentFileName
+                : DEDUPLICATED_CONTENT_FILE_PREFIX + contentFileName);
+
+        try {
+            write(deduplicatedContentFilePath, content.getBytes(UTF_8));
+
+            return deduplicatedContentFilePath;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write deduplicated content to '" + deduplicatedContentFilePath + "'", e);
+        }
+    }
+
+    private static String escapeXmlAttribute(String value) {
+        return value
+                .replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+
+
+    private static class AttachmentOwner {
+
+        private final ConfluencePageMetadata page;
+        private final String attachmentFileName;
+
+        AttachmentOwner(ConfluencePageMetadata page, String attachmentFileName) {
+            this.page = page;
+            this.attachmentFileName = attachmentFileName;
+        }
+
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.sahli.asciidoc.confluence.publisher.client.support.RuntimeUse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+
+/**
+ * Cache of the SHA-256 digests of attachment files, keyed by the absolute path, size and last modification time of the
+ * files. Each attachment file is hashed at most once per run (even if it is attached to several pages), and digests
+ * can be kept across runs in a JSON file (e.g. in the build folder), so that unchanged attachments are not read again.
+ */
+public class AttachmentDigestCache {
+
+    public static final String DEFAULT_CACHE_FILE_NAME = "attachment-digests.json";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path cacheFile;
+    private final Map<String, CachedDigest> previousDigests;
+    private final Map<String, CachedDigest> currentDigests = new ConcurrentHashMap<>();
+
+    private AttachmentDigestCache(Path cacheFile, Map<String, CachedDigest> previousDigests) {
+        this.cacheFile = cacheFile;
+        this.previousDigests = previousDigests;
+    }
+
+    /**
+     * @return a cache that keeps digests for the current run only
+     */
+    public static AttachmentDigestCache inMemory() {
+        return new AttachmentDigestCache(null, new HashMap<>());
+    }
+
+    /**
+     * @return a cache that is initialized from (and saved to) the given file
+     */
+    public static AttachmentDigestCache load(Path cacheFile) {
+        return new AttachmentDigestCache(cacheFile, readCachedDigests(cacheFile));
+    }
+
+    /**
+     * Computes the digests of the given attachment files concurrently, so that they are available from the cache
+     * afterwards.
+     */
+    void digestAll(Collection<Path> attachmentPaths) {
+        attachmentPaths.stream()
+                .distinct()
+                .parallel()
+                .forEach(this::digest);
+    }
+
+    String digest(Path attachmentPath) {
+        String attachmentId = attachmentPath.toAbsolutePath().normalize().toString();
+        CachedDigest currentDigest = this.currentDigests.get(attachmentId);
+
+        if (currentDigest != null) {
+            return currentDigest.getDigest();
+        }
+
+        BasicFileAttributes attributes = attributes(attachmentPath);
+        CachedDigest previousDigest = this.previousDigests.get(attachmentId);
+        CachedDigest digest = previousDigest != null && previousDigest.matches(attributes)
+                ? previousDigest
+                : new CachedDigest(attributes.size(), attributes.lastModifiedTime().toMillis(), sha256Hex(attachmentPath));
+
+        this.currentDigests.put(attachmentId, digest);
+
+        return digest.getDigest();
+    }
+
+    void save() {
+        if (this.cacheFile == null) {
+            return;
+        }
+
+        try {
+            createDirectories(this.cacheFile.toAbsolutePath().getParent());
+            Path temporaryCacheFile = this.cacheFile.resolveSibling(this.cacheFile.getFileName() + ".tmp");
+            write(temporaryCacheFile, OBJECT_MAPPER.writeValueAsBytes(new TreeMap<>(this.currentDigests)));
+            move(temporaryCacheFile, this.cacheFile, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write attachment digest cache to '" + this.cacheFile + "'", e);
+        }
+    }
+
+    private static BasicFileAttributes attributes(Path attachmentPath) {
+        try {
+            return readAttributes(attachmentPath, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException("Could not find attachment ", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read attributes of attachment '" + attachmentPath + "'", e);
+        }
+    }
+
+    private static String sha256Hex(Path attachmentPath) {
+        MessageDigest digest = getSha256Digest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(attachmentPath, READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not compute hash of attachment '" + attachmentPath + "'", e);
+        }
+
+        return encodeHexString(digest.digest());
+    }
+
+    private static Map<String, CachedDigest> readCachedDigests(Path cacheFile) {
+        if (!exists(cacheFile)) {
+            return new HashMap<>();
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(cacheFile.toFile(), new TypeReference<HashMap<String, CachedDigest>>() {
+            });
+        } catch (IOException e) {
+            // an unreadable cache (e.g. written by an incompatible version) is discarded and rebuilt
+            return new HashMap<>();
+        }
+    }
+
+
+    static class CachedDigest {
+
+        private long size;
+        private long lastModified;
+        private String digest;
+
+        CachedDigest() {
+        }
+
+        CachedDigest(long size, long lastModified, String digest) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.digest = digest;
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return this.digest != null && this.size == attributes.size() && this.lastModified == attributes.lastModifiedTime().toMillis();
+        }
+
+        public long getSize() {
+            return this.size;
+        }
+
+        @RuntimeUse
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        public long getLastModified() {
+            return this.lastModified;
+        }
+
+        @RuntimeUse
+        public void setLastModified(long lastModified) {
+            this.lastModified = lastModified;
+        }
+
+        public String getDigest() {
+            return this.digest;
+        }
+
+        @RuntimeUse
+        public void setDigest(String digest) {
+            this.digest = digest;
+        }
+
+    }
+
+}
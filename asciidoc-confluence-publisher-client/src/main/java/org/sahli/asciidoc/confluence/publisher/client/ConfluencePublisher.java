@@ -16,29 +16,48 @@
 
 package org.sahli.asciidoc.confluence.publisher.client;
 
+import org.sahli.asciidoc.confluence.publisher.client.http.AsyncConfluenceClient;
+import org.sahli.asciidoc.confluence.publisher.client.http.AttachmentInputStream;
+import org.sahli.asciidoc.confluence.publisher.client.http.BlockingConfluenceClient;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceAttachment;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceClient;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceDescendantPage;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePage;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePageState;
 import org.sahli.asciidoc.confluence.publisher.client.http.NotFoundException;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePageMetadata;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePublisherMetadata;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.anyOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.sahli.asciidoc.confluence.publisher.client.OrphanRemovalStrategy.REMOVE_ORPHANS;
+import static org.sahli.asciidoc.confluence.publisher.client.PublishingStrategy.APPEND_TO_ANCESTOR;
 import static org.sahli.asciidoc.confluence.publisher.client.PublishingStrategy.REPLACE_ANCESTOR;
 import static org.sahli.asciidoc.confluence.publisher.client.utils.AssertUtils.assertMandatoryParameter;
 import static org.sahli.asciidoc.confluence.publisher.client.utils.InputStreamUtils.fileContent;
@@ -51,6 +70,7 @@ public class ConfluencePublisher {
 
     static final String CONTENT_HASH_PROPERTY_KEY = "content-hash";
     static final String ATTACHMENT_HASH_SUFFIX = "-attachment-hash";
+    static final String CONTENT_MANIFEST_PROPERTY_KEY = "content-manifest";
     static final int INITIAL_PAGE_VERSION = 1;
 
     private final ConfluencePublisherMetadata metadata;
@@ -60,37 +80,167 @@ public class ConfluencePublisher {
     private final ConfluencePublisherListener confluencePublisherListener;
     private final String versionMessage;
     private final boolean notifyWatchers;
+    private final int publishingParallelism;
+    private final boolean useContentManifest;
+    private final boolean pipelinedPublishing;
+    private final AttachmentDigestCache attachmentDigestCache;
+    private final boolean deduplicateAttachments;
+    private final PublishStateJournal publishStateJournal;
+    private final PublishCheckpoint publishCheckpoint;
 
     public ConfluencePublisher(ConfluencePublisherMetadata metadata, PublishingStrategy publishingStrategy, OrphanRemovalStrategy orphanRemovalStrategy,
                                ConfluenceClient confluenceClient, ConfluencePublisherListener confluencePublisherListener,
                                String versionMessage, boolean notifyWatchers) {
-        this.metadata = metadata;
-        this.publishingStrategy = publishingStrategy;
-        this.orphanRemovalStrategy = orphanRemovalStrategy;
-        this.confluenceClient = confluenceClient;
-        this.confluencePublisherListener = confluencePublisherListener != null ? confluencePublisherListener : new NoOpConfluencePublisherListener();
-        this.versionMessage = versionMessage;
-        this.notifyWatchers = notifyWatchers;
+        this(builder(metadata, confluenceClient)
+                .publishingStrategy(publishingStrategy)
+                .orphanRemovalStrategy(orphanRemovalStrategy)
+                .confluencePublisherListener(confluencePublisherListener)
+                .versionMessage(versionMessage)
+                .notifyWatchers(notifyWatchers));
+    }
+
+    private ConfluencePublisher(Builder builder) {
+        if (builder.publishingParallelism < 1) {
+            throw new IllegalArgumentException("publishingParallelism must be greater than 0");
+        }
+
+        this.metadata = builder.metadata;
+        this.publishingStrategy = builder.publishingStrategy;
+        this.orphanRemovalStrategy = builder.orphanRemovalStrategy;
+        this.confluenceClient = builder.confluenceClient;
+        this.confluencePublisherListener = builder.confluencePublisherListener != null ? builder.confluencePublisherListener : new NoOpConfluencePublisherListener();
+        this.versionMessage = builder.versionMessage;
+        this.notifyWatchers = builder.notifyWatchers;
+        this.publishingParallelism = builder.publishingParallelism;
+        this.useContentManifest = builder.useContentManifest;
+        this.pipelinedPublishing = builder.pipelinedPublishing;
+        this.attachmentDigestCache = builder.attachmentDigestCache != null ? builder.attachmentDigestCache : AttachmentDigestCache.inMemory();
+        this.deduplicateAttachments = builder.deduplicateAttachments;
+        this.publishStateJournal = builder.publishStateJournal != null ? builder.publishStateJournal : PublishStateJournal.disabled();
+        this.publishCheckpoint = builder.publishCheckpoint != null ? builder.publishCheckpoint : PublishCheckpoint.disabled();
+    }
+
+    /**
+     * @return builder of a publisher with the given metadata and client, publishing with {@link
+     * PublishingStrategy#APPEND_TO_ANCESTOR} and {@link OrphanRemovalStrategy#REMOVE_ORPHANS} unless configured otherwise
+     */
+    public static Builder builder(ConfluencePublisherMetadata metadata, ConfluenceClient confluenceClient) {
+        return new Builder(metadata, confluenceClient);
     }
 
     public void publish() {
         assertMandatoryParameter(isNotBlank(this.metadata.getSpaceKey()), "spaceKey");
         assertMandatoryParameter(isNotBlank(this.metadata.getAncestorId()), "ancestorId");
 
-        switch (this.publishingStrategy) {
-            case APPEND_TO_ANCESTOR:
-                startPublishingUnderAncestorId(this.metadata.getPages(), this.metadata.getSpaceKey(), this.metadata.getAncestorId());
-                break;
-            case REPLACE_ANCESTOR:
-                startPublishingReplacingAncestorId(singleRootPage(this.metadata), this.metadata.getSpaceKey(), this.metadata.getAncestorId());
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid publishing strategy '" + this.publishingStrategy + "'");
+        // attachments are hashed concurrently up-front, and the digests re-used when publishing the pages
+        this.attachmentDigestCache.digestAll(attachmentPaths(this.metadata.getPages()));
+
+        if (this.deduplicateAttachments) {
+            new AttachmentDeduplicator(this.attachmentDigestCache).deduplicate(this.metadata.getPages());
+        }
+
+        this.publishStateJournal.begin(this.metadata.getSpaceKey(), this.metadata.getAncestorId());
+
+        if (this.pipelinedPublishing) {
+            // the journal file stays deleted, as the pages published by the pipelined writes are not journaled
+            publishPipelined();
+        } else {
+            this.publishCheckpoint.begin(this::publishGeneration);
+
+            switch (this.publishingStrategy) {
+                case APPEND_TO_ANCESTOR:
+                    startPublishingUnderAncestorId(this.metadata.getPages(), this.metadata.getSpaceKey(), this.metadata.getAncestorId());
+                    break;
+                case REPLACE_ANCESTOR:
+                    startPublishingReplacingAncestorId(singleRootPage(this.metadata), this.metadata.getSpaceKey(), this.metadata.getAncestorId());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid publishing strategy '" + this.publishingStrategy + "'");
+            }
+
+            if (this.orphanRemovalStrategy == REMOVE_ORPHANS && this.publishStateJournal.isTrusted()) {
+                deleteStaleJournaledPages();
+            }
+
+            // the sub-trees skipped when resuming are not journaled, so the journal stays deleted and is verified next time
+            if (!this.publishCheckpoint.isResuming()) {
+                this.publishStateJournal.save();
+            }
+
+            this.publishCheckpoint.complete();
         }
 
+        this.attachmentDigestCache.save();
         this.confluencePublisherListener.publishCompleted();
     }
 
+    /**
+     * Computes the changes {@link #publish()} would apply to Confluence, without applying them. Only read requests are
+     * sent to Confluence, and no listener callbacks are triggered.
+     */
+    public PublishPlan plan() {
+        PlanningConfluenceClient planningConfluenceClient = new PlanningConfluenceClient(this.confluenceClient);
+        ConfluencePublisher planningConfluencePublisher = planningConfluencePublisher(planningConfluenceClient, null)
+                .deduplicateAttachments(this.deduplicateAttachments)
+                .build();
+
+        planningConfluencePublisher.publish();
+
+        return planningConfluenceClient.publishPlan();
+    }
+
+    private void publishPipelined() {
+        PlanningConfluenceClient planningConfluenceClient = new PlanningConfluenceClient(this.confluenceClient);
+        ConfluencePublisher planningConfluencePublisher = planningConfluencePublisher(planningConfluenceClient, planningConfluenceClient.deferringListener()).build();
+
+        planningConfluencePublisher.publish();
+
+        if (this.confluenceClient instanceof BlockingConfluenceClient) {
+            // writes are sent directly via the non-blocking client, without a thread per concurrent write
+            AsyncConfluenceClient asyncConfluenceClient = ((BlockingConfluenceClient) this.confluenceClient).asyncConfluenceClient();
+            new PlannedWriteExecutor(asyncConfluenceClient, this.confluencePublisherListener, this.publishingParallelism).execute(planningConfluenceClient.plannedWrites());
+
+            return;
+        }
+
+        ExecutorService executorService = newFixedThreadPool(this.publishingParallelism, new PublishingThreadFactory());
+
+        try {
+            AsyncConfluenceClient asyncConfluenceClient = new ExecutorAsyncConfluenceClient(this.confluenceClient, executorService);
+            new PlannedWriteExecutor(asyncConfluenceClient, this.confluencePublisherListener, this.publishingParallelism).execute(planningConfluenceClient.plannedWrites());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private String publishGeneration() {
+        StringBuilder generation = new StringBuilder()
+                .append(this.metadata.getSpaceKey()).append('\n')
+                .append(this.metadata.getAncestorId()).append('\n')
+                .append(this.publishingStrategy).append('\n')
+                .append(this.orphanRemovalStrategy).append('\n');
+        appendPageTree(generation, this.metadata.getPages(), 0);
+
+        return hash(generation.toString());
+    }
+
+    private void appendPageTree(StringBuilder generation, List<ConfluencePageMetadata> pages, int depth) {
+        pages.forEach((page) -> {
+            generation.append(depth).append(' ').append(contentManifest(page, fileContent(page.getContentFilePath(), UTF_8)).toJson()).append('\n');
+            appendPageTree(generation, page.getChildren(), depth + 1);
+        });
+    }
+
+    private static List<Path> attachmentPaths(List<ConfluencePageMetadata> pages) {
+        List<Path> attachmentPaths = new ArrayList<>();
+        pages.forEach((page) -> {
+            page.getAttachments().values().forEach((attachmentPath) -> attachmentPaths.add(Paths.get(attachmentPath)));
+            attachmentPaths.addAll(attachmentPaths(page.getChildren()));
+        });
+
+        return attachmentPaths;
+    }
+
     private static ConfluencePageMetadata singleRootPage(ConfluencePublisherMetadata metadata) {
         List<ConfluencePageMetadata> rootPages = metadata.getPages();
 
@@ -111,50 +261,447 @@ public class ConfluencePublisher {
 
     private void startPublishingReplacingAncestorId(ConfluencePageMetadata rootPage, String spaceKey, String ancestorId) {
         if (rootPage != null) {
-            updatePage(ancestorId, null, rootPage);
+            if (this.publishCheckpoint.confirmedContentId(null, rootPage.getTitle()).isPresent()) {
+                return;
+            }
 
-            addOrUpdateLabels(ancestorId, rootPage.getLabels());
+            ContentManifest contentManifest = contentManifest(rootPage, fileContent(rootPage.getContentFilePath(), UTF_8));
 
-            deleteConfluenceAttachmentsNotPresentUnderPage(ancestorId, rootPage.getAttachments());
-            addAttachments(ancestorId, rootPage.getAttachments());
+            if (this.publishStateJournal.unchangedContentId(null, contentManifest).isPresent()) {
+                startPublishingUnderAncestorId(rootPage.getChildren(), spaceKey, ancestorId);
+                this.publishCheckpoint.subtreeConfirmed(null, rootPage.getTitle(), ancestorId);
 
+                return;
+            }
+
+            if (this.useContentManifest) {
+                publishExistingPageUsingContentManifest(ancestorId, null, rootPage);
+            } else {
+                updatePage(ancestorId, null, rootPage);
+
+                addOrUpdateLabels(ancestorId, rootPage.getLabels());
+
+                deleteConfluenceAttachmentsNotPresentUnderPage(ancestorId, rootPage.getAttachments());
+                addAttachments(ancestorId, rootPage.getAttachments());
+            }
+
+            this.publishStateJournal.record(null, ancestorId, contentManifest);
             startPublishingUnderAncestorId(rootPage.getChildren(), spaceKey, ancestorId);
+            this.publishCheckpoint.subtreeConfirmed(null, rootPage.getTitle(), ancestorId);
         }
     }
 
     private void startPublishingUnderAncestorId(List<ConfluencePageMetadata> pages, String spaceKey, String ancestorId) {
-        if (this.orphanRemovalStrategy == REMOVE_ORPHANS) {
-            deleteConfluencePagesNotPresentUnderAncestor(pages, ancestorId);
+        if (this.publishingParallelism > 1) {
+            publishConcurrentlyUnderAncestorId(pages, spaceKey, ancestorId);
+        } else {
+            publishSequentiallyUnderAncestorId(pages, spaceKey, ancestorId);
         }
-        pages.forEach(page -> {
-            try {
-                String contentId = addOrUpdatePageUnderAncestor(spaceKey, ancestorId, page);
+    }
 
-                addOrUpdateLabels(contentId, page.getLabels());
+    private void publishSequentiallyUnderAncestorId(List<ConfluencePageMetadata> pages, String spaceKey, String ancestorId) {
+        // the child pages listed for orphan removal are re-used to look up existing pages without a request per page
+        Map<String, String> existingChildPageIdsByTitle = this.orphanRemovalStrategy == REMOVE_ORPHANS && !this.publishStateJournal.isTrusted()
+                ? deleteConfluencePagesNotPresentUnderAncestor(pages, ancestorId)
+                : emptyMap();
 
-                deleteConfluenceAttachmentsNotPresentUnderPage(contentId, page.getAttachments());
-                addAttachments(contentId, page.getAttachments());
+        pages.forEach(page -> {
+            if (this.publishCheckpoint.confirmedContentId(ancestorId, page.getTitle()).isPresent()) {
+                return;
+            }
+
+            try {
+                String contentId = publishPageUnderAncestor(spaceKey, ancestorId, page, existingChildPageIdsByTitle);
 
-                startPublishingUnderAncestorId(page.getChildren(), spaceKey, contentId);
+                publishSequentiallyUnderAncestorId(page.getChildren(), spaceKey, contentId);
+                this.publishCheckpoint.subtreeConfirmed(ancestorId, page.getTitle(), contentId);
             } catch (Exception e) {
                 throw new RuntimeException("Could not publish page '" + page.getTitle() + "'", e);
             }
         });
     }
 
-    private void deleteConfluencePagesNotPresentUnderAncestor(List<ConfluencePageMetadata> pagesToKeep, String ancestorId) {
-        List<ConfluencePage> childPagesOnConfluence = this.confluenceClient.getChildPages(ancestorId);
+    private void publishConcurrentlyUnderAncestorId(List<ConfluencePageMetadata> pages, String spaceKey, String ancestorId) {
+        ExecutorService executorService = newFixedThreadPool(this.publishingParallelism, new PublishingThreadFactory());
+        Map<ConfluencePageMetadata, String> publishedContentIds = new ConcurrentHashMap<>();
+        Map<String, List<ConfluencePage>> childPagesByAncestorId = new ConcurrentHashMap<>();
+
+        try {
+            // orphans are removed once all pages are published, as pages moved between sub-trees would otherwise be
+            // deleted by one sub-tree while being published by another
+            awaitCompletion(publishConcurrentlyUnderAncestorId(pages, spaceKey, ancestorId, executorService, publishedContentIds, childPagesByAncestorId));
+
+            if (this.orphanRemovalStrategy == REMOVE_ORPHANS && !this.publishStateJournal.isTrusted()) {
+                Set<String> publishedPageIds = new HashSet<>(publishedContentIds.values());
+                awaitCompletion(deleteConfluencePagesNotPresentUnderPublishedPages(pages, ancestorId, executorService, publishedContentIds, childPagesByAncestorId, publishedPageIds));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Void> publishConcurrentlyUnderAncestorId(List<ConfluencePageMetadata> pages, String spaceKey, String ancestorId,
+                                                                       ExecutorService executorService, Map<ConfluencePageMetadata, String> publishedContentIds,
+                                                                       Map<String, List<ConfluencePage>> childPagesByAncestorId) {
+        // the child pages are listed once for both looking up existing pages and removing orphans afterwards
+        CompletableFuture<Map<String, String>> existingChildPageIdsByTitle = this.orphanRemovalStrategy == REMOVE_ORPHANS && !this.publishStateJournal.isTrusted()
+                ? supplyAsync(() -> keptChildPageIdsByTitle(pages, listChildPages(ancestorId, childPagesByAncestorId)), executorService)
+                : completedFuture(emptyMap());
+
+        return existingChildPageIdsByTitle.thenCompose((childPageIdsByTitle) -> {
+            CompletableFuture<?>[] pageFutures = pages.stream()
+                    .map(page -> {
+                        // the content ids of a skipped sub-tree are still required for removing orphans below it
+                        if (putConfirmedContentIds(ancestorId, page, publishedContentIds)) {
+                            return completedFuture(null);
+                        }
+
+                        return supplyAsync(() -> {
+                            try {
+                                return publishPageUnderAncestor(spaceKey, ancestorId, page, childPageIdsByTitle);
+                            } catch (Exception e) {
+                                throw new RuntimeException("Could not publish page '" + page.getTitle() + "'", e);
+                            }
+                        }, executorService).thenCompose(contentId -> {
+                            publishedContentIds.put(page, contentId);
+
+                            return publishConcurrentlyUnderAncestorId(page.getChildren(), spaceKey, contentId, executorService, publishedContentIds, childPagesByAncestorId)
+                                    .thenRun(() -> this.publishCheckpoint.subtreeConfirmed(ancestorId, page.getTitle(), contentId));
+                        });
+                    })
+                    .toArray(CompletableFuture[]::new);
+
+            return allOfOrFirstFailure(pageFutures);
+        });
+    }
+
+    private List<ConfluencePage> listChildPages(String ancestorId, Map<String, List<ConfluencePage>> childPagesByAncestorId) {
+        List<ConfluencePage> childPages = this.confluenceClient.getChildPages(ancestorId);
+        childPagesByAncestorId.put(ancestorId, childPages);
+
+        return childPages;
+    }
+
+    private boolean putConfirmedContentIds(String ancestorId, ConfluencePageMetadata page, Map<ConfluencePageMetadata, String> publishedContentIds) {
+        Optional<String> confirmedContentId = this.publishCheckpoint.confirmedContentId(ancestorId, page.getTitle());
+
+        if (!confirmedContentId.isPresent()) {
+            return false;
+        }
+
+        Map<ConfluencePageMetadata, String> confirmedContentIds = new HashMap<>();
+        confirmedContentIds.put(page, confirmedContentId.get());
+
+        for (ConfluencePageMetadata childPage : page.getChildren()) {
+            if (!putConfirmedContentIds(confirmedContentId.get(), childPage, confirmedContentIds)) {
+                return false;
+            }
+        }
+
+        publishedContentIds.putAll(confirmedContentIds);
+
+        return true;
+    }
+
+    private CompletableFuture<Void> deleteConfluencePagesNotPresentUnderPublishedPages(List<ConfluencePageMetadata> pages, String ancestorId,
+                                                                                        ExecutorService executorService, Map<ConfluencePageMetadata, String> publishedContentIds,
+                                                                                        Map<String, List<ConfluencePage>> childPagesByAncestorId, Set<String> publishedPageIds) {
+        CompletableFuture<Void> orphanRemovalFuture = CompletableFuture.runAsync(() -> {
+            List<ConfluencePage> childPages = childPagesByAncestorId.get(ancestorId);
+
+            if (childPages != null) {
+                // child pages listed before publishing might since have been moved to another published page
+                deleteConfluencePagesNotPresentUnderAncestor(pages, childPages.stream()
+                        .filter((childPage) -> !publishedPageIds.contains(childPage.getContentId()))
+                        .collect(toList()));
+            } else {
+                deleteConfluencePagesNotPresentUnderAncestor(pages, ancestorId);
+            }
+        }, executorService);
+
+        CompletableFuture<?>[] orphanRemovalFutures = pages.stream()
+                .map(page -> deleteConfluencePagesNotPresentUnderPublishedPages(page.getChildren(), publishedContentIds.get(page), executorService, publishedContentIds,
+                        childPagesByAncestorId, publishedPageIds))
+                .toArray(CompletableFuture[]::new);
+
+        return allOfOrFirstFailure(orphanRemovalFuture, allOfOrFirstFailure(orphanRemovalFutures));
+    }
+
+    private String publishPageUnderAncestor(String spaceKey, String ancestorId, ConfluencePageMetadata page, Map<String, String> existingChildPageIdsByTitle) {
+        ContentManifest contentManifest = contentManifest(page, fileContent(page.getContentFilePath(), UTF_8));
+        Optional<String> unchangedContentId = this.publishStateJournal.unchangedContentId(ancestorId, contentManifest);
+
+        if (unchangedContentId.isPresent()) {
+            return unchangedContentId.get();
+        }
+
+        String contentId;
+
+        if (this.useContentManifest) {
+            contentId = publishPageUnderAncestorUsingContentManifest(spaceKey, ancestorId, page, existingChildPageIdsByTitle);
+        } else {
+            contentId = addOrUpdatePageUnderAncestor(spaceKey, ancestorId, page, existingChildPageIdsByTitle);
+
+            addOrUpdateLabels(contentId, page.getLabels());
+
+            deleteConfluenceAttachmentsNotPresentUnderPage(contentId, page.getAttachments());
+            addAttachments(contentId, page.getAttachments());
+        }
+
+        this.publishStateJournal.record(ancestorId, contentId, contentManifest);
+
+        return contentId;
+    }
+
+    private String publishPageUnderAncestorUsingContentManifest(String spaceKey, String ancestorId, ConfluencePageMetadata page, Map<String, String> existingChildPageIdsByTitle) {
+        String contentId;
+
+        try {
+            contentId = existingPageId(spaceKey, ancestorId, page, existingChildPageIdsByTitle);
+        } catch (NotFoundException e) {
+            return addPageUsingContentManifest(spaceKey, ancestorId, page);
+        }
+
+        publishExistingPageUsingContentManifest(contentId, ancestorId, page);
+
+        return contentId;
+    }
+
+    private String addPageUsingContentManifest(String spaceKey, String ancestorId, ConfluencePageMetadata page) {
+        String content = fileContent(page.getContentFilePath(), UTF_8);
+        String contentId = this.confluenceClient.addPageUnderAncestor(spaceKey, ancestorId, page.getTitle(), content, this.versionMessage);
+        this.confluenceClient.setPropertyByKey(contentId, CONTENT_HASH_PROPERTY_KEY, hash(content));
+        notifyPageAdded(new ConfluencePage(contentId, page.getTitle(), content, INITIAL_PAGE_VERSION));
+
+        if (page.getLabels().size() > 0) {
+            this.confluenceClient.addLabels(contentId, page.getLabels());
+        }
+
+        page.getAttachments().forEach((attachmentFileName, attachmentPath) -> {
+            Path absoluteAttachmentPath = absoluteAttachmentPath(attachmentPath);
+            this.confluenceClient.addAttachment(contentId, attachmentFileName, fileInputStream(absoluteAttachmentPath));
+            this.confluenceClient.setPropertyByKey(contentId, getAttachmentHashKey(attachmentFileName), this.attachmentDigestCache.digest(absoluteAttachmentPath));
+            this.confluencePublisherListener.attachmentAdded(attachmentFileName, contentId);
+        });
+
+        this.confluenceClient.setPropertyByKey(contentId, CONTENT_MANIFEST_PROPERTY_KEY, contentManifest(page, content).toJson());
+
+        return contentId;
+    }
+
+    private void publishExistingPageUsingContentManifest(String contentId, String ancestorId, ConfluencePageMetadata page) {
+        String content = fileContent(page.getContentFilePath(), UTF_8);
+        ContentManifest newContentManifest = contentManifest(page, content);
+        String existingContentManifestValue = this.confluenceClient.getPropertyByKey(contentId, CONTENT_MANIFEST_PROPERTY_KEY);
+        Optional<ContentManifest> existingContentManifest = ContentManifest.fromJson(existingContentManifestValue);
+
+        if (existingContentManifest.isPresent()) {
+            publishChangesUsingContentManifest(contentId, ancestorId, page, content, existingContentManifest.get(), newContentManifest);
+        } else {
+            // pages without (valid) manifest are published once based on the individual hash properties
+            updatePage(contentId, ancestorId, page);
+            addOrUpdateLabels(contentId, page.getLabels());
+            deleteConfluenceAttachmentsNotPresentUnderPage(contentId, page.getAttachments());
+            addAttachments(contentId, page.getAttachments());
+        }
+
+        if (!existingContentManifest.isPresent() || !existingContentManifest.get().equals(newContentManifest)) {
+            if (existingContentManifestValue != null) {
+                this.confluenceClient.deletePropertyByKey(contentId, CONTENT_MANIFEST_PROPERTY_KEY);
+            }
+
+            this.confluenceClient.setPropertyByKey(contentId, CONTENT_MANIFEST_PROPERTY_KEY, newContentManifest.toJson());
+        }
+    }
+
+    /**
+     * Publishes the changes detected by comparing the content manifests. The individual hash properties of the content
+     * and the attachments are kept in sync, so that they are up-to-date when publishing without content manifest again.
+     */
+    private void publishChangesUsingContentManifest(String contentId, String ancestorId, ConfluencePageMetadata page, String content, ContentManifest existingContentManifest, ContentManifest newContentManifest) {
+        if (notSameHash(existingContentManifest.getContentHash(), newContentManifest.getContentHash()) || !page.getTitle().equals(existingContentManifest.getTitle())) {
+            ConfluencePage existingPage = this.confluenceClient.getPageWithContentAndVersionById(contentId);
+            this.confluenceClient.deletePropertyByKey(contentId, CONTENT_HASH_PROPERTY_KEY);
+            int newPageVersion = existingPage.getVersion() + 1;
+            this.confluenceClient.updatePage(contentId, ancestorId, page.getTitle(), content, newPageVersion, this.versionMessage, this.notifyWatchers);
+            this.confluenceClient.setPropertyByKey(contentId, CONTENT_HASH_PROPERTY_KEY, newContentManifest.getContentHash());
+            notifyPageUpdated(existingPage, new ConfluencePage(contentId, page.getTitle(), content, newPageVersion));
+        }
+
+        if (notSameHash(existingContentManifest.getLabelsHash(), newContentManifest.getLabelsHash())) {
+            addOrUpdateLabels(contentId, page.getLabels());
+        }
+
+        if (!existingContentManifest.getAttachmentHashes().keySet().equals(newContentManifest.getAttachmentHashes().keySet())) {
+            deleteConfluenceAttachmentsNotPresentUnderPage(contentId, page.getAttachments());
+        }
+
+        page.getAttachments().forEach((attachmentFileName, attachmentPath) -> {
+            String existingAttachmentHash = existingContentManifest.getAttachmentHashes().get(attachmentFileName);
+
+            String newAttachmentHash = newContentManifest.getAttachmentHashes().get(attachmentFileName);
+
+            if (notSameHash(existingAttachmentHash, newAttachmentHash)) {
+                addOrUpdateAttachmentContent(contentId, absoluteAttachmentPath(attachmentPath), attachmentFileName, newAttachmentHash);
+            }
+        });
+    }
+
+    private void addOrUpdateAttachmentContent(String contentId, Path attachmentPath, String attachmentFileName, String attachmentHash) {
+        this.confluenceClient.deletePropertyByKey(contentId, getAttachmentHashKey(attachmentFileName));
+
+        try {
+            ConfluenceAttachment existingAttachment = this.confluenceClient.getAttachmentByFileName(contentId, attachmentFileName);
+            this.confluenceClient.updateAttachmentContent(contentId, existingAttachment.getId(), fileInputStream(attachmentPath), this.notifyWatchers);
+            this.confluenceClient.setPropertyByKey(contentId, getAttachmentHashKey(attachmentFileName), attachmentHash);
+            this.confluencePublisherListener.attachmentUpdated(attachmentFileName, contentId);
+        } catch (NotFoundException e) {
+            this.confluenceClient.addAttachment(contentId, attachmentFileName, fileInputStream(attachmentPath));
+            this.confluenceClient.setPropertyByKey(contentId, getAttachmentHashKey(attachmentFileName), attachmentHash);
+            this.confluencePublisherListener.attachmentAdded(attachmentFileName, contentId);
+        }
+    }
+
+    private ContentManifest contentManifest(ConfluencePageMetadata page, String content) {
+        Map<String, String> attachmentHashes = new HashMap<>();
+        page.getAttachments().forEach((attachmentFileName, attachmentPath) -> attachmentHashes.put(attachmentFileName, this.attachmentDigestCache.digest(absoluteAttachmentPath(attachmentPath))));
+        String labelsHash = hash(page.getLabels().stream().distinct().sorted().collect(joining("\n")));
+
+        return new ContentManifest(page.getTitle(), hash(content), labelsHash, attachmentHashes);
+    }
+
+    static CompletableFuture<Void> allOfOrFirstFailure(CompletableFuture<?>... futures) {
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, exception) -> {
+                if (exception != null) {
+                    firstFailure.completeExceptionally(exception);
+                }
+            });
+        }
+
+        return anyOf(allOf(futures), firstFailure).thenApply((result) -> null);
+    }
+
+    static void awaitCompletion(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * @return the content ids of the kept child pages by title
+     */
+    private Map<String, String> deleteConfluencePagesNotPresentUnderAncestor(List<ConfluencePageMetadata> pagesToKeep, String ancestorId) {
+        return deleteConfluencePagesNotPresentUnderAncestor(pagesToKeep, this.confluenceClient.getChildPages(ancestorId));
+    }
 
+    private Map<String, String> deleteConfluencePagesNotPresentUnderAncestor(List<ConfluencePageMetadata> pagesToKeep, List<ConfluencePage> childPagesOnConfluence) {
         List<ConfluencePage> childPagesOnConfluenceToDelete = childPagesOnConfluence.stream()
                 .filter(childPageOnConfluence -> pagesToKeep.stream().noneMatch(page -> page.getTitle().equals(childPageOnConfluence.getTitle())))
                 .collect(toList());
 
-        childPagesOnConfluenceToDelete.forEach(pageToDelete -> {
-            List<ConfluencePage> pageScheduledForDeletionChildPagesOnConfluence = this.confluenceClient.getChildPages(pageToDelete.getContentId());
-            pageScheduledForDeletionChildPagesOnConfluence.forEach(parentPageToDelete -> this.deleteConfluencePagesNotPresentUnderAncestor(emptyList(), pageToDelete.getContentId()));
-            this.confluenceClient.deletePage(pageToDelete.getContentId());
-            this.confluencePublisherListener.pageDeleted(pageToDelete);
+        deletePageTrees(childPagesOnConfluenceToDelete);
+
+        return keptChildPageIdsByTitle(pagesToKeep, childPagesOnConfluence);
+    }
+
+    private static Map<String, String> keptChildPageIdsByTitle(List<ConfluencePageMetadata> pagesToKeep, List<ConfluencePage> childPagesOnConfluence) {
+        Map<String, String> keptChildPageIdsByTitle = new HashMap<>();
+        childPagesOnConfluence.stream()
+                .filter(childPageOnConfluence -> pagesToKeep.stream().anyMatch(page -> page.getTitle().equals(childPageOnConfluence.getTitle())))
+                .forEach(childPageOnConfluence -> keptChildPageIdsByTitle.put(childPageOnConfluence.getTitle(), childPageOnConfluence.getContentId()));
+
+        return keptChildPageIdsByTitle;
+    }
+
+    private String existingPageId(String spaceKey, String ancestorId, ConfluencePageMetadata page, Map<String, String> existingChildPageIdsByTitle) {
+        String contentId = existingChildPageIdsByTitle.get(page.getTitle());
+
+        // page titles are unique within a space, so pages not found under the ancestor might still exist elsewhere
+        return contentId != null ? contentId : this.confluenceClient.getPageByTitle(spaceKey, ancestorId, page.getTitle());
+    }
+
+    private void deleteStaleJournaledPages() {
+        deletePageTrees(this.publishStateJournal.stalePages());
+    }
+
+    /**
+     * Deletes the given pages together with their descendants. The descendants of each page are listed once, and the
+     * pages are deleted level by level starting with the deepest one (Confluence moves the children of a deleted page to
+     * its parent instead of deleting them). Pages of the same level are deleted concurrently, using up to {@code
+     * publishingParallelism} concurrent requests.
+     */
+    private void deletePageTrees(List<ConfluencePage> pagesToDelete) {
+        if (pagesToDelete.isEmpty()) {
+            return;
+        }
+
+        List<List<ConfluencePage>> pagesToDeleteByDepth = new ArrayList<>();
+        pagesToDeleteByDepth.add(pagesToDelete);
+
+        pagesToDelete.forEach((pageToDelete) -> {
+            List<ConfluenceDescendantPage> descendantPages = this.confluenceClient.getDescendantPages(pageToDelete.getContentId());
+            Map<String, String> parentIdsByContentId = new HashMap<>();
+            descendantPages.forEach((descendantPage) -> parentIdsByContentId.put(descendantPage.getPage().getContentId(), descendantPage.getParentId()));
+
+            descendantPages.forEach((descendantPage) -> {
+                int depth = depth(descendantPage.getPage().getContentId(), pageToDelete.getContentId(), parentIdsByContentId);
+
+                while (pagesToDeleteByDepth.size() <= depth) {
+                    pagesToDeleteByDepth.add(new ArrayList<>());
+                }
+
+                pagesToDeleteByDepth.get(depth).add(descendantPage.getPage());
+            });
         });
+
+        int totalPagesToDelete = pagesToDeleteByDepth.stream().mapToInt(List::size).sum();
+
+        if (this.publishingParallelism == 1 || totalPagesToDelete == 1) {
+            for (int depth = pagesToDeleteByDepth.size() - 1; depth >= 0; depth--) {
+                pagesToDeleteByDepth.get(depth).forEach(this::deletePage);
+            }
+
+            return;
+        }
+
+        ExecutorService executorService = newFixedThreadPool(this.publishingParallelism, new PublishingThreadFactory());
+
+        try {
+            for (int depth = pagesToDeleteByDepth.size() - 1; depth >= 0; depth--) {
+                CompletableFuture<?>[] pageDeletions = pagesToDeleteByDepth.get(depth).stream()
+                        .map((pageToDelete) -> CompletableFuture.runAsync(() -> deletePage(pageToDelete), executorService))
+                        .toArray(CompletableFuture[]::new);
+
+                awaitCompletion(allOfOrFirstFailure(pageDeletions));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void deletePage(ConfluencePage page) {
+        this.confluenceClient.deletePage(page.getContentId());
+        this.confluencePublisherListener.pageDeleted(page);
+    }
+
+    private static int depth(String contentId, String ancestorId, Map<String, String> parentIdsByContentId) {
+        int depth = 1;
+
+        // pages whose parent is not listed (e.g. pages below a folder) are deleted as children of the ancestor
+        for (String parentId = parentIdsByContentId.get(contentId); parentId != null && !parentId.equals(ancestorId) && parentIdsByContentId.containsKey(parentId);
+             parentId = parentIdsByContentId.get(parentId)) {
+            depth++;
+        }
+
+        return depth;
     }
 
     private void deleteConfluenceAttachmentsNotPresentUnderPage(String contentId, Map<String, String> attachments) {
@@ -169,17 +716,17 @@ public class ConfluencePublisher {
                 });
     }
 
-    private String addOrUpdatePageUnderAncestor(String spaceKey, String ancestorId, ConfluencePageMetadata page) {
+    private String addOrUpdatePageUnderAncestor(String spaceKey, String ancestorId, ConfluencePageMetadata page, Map<String, String> existingChildPageIdsByTitle) {
         String contentId;
 
         try {
-            contentId = this.confluenceClient.getPageByTitle(spaceKey, ancestorId, page.getTitle());
+            contentId = existingPageId(spaceKey, ancestorId, page, existingChildPageIdsByTitle);
             updatePage(contentId, ancestorId, page);
         } catch (NotFoundException e) {
             String content = fileContent(page.getContentFilePath(), UTF_8);
             contentId = this.confluenceClient.addPageUnderAncestor(spaceKey, ancestorId, page.getTitle(), content, this.versionMessage);
             this.confluenceClient.setPropertyByKey(contentId, CONTENT_HASH_PROPERTY_KEY, hash(content));
-            this.confluencePublisherListener.pageAdded(new ConfluencePage(contentId, page.getTitle(), content, INITIAL_PAGE_VERSION));
+            notifyPageAdded(new ConfluencePage(contentId, page.getTitle(), content, INITIAL_PAGE_VERSION));
         }
 
         return contentId;
@@ -187,8 +734,9 @@ public class ConfluencePublisher {
 
     private void updatePage(String contentId, String ancestorId, ConfluencePageMetadata page) {
         String content = fileContent(page.getContentFilePath(), UTF_8);
-        ConfluencePage existingPage = this.confluenceClient.getPageWithContentAndVersionById(contentId);
-        String existingContentHash = this.confluenceClient.getPropertyByKey(contentId, CONTENT_HASH_PROPERTY_KEY);
+        ConfluencePageState existingPageState = this.confluenceClient.getPageStateById(contentId, CONTENT_HASH_PROPERTY_KEY);
+        ConfluencePage existingPage = existingPageState.getPage();
+        String existingContentHash = existingPageState.getPropertyValue();
         String newContentHash = hash(content);
 
         if (notSameHash(existingContentHash, newContentHash) || !existingPage.getTitle().equals(page.getTitle())) {
@@ -196,7 +744,7 @@ public class ConfluencePublisher {
             int newPageVersion = existingPage.getVersion() + 1;
             this.confluenceClient.updatePage(contentId, ancestorId, page.getTitle(), content, newPageVersion, this.versionMessage, this.notifyWatchers);
             this.confluenceClient.setPropertyByKey(contentId, CONTENT_HASH_PROPERTY_KEY, newContentHash);
-            this.confluencePublisherListener.pageUpdated(existingPage, new ConfluencePage(contentId, page.getTitle(), content, newPageVersion));
+            notifyPageUpdated(existingPage, new ConfluencePage(contentId, page.getTitle(), content, newPageVersion));
         }
     }
 
@@ -206,7 +754,7 @@ public class ConfluencePublisher {
 
     private void addOrUpdateAttachment(String contentId, String attachmentPath, String attachmentFileName) {
         Path absoluteAttachmentPath = absoluteAttachmentPath(attachmentPath);
-        String newAttachmentHash = hash(fileInputStream(absoluteAttachmentPath));
+        String newAttachmentHash = this.attachmentDigestCache.digest(absoluteAttachmentPath);
 
         try {
             ConfluenceAttachment existingAttachment = this.confluenceClient.getAttachmentByFileName(contentId, attachmentFileName);
@@ -254,6 +802,16 @@ public class ConfluencePublisher {
         }
     }
 
+    private void notifyPageAdded(ConfluencePage addedPage) {
+        this.publishStateJournal.pagePublished(addedPage.getContentId(), addedPage.getVersion());
+        this.confluencePublisherListener.pageAdded(addedPage);
+    }
+
+    private void notifyPageUpdated(ConfluencePage existingPage, ConfluencePage updatedPage) {
+        this.publishStateJournal.pagePublished(updatedPage.getContentId(), updatedPage.getVersion());
+        this.confluencePublisherListener.pageUpdated(existingPage, updatedPage);
+    }
+
     private static boolean notSameHash(String actualHash, String newHash) {
         return actualHash == null || !actualHash.equals(newHash);
     }
@@ -262,27 +820,180 @@ public class ConfluencePublisher {
         return sha256Hex(content);
     }
 
-    private static String hash(InputStream content) {
-        try {
-            return sha256Hex(content);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not compute hash from input stream", e);
-        } finally {
-            try {
-                content.close();
-            } catch (IOException ignored) {
-            }
-        }
+    private static AttachmentInputStream fileInputStream(Path filePath) {
+        return AttachmentInputStream.open(filePath);
     }
 
-    private static FileInputStream fileInputStream(Path filePath) {
-        try {
-            return new FileInputStream(filePath.toFile());
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException("Could not find attachment ", e);
+    private Builder planningConfluencePublisher(PlanningConfluenceClient planningConfluenceClient, ConfluencePublisherListener confluencePublisherListener) {
+        return builder(this.metadata, planningConfluenceClient)
+                .publishingStrategy(this.publishingStrategy)
+                .orphanRemovalStrategy(this.orphanRemovalStrategy)
+                .confluencePublisherListener(confluencePublisherListener)
+                .versionMessage(this.versionMessage)
+                .notifyWatchers(this.notifyWatchers)
+                .useContentManifest(this.useContentManifest)
+                .attachmentDigestCache(this.attachmentDigestCache);
+    }
+
+
+    /**
+     * Builder of a {@link ConfluencePublisher}. Options that are not configured keep their defaults.
+     */
+    public static class Builder {
+
+        private final ConfluencePublisherMetadata metadata;
+        private final ConfluenceClient confluenceClient;
+        private PublishingStrategy publishingStrategy = APPEND_TO_ANCESTOR;
+        private OrphanRemovalStrategy orphanRemovalStrategy = REMOVE_ORPHANS;
+        private ConfluencePublisherListener confluencePublisherListener;
+        private String versionMessage;
+        private boolean notifyWatchers = true;
+        private int publishingParallelism = 1;
+        private boolean useContentManifest;
+        private boolean pipelinedPublishing;
+        private AttachmentDigestCache attachmentDigestCache;
+        private boolean deduplicateAttachments;
+        private PublishStateJournal publishStateJournal;
+        private PublishCheckpoint publishCheckpoint;
+
+        private Builder(ConfluencePublisherMetadata metadata, ConfluenceClient confluenceClient) {
+            this.metadata = metadata;
+            this.confluenceClient = confluenceClient;
+        }
+
+        public Builder publishingStrategy(PublishingStrategy publishingStrategy) {
+            this.publishingStrategy = publishingStrategy;
+
+            return this;
+        }
+
+        public Builder orphanRemovalStrategy(OrphanRemovalStrategy orphanRemovalStrategy) {
+            this.orphanRemovalStrategy = orphanRemovalStrategy;
+
+            return this;
+        }
+
+        public Builder confluencePublisherListener(ConfluencePublisherListener confluencePublisherListener) {
+            this.confluencePublisherListener = confluencePublisherListener;
+
+            return this;
+        }
+
+        public Builder versionMessage(String versionMessage) {
+            this.versionMessage = versionMessage;
+
+            return this;
         }
+
+        /**
+         * @param notifyWatchers whether watchers are notified about updated pages and attachments (defaults to {@code true})
+         */
+        public Builder notifyWatchers(boolean notifyWatchers) {
+            this.notifyWatchers = notifyWatchers;
+
+            return this;
+        }
+
+        /**
+         * @param publishingParallelism maximum number of pages published concurrently (defaults to {@code 1}). A value of
+         *                              {@code 1} publishes the page tree sequentially, higher values publish sibling pages
+         *                              and their sub-trees concurrently (a parent page is always published before its
+         *                              children). Requests are still throttled by the rate limiter of the given {@link
+         *                              ConfluenceClient}, so the client must be thread-safe.
+         */
+        public Builder publishingParallelism(int publishingParallelism) {
+            this.publishingParallelism = publishingParallelism;
+
+            return this;
+        }
+
+        /**
+         * @param useContentManifest whether to keep the hashes of the published title, content, labels and attachments of
+         *                           a page in one single content property (in addition to one property per content and
+         *                           attachment), so that unchanged pages can be detected by reading that one property only
+         */
+        public Builder useContentManifest(boolean useContentManifest) {
+            this.useContentManifest = useContentManifest;
+
+            return this;
+        }
+
+        /**
+         * @param pipelinedPublishing whether to first read the state of all pages and compute the required changes (like
+         *                            {@link #plan()}), and then send the write requests in batches of independent requests
+         *                            (using up to {@code publishingParallelism} concurrent requests), instead of
+         *                            interleaving read and write requests page by page
+         */
+        public Builder pipelinedPublishing(boolean pipelinedPublishing) {
+            this.pipelinedPublishing = pipelinedPublishing;
+
+            return this;
+        }
+
+        /**
+         * @param attachmentDigestCache cache of the digests of attachment files, e.g. {@link AttachmentDigestCache#load(Path)
+         *                              loaded} from the build folder to avoid re-hashing unchanged attachments across runs
+         */
+        public Builder attachmentDigestCache(AttachmentDigestCache attachmentDigestCache) {
+            this.attachmentDigestCache = attachmentDigestCache;
+
+            return this;
+        }
+
+        /**
+         * @param deduplicateAttachments whether to upload attachments with the same content only once (to the first page
+         *                               in the page tree attaching the content), and to let other pages reference the
+         *                               attachment of that page instead
+         */
+        public Builder deduplicateAttachments(boolean deduplicateAttachments) {
+            this.deduplicateAttachments = deduplicateAttachments;
+
+            return this;
+        }
+
+        /**
+         * @param publishStateJournal journal of the state published by the last run, e.g. {@link
+         *                            PublishStateJournal#load(Path, Duration, boolean) loaded} from the build folder to skip
+         *                            unchanged pages without sending any request. The journal is not used for pipelined
+         *                            publishing.
+         */
+        public Builder publishStateJournal(PublishStateJournal publishStateJournal) {
+            this.publishStateJournal = publishStateJournal;
+
+            return this;
+        }
+
+        /**
+         * @param publishCheckpoint checkpoint of the sub-trees published by the current run generation, e.g. {@link
+         *                          PublishCheckpoint#load(Path) loaded} from the build folder to resume a failed run without
+         *                          publishing the already confirmed sub-trees again. The checkpoint is not used for
+         *                          pipelined publishing.
+         */
+        public Builder publishCheckpoint(PublishCheckpoint publishCheckpoint) {
+            this.publishCheckpoint = publishCheckpoint;
+
+            return this;
+        }
+
+        public ConfluencePublisher build() {
+            return new ConfluencePublisher(this);
+        }
+
     }
 
+    private static class PublishingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "confluence-publisher-" + this.threadCount.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+
+    }
 
     private static class NoOpConfluencePublisherListener implements ConfluencePublisherListener {
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.sahli.asciidoc.confluence.publisher.client.support.RuntimeUse;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+
+/**
+ * Summary of the published state of a page (title, content hash, labels hash and attachment hashes), stored as a single
+ * content property on the page. Reading the manifest is sufficient to detect which parts of a page changed since the
+ * last publication.
+ */
+class ContentManifest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private String title;
+    private String contentHash;
+    private String labelsHash;
+    private Map<String, String> attachmentHashes = new TreeMap<>();
+
+    ContentManifest() {
+    }
+
+    ContentManifest(String title, String contentHash, String labelsHash, Map<String, String> attachmentHashes) {
+        this.title = title;
+        this.contentHash = contentHash;
+        this.labelsHash = labelsHash;
+        this.attachmentHashes = new TreeMap<>(attachmentHashes);
+    }
+
+    static Optional<ContentManifest> fromJson(String json) {
+        if (json == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(OBJECT_MAPPER.readValue(json, ContentManifest.class));
+        } catch (JsonProcessingException e) {
+            // an unreadable manifest is treated like a missing one, i.e. the page is fully re-checked and the manifest rewritten
+            return Optional.empty();
+        }
+    }
+
+    String toJson() {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize content manifest", e);
+        }
+    }
+
+    public String getTitle() {
+        return this.title;
+    }
+
+    @RuntimeUse
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    @RuntimeUse
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getLabelsHash() {
+        return this.labelsHash;
+    }
+
+    @RuntimeUse
+    public void setLabelsHash(String labelsHash) {
+        this.labelsHash = labelsHash;
+    }
+
+    public Map<String, String> getAttachmentHashes() {
+        return this.attachmentHashes;
+    }
+
+    @RuntimeUse
+    public void setAttachmentHashes(Map<String, String> attachmentHashes) {
+        this.attachmentHashes = attachmentHashes != null ? new TreeMap<>(attachmentHashes) : new TreeMap<>();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        ContentManifest that = (ContentManifest) other;
+
+        return Objects.equals(this.title, that.title)
+                && Objects.equals(this.contentHash, that.contentHash)
+                && Objects.equals(this.labelsHash, that.labelsHash)
+                && Objects.equals(this.attachmentHashes, that.attachmentHashes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.title, this.contentHash, this.labelsHash, this.attachmentHashes);
+    }
+
+}
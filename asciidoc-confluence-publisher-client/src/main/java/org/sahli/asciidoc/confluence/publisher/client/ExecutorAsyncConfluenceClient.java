@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.sahli.asciidoc.confluence.publisher.client.http.AsyncConfluenceClient;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceAttachment;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceClient;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceDescendantPage;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePage;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * {@link AsyncConfluenceClient} calling a blocking {@link ConfluenceClient} on the threads of an executor service, so
+ * that blocking clients can be used wherever the publisher sends requests asynchronously.
+ */
+class ExecutorAsyncConfluenceClient implements AsyncConfluenceClient {
+
+    private final ConfluenceClient confluenceClient;
+    private final ExecutorService executorService;
+
+    ExecutorAsyncConfluenceClient(ConfluenceClient confluenceClient, ExecutorService executorService) {
+        this.confluenceClient = confluenceClient;
+        this.executorService = executorService;
+    }
+
+    @Override
+    public CompletableFuture<String> addPageUnderAncestor(String spaceKey, String ancestorId, String title, String content, String versionMessage) {
+        return supplyAsync(() -> this.confluenceClient.addPageUnderAncestor(spaceKey, ancestorId, title, content, versionMessage), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> updatePage(String contentId, String ancestorId, String title, String content, int newVersion, String versionMessage, boolean notifyWatchers) {
+        return runAsync(() -> this.confluenceClient.updatePage(contentId, ancestorId, title, content, newVersion, versionMessage, notifyWatchers), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePage(String contentId) {
+        return runAsync(() -> this.confluenceClient.deletePage(contentId), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<String> getPageByTitle(String spaceKey, String ancestorId, String title) {
+        return supplyAsync(() -> this.confluenceClient.getPageByTitle(spaceKey, ancestorId, title), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> addAttachment(String contentId, String attachmentFileName, InputStream attachmentContent) {
+        return runAsync(() -> this.confluenceClient.addAttachment(contentId, attachmentFileName, attachmentContent), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateAttachmentContent(String contentId, String attachmentId, InputStream attachmentContent, boolean notifyWatchers) {
+        return runAsync(() -> this.confluenceClient.updateAttachmentContent(contentId, attachmentId, attachmentContent, notifyWatchers), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAttachment(String attachmentId) {
+        return runAsync(() -> this.confluenceClient.deleteAttachment(attachmentId), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<ConfluenceAttachment> getAttachmentByFileName(String contentId, String attachmentFileName) {
+        return supplyAsync(() -> this.confluenceClient.getAttachmentByFileName(contentId, attachmentFileName), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<ConfluencePage> getPageWithContentAndVersionById(String contentId) {
+        return supplyAsync(() -> this.confluenceClient.getPageWithContentAndVersionById(contentId), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<List<ConfluencePage>> getChildPages(String contentId) {
+        return supplyAsync(() -> this.confluenceClient.getChildPages(contentId), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<List<ConfluenceDescendantPage>> getDescendantPages(String contentId) {
+        return supplyAsync(() -> this.confluenceClient.getDescendantPages(contentId), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<List<ConfluenceAttachment>> getAttachments(String contentId) {
+        return supplyAsync(() -> this.confluenceClient.getAttachments(contentId), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> setPropertyByKey(String contentId, String key, String value) {
+        return runAsync(() -> this.confluenceClient.setPropertyByKey(contentId, key, value), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<String> getPropertyByKey(String contentId, String key) {
+        return supplyAsync(() -> this.confluenceClient.getPropertyByKey(contentId, key), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePropertyByKey(String contentId, String key) {
+        return runAsync(() -> this.confluenceClient.deletePropertyByKey(contentId, key), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getLabels(String contentId) {
+        return supplyAsync(() -> this.confluenceClient.getLabels(contentId), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> addLabels(String contentId, List<String> labels) {
+        return runAsync(() -> this.confluenceClient.addLabels(contentId, labels), this.executorService);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteLabel(String contentId, String label) {
+        return runAsync(() -> this.confluenceClient.deleteLabel(contentId, label), this.executorService);
+    }
+
+}
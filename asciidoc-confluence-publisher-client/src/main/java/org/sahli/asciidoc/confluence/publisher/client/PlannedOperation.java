@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A single write operation that publishing would send to Confluence, as computed by {@link ConfluencePublisher#plan()}.
+ * Pages that do not exist yet are referenced by a placeholder content id (prefixed with {@code planned-}).
+ */
+@JsonInclude(NON_NULL)
+public class PlannedOperation {
+
+    private final Type type;
+    private final String contentId;
+    private final String pageTitle;
+    private final String ancestorId;
+    private final String attachmentFileName;
+    private final List<String> labels;
+    private final String propertyKey;
+
+    PlannedOperation(Type type, String contentId, String pageTitle, String ancestorId, String attachmentFileName, List<String> labels, String propertyKey) {
+        this.type = type;
+        this.contentId = contentId;
+        this.pageTitle = pageTitle;
+        this.ancestorId = ancestorId;
+        this.attachmentFileName = attachmentFileName;
+        this.labels = labels != null ? unmodifiableList(labels) : null;
+        this.propertyKey = propertyKey;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public String getContentId() {
+        return this.contentId;
+    }
+
+    public String getPageTitle() {
+        return this.pageTitle;
+    }
+
+    public String getAncestorId() {
+        return this.ancestorId;
+    }
+
+    public String getAttachmentFileName() {
+        return this.attachmentFileName;
+    }
+
+    public List<String> getLabels() {
+        return this.labels;
+    }
+
+    public String getPropertyKey() {
+        return this.propertyKey;
+    }
+
+    @Override
+    public String toString() {
+        return this.type + " (contentId: " + this.contentId + ", pageTitle: " + this.pageTitle
+                + (this.attachmentFileName != null ? ", attachment: " + this.attachmentFileName : "")
+                + (this.labels != null ? ", labels: " + this.labels : "")
+                + (this.propertyKey != null ? ", property: " + this.propertyKey : "")
+                + ")";
+    }
+
+
+    public enum Type {
+
+        ADD_PAGE,
+        UPDATE_PAGE,
+        MOVE_PAGE,
+        DELETE_PAGE,
+        ADD_ATTACHMENT,
+        UPDATE_ATTACHMENT,
+        DELETE_ATTACHMENT,
+        ADD_LABELS,
+        DELETE_LABEL,
+        SET_PROPERTY,
+        DELETE_PROPERTY
+
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.sahli.asciidoc.confluence.publisher.client.http.AsyncConfluenceClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write operation recorded by {@link PlanningConfluenceClient}, together with the request to send to Confluence and the
+ * listener notifications to trigger once the request succeeded. Placeholder content ids of planned pages are resolved
+ * to the actual content ids when executing the request.
+ */
+class PlannedWrite {
+
+    private final PlannedOperation operation;
+    private final Request request;
+    private final List<Notification> notifications = new ArrayList<>();
+
+    PlannedWrite(PlannedOperation operation, Request request) {
+        this.operation = operation;
+        this.request = request;
+    }
+
+    PlannedOperation operation() {
+        return this.operation;
+    }
+
+    void addNotification(Notification notification) {
+        this.notifications.add(notification);
+    }
+
+    /**
+     * @return a future of the content id of the added page for {@link PlannedOperation.Type#ADD_PAGE}, of {@code null}
+     * otherwise
+     */
+    CompletableFuture<String> execute(AsyncConfluenceClient confluenceClient, UnaryOperator<String> contentIds) {
+        return this.request.send(confluenceClient, contentIds);
+    }
+
+    void notify(ConfluencePublisherListener confluencePublisherListener, UnaryOperator<String> contentIds) {
+        this.notifications.forEach((notification) -> notification.send(confluencePublisherListener, contentIds));
+    }
+
+
+    @FunctionalInterface
+    interface Request {
+
+        CompletableFuture<String> send(AsyncConfluenceClient confluenceClient, UnaryOperator<String> contentIds);
+
+    }
+
+    @FunctionalInterface
+    interface Notification {
+
+        void send(ConfluencePublisherListener confluencePublisherListener, UnaryOperator<String> contentIds);
+
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type;
+import org.sahli.asciidoc.confluence.publisher.client.http.AsyncConfluenceClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.lang.Math.min;
+import static java.util.EnumSet.of;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static java.util.stream.IntStream.range;
+import static org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisher.allOfOrFirstFailure;
+import static org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisher.awaitCompletion;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.ADD_ATTACHMENT;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.ADD_LABELS;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.ADD_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_ATTACHMENT;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_LABEL;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_PROPERTY;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.MOVE_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.SET_PROPERTY;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.UPDATE_ATTACHMENT;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.UPDATE_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlanningConfluenceClient.isPlanned;
+
+/**
+ * Executes the writes recorded by {@link PlanningConfluenceClient} in phases. The writes of one phase are independent of
+ * each other and sent concurrently:
+ * <ol>
+ * <li>updated and moved pages below existing pages, so that pages kept from a removed page tree are moved out of it
+ * before any page is deleted</li>
+ * <li>deletion of pages whose title is re-used by an added page (page titles are unique within a space)</li>
+ * <li>added pages and remaining updated and moved pages, in waves so that a parent page is always added before its
+ * children</li>
+ * <li>deleted content properties</li>
+ * <li>deleted attachments and labels</li>
+ * <li>added and updated attachments, added labels</li>
+ * <li>set content properties, so that hashes are only stored once the content they describe has been published</li>
+ * <li>remaining deleted pages, sequentially in planned order (i.e. children before their parent, and only after pages
+ * have been moved out of them)</li>
+ * </ol>
+ * Writes are sent via an {@link AsyncConfluenceClient}, and at most {@code maxConcurrentWrites} writes are in flight at
+ * the same time. No thread waits for a write to complete, so a non-blocking client does not need a thread per write.
+ */
+class PlannedWriteExecutor {
+
+    private static final Set<Type> PAGE_TYPES = of(ADD_PAGE, UPDATE_PAGE, MOVE_PAGE);
+    private static final List<Set<Type>> PAGE_DETAIL_PHASES = List.of(
+            of(DELETE_PROPERTY),
+            of(DELETE_ATTACHMENT, DELETE_LABEL),
+            of(ADD_ATTACHMENT, UPDATE_ATTACHMENT, ADD_LABELS),
+            of(SET_PROPERTY)
+    );
+
+    private final AsyncConfluenceClient confluenceClient;
+    private final ConfluencePublisherListener confluencePublisherListener;
+    private final int maxConcurrentWrites;
+    private final Map<String, String> contentIdsByPlannedContentId = new ConcurrentHashMap<>();
+
+    PlannedWriteExecutor(AsyncConfluenceClient confluenceClient, ConfluencePublisherListener confluencePublisherListener, int maxConcurrentWrites) {
+        this.confluenceClient = confluenceClient;
+        this.confluencePublisherListener = confluencePublisherListener;
+        this.maxConcurrentWrites = maxConcurrentWrites;
+    }
+
+    void execute(List<PlannedWrite> plannedWrites) {
+        Set<String> addedPageTitles = plannedWrites.stream()
+                .filter((plannedWrite) -> plannedWrite.operation().getType() == ADD_PAGE)
+                .map((plannedWrite) -> plannedWrite.operation().getPageTitle())
+                .collect(toSet());
+
+        List<PlannedWrite> pageDeletions = ofTypes(plannedWrites, of(DELETE_PAGE));
+        List<PlannedWrite> conflictingPageDeletions = pageDeletions.stream()
+                .filter((plannedWrite) -> addedPageTitles.contains(plannedWrite.operation().getPageTitle()))
+                .collect(toList());
+        pageDeletions.removeAll(conflictingPageDeletions);
+
+        List<PlannedWrite> pageWrites = ofTypes(plannedWrites, PAGE_TYPES);
+        List<PlannedWrite> pageWritesBelowExistingPages = pageWrites.stream()
+                .filter((plannedWrite) -> plannedWrite.operation().getType() != ADD_PAGE && !isPlanned(plannedWrite.operation().getAncestorId()))
+                .collect(toList());
+        pageWrites.removeAll(pageWritesBelowExistingPages);
+
+        CompletableFuture<Void> execution = executeConcurrently(pageWritesBelowExistingPages)
+                .thenCompose((ignored) -> executeSequentially(conflictingPageDeletions))
+                .thenCompose((ignored) -> executeInParentBeforeChildWaves(pageWrites));
+
+        for (Set<Type> types : PAGE_DETAIL_PHASES) {
+            execution = execution.thenCompose((ignored) -> executeConcurrently(ofTypes(plannedWrites, types)));
+        }
+
+        awaitCompletion(execution.thenCompose((ignored) -> executeSequentially(pageDeletions)));
+    }
+
+    private CompletableFuture<Void> executeInParentBeforeChildWaves(List<PlannedWrite> remainingPageWrites) {
+        if (remainingPageWrites.isEmpty()) {
+            return completedFuture(null);
+        }
+
+        List<PlannedWrite> wave = remainingPageWrites.stream()
+                .filter((plannedWrite) -> isResolved(plannedWrite.operation().getAncestorId()))
+                .collect(toList());
+
+        if (wave.isEmpty()) {
+            throw new IllegalStateException("Could not resolve ancestor pages of " + remainingPageWrites.stream().map(PlannedWrite::operation).collect(toList()));
+        }
+
+        List<PlannedWrite> nextPageWrites = new ArrayList<>(remainingPageWrites);
+        nextPageWrites.removeAll(wave);
+
+        return executeConcurrently(wave).thenCompose((ignored) -> executeInParentBeforeChildWaves(nextPageWrites));
+    }
+
+    private CompletableFuture<Void> executeConcurrently(List<PlannedWrite> plannedWrites) {
+        return execute(plannedWrites, this.maxConcurrentWrites);
+    }
+
+    private CompletableFuture<Void> executeSequentially(List<PlannedWrite> plannedWrites) {
+        return execute(plannedWrites, 1);
+    }
+
+    private CompletableFuture<Void> execute(List<PlannedWrite> plannedWrites, int maxConcurrentWrites) {
+        Queue<PlannedWrite> pendingWrites = new ConcurrentLinkedQueue<>(plannedWrites);
+
+        // each lane sends the next pending write once its previous write completed
+        CompletableFuture<?>[] lanes = range(0, min(maxConcurrentWrites, plannedWrites.size()))
+                .mapToObj((lane) -> executeNext(pendingWrites))
+                .toArray(CompletableFuture[]::new);
+
+        return allOfOrFirstFailure(lanes);
+    }
+
+    private CompletableFuture<Void> executeNext(Queue<PlannedWrite> pendingWrites) {
+        PlannedWrite plannedWrite = pendingWrites.poll();
+
+        if (plannedWrite == null) {
+            return completedFuture(null);
+        }
+
+        return execute(plannedWrite)
+                .whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        pendingWrites.clear();
+                    }
+                })
+                .thenCompose((ignored) -> executeNext(pendingWrites));
+    }
+
+    private CompletableFuture<Void> execute(PlannedWrite plannedWrite) {
+        PlannedOperation operation = plannedWrite.operation();
+        CompletableFuture<String> contentId;
+
+        try {
+            contentId = plannedWrite.execute(this.confluenceClient, this::resolve);
+        } catch (Exception e) {
+            CompletableFuture<Void> failedWrite = new CompletableFuture<>();
+            failedWrite.completeExceptionally(new RuntimeException("Could not execute " + operation, e));
+
+            return failedWrite;
+        }
+
+        return contentId.handle((resolvedContentId, exception) -> {
+            if (exception != null) {
+                throw new RuntimeException("Could not execute " + operation, exception instanceof CompletionException ? exception.getCause() : exception);
+            }
+
+            if (operation.getType() == ADD_PAGE) {
+                this.contentIdsByPlannedContentId.put(operation.getContentId(), resolvedContentId);
+            }
+
+            plannedWrite.notify(this.confluencePublisherListener, this::resolve);
+
+            return null;
+        });
+    }
+
+    private boolean isResolved(String contentId) {
+        return !isPlanned(contentId) || this.contentIdsByPlannedContentId.containsKey(contentId);
+    }
+
+    private String resolve(String contentId) {
+        if (!isPlanned(contentId)) {
+            return contentId;
+        }
+
+        String resolvedContentId = this.contentIdsByPlannedContentId.get(contentId);
+        if (resolvedContentId == null) {
+            throw new IllegalStateException("Planned page '" + contentId + "' has not been added yet");
+        }
+
+        return resolvedContentId;
+    }
+
+    private static List<PlannedWrite> ofTypes(List<PlannedWrite> plannedWrites, Set<Type> types) {
+        return plannedWrites.stream()
+                .filter((plannedWrite) -> types.contains(plannedWrite.operation().getType()))
+                .collect(toList());
+    }
+
+}
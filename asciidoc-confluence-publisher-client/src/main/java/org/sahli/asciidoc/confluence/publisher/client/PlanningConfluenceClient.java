@@ -0,0 +1,409 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type;
+import org.sahli.asciidoc.confluence.publisher.client.PlannedWrite.Notification;
+import org.sahli.asciidoc.confluence.publisher.client.PlannedWrite.Request;
+import org.sahli.asciidoc.confluence.publisher.client.http.AttachmentInputStream;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceAttachment;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceClient;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceDescendantPage;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePage;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePageState;
+import org.sahli.asciidoc.confluence.publisher.client.http.NotFoundException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.ADD_ATTACHMENT;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.ADD_LABELS;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.ADD_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_ATTACHMENT;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_LABEL;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_PROPERTY;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.MOVE_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.SET_PROPERTY;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.UPDATE_ATTACHMENT;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.UPDATE_PAGE;
+
+/**
+ * {@link ConfluenceClient} used for computing a {@link PublishPlan}. Read calls are delegated to the actual client,
+ * while write calls are only recorded. Pages that would be added get a placeholder content id, and reads for these
+ * pages are answered locally (as they do not exist on Confluence yet). Pages planned for deletion are no longer listed
+ * as child pages, and are kept instead if they are looked up again by title. Such a page is moved below the ancestor it
+ * has been looked up under, either by its planned update or by a separate move if its content is unchanged. Not
+ * thread-safe.
+ */
+class PlanningConfluenceClient implements ConfluenceClient {
+
+    static final String PLANNED_CONTENT_ID_PREFIX = "planned-";
+
+    private final ConfluenceClient confluenceClient;
+    private final List<PlannedWrite> plannedWrites = new ArrayList<>();
+    private final Map<String, PlannedWrite> plannedPageDeletionsByContentId = new HashMap<>();
+    private final Map<String, PlannedWrite> plannedPageMovesByContentId = new HashMap<>();
+    private final Map<String, String> parentIdsByContentId = new HashMap<>();
+    private final Map<String, String> pageTitlesByContentId = new HashMap<>();
+    private final Map<String, ConfluenceAttachment> attachmentsById = new HashMap<>();
+    private final Map<String, String> contentIdsByAttachmentId = new HashMap<>();
+    private PlannedWrite lastPlannedWrite;
+    private int readRequests;
+    private int plannedPageCount;
+
+    PlanningConfluenceClient(ConfluenceClient confluenceClient) {
+        this.confluenceClient = confluenceClient;
+    }
+
+    PublishPlan publishPlan() {
+        return new PublishPlan(this.plannedWrites.stream().map(PlannedWrite::operation).collect(toList()), this.readRequests);
+    }
+
+    List<PlannedWrite> plannedWrites() {
+        return new ArrayList<>(this.plannedWrites);
+    }
+
+    /**
+     * @return listener that attaches the notifications of the publisher to the last planned write, so that they are
+     * only triggered once that write has been executed
+     */
+    ConfluencePublisherListener deferringListener() {
+        return new DeferringConfluencePublisherListener();
+    }
+
+    @Override
+    public String addPageUnderAncestor(String spaceKey, String ancestorId, String title, String content, String versionMessage) {
+        String contentId = PLANNED_CONTENT_ID_PREFIX + (++this.plannedPageCount);
+        this.pageTitlesByContentId.put(contentId, title);
+        record(ADD_PAGE, contentId, ancestorId, null, null, null,
+                (confluenceClient, contentIds) -> confluenceClient.addPageUnderAncestor(spaceKey, contentIds.apply(ancestorId), title, content, versionMessage));
+
+        return contentId;
+    }
+
+    @Override
+    public void updatePage(String contentId, String ancestorId, String title, String content, int newVersion, String versionMessage, boolean notifyWatchers) {
+        // the update moves the page as well
+        PlannedWrite plannedPageMove = this.plannedPageMovesByContentId.remove(contentId);
+        if (plannedPageMove != null) {
+            this.plannedWrites.remove(plannedPageMove);
+        }
+
+        this.pageTitlesByContentId.put(contentId, title);
+        record(UPDATE_PAGE, contentId, ancestorId, null, null, null, (confluenceClient, contentIds) ->
+                confluenceClient.updatePage(contentIds.apply(contentId), contentIds.apply(ancestorId), title, content, newVersion, versionMessage, notifyWatchers).thenApply((ignored) -> null));
+    }
+
+    @Override
+    public void deletePage(String contentId) {
+        if (this.plannedPageDeletionsByContentId.containsKey(contentId)) {
+            return;
+        }
+
+        PlannedWrite plannedPageDeletion = record(DELETE_PAGE, contentId, null, null, null, null, (confluenceClient, contentIds) ->
+                confluenceClient.deletePage(contentIds.apply(contentId)).thenApply((ignored) -> null));
+
+        this.plannedPageDeletionsByContentId.put(contentId, plannedPageDeletion);
+    }
+
+    @Override
+    public String getPageByTitle(String spaceKey, String ancestorId, String title) {
+        if (isPlanned(ancestorId)) {
+            throw new NotFoundException();
+        }
+
+        String contentId = read(() -> this.confluenceClient.getPageByTitle(spaceKey, ancestorId, title));
+        this.pageTitlesByContentId.put(contentId, title);
+
+        // a page planned for deletion (e.g. as descendant of an orphan page) that is still part of the page tree is moved instead
+        PlannedWrite plannedPageDeletion = this.plannedPageDeletionsByContentId.remove(contentId);
+        if (plannedPageDeletion != null) {
+            this.plannedWrites.remove(plannedPageDeletion);
+
+            if (!Objects.equals(this.parentIdsByContentId.get(contentId), ancestorId)) {
+                planPageMove(contentId, ancestorId);
+            }
+        }
+
+        return contentId;
+    }
+
+    private void planPageMove(String contentId, String ancestorId) {
+        ConfluencePage page = read(() -> this.confluenceClient.getPageWithContentAndVersionById(contentId));
+        PlannedWrite plannedPageMove = record(MOVE_PAGE, contentId, ancestorId, null, null, null, (confluenceClient, contentIds) ->
+                confluenceClient.updatePage(contentIds.apply(contentId), contentIds.apply(ancestorId), page.getTitle(), page.getContent(), page.getVersion() + 1, null, false).thenApply((ignored) -> null));
+
+        this.plannedPageMovesByContentId.put(contentId, plannedPageMove);
+        this.parentIdsByContentId.put(contentId, ancestorId);
+    }
+
+    @Override
+    public void addAttachment(String contentId, String attachmentFileName, InputStream attachmentContent) {
+        Supplier<InputStream> reopenedAttachmentContent = reopenable(attachmentContent);
+        record(ADD_ATTACHMENT, contentId, null, attachmentFileName, null, null, (confluenceClient, contentIds) ->
+                confluenceClient.addAttachment(contentIds.apply(contentId), attachmentFileName, reopenedAttachmentContent.get()).thenApply((ignored) -> null));
+    }
+
+    @Override
+    public void updateAttachmentContent(String contentId, String attachmentId, InputStream attachmentContent, boolean notifyWatchers) {
+        Supplier<InputStream> reopenedAttachmentContent = reopenable(attachmentContent);
+        record(UPDATE_ATTACHMENT, contentId, null, attachmentFileName(attachmentId), null, null, (confluenceClient, contentIds) ->
+                confluenceClient.updateAttachmentContent(contentIds.apply(contentId), attachmentId, reopenedAttachmentContent.get(), notifyWatchers).thenApply((ignored) -> null));
+    }
+
+    @Override
+    public void deleteAttachment(String attachmentId) {
+        record(DELETE_ATTACHMENT, this.contentIdsByAttachmentId.get(attachmentId), null, attachmentFileName(attachmentId), null, null, (confluenceClient, contentIds) ->
+                confluenceClient.deleteAttachment(attachmentId).thenApply((ignored) -> null));
+    }
+
+    @Override
+    public ConfluenceAttachment getAttachmentByFileName(String contentId, String attachmentFileName) {
+        if (isPlanned(contentId)) {
+            throw new NotFoundException();
+        }
+
+        ConfluenceAttachment attachment = read(() -> this.confluenceClient.getAttachmentByFileName(contentId, attachmentFileName));
+        rememberAttachment(contentId, attachment);
+
+        return attachment;
+    }
+
+    @Override
+    public ConfluencePage getPageWithContentAndVersionById(String contentId) {
+        ConfluencePage page = read(() -> this.confluenceClient.getPageWithContentAndVersionById(contentId));
+        this.pageTitlesByContentId.putIfAbsent(contentId, page.getTitle());
+
+        return page;
+    }
+
+    @Override
+    public ConfluencePageState getPageStateById(String contentId, String propertyKey) {
+        ConfluencePageState pageState = read(() -> this.confluenceClient.getPageStateById(contentId, propertyKey));
+        this.pageTitlesByContentId.putIfAbsent(contentId, pageState.getPage().getTitle());
+
+        return pageState;
+    }
+
+    @Override
+    public List<ConfluencePage> getChildPages(String contentId) {
+        if (isPlanned(contentId)) {
+            return emptyList();
+        }
+
+        List<ConfluencePage> childPages = read(() -> this.confluenceClient.getChildPages(contentId));
+        childPages.forEach((childPage) -> {
+            this.pageTitlesByContentId.putIfAbsent(childPage.getContentId(), childPage.getTitle());
+            this.parentIdsByContentId.putIfAbsent(childPage.getContentId(), contentId);
+        });
+
+        return childPages.stream()
+                .filter((childPage) -> !this.plannedPageDeletionsByContentId.containsKey(childPage.getContentId()))
+                .collect(toList());
+    }
+
+    @Override
+    public List<ConfluenceDescendantPage> getDescendantPages(String contentId) {
+        if (isPlanned(contentId)) {
+            return emptyList();
+        }
+
+        List<ConfluenceDescendantPage> descendantPages = read(() -> this.confluenceClient.getDescendantPages(contentId));
+        descendantPages.forEach((descendantPage) -> {
+            this.pageTitlesByContentId.putIfAbsent(descendantPage.getPage().getContentId(), descendantPage.getPage().getTitle());
+            this.parentIdsByContentId.putIfAbsent(descendantPage.getPage().getContentId(), descendantPage.getParentId());
+        });
+
+        return descendantPages.stream()
+                .filter((descendantPage) -> !this.plannedPageDeletionsByContentId.containsKey(descendantPage.getPage().getContentId()))
+                .collect(toList());
+    }
+
+    @Override
+    public List<ConfluenceAttachment> getAttachments(String contentId) {
+        if (isPlanned(contentId)) {
+            return emptyList();
+        }
+
+        List<ConfluenceAttachment> attachments = read(() -> this.confluenceClient.getAttachments(contentId));
+        attachments.forEach((attachment) -> rememberAttachment(contentId, attachment));
+
+        return attachments;
+    }
+
+    @Override
+    public void setPropertyByKey(String contentId, String key, String value) {
+        record(SET_PROPERTY, contentId, null, null, null, key, (confluenceClient, contentIds) ->
+                confluenceClient.setPropertyByKey(contentIds.apply(contentId), key, value).thenApply((ignored) -> null));
+    }
+
+    @Override
+    public String getPropertyByKey(String contentId, String key) {
+        if (isPlanned(contentId)) {
+            return null;
+        }
+
+        return read(() -> this.confluenceClient.getPropertyByKey(contentId, key));
+    }
+
+    @Override
+    public void deletePropertyByKey(String contentId, String key) {
+        record(DELETE_PROPERTY, contentId, null, null, null, key, (confluenceClient, contentIds) ->
+                confluenceClient.deletePropertyByKey(contentIds.apply(contentId), key).thenApply((ignored) -> null));
+    }
+
+    @Override
+    public List<String> getLabels(String contentId) {
+        if (isPlanned(contentId)) {
+            return emptyList();
+        }
+
+        return read(() -> this.confluenceClient.getLabels(contentId));
+    }
+
+    @Override
+    public void addLabels(String contentId, List<String> labels) {
+        List<String> labelsToAdd = new ArrayList<>(labels);
+        record(ADD_LABELS, contentId, null, null, labelsToAdd, null, (confluenceClient, contentIds) ->
+                confluenceClient.addLabels(contentIds.apply(contentId), labelsToAdd).thenApply((ignored) -> null));
+    }
+
+    @Override
+    public void deleteLabel(String contentId, String label) {
+        record(DELETE_LABEL, contentId, null, null, singletonList(label), null, (confluenceClient, contentIds) ->
+                confluenceClient.deleteLabel(contentIds.apply(contentId), label).thenApply((ignored) -> null));
+    }
+
+    private PlannedWrite record(Type type, String contentId, String ancestorId, String attachmentFileName, List<String> labels, String propertyKey, Request request) {
+        PlannedOperation plannedOperation = new PlannedOperation(type, contentId, this.pageTitlesByContentId.get(contentId), ancestorId, attachmentFileName, labels, propertyKey);
+        this.lastPlannedWrite = new PlannedWrite(plannedOperation, request);
+        this.plannedWrites.add(this.lastPlannedWrite);
+
+        return this.lastPlannedWrite;
+    }
+
+    private void notifyAfterLastPlannedWrite(Notification notification) {
+        if (this.lastPlannedWrite != null) {
+            this.lastPlannedWrite.addNotification(notification);
+        }
+    }
+
+    private <T> T read(Supplier<T> readCall) {
+        this.readRequests++;
+
+        return readCall.get();
+    }
+
+    private void rememberAttachment(String contentId, ConfluenceAttachment attachment) {
+        this.attachmentsById.put(attachment.getId(), attachment);
+        this.contentIdsByAttachmentId.put(attachment.getId(), contentId);
+    }
+
+    private String attachmentFileName(String attachmentId) {
+        ConfluenceAttachment attachment = this.attachmentsById.get(attachmentId);
+
+        return attachment != null ? attachment.getTitle() : null;
+    }
+
+    static boolean isPlanned(String contentId) {
+        return contentId != null && contentId.startsWith(PLANNED_CONTENT_ID_PREFIX);
+    }
+
+    private static Supplier<InputStream> reopenable(InputStream attachmentContent) {
+        try {
+            // attachment files are re-opened when executing the planned write instead of keeping their content in memory
+            if (attachmentContent instanceof AttachmentInputStream) {
+                Path attachmentPath = ((AttachmentInputStream) attachmentContent).getPath();
+
+                return () -> AttachmentInputStream.open(attachmentPath);
+            }
+
+            byte[] attachmentBytes = attachmentContent.readAllBytes();
+
+            return () -> new ByteArrayInputStream(attachmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read attachment content", e);
+        } finally {
+            close(attachmentContent);
+        }
+    }
+
+    private static void close(InputStream attachmentContent) {
+        try {
+            attachmentContent.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+
+    private class DeferringConfluencePublisherListener implements ConfluencePublisherListener {
+
+        @Override
+        public void pageAdded(ConfluencePage addedPage) {
+            notifyAfterLastPlannedWrite((confluencePublisherListener, contentIds) -> confluencePublisherListener.pageAdded(resolved(addedPage, contentIds)));
+        }
+
+        @Override
+        public void pageUpdated(ConfluencePage existingPage, ConfluencePage updatedPage) {
+            notifyAfterLastPlannedWrite((confluencePublisherListener, contentIds) -> confluencePublisherListener.pageUpdated(existingPage, resolved(updatedPage, contentIds)));
+        }
+
+        @Override
+        public void pageDeleted(ConfluencePage deletedPage) {
+            notifyAfterLastPlannedWrite((confluencePublisherListener, contentIds) -> confluencePublisherListener.pageDeleted(deletedPage));
+        }
+
+        @Override
+        public void attachmentAdded(String attachmentFileName, String contentId) {
+            notifyAfterLastPlannedWrite((confluencePublisherListener, contentIds) -> confluencePublisherListener.attachmentAdded(attachmentFileName, contentIds.apply(contentId)));
+        }
+
+        @Override
+        public void attachmentUpdated(String attachmentFileName, String contentId) {
+            notifyAfterLastPlannedWrite((confluencePublisherListener, contentIds) -> confluencePublisherListener.attachmentUpdated(attachmentFileName, contentIds.apply(contentId)));
+        }
+
+        @Override
+        public void attachmentDeleted(String attachmentFileName, String contentId) {
+            notifyAfterLastPlannedWrite((confluencePublisherListener, contentIds) -> confluencePublisherListener.attachmentDeleted(attachmentFileName, contentIds.apply(contentId)));
+        }
+
+        @Override
+        public void publishCompleted() {
+        }
+
+        private ConfluencePage resolved(ConfluencePage page, UnaryOperator<String> contentIds) {
+            return new ConfluencePage(contentIds.apply(page.getContentId()), page.getTitle(), page.getContent(), page.getVersion());
+        }
+
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.sahli.asciidoc.confluence.publisher.client.support.RuntimeUse;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.util.Collections.singletonList;
+
+/**
+ * Checkpoint of the sub-trees confirmed as published by the current run generation, kept in a file (e.g. in the build
+ * folder). A page and its sub-tree are confirmed once the page and all of its descendants have been published (and, when
+ * publishing sequentially, the orphans below them have been removed). Each confirmation is appended to the checkpoint
+ * file as one JSON line, so that the checkpoint survives a failed (or aborted) run without re-writing the whole file for
+ * every page.
+ * <p>
+ * A run generation is identified by the published page tree (titles, hashes of contents, labels and attachments) and the
+ * target space and ancestor. If publishing fails, the next run of the same generation resumes by skipping the confirmed
+ * sub-trees without sending any request for them. A run of another generation (e.g. after the documentation changed)
+ * starts over. The checkpoint file is deleted once publishing completed successfully.
+ */
+public class PublishCheckpoint {
+
+    public static final String DEFAULT_CHECKPOINT_FILE_NAME = "publish-checkpoint.jsonl";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path checkpointFile;
+    private final Map<String, ConfirmedSubtree> confirmedSubtreesByTitle = new ConcurrentHashMap<>();
+    private boolean resuming;
+
+    private PublishCheckpoint(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * @return a checkpoint that never skips any sub-tree and is never written
+     */
+    public static PublishCheckpoint disabled() {
+        return new PublishCheckpoint(null);
+    }
+
+    /**
+     * @return a checkpoint that resumes from (and is written to) the given file
+     */
+    public static PublishCheckpoint load(Path checkpointFile) {
+        return new PublishCheckpoint(checkpointFile);
+    }
+
+    boolean isEnabled() {
+        return this.checkpointFile != null;
+    }
+
+    /**
+     * Starts publishing the given run generation. The sub-trees confirmed by a previous run are only skipped if that run
+     * published the same generation, otherwise the checkpoint file is started over.
+     */
+    void begin(Supplier<String> generation) {
+        if (this.checkpointFile == null) {
+            return;
+        }
+
+        String currentGeneration = generation.get();
+        List<String> lines = readCheckpointLines(this.checkpointFile);
+
+        if (!lines.isEmpty() && currentGeneration.equals(readValue(lines.get(0), CheckpointHeader.class).map(CheckpointHeader::getGeneration).orElse(null))) {
+            // a line that could not be parsed (e.g. partially written when the previous run was aborted) is ignored
+            lines.stream().skip(1)
+                    .map((line) -> readValue(line, ConfirmedSubtree.class))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .filter((confirmedSubtree) -> confirmedSubtree.getTitle() != null && confirmedSubtree.getContentId() != null)
+                    .forEach((confirmedSubtree) -> this.confirmedSubtreesByTitle.put(confirmedSubtree.getTitle(), confirmedSubtree));
+
+            this.resuming = !this.confirmedSubtreesByTitle.isEmpty();
+
+            return;
+        }
+
+        CheckpointHeader checkpointHeader = new CheckpointHeader();
+        checkpointHeader.setGeneration(currentGeneration);
+
+        try {
+            createDirectories(this.checkpointFile.toAbsolutePath().getParent());
+            write(this.checkpointFile, singletonList(OBJECT_MAPPER.writeValueAsString(checkpointHeader)), UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write publish checkpoint to '" + this.checkpointFile + "'", e);
+        }
+    }
+
+    /**
+     * @return whether sub-trees confirmed by a previous run of the same generation are skipped
+     */
+    boolean isResuming() {
+        return this.resuming;
+    }
+
+    /**
+     * @return the content id of the given page if the page and its sub-tree have been confirmed under the given ancestor,
+     * an empty optional otherwise
+     */
+    Optional<String> confirmedContentId(String ancestorId, String title) {
+        ConfirmedSubtree confirmedSubtree = this.confirmedSubtreesByTitle.get(title);
+
+        if (confirmedSubtree == null || !Objects.equals(confirmedSubtree.getAncestorId(), ancestorId)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(confirmedSubtree.getContentId());
+    }
+
+    synchronized void subtreeConfirmed(String ancestorId, String title, String contentId) {
+        if (this.checkpointFile == null) {
+            return;
+        }
+
+        ConfirmedSubtree confirmedSubtree = new ConfirmedSubtree(ancestorId, title, contentId);
+        this.confirmedSubtreesByTitle.put(title, confirmedSubtree);
+
+        try {
+            write(this.checkpointFile, singletonList(OBJECT_MAPPER.writeValueAsString(confirmedSubtree)), UTF_8, APPEND);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write publish checkpoint to '" + this.checkpointFile + "'", e);
+        }
+    }
+
+    void complete() {
+        if (this.checkpointFile == null) {
+            return;
+        }
+
+        try {
+            deleteIfExists(this.checkpointFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not delete publish checkpoint '" + this.checkpointFile + "'", e);
+        }
+    }
+
+    private static List<String> readCheckpointLines(Path checkpointFile) {
+        if (!exists(checkpointFile)) {
+            return List.of();
+        }
+
+        try {
+            return readAllLines(checkpointFile, UTF_8);
+        } catch (IOException e) {
+            // an unreadable checkpoint is discarded, i.e. publishing starts over
+            return List.of();
+        }
+    }
+
+    private static <T> Optional<T> readValue(String line, Class<T> type) {
+        try {
+            return Optional.of(OBJECT_MAPPER.readValue(line, type));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+
+    static class CheckpointHeader {
+
+        private String generation;
+
+        public String getGeneration() {
+            return this.generation;
+        }
+
+        @RuntimeUse
+        public void setGeneration(String generation) {
+            this.generation = generation;
+        }
+
+    }
+
+    static class ConfirmedSubtree {
+
+        private String ancestorId;
+        private String title;
+        private String contentId;
+
+        ConfirmedSubtree() {
+        }
+
+        ConfirmedSubtree(String ancestorId, String title, String contentId) {
+            this.ancestorId = ancestorId;
+            this.title = title;
+            this.contentId = contentId;
+        }
+
+        public String getAncestorId() {
+            return this.ancestorId;
+        }
+
+        @RuntimeUse
+        public void setAncestorId(String ancestorId) {
+            this.ancestorId = ancestorId;
+        }
+
+        public String getTitle() {
+            return this.title;
+        }
+
+        @RuntimeUse
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getContentId() {
+            return this.contentId;
+        }
+
+        @RuntimeUse
+        public void setContentId(String contentId) {
+            this.contentId = contentId;
+        }
+
+    }
+
+}
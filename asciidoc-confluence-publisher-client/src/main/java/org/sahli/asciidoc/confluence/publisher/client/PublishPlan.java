@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Change set computed by {@link ConfluencePublisher#plan()}: the write operations publishing would send to Confluence,
+ * together with the number of read requests needed to compute them. The request counts refer to
+ * {@link org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceClient} calls, so paginated listings may result
+ * in more HTTP requests.
+ */
+@JsonPropertyOrder({"summary", "readRequests", "writeRequests", "estimatedRequests", "operations"})
+public class PublishPlan {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(INDENT_OUTPUT);
+
+    private final List<PlannedOperation> operations;
+    private final int readRequests;
+
+    PublishPlan(List<PlannedOperation> operations, int readRequests) {
+        this.operations = new ArrayList<>(operations);
+        this.readRequests = readRequests;
+    }
+
+    public List<PlannedOperation> getOperations() {
+        return unmodifiableList(this.operations);
+    }
+
+    public Map<Type, Integer> getSummary() {
+        Map<Type, Integer> summary = new EnumMap<>(Type.class);
+        this.operations.forEach((operation) -> summary.merge(operation.getType(), 1, Integer::sum));
+
+        return summary;
+    }
+
+    public int getReadRequests() {
+        return this.readRequests;
+    }
+
+    public int getWriteRequests() {
+        return this.operations.size();
+    }
+
+    public int getEstimatedRequests() {
+        return getReadRequests() + getWriteRequests();
+    }
+
+    public boolean hasChanges() {
+        return !this.operations.isEmpty();
+    }
+
+    public String toJson() {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize publish plan", e);
+        }
+    }
+
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePage;
+import org.sahli.asciidoc.confluence.publisher.client.support.RuntimeUse;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisher.INITIAL_PAGE_VERSION;
+
+/**
+ * Journal of the state published by the last successful run (content id, version and {@link ContentManifest content
+ * manifest} of each page), kept in a JSON file (e.g. in the build folder). While the journal is trusted, pages whose
+ * title, content, labels, attachments and ancestor match the journal are skipped without sending any request, and
+ * orphan pages are detected from the journal instead of listing the child pages of each page.
+ * <p>
+ * Changes applied to Confluence by other means than the publisher are not detected from the journal. The journal is
+ * therefore only trusted during the verification interval following the last run that verified all pages against
+ * Confluence, and a verification can be forced at any time. The journal file is deleted when publishing starts and only
+ * written again once publishing completed successfully, so that a failed run is always followed by a verification.
+ */
+public class PublishStateJournal {
+
+    public static final String DEFAULT_JOURNAL_FILE_NAME = "publish-state.json";
+    public static final Duration DEFAULT_VERIFICATION_INTERVAL = Duration.ofHours(24);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path journalFile;
+    private final JournalState previousState;
+    private final boolean verificationDue;
+    private final Map<String, JournaledPage> currentPages = new ConcurrentHashMap<>();
+    private final Map<String, Integer> publishedVersionsByContentId = new ConcurrentHashMap<>();
+    private String spaceKey;
+    private String ancestorId;
+    private boolean trusted;
+
+    private PublishStateJournal(Path journalFile, JournalState previousState, boolean verificationDue) {
+        this.journalFile = journalFile;
+        this.previousState = previousState;
+        this.verificationDue = verificationDue;
+    }
+
+    /**
+     * @return a journal that is never trusted and never saved, i.e. all pages are verified against Confluence
+     */
+    public static PublishStateJournal disabled() {
+        return new PublishStateJournal(null, new JournalState(), true);
+    }
+
+    /**
+     * @param verificationInterval duration after the last verification during which the journal is trusted
+     * @param forceVerification    whether to verify all pages against Confluence, even if the journal is still trusted
+     * @return a journal that is initialized from (and saved to) the given file
+     */
+    public static PublishStateJournal load(Path journalFile, Duration verificationInterval, boolean forceVerification) {
+        JournalState previousState = readJournalState(journalFile);
+        boolean verificationDue = forceVerification
+                || previousState.getVerifiedAt() == null
+                || currentTimeMillis() - previousState.getVerifiedAt() > verificationInterval.toMillis();
+
+        return new PublishStateJournal(journalFile, previousState, verificationDue);
+    }
+
+    /**
+     * Starts publishing to the given space and ancestor. The journal is only trusted if it was saved for the same space
+     * and ancestor.
+     */
+    void begin(String spaceKey, String ancestorId) {
+        this.spaceKey = spaceKey;
+        this.ancestorId = ancestorId;
+        this.trusted = !this.verificationDue
+                && spaceKey.equals(this.previousState.getSpaceKey())
+                && ancestorId.equals(this.previousState.getAncestorId());
+
+        if (this.journalFile != null) {
+            try {
+                deleteIfExists(this.journalFile);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not delete publish state journal '" + this.journalFile + "'", e);
+            }
+        }
+    }
+
+    boolean isTrusted() {
+        return this.trusted;
+    }
+
+    /**
+     * @return the content id of the page described by the given manifest if the journal is trusted and the page has
+     * been published with the same manifest under the same ancestor, an empty optional otherwise
+     */
+    Optional<String> unchangedContentId(String ancestorId, ContentManifest contentManifest) {
+        if (!this.trusted) {
+            return Optional.empty();
+        }
+
+        JournaledPage previousPage = this.previousState.getPages().get(contentManifest.getTitle());
+
+        if (previousPage == null || !Objects.equals(previousPage.getAncestorId(), ancestorId) || !contentManifest.equals(previousPage.getContentManifest())) {
+            return Optional.empty();
+        }
+
+        this.currentPages.put(contentManifest.getTitle(), previousPage);
+
+        return Optional.of(previousPage.getContentId());
+    }
+
+    void pagePublished(String contentId, int version) {
+        this.publishedVersionsByContentId.put(contentId, version);
+    }
+
+    void record(String ancestorId, String contentId, ContentManifest contentManifest) {
+        Integer version = this.publishedVersionsByContentId.get(contentId);
+
+        if (version == null) {
+            // the version is only known if the page has been added or updated, or is still the journaled one
+            JournaledPage previousPage = this.previousState.getPages().get(contentManifest.getTitle());
+            version = previousPage != null && contentId.equals(previousPage.getContentId()) ? previousPage.getVersion() : null;
+        }
+
+        this.currentPages.put(contentManifest.getTitle(), new JournaledPage(ancestorId, contentId, version, contentManifest));
+    }
+
+    /**
+     * @return the journaled pages that have neither been skipped nor published in the current run, except for the
+     * descendants of such pages (i.e. the pages to delete when removing orphans, which also deletes their descendants)
+     */
+    List<ConfluencePage> stalePages() {
+        Set<String> currentContentIds = this.currentPages.values().stream()
+                .map(JournaledPage::getContentId)
+                .collect(toSet());
+
+        Map<String, JournaledPage> stalePagesByContentId = new LinkedHashMap<>();
+        this.previousState.getPages().forEach((title, page) -> {
+            if (!this.currentPages.containsKey(title) && !currentContentIds.contains(page.getContentId())) {
+                stalePagesByContentId.put(page.getContentId(), page);
+            }
+        });
+
+        return stalePagesByContentId.values().stream()
+                .filter((page) -> !stalePagesByContentId.containsKey(page.getAncestorId()))
+                .map((page) -> new ConfluencePage(page.getContentId(), page.getContentManifest().getTitle(), page.getVersion() != null ? page.getVersion() : INITIAL_PAGE_VERSION))
+                .collect(toList());
+    }
+
+    void save() {
+        if (this.journalFile == null) {
+            return;
+        }
+
+        JournalState currentState = new JournalState();
+        currentState.setSpaceKey(this.spaceKey);
+        currentState.setAncestorId(this.ancestorId);
+        currentState.setVerifiedAt(this.trusted ? this.previousState.getVerifiedAt() : Long.valueOf(currentTimeMillis()));
+        currentState.setPages(this.currentPages);
+
+        try {
+            createDirectories(this.journalFile.toAbsolutePath().getParent());
+            Path temporaryJournalFile = this.journalFile.resolveSibling(this.journalFile.getFileName() + ".tmp");
+            write(temporaryJournalFile, OBJECT_MAPPER.writeValueAsBytes(currentState));
+            move(temporaryJournalFile, this.journalFile, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write publish state journal to '" + this.journalFile + "'", e);
+        }
+    }
+
+    private static JournalState readJournalState(Path journalFile) {
+        if (!exists(journalFile)) {
+            return new JournalState();
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(journalFile.toFile(), JournalState.class);
+        } catch (IOException e) {
+            // an unreadable journal (e.g. written by an incompatible version) is discarded, i.e. all pages are verified
+            return new JournalState();
+        }
+    }
+
+
+    static class JournalState {
+
+        private String spaceKey;
+        private String ancestorId;
+        private Long verifiedAt;
+        private Map<String, JournaledPage> pages = new TreeMap<>();
+
+        public String getSpaceKey() {
+            return this.spaceKey;
+        }
+
+        @RuntimeUse
+        public void setSpaceKey(String spaceKey) {
+            this.spaceKey = spaceKey;
+        }
+
+        public String getAncestorId() {
+            return this.ancestorId;
+        }
+
+        @RuntimeUse
+        public void setAncestorId(String ancestorId) {
+            this.ancestorId = ancestorId;
+        }
+
+        public Long getVerifiedAt() {
+            return this.verifiedAt;
+        }
+
+        @RuntimeUse
+        public void setVerifiedAt(Long verifiedAt) {
+            this.verifiedAt = verifiedAt;
+        }
+
+        public Map<String, JournaledPage> getPages() {
+            return this.pages;
+        }
+
+        @RuntimeUse
+        public void setPages(Map<String, JournaledPage> pages) {
+            this.pages = pages != null ? new TreeMap<>(pages) : new TreeMap<>();
+        }
+
+    }
+
+    static class JournaledPage {
+
+        private String ancestorId;
+        private String contentId;
+        private Integer version;
+        private ContentManifest contentManifest;
+
+        JournaledPage() {
+        }
+
+        JournaledPage(String ancestorId, String contentId, Integer version, ContentManifest contentManifest) {
+            this.ancestorId = ancestorId;
+            this.contentId = contentId;
+            this.version = version;
+            this.contentManifest = contentManifest;
+        }
+
+        public String getAncestorId() {
+            return this.ancestorId;
+        }
+
+        @RuntimeUse
+        public void setAncestorId(String ancestorId) {
+            this.ancestorId = ancestorId;
+        }
+
+        public String getContentId() {
+            return this.contentId;
+        }
+
+        @RuntimeUse
+        public void setContentId(String contentId) {
+            this.contentId = contentId;
+        }
+
+        public Integer getVersion() {
+            return this.version;
+        }
+
+        @RuntimeUse
+        public void setVersion(Integer version) {
+            this.version = version;
+        }
+
+        public ContentManifest getContentManifest() {
+            return this.contentManifest;
+        }
+
+        @RuntimeUse
+        public void setContentManifest(ContentManifest contentManifest) {
+            this.contentManifest = contentManifest;
+        }
+
+    }
+
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Rate limiter adapting its rate to the throttling of Confluence. Requests answered with {@code 429 Too Many Requests}
+ * or {@code 503 Service Unavailable} are retried after the delay requested by the {@code Retry-After} header (capped at
+ * the maximum backoff), or after a jittered exponential backoff if there is none, and the rate is halved. Each
+ * successful request increases the rate again (by about one request per second per second), up to the configured
+ * maximum rate. Without a configured maximum rate, requests are not limited until Confluence throttles them for the
+ * first time.
+ */
+class AdaptiveRateLimiter {
+
+    static final int DEFAULT_MAX_RETRIES = 5;
+    static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+    static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(60);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final double MIN_RATE = 0.1;
+    private static final double RATE_DECREASE_FACTOR = 0.5;
+    private static final long RATE_DECREASE_INTERVAL_NANOS = SECONDS.toNanos(1);
+    private static final int RATE_SAMPLE_SIZE = 16;
+
+    private final Double maxRate;
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final long[] recentRequestNanos = new long[RATE_SAMPLE_SIZE];
+    private RateLimiter rateLimiter;
+    private long requestCount;
+    private long pausedUntilNanos;
+    private long lastRateDecreaseNanos;
+
+    AdaptiveRateLimiter(Double maxRequestsPerSecond) {
+        this(maxRequestsPerSecond, DEFAULT_MAX_RETRIES, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    AdaptiveRateLimiter(Double maxRequestsPerSecond, int maxRetries, Duration initialBackoff, Duration maxBackoff) {
+        this.maxRate = maxRequestsPerSecond;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.rateLimiter = maxRequestsPerSecond != null ? RateLimiter.create(maxRequestsPerSecond) : null;
+        this.pausedUntilNanos = System.nanoTime();
+        this.lastRateDecreaseNanos = System.nanoTime() - RATE_DECREASE_INTERVAL_NANOS;
+    }
+
+    <T> T execute(CloseableHttpClient httpClient, HttpRequestBase httpRequest, Function<HttpResponse, T> responseHandler) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            acquire();
+
+            try (CloseableHttpResponse response = httpClient.execute(httpRequest)) {
+                if (!isThrottled(response)) {
+                    increaseRate();
+
+                    return responseHandler.apply(response);
+                }
+
+                decreaseRate(retryAfter(response).orElse(backoff(attempt)));
+
+                if (attempt >= this.maxRetries || !isRepeatable(httpRequest)) {
+                    return responseHandler.apply(response);
+                }
+
+                EntityUtils.consumeQuietly(response.getEntity());
+            }
+
+            httpRequest.reset();
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute(CloseableHttpClient, HttpRequestBase, Function)} for requests sent by a
+     * non-blocking http client. The request sender must send a new request each time it is called (i.e. the request
+     * entity must be repeatable). Waiting for the rate limiter only blocks the given pacing executor, which should be
+     * single-threaded, so that no thread per request is required.
+     */
+    <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<HttpResponse>> requestSender, Function<HttpResponse, T> responseHandler, Executor pacingExecutor) {
+        return executeAsync(requestSender, responseHandler, pacingExecutor, 0);
+    }
+
+    private <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<HttpResponse>> requestSender, Function<HttpResponse, T> responseHandler, Executor pacingExecutor, int attempt) {
+        return acquireAsync(pacingExecutor)
+                .thenCompose((ignored) -> requestSender.get())
+                .thenCompose((response) -> {
+                    if (!isThrottled(response)) {
+                        increaseRate();
+
+                        return completedFuture(responseHandler.apply(response));
+                    }
+
+                    decreaseRate(retryAfter(response).orElse(backoff(attempt)));
+
+                    if (attempt >= this.maxRetries) {
+                        return completedFuture(responseHandler.apply(response));
+                    }
+
+                    return executeAsync(requestSender, responseHandler, pacingExecutor, attempt + 1);
+                });
+    }
+
+    /**
+     * @return the current rate in requests per second, or {@link Double#POSITIVE_INFINITY} if requests are not limited
+     */
+    synchronized double rate() {
+        return this.rateLimiter != null ? this.rateLimiter.getRate() : Double.POSITIVE_INFINITY;
+    }
+
+    private void acquire() {
+        RateLimiter rateLimiter;
+        long pauseNanos;
+
+        synchronized (this) {
+            rateLimiter = this.rateLimiter;
+            pauseNanos = this.pausedUntilNanos - System.nanoTime();
+        }
+
+        if (pauseNanos > 0) {
+            sleepUninterruptibly(pauseNanos, NANOSECONDS);
+        }
+
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+
+        recordRequest();
+    }
+
+    private CompletableFuture<Void> acquireAsync(Executor pacingExecutor) {
+        synchronized (this) {
+            if (this.rateLimiter == null && this.pausedUntilNanos - System.nanoTime() <= 0) {
+                recordRequest();
+
+                return completedFuture(null);
+            }
+        }
+
+        return runAsync(this::acquire, pacingExecutor);
+    }
+
+    private synchronized void recordRequest() {
+        this.recentRequestNanos[(int) (this.requestCount++ % RATE_SAMPLE_SIZE)] = System.nanoTime();
+    }
+
+    private synchronized void increaseRate() {
+        if (this.rateLimiter == null) {
+            return;
+        }
+
+        double rate = this.rateLimiter.getRate();
+        double increasedRate = rate + min(1.0, 1.0 / rate);
+
+        if (this.maxRate != null) {
+            increasedRate = min(this.maxRate, increasedRate);
+        }
+
+        if (increasedRate > rate) {
+            this.rateLimiter.setRate(increasedRate);
+        }
+    }
+
+    private synchronized void decreaseRate(Duration delay) {
+        long now = System.nanoTime();
+        this.pausedUntilNanos = max(this.pausedUntilNanos, now + delay.toNanos());
+
+        // concurrent requests throttled by the same burst only decrease the rate once
+        if (now - this.lastRateDecreaseNanos < RATE_DECREASE_INTERVAL_NANOS) {
+            return;
+        }
+
+        this.lastRateDecreaseNanos = now;
+        double rate = this.rateLimiter != null ? this.rateLimiter.getRate() : observedRate();
+        double decreasedRate = max(MIN_RATE, rate * RATE_DECREASE_FACTOR);
+
+        if (this.rateLimiter == null) {
+            this.rateLimiter = RateLimiter.create(decreasedRate);
+        } else {
+            this.rateLimiter.setRate(decreasedRate);
+        }
+    }
+
+    private double observedRate() {
+        int sampleCount = (int) min(this.requestCount, RATE_SAMPLE_SIZE);
+
+        if (sampleCount < 2) {
+            return 2 * MIN_RATE;
+        }
+
+        long newestNanos = this.recentRequestNanos[(int) ((this.requestCount - 1) % RATE_SAMPLE_SIZE)];
+        long oldestNanos = this.recentRequestNanos[(int) ((this.requestCount - sampleCount) % RATE_SAMPLE_SIZE)];
+        double elapsedSeconds = max(1, newestNanos - oldestNanos) / (double) SECONDS.toNanos(1);
+
+        return (sampleCount - 1) / elapsedSeconds;
+    }
+
+    private Duration backoff(int attempt) {
+        long maxBackoffMillis = this.maxBackoff.toMillis();
+        long exponentialBackoffMillis = attempt < 31 ? this.initialBackoff.toMillis() << attempt : maxBackoffMillis;
+        long cappedBackoffMillis = max(1, min(maxBackoffMillis, exponentialBackoffMillis));
+
+        // half of the backoff is randomized, so that concurrent requests are not retried at the same time
+        return Duration.ofMillis(cappedBackoffMillis / 2 + ThreadLocalRandom.current().nextLong(cappedBackoffMillis / 2 + 1));
+    }
+
+    private static boolean isThrottled(HttpResponse response) {
+        if (response == null || response.getStatusLine() == null) {
+            return false;
+        }
+
+        int statusCode = response.getStatusLine().getStatusCode();
+
+        return statusCode == TOO_MANY_REQUESTS || statusCode == SERVICE_UNAVAILABLE;
+    }
+
+    private Optional<Duration> retryAfter(HttpResponse response) {
+        return requestedRetryAfter(response).map((retryAfter) -> retryAfter.compareTo(this.maxBackoff) > 0 ? this.maxBackoff : retryAfter);
+    }
+
+    private static Optional<Duration> requestedRetryAfter(HttpResponse response) {
+        Header retryAfterHeader = response.getFirstHeader("Retry-After");
+
+        if (retryAfterHeader == null || retryAfterHeader.getValue() == null) {
+            return Optional.empty();
+        }
+
+        String retryAfter = retryAfterHeader.getValue().trim();
+
+        if (retryAfter.matches("\\d+")) {
+            return Optional.of(Duration.ofSeconds(retryAfter.length() < 19 ? Long.parseLong(retryAfter) : Long.MAX_VALUE));
+        }
+
+        Date retryAfterDate = DateUtils.parseDate(retryAfter);
+
+        return retryAfterDate != null
+                ? Optional.of(Duration.ofMillis(max(0, retryAfterDate.getTime() - System.currentTimeMillis())))
+                : Optional.empty();
+    }
+
+    private static boolean isRepeatable(HttpRequestBase httpRequest) {
+        if (!(httpRequest instanceof HttpEntityEnclosingRequest)) {
+            return true;
+        }
+
+        HttpEntity entity = ((HttpEntityEnclosingRequest) httpRequest).getEntity();
+
+        return entity == null || entity.isRepeatable();
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Non-blocking variant of {@link ConfluenceClient}. Each operation returns immediately with a future that is completed
+ * once Confluence answered the request(s) of the operation, so that many requests can be in flight without blocking a
+ * thread per request. Futures are completed exceptionally with the exceptions documented by {@link ConfluenceClient}
+ * (e.g. {@link NotFoundException} or {@link RequestFailedException}).
+ */
+public interface AsyncConfluenceClient {
+
+    CompletableFuture<String> addPageUnderAncestor(String spaceKey, String ancestorId, String title, String content, String versionMessage);
+
+    CompletableFuture<Void> updatePage(String contentId, String ancestorId, String title, String content, int newVersion, String versionMessage, boolean notifyWatchers);
+
+    CompletableFuture<Void> deletePage(String contentId);
+
+    CompletableFuture<String> getPageByTitle(String spaceKey, String ancestorId, String title);
+
+    CompletableFuture<Void> addAttachment(String contentId, String attachmentFileName, InputStream attachmentContent);
+
+    CompletableFuture<Void> updateAttachmentContent(String contentId, String attachmentId, InputStream attachmentContent, boolean notifyWatchers);
+
+    CompletableFuture<Void> deleteAttachment(String attachmentId);
+
+    CompletableFuture<ConfluenceAttachment> getAttachmentByFileName(String contentId, String attachmentFileName);
+
+    CompletableFuture<ConfluencePage> getPageWithContentAndVersionById(String contentId);
+
+    /**
+     * @see ConfluenceClient#getPageStateById(String, String)
+     */
+    default CompletableFuture<ConfluencePageState> getPageStateById(String contentId, String propertyKey) {
+        return getPageWithContentAndVersionById(contentId)
+                .thenCombine(getPropertyByKey(contentId, propertyKey), ConfluencePageState::new);
+    }
+
+    CompletableFuture<List<ConfluencePage>> getChildPages(String contentId);
+
+    /**
+     * @see ConfluenceClient#getDescendantPages(String)
+     */
+    default CompletableFuture<List<ConfluenceDescendantPage>> getDescendantPages(String contentId) {
+        return getChildPages(contentId).thenCompose((childPages) -> {
+            List<CompletableFuture<List<ConfluenceDescendantPage>>> childDescendantPages = childPages.stream()
+                    .map((childPage) -> getDescendantPages(childPage.getContentId()))
+                    .collect(toList());
+
+            return allOf(childDescendantPages.toArray(new CompletableFuture[0])).thenApply((ignored) -> {
+                List<ConfluenceDescendantPage> descendantPages = new ArrayList<>();
+                childPages.forEach((childPage) -> descendantPages.add(new ConfluenceDescendantPage(childPage, contentId)));
+                childDescendantPages.forEach((future) -> descendantPages.addAll(future.join()));
+
+                return descendantPages;
+            });
+        });
+    }
+
+    CompletableFuture<List<ConfluenceAttachment>> getAttachments(String contentId);
+
+    CompletableFuture<Void> setPropertyByKey(String contentId, String key, String value);
+
+    CompletableFuture<String> getPropertyByKey(String contentId, String key);
+
+    CompletableFuture<Void> deletePropertyByKey(String contentId, String key);
+
+    CompletableFuture<List<String>> getLabels(String contentId);
+
+    CompletableFuture<Void> addLabels(String contentId, List<String> labels);
+
+    CompletableFuture<Void> deleteLabel(String contentId, String label);
+
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.stream.Collectors.toList;
+import static org.apache.http.HttpHeaders.AUTHORIZATION;
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.apache.http.HttpVersion.HTTP_1_1;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.addDescendantPages;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.authorizationHeaderValue;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.closeInputStream;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.extractConfluenceAttachment;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.extractConfluencePageState;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.extractConfluencePageWithContent;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.extractIdFromJsonNode;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.extractMandatorySingleArrayElement;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.extractOptionalSingleEntry;
+import static org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client.trustAllSslContext;
+import static org.sahli.asciidoc.confluence.publisher.client.utils.AssertUtils.assertMandatoryParameter;
+
+/**
+ * {@link AsyncConfluenceClient} for the Confluence REST API v2, backed by the non-blocking {@link HttpClient} of the
+ * JDK. Requests are multiplexed over few connections if the server supports HTTP/2, and are built and parsed the same
+ * way as by {@link ConfluenceRestV2Client}. Repeatable request bodies (including attachments passed as {@link
+ * AttachmentInputStream}) are streamed with their known length, while other request bodies are buffered in memory, so
+ * that throttled requests can always be retried. Disabling the SSL verification trusts all certificates, but does not
+ * disable the hostname verification of the JDK http client.
+ */
+public class AsyncConfluenceRestV2Client implements AsyncConfluenceClient {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(20);
+    private static final int BODY_PIPE_BUFFER_SIZE = 64 * 1024;
+
+    private final HttpClient httpClient;
+    private final String username;
+    private final String passwordOrPersonalAccessToken;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonListingParser jsonListingParser = new JsonListingParser(this.objectMapper.getFactory());
+    private final HttpRequestV2Factory httpRequestV2Factory;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final ExecutorService pacingExecutor;
+    private final ExecutorService bodyWriterExecutor;
+    private final PaginationConfiguration paginationConfiguration;
+    private final Map<String, CompletableFuture<String>> spaceIdsBySpaceKey = new ConcurrentHashMap<>();
+
+    public AsyncConfluenceRestV2Client(String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, PaginationConfiguration paginationConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, defaultHttpClient(proxyConfiguration, disableSslVerification, enableHttpClientSystemProperties), maxRequestsPerSecond, paginationConfiguration, username, passwordOrPersonalAccessToken);
+    }
+
+    public AsyncConfluenceRestV2Client(String rootConfluenceUrl, HttpClient httpClient, Double maxRequestsPerSecond, PaginationConfiguration paginationConfiguration, String username, String passwordOrPersonalAccessToken) {
+        assertMandatoryParameter(httpClient != null, "httpClient");
+
+        this.httpClient = httpClient;
+        this.rateLimiter = new AdaptiveRateLimiter(maxRequestsPerSecond);
+        this.pacingExecutor = newSingleThreadExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "confluence-request-pacing");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.bodyWriterExecutor = newCachedThreadPool((runnable) -> {
+            Thread thread = new Thread(runnable, "confluence-request-body-writer");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.paginationConfiguration = paginationConfiguration != null ? paginationConfiguration : new PaginationConfiguration();
+        this.username = username;
+        this.passwordOrPersonalAccessToken = passwordOrPersonalAccessToken;
+
+        this.httpRequestV2Factory = new HttpRequestV2Factory(rootConfluenceUrl);
+        this.objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    }
+
+    @Override
+    public CompletableFuture<String> addPageUnderAncestor(String spaceKey, String ancestorId, String title, String content, String versionMessage) {
+        return resolveSpaceId(spaceKey).thenCompose((spaceId) -> sendRequestAndFailIfNot20x(
+                this.httpRequestV2Factory.addPageUnderAncestorRequest(spaceId, ancestorId, title, content, versionMessage),
+                (response) -> extractIdFromJsonNode(parseJsonResponse(response))
+        ));
+    }
+
+    @Override
+    public CompletableFuture<Void> updatePage(String contentId, String ancestorId, String title, String content, int newVersion, String versionMessage, boolean notifyWatchers) {
+        return sendRequestAndFailIfNot20x(this.httpRequestV2Factory.updatePageRequest(contentId, ancestorId, title, content, newVersion, versionMessage, notifyWatchers));
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePage(String contentId) {
+        return sendRequestAndFailIfNot20x(this.httpRequestV2Factory.deletePageRequest(contentId));
+    }
+
+    @Override
+    public CompletableFuture<String> getPageByTitle(String spaceKey, String ancestorId, String title) {
+        return resolveSpaceId(spaceKey).thenCompose((spaceId) -> sendRequestAndFailIfNot20x(
+                this.httpRequestV2Factory.getPageByTitleRequest(spaceId, title),
+                (response) -> extractIdFromJsonNode(extractMandatorySingleArrayElement(parseJsonResponse(response), "results"))
+        ));
+    }
+
+    @Override
+    public CompletableFuture<Void> addAttachment(String contentId, String attachmentFileName, InputStream attachmentContent) {
+        return sendRequestAndFailIfNot20x(this.httpRequestV2Factory.addAttachmentRequest(contentId, attachmentFileName, attachmentContent))
+                .whenComplete((result, exception) -> closeInputStream(attachmentContent));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateAttachmentContent(String contentId, String attachmentId, InputStream attachmentContent, boolean notifyWatchers) {
+        return sendRequestAndFailIfNot20x(this.httpRequestV2Factory.updateAttachmentContentRequest(contentId, attachmentId, attachmentContent, notifyWatchers))
+                .whenComplete((result, exception) -> closeInputStream(attachmentContent));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAttachment(String attachmentId) {
+        return sendRequestAndFailIfNot20x(this.httpRequestV2Factory.deleteAttachmentRequest(attachmentId));
+    }
+
+    @Override
+    public CompletableFuture<ConfluenceAttachment> getAttachmentByFileName(String contentId, String attachmentFileName) {
+        return sendRequestAndFailIfNot20x(
+                this.httpRequestV2Factory.getAttachmentByFileNameRequest(contentId, attachmentFileName, null),
+                (response) -> extractConfluenceAttachment(extractMandatorySingleArrayElement(parseJsonResponse(response), "results"))
+        );
+    }
+
+    @Override
+    public CompletableFuture<ConfluencePage> getPageWithContentAndVersionById(String contentId) {
+        return sendRequestAndFailIfNot20x(
+                this.httpRequestV2Factory.getPageByIdRequest(contentId, null),
+                (response) -> extractConfluencePageWithContent(parseJsonResponse(response))
+        );
+    }
+
+    @Override
+    public CompletableFuture<ConfluencePageState> getPageStateById(String contentId, String propertyKey) {
+        return sendRequestAndFailIfNot20x(this.httpRequestV2Factory.getPageByIdRequest(contentId, "properties"), this::parseJsonResponse)
+                .thenCompose((jsonNode) -> extractConfluencePageState(jsonNode, propertyKey)
+                        .map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> getPropertyByKey(contentId, propertyKey)
+                                .thenApply((propertyValue) -> new ConfluencePageState(extractConfluencePageWithContent(jsonNode), propertyValue))));
+    }
+
+    @Override
+    public CompletableFuture<List<ConfluencePage>> getChildPages(String contentId) {
+        int limit = this.paginationConfiguration.childPagesPageSize();
+
+        return collectPages(this.httpRequestV2Factory.getChildPagesByIdRequest(contentId, limit, -1, null), this.httpRequestV2Factory::getNextChildPagesByIdRequest,
+                this::sendRequestAndFailIfNot20x, ConfluenceRestV2Client::toConfluencePage, new ArrayList<>());
+    }
+
+    @Override
+    public CompletableFuture<List<ConfluenceDescendantPage>> getDescendantPages(String contentId) {
+        int limit = this.paginationConfiguration.childPagesPageSize();
+
+        return collectPages(this.httpRequestV2Factory.getDescendantPagesByIdRequest(contentId, limit, -1, null), this.httpRequestV2Factory::getNextDescendantPagesByIdRequest,
+                this::sendRequestAndFailIfNot20x, Function.identity(), new ArrayList<>()
+        ).thenCompose((entries) -> {
+            List<ConfluenceDescendantPage> descendantPages = new ArrayList<>();
+            List<CompletableFuture<List<ConfluenceDescendantPage>>> deeperDescendantPages = addDescendantPages(contentId, entries, descendantPages).stream()
+                    .map(this::getDescendantPages)
+                    .collect(toList());
+
+            return allOf(deeperDescendantPages.toArray(new CompletableFuture[0])).thenApply((ignored) -> {
+                deeperDescendantPages.forEach((future) -> descendantPages.addAll(future.join()));
+
+                return descendantPages;
+            });
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<ConfluenceAttachment>> getAttachments(String contentId) {
+        int limit = this.paginationConfiguration.attachmentsPageSize();
+
+        return collectPages(this.httpRequestV2Factory.getAttachmentsRequest(contentId, limit, -1, null), this.httpRequestV2Factory::getNextAttachmentsRequest,
+                this::sendRequestAndFailIfNot20x, ConfluenceRestV2Client::toConfluenceAttachment, new ArrayList<>());
+    }
+
+    @Override
+    public CompletableFuture<Void> setPropertyByKey(String contentId, String key, String value) {
+        return sendRequestAndFailIfNot20x(
+                this.httpRequestV2Factory.lookupPropertyIdByKey(contentId, key),
+                (response) -> extractOptionalSingleEntry(parseResults(response)).map(JsonListingParser.Entry::id)
+        ).thenCompose((propertyId) -> propertyId
+                .map((id) -> sendRequestAndFailIfNot20x(this.httpRequestV2Factory.deletePropertyByKeyRequest(contentId, id)))
+                .orElse(completedFuture(null))
+        ).thenCompose((ignored) -> sendRequestAndFailIfNot20x(this.httpRequestV2Factory.setPropertyByKeyRequest(contentId, key, value)));
+    }
+
+    @Override
+    public CompletableFuture<String> getPropertyByKey(String contentId, String key) {
+        return sendRequest(this.httpRequestV2Factory.getPropertyByKeyRequest(contentId, key), (response) -> {
+            if (response.getStatusLine().getStatusCode() == 200) {
+                return extractOptionalSingleEntry(parseResults(response))
+                        .map(JsonListingParser.Entry::value)
+                        .orElse(null);
+            } else {
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePropertyByKey(String contentId, String key) {
+        return sendRequest(this.httpRequestV2Factory.deletePropertyByKeyRequest(contentId, key), (ignored) -> null);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getLabels(String contentId) {
+        int limit = this.paginationConfiguration.labelsPageSize();
+
+        return collectPages(this.httpRequestV2Factory.getLabelsRequest(contentId, limit), this.httpRequestV2Factory::getNextLabelsRequest,
+                this::sendRequest, JsonListingParser.Entry::name, new ArrayList<>());
+    }
+
+    @Override
+    public CompletableFuture<Void> addLabels(String contentId, List<String> labels) {
+        return sendRequestAndFailIfNot20x(this.httpRequestV2Factory.addLabelsRequest(contentId, labels));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteLabel(String contentId, String label) {
+        return sendRequestAndFailIfNot20x(this.httpRequestV2Factory.deleteLabelRequest(contentId, label));
+    }
+
+    private CompletableFuture<String> resolveSpaceId(String spaceKey) {
+        CompletableFuture<String> spaceId = this.spaceIdsBySpaceKey.computeIfAbsent(spaceKey, (key) -> sendRequestAndFailIfNot20x(
+                this.httpRequestV2Factory.lookupSpaceIdRequest(key),
+                (response) -> extractMandatorySingleArrayElement(parseJsonResponse(response), "results").get("id").asText()
+        ));
+
+        // failed lookups are not cached, so that they are retried by subsequent operations
+        spaceId.whenComplete((result, exception) -> {
+            if (exception != null) {
+                this.spaceIdsBySpaceKey.remove(spaceKey, spaceId);
+            }
+        });
+
+        return spaceId;
+    }
+
+    private <T> CompletableFuture<List<T>> collectPages(HttpRequestBase request, Function<String, ? extends HttpRequestBase> nextPageRequest,
+                                                        BiFunction<HttpRequestBase, Function<HttpResponse, String>, CompletableFuture<String>> requestSender,
+                                                        Function<JsonListingParser.Entry, T> resultExtractor, List<T> results) {
+        return requestSender.apply(request, (response) -> {
+            List<JsonListingParser.Entry> entries = new ArrayList<>();
+            String nextLink = this.jsonListingParser.parseResults(response, entries);
+            entries.forEach((entry) -> results.add(resultExtractor.apply(entry)));
+
+            return nextLink;
+        }).thenCompose((nextLink) -> nextLink != null
+                ? collectPages(nextPageRequest.apply(nextLink), nextPageRequest, requestSender, resultExtractor, results)
+                : completedFuture(results));
+    }
+
+    private List<JsonListingParser.Entry> parseResults(HttpResponse response) {
+        List<JsonListingParser.Entry> results = new ArrayList<>();
+        this.jsonListingParser.parseResults(response, results);
+
+        return results;
+    }
+
+    private JsonNode parseJsonResponse(HttpResponse response) {
+        try {
+            return this.objectMapper.readTree(response.getEntity().getContent());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read JSON response", e);
+        }
+    }
+
+    private CompletableFuture<Void> sendRequestAndFailIfNot20x(HttpRequestBase httpRequest) {
+        return sendRequestAndFailIfNot20x(httpRequest, (response) -> null);
+    }
+
+    private <T> CompletableFuture<T> sendRequestAndFailIfNot20x(HttpRequestBase request, Function<HttpResponse, T> responseHandler) {
+        return sendRequest(request, (response) -> {
+            StatusLine statusLine = response.getStatusLine();
+            if (statusLine.getStatusCode() < 200 || statusLine.getStatusCode() > 206) {
+                throw new RequestFailedException(request, response, null);
+            }
+
+            return responseHandler.apply(response);
+        });
+    }
+
+    <T> CompletableFuture<T> sendRequest(HttpRequestBase httpRequest, Function<HttpResponse, T> responseHandler) {
+        httpRequest.addHeader(AUTHORIZATION, authorizationHeaderValue(this.username, this.passwordOrPersonalAccessToken));
+
+        HttpRequest request;
+        try {
+            request = toHttpRequest(httpRequest);
+        } catch (IOException e) {
+            CompletableFuture<T> failedRequest = new CompletableFuture<>();
+            failedRequest.completeExceptionally(new RequestFailedException(httpRequest, null, e));
+
+            return failedRequest;
+        }
+
+        return this.rateLimiter.executeAsync(() -> this.httpClient.sendAsync(request, BodyHandlers.ofByteArray())
+                .handle((response, exception) -> {
+                    if (exception != null) {
+                        Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+                        throw new RequestFailedException(httpRequest, null, cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+                    }
+
+                    return toHttpResponse(response);
+                }), responseHandler, this.pacingExecutor);
+    }
+
+    private HttpRequest toHttpRequest(HttpRequestBase httpRequest) throws IOException {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(httpRequest.getURI());
+        for (Header header : httpRequest.getAllHeaders()) {
+            requestBuilder.header(header.getName(), header.getValue());
+        }
+
+        BodyPublisher bodyPublisher = BodyPublishers.noBody();
+        HttpEntity entity = httpRequest instanceof HttpEntityEnclosingRequest ? ((HttpEntityEnclosingRequest) httpRequest).getEntity() : null;
+
+        if (entity != null) {
+            if (entity.getContentType() != null && !httpRequest.containsHeader(CONTENT_TYPE)) {
+                requestBuilder.header(CONTENT_TYPE, entity.getContentType().getValue());
+            }
+
+            bodyPublisher = bodyPublisher(entity);
+        }
+
+        return requestBuilder.method(httpRequest.getMethod(), bodyPublisher).build();
+    }
+
+    private BodyPublisher bodyPublisher(HttpEntity entity) throws IOException {
+        if (!entity.isRepeatable()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            entity.writeTo(body);
+
+            return BodyPublishers.ofByteArray(body.toByteArray());
+        }
+
+        // each (re-)sent request streams the content of the entity again
+        BodyPublisher streamingBodyPublisher = BodyPublishers.ofInputStream(() -> content(entity));
+
+        return entity.getContentLength() >= 0 ? BodyPublishers.fromPublisher(streamingBodyPublisher, entity.getContentLength()) : streamingBodyPublisher;
+    }
+
+    /**
+     * Entities that can only be written to an output stream (like the multipart entities of attachments) are written
+     * to a pipe by a separate thread, so that their content is not held in memory.
+     */
+    private InputStream content(HttpEntity entity) {
+        try {
+            if (entity instanceof AbstractHttpEntity) {
+                return entity.getContent();
+            }
+
+            PipedInputStream content = new PipedInputStream(BODY_PIPE_BUFFER_SIZE);
+            PipedOutputStream contentWriter = new PipedOutputStream(content);
+
+            this.bodyWriterExecutor.execute(() -> {
+                try (contentWriter) {
+                    entity.writeTo(contentWriter);
+                } catch (IOException e) {
+                    // closing the reading end fails the request instead of sending a truncated body
+                    closeInputStream(content);
+                }
+            });
+
+            return content;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read request body", e);
+        }
+    }
+
+    private static HttpResponse toHttpResponse(java.net.http.HttpResponse<byte[]> response) {
+        BasicHttpResponse httpResponse = new BasicHttpResponse(new BasicStatusLine(HTTP_1_1, response.statusCode(), ""));
+        response.headers().map().forEach((name, values) -> values.forEach((value) -> httpResponse.addHeader(name, value)));
+        httpResponse.setEntity(new ByteArrayEntity(response.body() != null ? response.body() : new byte[0]));
+
+        return httpResponse;
+    }
+
+    private static HttpClient defaultHttpClient(ProxyConfiguration proxyConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT);
+
+        if (enableHttpClientSystemProperties) {
+            builder.proxy(ProxySelector.getDefault());
+        }
+
+        if (proxyConfiguration != null && proxyConfiguration.proxyHost() != null) {
+            int proxyPort = proxyConfiguration.proxyPort() != null ? proxyConfiguration.proxyPort() : 80;
+            builder.proxy(ProxySelector.of(new InetSocketAddress(proxyConfiguration.proxyHost(), proxyPort)));
+
+            if (proxyConfiguration.proxyUsername() != null) {
+                String proxyUsername = proxyConfiguration.proxyUsername();
+                String proxyPassword = proxyConfiguration.proxyPassword();
+
+                builder.authenticator(new Authenticator() {
+
+                    @Override
+                    protected PasswordAuthentication getPasswordAuthentication() {
+                        if (getRequestorType() != RequestorType.PROXY) {
+                            return null;
+                        }
+
+                        return new PasswordAuthentication(proxyUsername, proxyPassword != null ? proxyPassword.toCharArray() : new char[0]);
+                    }
+
+                });
+            }
+        }
+
+        if (disableSslVerification) {
+            builder.sslContext(trustAllSslContext());
+        }
+
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+
+/**
+ * Input stream of an attachment file that keeps track of the file path, so that the file can be re-opened. Attachments
+ * passed as {@link AttachmentInputStream} are uploaded directly from the file with a known content length, so that
+ * their upload can be retried.
+ */
+public class AttachmentInputStream extends FileInputStream {
+
+    private final Path path;
+
+    private AttachmentInputStream(Path path) throws FileNotFoundException {
+        super(path.toFile());
+        this.path = path;
+    }
+
+    public static AttachmentInputStream open(Path path) {
+        try {
+            return new AttachmentInputStream(path);
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("Could not find attachment ", e);
+        }
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+}
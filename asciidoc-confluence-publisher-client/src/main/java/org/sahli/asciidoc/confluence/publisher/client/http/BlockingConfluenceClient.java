@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link ConfluenceClient} waiting for the operations of an {@link AsyncConfluenceClient}. Allows to use an asynchronous
+ * client for publishing; the publisher sends the writes of pipelined publishing directly via the asynchronous client
+ * (see {@link #asyncConfluenceClient()}).
+ */
+public class BlockingConfluenceClient implements ConfluenceClient {
+
+    private final AsyncConfluenceClient asyncConfluenceClient;
+
+    public BlockingConfluenceClient(AsyncConfluenceClient asyncConfluenceClient) {
+        this.asyncConfluenceClient = asyncConfluenceClient;
+    }
+
+    public AsyncConfluenceClient asyncConfluenceClient() {
+        return this.asyncConfluenceClient;
+    }
+
+    @Override
+    public String addPageUnderAncestor(String spaceKey, String ancestorId, String title, String content, String versionMessage) {
+        return await(this.asyncConfluenceClient.addPageUnderAncestor(spaceKey, ancestorId, title, content, versionMessage));
+    }
+
+    @Override
+    public void updatePage(String contentId, String ancestorId, String title, String content, int newVersion, String versionMessage, boolean notifyWatchers) {
+        await(this.asyncConfluenceClient.updatePage(contentId, ancestorId, title, content, newVersion, versionMessage, notifyWatchers));
+    }
+
+    @Override
+    public void deletePage(String contentId) {
+        await(this.asyncConfluenceClient.deletePage(contentId));
+    }
+
+    @Override
+    public String getPageByTitle(String spaceKey, String ancestorId, String title) throws NotFoundException, MultipleResultsException {
+        return await(this.asyncConfluenceClient.getPageByTitle(spaceKey, ancestorId, title));
+    }
+
+    @Override
+    public void addAttachment(String contentId, String attachmentFileName, InputStream attachmentContent) {
+        await(this.asyncConfluenceClient.addAttachment(contentId, attachmentFileName, attachmentContent));
+    }
+
+    @Override
+    public void updateAttachmentContent(String contentId, String attachmentId, InputStream attachmentContent, boolean notifyWatchers) {
+        await(this.asyncConfluenceClient.updateAttachmentContent(contentId, attachmentId, attachmentContent, notifyWatchers));
+    }
+
+    @Override
+    public void deleteAttachment(String attachmentId) {
+        await(this.asyncConfluenceClient.deleteAttachment(attachmentId));
+    }
+
+    @Override
+    public ConfluenceAttachment getAttachmentByFileName(String contentId, String attachmentFileName) throws NotFoundException, MultipleResultsException {
+        return await(this.asyncConfluenceClient.getAttachmentByFileName(contentId, attachmentFileName));
+    }
+
+    @Override
+    public ConfluencePage getPageWithContentAndVersionById(String contentId) {
+        return await(this.asyncConfluenceClient.getPageWithContentAndVersionById(contentId));
+    }
+
+    @Override
+    public ConfluencePageState getPageStateById(String contentId, String propertyKey) {
+        return await(this.asyncConfluenceClient.getPageStateById(contentId, propertyKey));
+    }
+
+    @Override
+    public List<ConfluencePage> getChildPages(String contentId) {
+        return await(this.asyncConfluenceClient.getChildPages(contentId));
+    }
+
+    @Override
+    public List<ConfluenceDescendantPage> getDescendantPages(String contentId) {
+        return await(this.asyncConfluenceClient.getDescendantPages(contentId));
+    }
+
+    @Override
+    public List<ConfluenceAttachment> getAttachments(String contentId) {
+        return await(this.asyncConfluenceClient.getAttachments(contentId));
+    }
+
+    @Override
+    public void setPropertyByKey(String contentId, String key, String value) {
+        await(this.asyncConfluenceClient.setPropertyByKey(contentId, key, value));
+    }
+
+    @Override
+    public String getPropertyByKey(String contentId, String key) {
+        return await(this.asyncConfluenceClient.getPropertyByKey(contentId, key));
+    }
+
+    @Override
+    public void deletePropertyByKey(String contentId, String key) {
+        await(this.asyncConfluenceClient.deletePropertyByKey(contentId, key));
+    }
+
+    @Override
+    public List<String> getLabels(String contentId) {
+        return await(this.asyncConfluenceClient.getLabels(contentId));
+    }
+
+    @Override
+    public void addLabels(String contentId, List<String> labels) {
+        await(this.asyncConfluenceClient.addLabels(contentId, labels));
+    }
+
+    @Override
+    public void deleteLabel(String contentId, String label) {
+        await(this.asyncConfluenceClient.deleteLabel(contentId, label));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+}
@@ -17,7 +17,13 @@
 package org.sahli.asciidoc.confluence.publisher.client.http;
 
 import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
 
 /**
  * @author Alain Sahli
@@ -42,8 +48,35 @@ public interface ConfluenceClient {
 
     ConfluencePage getPageWithContentAndVersionById(String contentId);
 
+    /**
+     * Fetches the page with its version together with the value of the content property with the given key. Clients
+     * should fetch both with a single request if the API allows it.
+     */
+    default ConfluencePageState getPageStateById(String contentId, String propertyKey) {
+        return new ConfluencePageState(getPageWithContentAndVersionById(contentId), getPropertyByKey(contentId, propertyKey));
+    }
+
     List<ConfluencePage> getChildPages(String contentId);
 
+    /**
+     * Lists all pages below the given page. Clients should list them with as few requests as the API allows, instead of
+     * listing the child pages of each descendant page.
+     */
+    default List<ConfluenceDescendantPage> getDescendantPages(String contentId) {
+        List<ConfluenceDescendantPage> descendantPages = new ArrayList<>();
+        Deque<String> parentIds = new ArrayDeque<>(singletonList(contentId));
+
+        while (!parentIds.isEmpty()) {
+            String parentId = parentIds.poll();
+            getChildPages(parentId).forEach((childPage) -> {
+                descendantPages.add(new ConfluenceDescendantPage(childPage, parentId));
+                parentIds.add(childPage.getContentId());
+            });
+        }
+
+        return descendantPages;
+    }
+
     List<ConfluenceAttachment> getAttachments(String contentId);
 
     void setPropertyByKey(String contentId, String key, String value);
@@ -58,4 +91,11 @@ public interface ConfluenceClient {
 
     void deleteLabel(String contentId, String label);
 
+    /**
+     * @return the connection lease statistics of the http connection pool, if the client uses a pool it manages itself
+     */
+    default Optional<ConnectionPoolStatistics> connectionPoolStatistics() {
+        return Optional.empty();
+    }
+
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+/**
+ * Page below a given page in the page tree, together with the content id of its parent page.
+ */
+public class ConfluenceDescendantPage {
+
+    private final ConfluencePage page;
+    private final String parentId;
+
+    public ConfluenceDescendantPage(ConfluencePage page, String parentId) {
+        this.page = page;
+        this.parentId = parentId;
+    }
+
+    public ConfluencePage getPage() {
+        return this.page;
+    }
+
+    public String getParentId() {
+        return this.parentId;
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+/**
+ * Page with its version together with the value of one of its content properties, as required to decide whether the
+ * page has to be updated.
+ */
+public class ConfluencePageState {
+
+    private final ConfluencePage page;
+    private final String propertyValue;
+
+    public ConfluencePageState(ConfluencePage page, String propertyValue) {
+        this.page = page;
+        this.propertyValue = propertyValue;
+    }
+
+    public ConfluencePage getPage() {
+        return this.page;
+    }
+
+    /**
+     * @return the value of the requested content property, or {@code null} if the page does not have this property
+     */
+    public String getPropertyValue() {
+        return this.propertyValue;
+    }
+
+}
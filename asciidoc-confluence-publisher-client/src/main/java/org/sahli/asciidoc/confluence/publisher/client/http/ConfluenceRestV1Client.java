@@ -19,20 +19,17 @@ package org.sahli.asciidoc.confluence.publisher.client.http;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.util.concurrent.RateLimiter;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -46,11 +43,11 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.StreamSupport.stream;
 import static org.apache.http.HttpHeaders.AUTHORIZATION;
@@ -68,23 +65,38 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
     private final String username;
     private final String passwordOrPersonalAccessToken;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonListingParser jsonListingParser = new JsonListingParser(this.objectMapper.getFactory());
     private final HttpRequestFactory httpRequestFactory;
-    private final RateLimiter rateLimiter;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final LeaseTimingConnectionManager connectionManager;
 
     public ConfluenceRestV1Client(String rootConfluenceUrl, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, Integer connectionTTL, String username, String passwordOrPersonalAccessToken) {
         this(rootConfluenceUrl, null, disableSslVerification, enableHttpClientSystemProperties, maxRequestsPerSecond, connectionTTL, username, passwordOrPersonalAccessToken );
     }
 
     public ConfluenceRestV1Client(String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, Integer connectionTTL, String username, String passwordOrPersonalAccessToken) {
-        this(rootConfluenceUrl, defaultHttpClient(proxyConfiguration, disableSslVerification, enableHttpClientSystemProperties, connectionTTL), maxRequestsPerSecond, username,
-                passwordOrPersonalAccessToken);
+        this(rootConfluenceUrl, proxyConfiguration, new ConnectionPoolConfiguration(), disableSslVerification, enableHttpClientSystemProperties, maxRequestsPerSecond, connectionTTL, username, passwordOrPersonalAccessToken);
+    }
+
+    public ConfluenceRestV1Client(String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, ConnectionPoolConfiguration connectionPoolConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, Integer connectionTTL, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, proxyConfiguration, new LeaseTimingConnectionManager(connectionPoolConfiguration != null ? connectionPoolConfiguration : new ConnectionPoolConfiguration(),
+                disableSslVerification ? trustAllSslContext() : null, enableHttpClientSystemProperties, connectionTTL), enableHttpClientSystemProperties, maxRequestsPerSecond, username, passwordOrPersonalAccessToken);
+    }
+
+    private ConfluenceRestV1Client(String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, LeaseTimingConnectionManager connectionManager, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, defaultHttpClient(proxyConfiguration, connectionManager, enableHttpClientSystemProperties), connectionManager, maxRequestsPerSecond, username, passwordOrPersonalAccessToken);
     }
 
     public ConfluenceRestV1Client(String rootConfluenceUrl, CloseableHttpClient httpClient, Double maxRequestsPerSecond, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, httpClient, null, maxRequestsPerSecond, username, passwordOrPersonalAccessToken);
+    }
+
+    private ConfluenceRestV1Client(String rootConfluenceUrl, CloseableHttpClient httpClient, LeaseTimingConnectionManager connectionManager, Double maxRequestsPerSecond, String username, String passwordOrPersonalAccessToken) {
         assertMandatoryParameter(httpClient != null, "httpClient");
 
         this.httpClient = httpClient;
-        this.rateLimiter = maxRequestsPerSecond != null ? RateLimiter.create(maxRequestsPerSecond) : null;
+        this.connectionManager = connectionManager;
+        this.rateLimiter = new AdaptiveRateLimiter(maxRequestsPerSecond);
         this.username = username;
         this.passwordOrPersonalAccessToken = passwordOrPersonalAccessToken;
 
@@ -92,6 +104,11 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         configureObjectMapper();
     }
 
+    @Override
+    public Optional<ConnectionPoolStatistics> connectionPoolStatistics() {
+        return Optional.ofNullable(this.connectionManager).map(LeaseTimingConnectionManager::statistics);
+    }
+
     private void configureObjectMapper() {
         this.objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
     }
@@ -215,6 +232,26 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         });
     }
 
+    @Override
+    public ConfluencePageState getPageStateById(String contentId, String propertyKey) {
+        HttpGet pageByIdRequest = this.httpRequestFactory.getPageByIdRequest(contentId, "body.storage,version,metadata.properties." + propertyKey);
+
+        return sendRequestAndFailIfNot20x(pageByIdRequest, (response) -> {
+            JsonNode jsonNode = parseJsonResponse(response);
+            JsonNode propertyNode = jsonNode.path("metadata").path("properties").path(propertyKey);
+            String propertyValue = propertyNode.isMissingNode() || propertyNode.isNull() ? null : propertyNode.path("value").asText();
+
+            return new ConfluencePageState(extractConfluencePageWithContent(jsonNode), propertyValue);
+        });
+    }
+
+    private List<JsonListingParser.Entry> parseResults(HttpResponse response) {
+        List<JsonListingParser.Entry> results = new ArrayList<>();
+        this.jsonListingParser.parseResults(response, results);
+
+        return results;
+    }
+
     private JsonNode parseJsonResponse(HttpResponse response) {
         try {
             return this.objectMapper.readTree(response.getEntity().getContent());
@@ -241,12 +278,8 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
     <T> T sendRequest(HttpRequestBase httpRequest, Function<HttpResponse, T> responseHandler) {
         httpRequest.addHeader(AUTHORIZATION, authorizationHeaderValue(this.username, this.passwordOrPersonalAccessToken));
 
-        if (this.rateLimiter != null) {
-            this.rateLimiter.acquire(1);
-        }
-
-        try (CloseableHttpResponse response = this.httpClient.execute(httpRequest)) {
-            return responseHandler.apply(response);
+        try {
+            return this.rateLimiter.execute(this.httpClient, httpRequest, responseHandler);
         } catch (IOException e) {
             throw new RequestFailedException(httpRequest, null, e);
         }
@@ -270,6 +303,24 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         return childPages;
     }
 
+    @Override
+    public List<ConfluenceDescendantPage> getDescendantPages(String contentId) {
+        int start = 0;
+        int limit = 25;
+
+        ArrayList<ConfluenceDescendantPage> descendantPages = new ArrayList<>();
+        boolean fetchMore = true;
+        while (fetchMore) {
+            List<ConfluenceDescendantPage> nextDescendantPages = getNextDescendantPages(contentId, limit, start);
+            descendantPages.addAll(nextDescendantPages);
+
+            start += limit;
+            fetchMore = nextDescendantPages.size() == limit;
+        }
+
+        return descendantPages;
+    }
+
     @Override
     public List<ConfluenceAttachment> getAttachments(String contentId) {
         int start = 0;
@@ -293,8 +344,18 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         HttpGet getChildPagesByIdRequest = this.httpRequestFactory.getChildPagesByIdRequest(contentId, limit, start, "version");
 
         return sendRequestAndFailIfNot20x(getChildPagesByIdRequest, (response) -> {
-            JsonNode jsonNode = parseJsonResponse(response);
-            jsonNode.withArray("results").forEach((page) -> pages.add(extractConfluencePageWithoutContent(page)));
+            parseResults(response).forEach((page) -> pages.add(new ConfluencePage(page.id(), page.title(), versionOrInitial(page))));
+
+            return pages;
+        });
+    }
+
+    private List<ConfluenceDescendantPage> getNextDescendantPages(String contentId, int limit, int start) {
+        List<ConfluenceDescendantPage> pages = new ArrayList<>(limit);
+        HttpGet getDescendantPagesByIdRequest = this.httpRequestFactory.getDescendantPagesByIdRequest(contentId, limit, start, "version,ancestors");
+
+        return sendRequestAndFailIfNot20x(getDescendantPagesByIdRequest, (response) -> {
+            parseResults(response).forEach((page) -> pages.add(new ConfluenceDescendantPage(new ConfluencePage(page.id(), page.title(), versionOrInitial(page)), page.parentId())));
 
             return pages;
         });
@@ -305,8 +366,7 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         HttpGet getAttachmentsRequest = this.httpRequestFactory.getAttachmentsRequest(contentId, limit, start, "version");
 
         return sendRequestAndFailIfNot20x(getAttachmentsRequest, (response) -> {
-            JsonNode jsonNode = parseJsonResponse(response);
-            jsonNode.withArray("results").forEach(attachment -> attachments.add(extractConfluenceAttachment(attachment)));
+            parseResults(response).forEach((attachment) -> attachments.add(new ConfluenceAttachment(attachment.id(), attachment.title(), attachment.downloadLink(), versionOrInitial(attachment))));
 
             return attachments;
         });
@@ -324,7 +384,7 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
 
         return sendRequest(propertyByKeyRequest, (response) -> {
             if (response.getStatusLine().getStatusCode() == 200) {
-                return extractPropertyValueFromJsonNode(parseJsonResponse(response));
+                return this.jsonListingParser.parseSingleEntry(response).value();
             } else {
                 return null;
             }
@@ -341,12 +401,9 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
     public List<String> getLabels(String contentId) {
         HttpGet getLabelsRequest = this.httpRequestFactory.getLabelsRequest(contentId);
         return sendRequest(getLabelsRequest, response -> {
-            List<String> labels = new ArrayList<>();
-
-            JsonNode jsonNode = parseJsonResponse(response);
-            jsonNode.withArray("results").elements().forEachRemaining(n -> labels.add(n.get("name").asText()));
-
-            return labels;
+            return parseResults(response).stream()
+                    .map(JsonListingParser.Entry::name)
+                    .collect(toList());
         });
     }
 
@@ -371,14 +428,6 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         return new ConfluencePage(id, title, content, version);
     }
 
-    private static ConfluencePage extractConfluencePageWithoutContent(JsonNode jsonNode) {
-        String id = extractIdFromJsonNode(jsonNode);
-        String title = extractTitleFromJsonNode(jsonNode);
-        int version = extractVersionFromJsonNode(jsonNode);
-
-        return new ConfluencePage(id, title, version);
-    }
-
     private static ConfluenceAttachment extractConfluenceAttachment(JsonNode jsonNode) {
         String id = extractIdFromJsonNode(jsonNode);
         String title = extractTitleFromJsonNode(jsonNode);
@@ -388,6 +437,10 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         return new ConfluenceAttachment(id, title, relativeDownloadLink, version);
     }
 
+    private static int versionOrInitial(JsonListingParser.Entry entry) {
+        return entry.version() != null ? entry.version() : 1;
+    }
+
     private static String extractIdFromJsonNode(JsonNode jsonNode) {
         return jsonNode.get("id").asText();
     }
@@ -400,10 +453,6 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         return jsonNode.path("version").get("number").asInt();
     }
 
-    private static String extractPropertyValueFromJsonNode(JsonNode jsonNode) {
-        return jsonNode.path("value").asText();
-    }
-
     private static void closeInputStream(InputStream inputStream) {
         try {
             inputStream.close();
@@ -411,7 +460,7 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
         }
     }
 
-    private static CloseableHttpClient defaultHttpClient(ProxyConfiguration proxyConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Integer connectionTTL) {
+    private static CloseableHttpClient defaultHttpClient(ProxyConfiguration proxyConfiguration, LeaseTimingConnectionManager connectionManager, boolean enableHttpClientSystemProperties) {
         RequestConfig requestConfig = RequestConfig.custom()
                 .setConnectionRequestTimeout(20 * 1000)
                 .setConnectTimeout(20 * 1000)
@@ -448,14 +497,7 @@ public class ConfluenceRestV1Client implements ConfluenceClient {
             }
         }
 
-        if (connectionTTL != null) {
-            builder.setConnectionTimeToLive(connectionTTL, MILLISECONDS);
-        }
-
-        if (disableSslVerification) {
-            builder.setSSLContext(trustAllSslContext());
-            builder.setSSLHostnameVerifier(new NoopHostnameVerifier());
-        }
+        connectionManager.applyTo(builder);
 
         return builder.build();
     }
@@ -19,20 +19,17 @@ package org.sahli.asciidoc.confluence.publisher.client.http;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.util.concurrent.RateLimiter;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -45,13 +42,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.http.HttpHeaders.AUTHORIZATION;
 import static org.apache.http.HttpHeaders.PROXY_AUTHORIZATION;
 import static org.apache.http.client.config.CookieSpecs.STANDARD;
@@ -66,23 +64,49 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
     private final String username;
     private final String passwordOrPersonalAccessToken;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonListingParser jsonListingParser = new JsonListingParser(this.objectMapper.getFactory());
     private final HttpRequestV2Factory httpRequestV2Factory;
-    private final RateLimiter rateLimiter;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final LeaseTimingConnectionManager connectionManager;
+    private final PaginationConfiguration paginationConfiguration;
+    private final SpaceIdResolver spaceIdResolver = new SpaceIdResolver(this::lookupSpaceId);
 
     public ConfluenceRestV2Client(String rootConfluenceUrl, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, Integer connectionTTL, String username, String passwordOrPersonalAccessToken) {
         this(rootConfluenceUrl, null, disableSslVerification, enableHttpClientSystemProperties, maxRequestsPerSecond, connectionTTL, username, passwordOrPersonalAccessToken);
     }
 
     public ConfluenceRestV2Client(String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, Integer connectionTTL, String username, String passwordOrPersonalAccessToken) {
-        this(rootConfluenceUrl, defaultHttpClient(proxyConfiguration, disableSslVerification, enableHttpClientSystemProperties, connectionTTL), maxRequestsPerSecond, username,
-                passwordOrPersonalAccessToken);
+        this(rootConfluenceUrl, proxyConfiguration, new PaginationConfiguration(), disableSslVerification, enableHttpClientSystemProperties, maxRequestsPerSecond, connectionTTL, username, passwordOrPersonalAccessToken);
+    }
+
+    public ConfluenceRestV2Client(String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, PaginationConfiguration paginationConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, Integer connectionTTL, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, proxyConfiguration, paginationConfiguration, new ConnectionPoolConfiguration(), disableSslVerification, enableHttpClientSystemProperties, maxRequestsPerSecond, connectionTTL, username, passwordOrPersonalAccessToken);
+    }
+
+    public ConfluenceRestV2Client(String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, PaginationConfiguration paginationConfiguration, ConnectionPoolConfiguration connectionPoolConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, Integer connectionTTL, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, proxyConfiguration, new LeaseTimingConnectionManager(connectionPoolConfiguration != null ? connectionPoolConfiguration : new ConnectionPoolConfiguration(),
+                disableSslVerification ? trustAllSslContext() : null, enableHttpClientSystemProperties, connectionTTL), enableHttpClientSystemProperties, maxRequestsPerSecond, paginationConfiguration, username, passwordOrPersonalAccessToken);
+    }
+
+    private ConfluenceRestV2Client(String rootConfluenceUrl, ProxyConfiguration proxyConfiguration, LeaseTimingConnectionManager connectionManager, boolean enableHttpClientSystemProperties, Double maxRequestsPerSecond, PaginationConfiguration paginationConfiguration, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, defaultHttpClient(proxyConfiguration, connectionManager, enableHttpClientSystemProperties), connectionManager, maxRequestsPerSecond, paginationConfiguration, username, passwordOrPersonalAccessToken);
     }
 
     public ConfluenceRestV2Client(String rootConfluenceUrl, CloseableHttpClient httpClient, Double maxRequestsPerSecond, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, httpClient, maxRequestsPerSecond, new PaginationConfiguration(), username, passwordOrPersonalAccessToken);
+    }
+
+    public ConfluenceRestV2Client(String rootConfluenceUrl, CloseableHttpClient httpClient, Double maxRequestsPerSecond, PaginationConfiguration paginationConfiguration, String username, String passwordOrPersonalAccessToken) {
+        this(rootConfluenceUrl, httpClient, null, maxRequestsPerSecond, paginationConfiguration, username, passwordOrPersonalAccessToken);
+    }
+
+    private ConfluenceRestV2Client(String rootConfluenceUrl, CloseableHttpClient httpClient, LeaseTimingConnectionManager connectionManager, Double maxRequestsPerSecond, PaginationConfiguration paginationConfiguration, String username, String passwordOrPersonalAccessToken) {
         assertMandatoryParameter(httpClient != null, "httpClient");
 
         this.httpClient = httpClient;
-        this.rateLimiter = maxRequestsPerSecond != null ? RateLimiter.create(maxRequestsPerSecond) : null;
+        this.connectionManager = connectionManager;
+        this.rateLimiter = new AdaptiveRateLimiter(maxRequestsPerSecond);
+        this.paginationConfiguration = paginationConfiguration != null ? paginationConfiguration : new PaginationConfiguration();
         this.username = username;
         this.passwordOrPersonalAccessToken = passwordOrPersonalAccessToken;
 
@@ -90,18 +114,18 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         configureObjectMapper();
     }
 
+    @Override
+    public Optional<ConnectionPoolStatistics> connectionPoolStatistics() {
+        return Optional.ofNullable(this.connectionManager).map(LeaseTimingConnectionManager::statistics);
+    }
+
     private void configureObjectMapper() {
         this.objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
     }
 
     @Override
     public String addPageUnderAncestor(String spaceKey, String ancestorId, String title, String content, String versionMessage) {
-        HttpGet lookupSpaceIdRequest = this.httpRequestV2Factory.lookupSpaceIdRequest(spaceKey);
-        String spaceId = sendRequestAndFailIfNot20x(lookupSpaceIdRequest, (response) -> {
-            JsonNode jsonNode = parseJsonResponse(response);
-
-            return extractMandatorySingleArrayElement(jsonNode, "results").get("id").asText();
-        });
+        String spaceId = this.spaceIdResolver.resolveSpaceId(spaceKey);
 
         HttpPost addPageUnderSpaceRequest = this.httpRequestV2Factory.addPageUnderAncestorRequest(spaceId, ancestorId, title, content, versionMessage);
 
@@ -126,12 +150,7 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
 
     @Override
     public String getPageByTitle(String spaceKey, String ancestorId, String title) throws NotFoundException, MultipleResultsException {
-        HttpGet lookupSpaceIdRequest = this.httpRequestV2Factory.lookupSpaceIdRequest(spaceKey);
-        String spaceId = sendRequestAndFailIfNot20x(lookupSpaceIdRequest, (response) -> {
-            JsonNode jsonNode = parseJsonResponse(response);
-
-            return extractMandatorySingleArrayElement(jsonNode, "results").get("id").asText();
-        });
+        String spaceId = this.spaceIdResolver.resolveSpaceId(spaceKey);
 
         HttpGet pageByTitleRequest = this.httpRequestV2Factory.getPageByTitleRequest(spaceId, title);
 
@@ -194,6 +213,25 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         });
     }
 
+    @Override
+    public ConfluencePageState getPageStateById(String contentId, String propertyKey) {
+        HttpGet pageByIdRequest = this.httpRequestV2Factory.getPageByIdRequest(contentId, "properties");
+        JsonNode jsonNode = sendRequestAndFailIfNot20x(pageByIdRequest, this::parseJsonResponse);
+
+        return extractConfluencePageState(jsonNode, propertyKey)
+                .orElseGet(() -> new ConfluencePageState(extractConfluencePageWithContent(jsonNode), getPropertyByKey(contentId, propertyKey)));
+    }
+
+    private String lookupSpaceId(String spaceKey) {
+        HttpGet lookupSpaceIdRequest = this.httpRequestV2Factory.lookupSpaceIdRequest(spaceKey);
+
+        return sendRequestAndFailIfNot20x(lookupSpaceIdRequest, (response) -> {
+            JsonNode jsonNode = parseJsonResponse(response);
+
+            return extractMandatorySingleArrayElement(jsonNode, "results").get("id").asText();
+        });
+    }
+
     private JsonNode parseJsonResponse(HttpResponse response) {
         try {
             return this.objectMapper.readTree(response.getEntity().getContent());
@@ -220,12 +258,8 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
     <T> T sendRequest(HttpRequestBase httpRequest, Function<HttpResponse, T> responseHandler) {
         httpRequest.addHeader(AUTHORIZATION, authorizationHeaderValue(this.username, this.passwordOrPersonalAccessToken));
 
-        if (this.rateLimiter != null) {
-            this.rateLimiter.acquire(1);
-        }
-
-        try (CloseableHttpResponse response = this.httpClient.execute(httpRequest)) {
-            return responseHandler.apply(response);
+        try {
+            return this.rateLimiter.execute(this.httpClient, httpRequest, responseHandler);
         } catch (IOException e) {
             throw new RequestFailedException(httpRequest, null, e);
         }
@@ -233,7 +267,7 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
 
     @Override
     public List<ConfluencePage> getChildPages(String contentId) {
-        int limit = 25;
+        int limit = this.paginationConfiguration.childPagesPageSize();
         ArrayList<ConfluencePage> childPages = new ArrayList<>();
 
         HttpGet getChildPagesByIdRequest = this.httpRequestV2Factory.getChildPagesByIdRequest(contentId, limit, -1, null);
@@ -247,9 +281,28 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         return childPages;
     }
 
+    @Override
+    public List<ConfluenceDescendantPage> getDescendantPages(String contentId) {
+        int limit = this.paginationConfiguration.childPagesPageSize();
+        List<JsonListingParser.Entry> entries = new ArrayList<>();
+
+        HttpGet getDescendantPagesByIdRequest = this.httpRequestV2Factory.getDescendantPagesByIdRequest(contentId, limit, -1, null);
+        String nextLink = sendRequestAndFailIfNot20x(getDescendantPagesByIdRequest, (response) -> this.jsonListingParser.parseResults(response, entries));
+
+        while (nextLink != null) {
+            HttpGet getNextDescendantPagesByIdRequest = this.httpRequestV2Factory.getNextDescendantPagesByIdRequest(nextLink);
+            nextLink = sendRequestAndFailIfNot20x(getNextDescendantPagesByIdRequest, (response) -> this.jsonListingParser.parseResults(response, entries));
+        }
+
+        List<ConfluenceDescendantPage> descendantPages = new ArrayList<>();
+        addDescendantPages(contentId, entries, descendantPages).forEach((deepestPageId) -> descendantPages.addAll(getDescendantPages(deepestPageId)));
+
+        return descendantPages;
+    }
+
     @Override
     public List<ConfluenceAttachment> getAttachments(String contentId) {
-        int limit = 2;
+        int limit = this.paginationConfiguration.attachmentsPageSize();
         ArrayList<ConfluenceAttachment> attachments = new ArrayList<>();
 
         HttpGet getAttachmentsRequest = this.httpRequestV2Factory.getAttachmentsRequest(contentId, limit, -1, null);
@@ -267,11 +320,8 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
     public void setPropertyByKey(String contentId, String key, String value) {
         HttpGet lookupPropertyIdByKeyRequest = this.httpRequestV2Factory.lookupPropertyIdByKey(contentId, key);
         sendRequestAndFailIfNot20x(lookupPropertyIdByKeyRequest, (response) -> {
-            JsonNode jsonNode = parseJsonResponse(response);
-
-            extractOptionalSingleArrayElement(jsonNode, "results").ifPresent((resultNode) -> {
-                String propertyId = resultNode.get("id").asText();
-                HttpDelete deletePropertyByKeyRequest = this.httpRequestV2Factory.deletePropertyByKeyRequest(contentId, propertyId);
+            extractOptionalSingleEntry(parseResults(response)).ifPresent((propertyEntry) -> {
+                HttpDelete deletePropertyByKeyRequest = this.httpRequestV2Factory.deletePropertyByKeyRequest(contentId, propertyEntry.id());
                 sendRequestAndFailIfNot20x(deletePropertyByKeyRequest);
             });
 
@@ -288,8 +338,8 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
 
         return sendRequest(propertyByKeyRequest, (response) -> {
             if (response.getStatusLine().getStatusCode() == 200) {
-                return extractOptionalSingleArrayElement(parseJsonResponse(response), "results")
-                        .map(ConfluenceRestV2Client::extractPropertyValueFromJsonNode)
+                return extractOptionalSingleEntry(parseResults(response))
+                        .map(JsonListingParser.Entry::value)
                         .orElse(null);
             } else {
                 return null;
@@ -305,15 +355,18 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
 
     @Override
     public List<String> getLabels(String contentId) {
-        HttpGet getLabelsRequest = this.httpRequestV2Factory.getLabelsRequest(contentId);
-        return sendRequest(getLabelsRequest, response -> {
-            List<String> labels = new ArrayList<>();
+        int limit = this.paginationConfiguration.labelsPageSize();
+        List<String> labels = new ArrayList<>();
 
-            JsonNode jsonNode = parseJsonResponse(response);
-            jsonNode.withArray("results").elements().forEachRemaining(n -> labels.add(n.get("name").asText()));
+        HttpGet getLabelsRequest = this.httpRequestV2Factory.getLabelsRequest(contentId, limit);
+        String nextLink = sendRequest(getLabelsRequest, (response) -> extractLabelsAndNextLink(response, labels));
 
-            return labels;
-        });
+        while (nextLink != null) {
+            HttpGet getNextLabelsRequest = this.httpRequestV2Factory.getNextLabelsRequest(nextLink);
+            nextLink = sendRequest(getNextLabelsRequest, (response) -> extractLabelsAndNextLink(response, labels));
+        }
+
+        return labels;
     }
 
     @Override
@@ -329,24 +382,93 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
     }
 
     private String extractChildPagesAndNextLink(HttpResponse response, List<ConfluencePage> childPages) {
-        JsonNode jsonNode = parseJsonResponse(response);
-        if (jsonNode.has("results")) {
-            jsonNode.withArray("results").forEach((pageNode) -> childPages.add(extractConfluencePageWithoutContent(pageNode)));
-        }
+        List<JsonListingParser.Entry> pageEntries = new ArrayList<>();
+        String nextLink = this.jsonListingParser.parseResults(response, pageEntries);
+        pageEntries.forEach((pageEntry) -> childPages.add(toConfluencePage(pageEntry)));
 
-        return jsonNode.get("_links").has("next") ? jsonNode.get("_links").get("next").asText() : null;
+        return nextLink;
     }
 
     private String extractAttachmentsAndNextLink(HttpResponse response, List<ConfluenceAttachment> attachments) {
-        JsonNode jsonNode = parseJsonResponse(response);
-        if (jsonNode.has("results")) {
-            jsonNode.withArray("results").forEach((attachmentNode) -> attachments.add(extractConfluenceAttachment(attachmentNode)));
+        List<JsonListingParser.Entry> attachmentEntries = new ArrayList<>();
+        String nextLink = this.jsonListingParser.parseResults(response, attachmentEntries);
+        attachmentEntries.forEach((attachmentEntry) -> attachments.add(toConfluenceAttachment(attachmentEntry)));
+
+        return nextLink;
+    }
+
+    private String extractLabelsAndNextLink(HttpResponse response, List<String> labels) {
+        List<JsonListingParser.Entry> labelEntries = new ArrayList<>();
+        String nextLink = this.jsonListingParser.parseResults(response, labelEntries);
+        labelEntries.forEach((labelEntry) -> labels.add(labelEntry.name()));
+
+        return nextLink;
+    }
+
+    private List<JsonListingParser.Entry> parseResults(HttpResponse response) {
+        List<JsonListingParser.Entry> results = new ArrayList<>();
+        this.jsonListingParser.parseResults(response, results);
+
+        return results;
+    }
+
+    static ConfluencePage toConfluencePage(JsonListingParser.Entry pageEntry) {
+        return new ConfluencePage(pageEntry.id(), pageEntry.title(), versionOrInitial(pageEntry));
+    }
+
+    /**
+     * Adds the pages of a descendants listing of the given page to the given list (other content types like folders are
+     * skipped).
+     *
+     * @return the content ids of the pages at the maximum depth of the listing, whose descendants are not listed yet
+     */
+    static List<String> addDescendantPages(String contentId, List<JsonListingParser.Entry> entries, List<ConfluenceDescendantPage> descendantPages) {
+        Map<String, String> parentIdsById = new HashMap<>();
+        entries.forEach((entry) -> parentIdsById.put(entry.id(), entry.parentId()));
+
+        List<String> deepestPageIds = new ArrayList<>();
+        entries.stream()
+                .filter((entry) -> entry.type() == null || "page".equals(entry.type()))
+                .forEach((entry) -> {
+                    descendantPages.add(new ConfluenceDescendantPage(toConfluencePage(entry), entry.parentId()));
+
+                    if (depth(entry.id(), contentId, parentIdsById) >= HttpRequestV2Factory.MAX_DESCENDANTS_DEPTH) {
+                        deepestPageIds.add(entry.id());
+                    }
+                });
+
+        return deepestPageIds;
+    }
+
+    private static int depth(String id, String ancestorId, Map<String, String> parentIdsById) {
+        int depth = 1;
+
+        for (String parentId = parentIdsById.get(id); parentId != null && !parentId.equals(ancestorId); parentId = parentIdsById.get(parentId)) {
+            depth++;
+        }
+
+        return depth;
+    }
+
+    static ConfluenceAttachment toConfluenceAttachment(JsonListingParser.Entry attachmentEntry) {
+        String relativeDownloadLink = attachmentEntry.downloadLink() != null ? attachmentEntry.downloadLink() : "";
+
+        return new ConfluenceAttachment(attachmentEntry.id(), attachmentEntry.title(), relativeDownloadLink, versionOrInitial(attachmentEntry));
+    }
+
+    static Optional<JsonListingParser.Entry> extractOptionalSingleEntry(List<JsonListingParser.Entry> entries) {
+        if (entries.size() > 1) {
+            throw new MultipleResultsException();
         }
 
-        return jsonNode.get("_links").has("next") ? jsonNode.get("_links").get("next").asText() : null;
+        return entries.stream().findFirst();
+    }
+
+    private static int versionOrInitial(JsonListingParser.Entry entry) {
+        return entry.version() != null ? entry.version() : 1; // Default version if not found
     }
 
-    private static ConfluencePage extractConfluencePageWithContent(JsonNode jsonNode) {
+    static ConfluencePage extractConfluencePageWithContent(JsonNode jsonNode) {
         String id = extractIdFromJsonNode(jsonNode);
         String title = extractTitleFromJsonNode(jsonNode);
         String content = extractContentFromJsonNode(jsonNode);
@@ -355,6 +477,29 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         return new ConfluencePage(id, title, content, version);
     }
 
+    /**
+     * @return the state of the page including the value of the property with the given key, or an empty optional if the
+     * page has more properties than included in the response, so that the property has to be looked up separately
+     */
+    static Optional<ConfluencePageState> extractConfluencePageState(JsonNode jsonNode, String propertyKey) {
+        ConfluencePage page = extractConfluencePageWithContent(jsonNode);
+        JsonNode propertiesNode = jsonNode.path("properties");
+
+        for (JsonNode propertyNode : propertiesNode.path("results")) {
+            if (propertyKey.equals(propertyNode.path("key").asText())) {
+                JsonNode valueNode = propertyNode.path("value");
+
+                return Optional.of(new ConfluencePageState(page, valueNode.isContainerNode() ? "" : valueNode.asText()));
+            }
+        }
+
+        if (!propertiesNode.has("results") || propertiesNode.path("meta").path("hasMore").asBoolean()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ConfluencePageState(page, null));
+    }
+
     private static String extractContentFromJsonNode(JsonNode jsonNode) {
         // V2 API stores content differently
         if (jsonNode.has("body") && jsonNode.path("body").has("storage")) {
@@ -366,15 +511,7 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         return "";
     }
 
-    private static ConfluencePage extractConfluencePageWithoutContent(JsonNode jsonNode) {
-        String id = extractIdFromJsonNode(jsonNode);
-        String title = extractTitleFromJsonNode(jsonNode);
-        int version = extractVersionFromJsonNode(jsonNode);
-
-        return new ConfluencePage(id, title, version);
-    }
-
-    private static ConfluenceAttachment extractConfluenceAttachment(JsonNode jsonNode) {
+    static ConfluenceAttachment extractConfluenceAttachment(JsonNode jsonNode) {
         String id = extractIdFromJsonNode(jsonNode);
         String title = extractTitleFromJsonNode(jsonNode);
         int version = extractVersionFromJsonNode(jsonNode);
@@ -393,7 +530,7 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         return "";
     }
 
-    private static String extractIdFromJsonNode(JsonNode jsonNode) {
+    static String extractIdFromJsonNode(JsonNode jsonNode) {
         return jsonNode.get("id").asText();
     }
 
@@ -411,11 +548,7 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         return 1; // Default version if not found
     }
 
-    private static String extractPropertyValueFromJsonNode(JsonNode propertyNode) {
-        return propertyNode.path("value").asText();
-    }
-
-    private static JsonNode extractMandatorySingleArrayElement(JsonNode jsonNode, String arrayPropertyName) {
+    static JsonNode extractMandatorySingleArrayElement(JsonNode jsonNode, String arrayPropertyName) {
         if (!jsonNode.has(arrayPropertyName) || jsonNode.withArray(arrayPropertyName).size() == 0) {
             throw new NotFoundException();
         }
@@ -427,26 +560,14 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         return jsonNode.withArray(arrayPropertyName).elements().next();
     }
 
-    private static Optional<JsonNode> extractOptionalSingleArrayElement(JsonNode jsonNode, String arrayPropertyName) {
-        if (!jsonNode.has(arrayPropertyName) || jsonNode.withArray(arrayPropertyName).size() == 0) {
-            return Optional.empty();
-        }
-
-        if (jsonNode.withArray(arrayPropertyName).size() > 1) {
-            throw new MultipleResultsException();
-        }
-
-        return Optional.of(jsonNode.withArray(arrayPropertyName).elements().next());
-    }
-
-    private static void closeInputStream(InputStream inputStream) {
+    static void closeInputStream(InputStream inputStream) {
         try {
             inputStream.close();
         } catch (IOException ignored) {
         }
     }
 
-    private static CloseableHttpClient defaultHttpClient(ProxyConfiguration proxyConfiguration, boolean disableSslVerification, boolean enableHttpClientSystemProperties, Integer connectionTTL) {
+    private static CloseableHttpClient defaultHttpClient(ProxyConfiguration proxyConfiguration, LeaseTimingConnectionManager connectionManager, boolean enableHttpClientSystemProperties) {
         RequestConfig requestConfig = RequestConfig.custom()
                 .setConnectionRequestTimeout(20 * 1000)
                 .setConnectTimeout(20 * 1000)
@@ -483,19 +604,12 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
             }
         }
 
-        if (connectionTTL != null) {
-            builder.setConnectionTimeToLive(connectionTTL, MILLISECONDS);
-        }
-
-        if (disableSslVerification) {
-            builder.setSSLContext(trustAllSslContext());
-            builder.setSSLHostnameVerifier(new NoopHostnameVerifier());
-        }
+        connectionManager.applyTo(builder);
 
         return builder.build();
     }
 
-    private static SSLContext trustAllSslContext() {
+    static SSLContext trustAllSslContext() {
         try {
             return new SSLContextBuilder()
                     .loadTrustMaterial((chain, authType) -> true)
@@ -505,7 +619,7 @@ public class ConfluenceRestV2Client implements ConfluenceClient {
         }
     }
 
-    private static String authorizationHeaderValue(String username, String password) {
+    static String authorizationHeaderValue(String username, String password) {
         if (username == null || username.isEmpty()) {
             return "Bearer " + password;
         } else {
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+/**
+ * Configuration of the http connection pool used by {@link ConfluenceRestV1Client} and {@link ConfluenceRestV2Client}.
+ * All timeouts are in milliseconds, {@code null} values keep the defaults of the http client (i.e. keep-alive as long as
+ * allowed by the server, no eviction of idle connections and no socket timeout).
+ */
+public class ConnectionPoolConfiguration {
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+
+    private final int maxConnectionsTotal;
+    private final int maxConnectionsPerRoute;
+    private final Integer keepAliveTimeout;
+    private final Integer idleConnectionTimeout;
+    private final Integer socketTimeout;
+    private final boolean tcpNoDelay;
+
+    public ConnectionPoolConfiguration() {
+        this(null, null, null, null, null, null);
+    }
+
+    public ConnectionPoolConfiguration(Integer maxConnectionsTotal, Integer maxConnectionsPerRoute, Integer keepAliveTimeout, Integer idleConnectionTimeout, Integer socketTimeout, Boolean tcpNoDelay) {
+        this.maxConnectionsTotal = positiveOrDefault(maxConnectionsTotal, DEFAULT_MAX_CONNECTIONS, "maxConnectionsTotal");
+        this.maxConnectionsPerRoute = positiveOrDefault(maxConnectionsPerRoute, this.maxConnectionsTotal, "maxConnectionsPerRoute");
+        this.keepAliveTimeout = positiveOrNull(keepAliveTimeout, "keepAliveTimeout");
+        this.idleConnectionTimeout = positiveOrNull(idleConnectionTimeout, "idleConnectionTimeout");
+        this.socketTimeout = positiveOrNull(socketTimeout, "socketTimeout");
+        this.tcpNoDelay = tcpNoDelay != null ? tcpNoDelay : true;
+    }
+
+    public int maxConnectionsTotal() {
+        return this.maxConnectionsTotal;
+    }
+
+    public int maxConnectionsPerRoute() {
+        return this.maxConnectionsPerRoute;
+    }
+
+    public Integer keepAliveTimeout() {
+        return this.keepAliveTimeout;
+    }
+
+    public Integer idleConnectionTimeout() {
+        return this.idleConnectionTimeout;
+    }
+
+    public Integer socketTimeout() {
+        return this.socketTimeout;
+    }
+
+    public boolean tcpNoDelay() {
+        return this.tcpNoDelay;
+    }
+
+    private static int positiveOrDefault(Integer value, int defaultValue, String parameterName) {
+        return value != null ? positiveOrNull(value, parameterName) : defaultValue;
+    }
+
+    private static Integer positiveOrNull(Integer value, String parameterName) {
+        if (value != null && value < 1) {
+            throw new IllegalArgumentException(parameterName + " must be greater than 0");
+        }
+
+        return value;
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Snapshot of the connection leases of an http connection pool. A high lease wait time indicates that requests are
+ * waiting for a free connection, i.e. that the pool is too small for the number of concurrent requests.
+ */
+public class ConnectionPoolStatistics {
+
+    private final long leases;
+    private final long totalLeaseWaitNanos;
+    private final long maxLeaseWaitNanos;
+    private final int maxConnectionsTotal;
+    private final int maxConnectionsPerRoute;
+
+    ConnectionPoolStatistics(long leases, long totalLeaseWaitNanos, long maxLeaseWaitNanos, int maxConnectionsTotal, int maxConnectionsPerRoute) {
+        this.leases = leases;
+        this.totalLeaseWaitNanos = totalLeaseWaitNanos;
+        this.maxLeaseWaitNanos = maxLeaseWaitNanos;
+        this.maxConnectionsTotal = maxConnectionsTotal;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public long leases() {
+        return this.leases;
+    }
+
+    public long totalLeaseWaitMillis() {
+        return NANOSECONDS.toMillis(this.totalLeaseWaitNanos);
+    }
+
+    public double averageLeaseWaitMillis() {
+        return this.leases > 0 ? (double) this.totalLeaseWaitNanos / this.leases / MILLISECONDS.toNanos(1) : 0;
+    }
+
+    public long maxLeaseWaitMillis() {
+        return NANOSECONDS.toMillis(this.maxLeaseWaitNanos);
+    }
+
+    public int maxConnectionsTotal() {
+        return this.maxConnectionsTotal;
+    }
+
+    public int maxConnectionsPerRoute() {
+        return this.maxConnectionsPerRoute;
+    }
+
+    @Override
+    public String toString() {
+        return this.leases + " connection leases, average lease wait " + String.format("%.1f", averageLeaseWaitMillis()) + " ms, " +
+                "maximum lease wait " + maxLeaseWaitMillis() + " ms (pool of " + this.maxConnectionsTotal + " connections, " +
+                this.maxConnectionsPerRoute + " per route)";
+    }
+
+}
@@ -46,6 +46,8 @@ public interface HttpRequestFactory {
 
     HttpGet getChildPagesByIdRequest(String parentContentId, Integer limit, Integer start, String expandOptions);
 
+    HttpGet getDescendantPagesByIdRequest(String contentId, Integer limit, Integer start, String expandOptions);
+
     HttpGet getAttachmentsRequest(String contentId, Integer limit, Integer start, String expandOptions);
 
     HttpGet getPropertyByKeyRequest(String contentId, String key);
@@ -26,10 +26,12 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.mime.HttpMultipartMode;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.entity.mime.content.ContentBody;
+import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.entity.mime.content.InputStreamBody;
 import org.apache.http.entity.mime.content.StringBody;
 import org.apache.http.message.BasicHeader;
@@ -42,7 +44,7 @@ import org.sahli.asciidoc.confluence.publisher.client.http.payloads.Space;
 import org.sahli.asciidoc.confluence.publisher.client.http.payloads.Storage;
 import org.sahli.asciidoc.confluence.publisher.client.http.payloads.Version;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
@@ -209,7 +211,19 @@ class HttpRequestV1Factory implements HttpRequestFactory {
     @Override
     public HttpGet getChildPagesByIdRequest(String parentContentId, Integer limit, Integer start, String expandOptions) {
         assertMandatoryParameter(isNotBlank(parentContentId), "parentContentId");
-        URIBuilder uriBuilder = createUriBuilder(this.confluenceRestApiEndpoint + "/content/" + parentContentId + "/child/page");
+
+        return getPagesRequest(this.confluenceRestApiEndpoint + "/content/" + parentContentId + "/child/page", limit, start, expandOptions);
+    }
+
+    @Override
+    public HttpGet getDescendantPagesByIdRequest(String contentId, Integer limit, Integer start, String expandOptions) {
+        assertMandatoryParameter(isNotBlank(contentId), "contentId");
+
+        return getPagesRequest(this.confluenceRestApiEndpoint + "/content/" + contentId + "/descendant/page", limit, start, expandOptions);
+    }
+
+    private static HttpGet getPagesRequest(String pagesUrl, Integer limit, Integer start, String expandOptions) {
+        URIBuilder uriBuilder = createUriBuilder(pagesUrl);
 
         if (limit != null) {
             uriBuilder.addParameter("limit", limit.toString());
@@ -221,14 +235,11 @@ class HttpRequestV1Factory implements HttpRequestFactory {
             uriBuilder.addParameter("expand", expandOptions);
         }
 
-        HttpGet getChildPagesByIdRequest;
         try {
-            getChildPagesByIdRequest = new HttpGet(uriBuilder.build().toString());
+            return new HttpGet(uriBuilder.build().toString());
         } catch (URISyntaxException e) {
             throw new RuntimeException("Invalid URL", e);
         }
-
-        return getChildPagesByIdRequest;
     }
 
     @Override
@@ -326,12 +337,11 @@ class HttpRequestV1Factory implements HttpRequestFactory {
         return postRequest;
     }
 
-    private static BasicHttpEntity httpEntityWithJsonPayload(Object payload) {
+    private static ByteArrayEntity httpEntityWithJsonPayload(Object payload) {
         String jsonPayload = toJsonString(payload);
-        BasicHttpEntity entity = new BasicHttpEntity();
-        entity.setContent(new ByteArrayInputStream(jsonPayload.getBytes(UTF_8)));
 
-        return entity;
+        // repeatable, so that throttled requests can be retried
+        return new ByteArrayEntity(jsonPayload.getBytes(UTF_8));
     }
 
     private static String toJsonString(Object objectToConvert) {
@@ -350,14 +360,7 @@ class HttpRequestV1Factory implements HttpRequestFactory {
         multipartEntityBuilder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
         multipartEntityBuilder.setCharset(UTF_8);
 
-        InputStreamBody inputStreamBody;
-        if (isNotBlank(attachmentFileName)) {
-            inputStreamBody = new InputStreamBody(attachmentContent, APPLICATION_OCTET_STREAM, attachmentFileName);
-        } else {
-            inputStreamBody = new InputStreamBody(attachmentContent, APPLICATION_OCTET_STREAM);
-        }
-
-        multipartEntityBuilder.addPart("file", inputStreamBody);
+        multipartEntityBuilder.addPart("file", attachmentBody(attachmentFileName, attachmentContent));
 
         if (!notifyWatchers) {
             multipartEntityBuilder.addPart("minorEdit", new StringBody("true", ContentType.DEFAULT_TEXT));
@@ -366,6 +369,21 @@ class HttpRequestV1Factory implements HttpRequestFactory {
         return multipartEntityBuilder.build();
     }
 
+    private static ContentBody attachmentBody(String attachmentFileName, InputStream attachmentContent) {
+        // attachment files are sent directly from disk with a known length, so that the request can be retried
+        if (attachmentContent instanceof AttachmentInputStream) {
+            File attachmentFile = ((AttachmentInputStream) attachmentContent).getPath().toFile();
+
+            return new FileBody(attachmentFile, APPLICATION_OCTET_STREAM, isNotBlank(attachmentFileName) ? attachmentFileName : null);
+        }
+
+        if (isNotBlank(attachmentFileName)) {
+            return new InputStreamBody(attachmentContent, APPLICATION_OCTET_STREAM, attachmentFileName);
+        } else {
+            return new InputStreamBody(attachmentContent, APPLICATION_OCTET_STREAM);
+        }
+    }
+
     private static String urlEncode(String value) {
         try {
             return URLEncoder.encode(value, "UTF-8");
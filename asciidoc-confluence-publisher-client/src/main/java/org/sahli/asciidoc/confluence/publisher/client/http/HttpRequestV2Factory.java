@@ -27,15 +27,17 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.mime.HttpMultipartMode;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.entity.mime.content.ContentBody;
+import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.entity.mime.content.InputStreamBody;
 import org.apache.http.entity.mime.content.StringBody;
 import org.apache.http.message.BasicHeader;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
@@ -52,6 +54,8 @@ import static org.sahli.asciidoc.confluence.publisher.client.utils.AssertUtils.a
  */
 class HttpRequestV2Factory implements HttpRequestFactory {
 
+    static final int MAX_DESCENDANTS_DEPTH = 5;
+
     private final static Header APPLICATION_JSON_UTF8_HEADER = new BasicHeader("Content-Type", "application/json;charset=utf-8");
     private static final String API_V2_CONTEXT = "/api/v2";
     private static final String API_V1_CONTEXT = "/rest/api";
@@ -231,7 +235,18 @@ class HttpRequestV2Factory implements HttpRequestFactory {
     public HttpGet getPageByIdRequest(String contentId, String expandOptions) {
         assertMandatoryParameter(isNotBlank(contentId), "contentId");
 
-        return new HttpGet(this.confluenceApiV2Endpoint + "/pages/" + contentId + "?include-version=true");
+        StringBuilder includeParameters = new StringBuilder("?include-version=true");
+
+        // V2 API includes additional data (e.g. properties) via include parameters instead of expand options
+        if (isNotBlank(expandOptions)) {
+            for (String expandOption : expandOptions.split(",")) {
+                if (!expandOption.trim().equals("version")) {
+                    includeParameters.append("&include-").append(urlEncode(expandOption.trim())).append("=true");
+                }
+            }
+        }
+
+        return new HttpGet(this.confluenceApiV2Endpoint + "/pages/" + contentId + includeParameters);
     }
 
     @Override
@@ -247,6 +262,23 @@ class HttpRequestV2Factory implements HttpRequestFactory {
         return new HttpGet(this.confluenceServerUrl + nextLink);
     }
 
+    /**
+     * Lists the descendants of the given page up to {@link #MAX_DESCENDANTS_DEPTH} levels below the page (the maximum
+     * depth supported by the descendants endpoint).
+     */
+    @Override
+    public HttpGet getDescendantPagesByIdRequest(String contentId, Integer limit, Integer start, String expandOptions) {
+        assertMandatoryParameter(isNotBlank(contentId), "contentId");
+
+        return new HttpGet(this.confluenceApiV2Endpoint + "/pages/" + contentId + "/descendants?limit=" + limit + "&depth=" + MAX_DESCENDANTS_DEPTH);
+    }
+
+    public HttpGet getNextDescendantPagesByIdRequest(String nextLink) {
+        assertMandatoryParameter(isNotBlank(nextLink), "nextLink");
+
+        return new HttpGet(this.confluenceServerUrl + nextLink);
+    }
+
     @Override
     public HttpGet getAttachmentsRequest(String contentId, Integer limit, Integer start, String expandOptions) {
         assertMandatoryParameter(isNotBlank(contentId), "contentId");
@@ -255,6 +287,10 @@ class HttpRequestV2Factory implements HttpRequestFactory {
     }
 
     public HttpGet getNextAttachmentsRequest(String nextLink) {
+        return getNextLinkRequest(nextLink);
+    }
+
+    private HttpGet getNextLinkRequest(String nextLink) {
         assertMandatoryParameter(isNotBlank(nextLink), "nextLink");
 
         String nextLinkBaseUrl = this.rootConfluenceUrl;
@@ -315,6 +351,16 @@ class HttpRequestV2Factory implements HttpRequestFactory {
         return new HttpGet(this.confluenceApiV2Endpoint + "/pages/" + contentId + "/labels");
     }
 
+    public HttpGet getLabelsRequest(String contentId, Integer limit) {
+        assertMandatoryParameter(isNotBlank(contentId), "contentId");
+
+        return new HttpGet(this.confluenceApiV2Endpoint + "/pages/" + contentId + "/labels?limit=" + limit);
+    }
+
+    public HttpGet getNextLabelsRequest(String nextLink) {
+        return getNextLinkRequest(nextLink);
+    }
+
     @Override
     public HttpPost addLabelsRequest(String contentId, List<String> labels) {
         // V2 API doesn't support adding labels, fallback to V1
@@ -364,12 +410,11 @@ class HttpRequestV2Factory implements HttpRequestFactory {
         }
     }
 
-    private BasicHttpEntity httpEntityWithJsonPayload(Object payload) {
+    private ByteArrayEntity httpEntityWithJsonPayload(Object payload) {
         String jsonPayload = toJsonString(payload);
-        BasicHttpEntity entity = new BasicHttpEntity();
-        entity.setContent(new ByteArrayInputStream(jsonPayload.getBytes(UTF_8)));
 
-        return entity;
+        // repeatable, so that throttled requests can be retried
+        return new ByteArrayEntity(jsonPayload.getBytes(UTF_8));
     }
 
     private String toJsonString(Object objectToConvert) {
@@ -385,14 +430,7 @@ class HttpRequestV2Factory implements HttpRequestFactory {
         multipartEntityBuilder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
         multipartEntityBuilder.setCharset(UTF_8);
 
-        InputStreamBody inputStreamBody;
-        if (isNotBlank(attachmentFileName)) {
-            inputStreamBody = new InputStreamBody(attachmentContent, APPLICATION_OCTET_STREAM, attachmentFileName);
-        } else {
-            inputStreamBody = new InputStreamBody(attachmentContent, APPLICATION_OCTET_STREAM);
-        }
-
-        multipartEntityBuilder.addPart("file", inputStreamBody);
+        multipartEntityBuilder.addPart("file", attachmentBody(attachmentFileName, attachmentContent));
 
         if (!notifyWatchers) {
             multipartEntityBuilder.addPart("minorEdit", new StringBody("true", ContentType.DEFAULT_TEXT));
@@ -401,6 +439,21 @@ class HttpRequestV2Factory implements HttpRequestFactory {
         return multipartEntityBuilder.build();
     }
 
+    private static ContentBody attachmentBody(String attachmentFileName, InputStream attachmentContent) {
+        // attachment files are sent directly from disk with a known length, so that the request can be retried
+        if (attachmentContent instanceof AttachmentInputStream) {
+            File attachmentFile = ((AttachmentInputStream) attachmentContent).getPath().toFile();
+
+            return new FileBody(attachmentFile, APPLICATION_OCTET_STREAM, isNotBlank(attachmentFileName) ? attachmentFileName : null);
+        }
+
+        if (isNotBlank(attachmentFileName)) {
+            return new InputStreamBody(attachmentContent, APPLICATION_OCTET_STREAM, attachmentFileName);
+        } else {
+            return new InputStreamBody(attachmentContent, APPLICATION_OCTET_STREAM);
+        }
+    }
+
     private static String urlEncode(String value) {
         try {
             return URLEncoder.encode(value, "UTF-8");
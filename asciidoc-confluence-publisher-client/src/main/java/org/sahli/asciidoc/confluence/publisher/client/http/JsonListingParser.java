@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.http.HttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Streaming parser for listing responses of the Confluence REST API (child and descendant pages, attachments, labels
+ * and content properties). Only the fields used by the clients are read, and everything else is skipped without building a tree of
+ * the response, as listings of large spaces can be big.
+ */
+class JsonListingParser {
+
+    private final JsonFactory jsonFactory;
+
+    JsonListingParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Adds the entries of the {@code results} array of the response to the given list.
+     *
+     * @return the link to the next page of results ({@code _links.next}), or {@code null} if there is none
+     */
+    String parseResults(HttpResponse response, List<Entry> results) {
+        try (InputStream content = response.getEntity().getContent(); JsonParser parser = this.jsonFactory.createParser(content)) {
+            String nextLink = null;
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+
+                if ("results".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        results.add(parseEntry(parser));
+                    }
+                } else if ("_links".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                    nextLink = parseLink(parser, "next");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return nextLink;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read JSON response", e);
+        }
+    }
+
+    /**
+     * Parses a response consisting of a single entry (e.g. a content property of the REST API v1).
+     */
+    Entry parseSingleEntry(HttpResponse response) {
+        try (InputStream content = response.getEntity().getContent(); JsonParser parser = this.jsonFactory.createParser(content)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+            return parseEntry(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read JSON response", e);
+        }
+    }
+
+    private static Entry parseEntry(JsonParser parser) throws IOException {
+        Entry entry = new Entry();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+
+            switch (fieldName) {
+                case "id":
+                    entry.id = parser.getValueAsString();
+                    break;
+                case "title":
+                    entry.title = parser.getValueAsString();
+                    break;
+                case "type":
+                    entry.type = parser.getValueAsString();
+                    break;
+                case "parentId":
+                    entry.parentId = parser.getValueAsString();
+                    break;
+                case "ancestors":
+                    entry.parentId = valueToken == JsonToken.START_ARRAY ? parseLastId(parser) : null;
+                    break;
+                case "name":
+                    entry.name = parser.getValueAsString();
+                    break;
+                case "value":
+                    entry.value = scalarValueOrEmpty(parser, valueToken);
+                    break;
+                case "version":
+                    entry.version = parseVersion(parser, valueToken);
+                    break;
+                case "downloadLink":
+                    entry.downloadLink = entry.downloadLink != null ? entry.downloadLink : parser.getValueAsString();
+                    break;
+                case "_links":
+                    String downloadLink = valueToken == JsonToken.START_OBJECT ? parseLink(parser, "download") : null;
+                    entry.downloadLink = downloadLink != null ? downloadLink : entry.downloadLink;
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        return entry;
+    }
+
+    private static Integer parseVersion(JsonParser parser, JsonToken valueToken) throws IOException {
+        if (valueToken == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+
+        Integer version = null;
+        if (valueToken == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+
+                if ("number".equals(fieldName)) {
+                    version = parser.getValueAsInt();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+
+        return version;
+    }
+
+    private static String parseLastId(JsonParser parser) throws IOException {
+        String lastId = null;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String id = parseEntry(parser).id;
+            lastId = id != null ? id : lastId;
+        }
+
+        return lastId;
+    }
+
+    private static String parseLink(JsonParser parser, String linkName) throws IOException {
+        String link = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+
+            if (linkName.equals(fieldName)) {
+                link = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return link;
+    }
+
+    private static String scalarValueOrEmpty(JsonParser parser, JsonToken valueToken) throws IOException {
+        if (valueToken.isStructStart()) {
+            parser.skipChildren();
+
+            return "";
+        }
+
+        return valueToken == JsonToken.VALUE_NULL ? "null" : parser.getValueAsString();
+    }
+
+    private static void expect(JsonToken actualToken, JsonToken expectedToken) throws IOException {
+        if (actualToken != expectedToken) {
+            throw new IOException("Unexpected JSON token " + actualToken + " (expected " + expectedToken + ")");
+        }
+    }
+
+
+    /**
+     * Fields of a single result of a listing, {@code null} if not present in the response (except for the value, which
+     * is empty if not present or not a scalar value).
+     */
+    static class Entry {
+
+        private String id;
+        private String title;
+        private String type;
+        private String parentId;
+        private String name;
+        private String value = "";
+        private Integer version;
+        private String downloadLink;
+
+        String id() {
+            return this.id;
+        }
+
+        String title() {
+            return this.title;
+        }
+
+        String type() {
+            return this.type;
+        }
+
+        /**
+         * @return the content id of the parent page, either given directly (REST API v2) or as the last of the expanded
+         * {@code ancestors} (REST API v1)
+         */
+        String parentId() {
+            return this.parentId;
+        }
+
+        String name() {
+            return this.name;
+        }
+
+        String value() {
+            return this.value;
+        }
+
+        Integer version() {
+            return this.version;
+        }
+
+        String downloadLink() {
+            return this.downloadLink;
+        }
+
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import javax.net.ssl.SSLContext;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Pooling connection manager configured from a {@link ConnectionPoolConfiguration}, recording how long requests wait
+ * for a connection lease (see {@link #statistics()}).
+ */
+class LeaseTimingConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final ConnectionPoolConfiguration connectionPoolConfiguration;
+    private final LongSupplier nanoClock;
+    private long leases;
+    private long totalLeaseWaitNanos;
+    private long maxLeaseWaitNanos;
+
+    /**
+     * @param trustAllSslContext SSL context trusting all certificates (disables hostname verification as well), or
+     *                           {@code null} to verify certificates
+     */
+    LeaseTimingConnectionManager(ConnectionPoolConfiguration connectionPoolConfiguration, SSLContext trustAllSslContext, boolean useSystemProperties, Integer connectionTTL) {
+        this(connectionPoolConfiguration, trustAllSslContext, useSystemProperties, connectionTTL, System::nanoTime);
+    }
+
+    LeaseTimingConnectionManager(ConnectionPoolConfiguration connectionPoolConfiguration, SSLContext trustAllSslContext, boolean useSystemProperties, Integer connectionTTL, LongSupplier nanoClock) {
+        super(socketFactoryRegistry(trustAllSslContext, useSystemProperties), null, null, null, connectionTTL != null ? connectionTTL : -1, MILLISECONDS);
+
+        this.connectionPoolConfiguration = connectionPoolConfiguration;
+        this.nanoClock = nanoClock;
+        setMaxTotal(connectionPoolConfiguration.maxConnectionsTotal());
+        setDefaultMaxPerRoute(connectionPoolConfiguration.maxConnectionsPerRoute());
+        setDefaultSocketConfig(SocketConfig.custom()
+                .setTcpNoDelay(connectionPoolConfiguration.tcpNoDelay())
+                .setSoTimeout(connectionPoolConfiguration.socketTimeout() != null ? connectionPoolConfiguration.socketTimeout() : 0)
+                .build());
+    }
+
+    /**
+     * Configures the given builder to use this connection manager, together with the keep-alive and idle connection
+     * eviction settings of the connection pool configuration.
+     */
+    void applyTo(HttpClientBuilder builder) {
+        builder.setConnectionManager(this);
+
+        Integer keepAliveTimeout = this.connectionPoolConfiguration.keepAliveTimeout();
+        if (keepAliveTimeout != null) {
+            builder.setKeepAliveStrategy(cappedKeepAliveStrategy(keepAliveTimeout));
+        }
+
+        Integer idleConnectionTimeout = this.connectionPoolConfiguration.idleConnectionTimeout();
+        if (idleConnectionTimeout != null) {
+            builder.evictExpiredConnections();
+            builder.evictIdleConnections(idleConnectionTimeout, MILLISECONDS);
+        }
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest connectionRequest = super.requestConnection(route, state);
+
+        return new ConnectionRequest() {
+
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit) throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long startNanos = LeaseTimingConnectionManager.this.nanoClock.getAsLong();
+
+                try {
+                    return connectionRequest.get(timeout, timeUnit);
+                } finally {
+                    recordLease(LeaseTimingConnectionManager.this.nanoClock.getAsLong() - startNanos);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return connectionRequest.cancel();
+            }
+
+        };
+    }
+
+    synchronized ConnectionPoolStatistics statistics() {
+        return new ConnectionPoolStatistics(this.leases, this.totalLeaseWaitNanos, this.maxLeaseWaitNanos, getMaxTotal(), getDefaultMaxPerRoute());
+    }
+
+    private synchronized void recordLease(long leaseWaitNanos) {
+        this.leases++;
+        this.totalLeaseWaitNanos += leaseWaitNanos;
+        this.maxLeaseWaitNanos = max(this.maxLeaseWaitNanos, leaseWaitNanos);
+    }
+
+    private static ConnectionKeepAliveStrategy cappedKeepAliveStrategy(long keepAliveTimeout) {
+        return (response, context) -> {
+            // keep-alive duration requested by the server (via the Keep-Alive header), or -1 for indefinitely
+            long requestedKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+            return requestedKeepAlive > 0 ? min(requestedKeepAlive, keepAliveTimeout) : keepAliveTimeout;
+        };
+    }
+
+    private static Registry<ConnectionSocketFactory> socketFactoryRegistry(SSLContext trustAllSslContext, boolean useSystemProperties) {
+        SSLConnectionSocketFactory sslSocketFactory;
+        if (trustAllSslContext != null) {
+            sslSocketFactory = new SSLConnectionSocketFactory(trustAllSslContext, NoopHostnameVerifier.INSTANCE);
+        } else if (useSystemProperties) {
+            sslSocketFactory = SSLConnectionSocketFactory.getSystemSocketFactory();
+        } else {
+            sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+        }
+
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory)
+                .build();
+    }
+
+}
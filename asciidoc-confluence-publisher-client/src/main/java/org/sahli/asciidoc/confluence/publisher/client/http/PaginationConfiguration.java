@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+public class PaginationConfiguration {
+
+    public static final int DEFAULT_PAGE_SIZE = 250;
+
+    private final int childPagesPageSize;
+    private final int attachmentsPageSize;
+    private final int labelsPageSize;
+
+    public PaginationConfiguration() {
+        this(null, null, null);
+    }
+
+    public PaginationConfiguration(Integer childPagesPageSize, Integer attachmentsPageSize, Integer labelsPageSize) {
+        this.childPagesPageSize = pageSizeOrDefault(childPagesPageSize, "childPagesPageSize");
+        this.attachmentsPageSize = pageSizeOrDefault(attachmentsPageSize, "attachmentsPageSize");
+        this.labelsPageSize = pageSizeOrDefault(labelsPageSize, "labelsPageSize");
+    }
+
+    public int childPagesPageSize() {
+        return this.childPagesPageSize;
+    }
+
+    public int attachmentsPageSize() {
+        return this.attachmentsPageSize;
+    }
+
+    public int labelsPageSize() {
+        return this.labelsPageSize;
+    }
+
+    private static int pageSizeOrDefault(Integer pageSize, String parameterName) {
+        if (pageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        if (pageSize < 1) {
+            throw new IllegalArgumentException(parameterName + " must be greater than 0");
+        }
+
+        return pageSize;
+    }
+
+}
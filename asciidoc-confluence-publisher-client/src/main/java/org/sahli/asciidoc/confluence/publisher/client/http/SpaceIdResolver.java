@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolves space keys to space ids (required by the REST API v2) and caches the resolved ids, as they do not change
+ * during the lifetime of a client. Concurrent resolutions of the same space key only trigger a single lookup.
+ */
+class SpaceIdResolver {
+
+    private final Function<String, String> spaceIdLookup;
+    private final Map<String, String> spaceIdsBySpaceKey = new ConcurrentHashMap<>();
+
+    SpaceIdResolver(Function<String, String> spaceIdLookup) {
+        this.spaceIdLookup = spaceIdLookup;
+    }
+
+    String resolveSpaceId(String spaceKey) {
+        return this.spaceIdsBySpaceKey.computeIfAbsent(spaceKey, this.spaceIdLookup);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePageMetadata;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readString;
+import static java.nio.file.Files.write;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class AttachmentDeduplicatorTest {
+
+    @TempDir
+    Path temporaryFolder;
+
+    @Test
+    public void deduplicate_sameAttachmentContentOnParentAndChildPage_removesAttachmentFromChildAndReferencesParentAttachment() throws Exception {
+        // arrange
+        ConfluencePageMetadata parentPage = page("Parent & Co", "parent.html", "<ri:attachment ri:filename=\"logo.png\"></ri:attachment>");
+        parentPage.getAttachments().put("logo.png", writeFile("parent-logo.png", "logo").toString());
+
+        ConfluencePageMetadata childPage = page("Child", "child.html", "<ac:image><ri:attachment ri:filename=\"logo-copy.png\"></ri:attachment></ac:image>");
+        childPage.getAttachments().put("logo-copy.png", writeFile("child-logo.png", "logo").toString());
+        childPage.getAttachments().put("diagram.png", writeFile("child-diagram.png", "diagram").toString());
+        parentPage.setChildren(List.of(childPage));
+
+        String originalChildContentFilePath = childPage.getContentFilePath();
+
+        // act
+        new AttachmentDeduplicator(AttachmentDigestCache.inMemory()).deduplicate(List.of(parentPage));
+
+        // assert
+        assertThat(parentPage.getAttachments().keySet(), is(Set.of("logo.png")));
+        assertThat(childPage.getAttachments().keySet(), is(Set.of("diagram.png")));
+        assertThat(childPage.getContentFilePath(), is(not(originalChildContentFilePath)));
+        assertThat(readString(Path.of(childPage.getContentFilePath())),
+                is("<ac:image><ri:attachment ri:filename=\"logo.png\"><ri:page ri:content-title=\"Parent &amp; Co\"/></ri:attachment></ac:image>"));
+        assertThat(readString(Path.of(originalChildContentFilePath)), is("<ac:image><ri:attachment ri:filename=\"logo-copy.png\"></ri:attachment></ac:image>"));
+    }
+
+    @Test
+    public void deduplicate_sameAttachmentContentTwiceOnSamePage_referencesFirstAttachmentWithoutPageReference() throws Exception {
+        // arrange
+        ConfluencePageMetadata page = page("Page", "page.html", "<ri:attachment ri:filename=\"b.png\"/>");
+        page.getAttachments().put("a.png", writeFile("a.png", "logo").toString());
+        page.getAttachments().put("b.png", writeFile("b.png", "logo").toString());
+
+        // act
+        new AttachmentDeduplicator(AttachmentDigestCache.inMemory()).deduplicate(List.of(page));
+
+        // assert
+        assertThat(page.getAttachments().keySet(), is(Set.of("a.png")));
+        assertThat(readString(Path.of(page.getContentFilePath())), is("<ri:attachment ri:filename=\"a.png\"></ri:attachment>"));
+    }
+
+    private ConfluencePageMetadata page(String title, String contentFileName, String content) throws Exception {
+        ConfluencePageMetadata page = new ConfluencePageMetadata();
+        page.setTitle(title);
+        page.setContentFilePath(writeFile(contentFileName, content).toString());
+
+        return page;
+    }
+
+    private Path writeFile(String fileName, String content) throws Exception {
+        return write(this.temporaryFolder.resolve(fileName), content.getBytes(UTF_8));
+    }
+
+}
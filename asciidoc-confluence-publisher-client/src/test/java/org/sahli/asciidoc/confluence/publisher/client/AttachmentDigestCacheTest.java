@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.getLastModifiedTime;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.Files.write;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class AttachmentDigestCacheTest {
+
+    @Test
+    public void digestAll_withAttachmentFiles_cachesSha256DigestsOfFiles(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path firstAttachment = write(tempDir.resolve("first.txt"), "first".getBytes(UTF_8));
+        Path secondAttachment = write(tempDir.resolve("second.txt"), "second".getBytes(UTF_8));
+        AttachmentDigestCache attachmentDigestCache = AttachmentDigestCache.inMemory();
+
+        // act
+        attachmentDigestCache.digestAll(List.of(firstAttachment, secondAttachment, firstAttachment));
+
+        // assert
+        assertThat(attachmentDigestCache.digest(firstAttachment), is(sha256Hex("first")));
+        assertThat(attachmentDigestCache.digest(secondAttachment), is(sha256Hex("second")));
+    }
+
+    @Test
+    public void digest_withUnchangedSizeAndModificationTimeInSavedCache_reusesSavedDigest(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path cacheFile = tempDir.resolve("build").resolve(AttachmentDigestCache.DEFAULT_CACHE_FILE_NAME);
+        Path attachment = write(tempDir.resolve("attachment.txt"), "content".getBytes(UTF_8));
+        FileTime lastModifiedTime = getLastModifiedTime(attachment);
+
+        AttachmentDigestCache previousAttachmentDigestCache = AttachmentDigestCache.load(cacheFile);
+        previousAttachmentDigestCache.digest(attachment);
+        previousAttachmentDigestCache.save();
+
+        // same size and modification time, so the file is not read again
+        write(attachment, "CONTENT".getBytes(UTF_8));
+        setLastModifiedTime(attachment, lastModifiedTime);
+
+        // act
+        String digest = AttachmentDigestCache.load(cacheFile).digest(attachment);
+
+        // assert
+        assertThat(exists(cacheFile), is(true));
+        assertThat(digest, is(sha256Hex("content")));
+    }
+
+    @Test
+    public void digest_withChangedModificationTimeInSavedCache_recomputesDigest(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path cacheFile = tempDir.resolve(AttachmentDigestCache.DEFAULT_CACHE_FILE_NAME);
+        Path attachment = write(tempDir.resolve("attachment.txt"), "content".getBytes(UTF_8));
+
+        AttachmentDigestCache previousAttachmentDigestCache = AttachmentDigestCache.load(cacheFile);
+        previousAttachmentDigestCache.digest(attachment);
+        previousAttachmentDigestCache.save();
+
+        write(attachment, "CONTENT".getBytes(UTF_8));
+        setLastModifiedTime(attachment, FileTime.fromMillis(getLastModifiedTime(attachment).toMillis() + 1000));
+
+        // act
+        String digest = AttachmentDigestCache.load(cacheFile).digest(attachment);
+
+        // assert
+        assertThat(digest, is(sha256Hex("CONTENT")));
+    }
+
+}
@@ -17,13 +17,19 @@
 package org.sahli.asciidoc.confluence.publisher.client;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
+import org.sahli.asciidoc.confluence.publisher.client.http.AsyncConfluenceClient;
+import org.sahli.asciidoc.confluence.publisher.client.http.BlockingConfluenceClient;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceAttachment;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceClient;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceDescendantPage;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePage;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePageState;
 import org.sahli.asciidoc.confluence.publisher.client.http.NotFoundException;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePageMetadata;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePublisherMetadata;
@@ -33,23 +39,34 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.exists;
 import static java.nio.file.Files.newInputStream;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -58,8 +75,16 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisher.CONTENT_HASH_PROPERTY_KEY;
+import static org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisher.CONTENT_MANIFEST_PROPERTY_KEY;
 import static org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisher.INITIAL_PAGE_VERSION;
 import static org.sahli.asciidoc.confluence.publisher.client.OrphanRemovalStrategy.KEEP_ORPHANS;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.ADD_ATTACHMENT;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.ADD_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.DELETE_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.MOVE_PAGE;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.SET_PROPERTY;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.UPDATE_ATTACHMENT;
+import static org.sahli.asciidoc.confluence.publisher.client.PlannedOperation.Type.UPDATE_PAGE;
 import static org.sahli.asciidoc.confluence.publisher.client.OrphanRemovalStrategy.REMOVE_ORPHANS;
 import static org.sahli.asciidoc.confluence.publisher.client.PublishingStrategy.APPEND_TO_ANCESTOR;
 import static org.sahli.asciidoc.confluence.publisher.client.PublishingStrategy.REPLACE_ANCESTOR;
@@ -82,7 +107,7 @@ public class ConfluencePublisherTest {
         // assert
         assertThrows(IllegalArgumentException.class, () -> {
             // arrange + act
-            ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+            ConfluenceClient confluenceClientMock = confluenceClientMock();
             ConfluencePublisher confluencePublisher = confluencePublisher("without-space-key", confluenceClientMock);
             confluencePublisher.publish();
         });
@@ -93,7 +118,7 @@ public class ConfluencePublisherTest {
         // assert
         assertThrows(IllegalArgumentException.class, () -> {
             // arrange + act
-            ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+            ConfluenceClient confluenceClientMock = confluenceClientMock();
             ConfluencePublisher confluencePublisher = confluencePublisher("without-ancestor-id", confluenceClientMock);
             confluencePublisher.publish();
         });
@@ -102,7 +127,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_oneNewPageWithAncestorId_delegatesToConfluenceRestClient() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
         when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), anyString())).thenReturn("2345");
 
@@ -123,7 +148,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_multiplePageWithAncestorId_delegatesToConfluenceRestClient() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
         when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), anyString())).thenReturn("2345", "3456");
 
@@ -146,7 +171,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_exceptionWhenPublishingPage_throwsExceptionWithPageTitle() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new RuntimeException("expected"));
         when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), anyString())).thenReturn("2345", "3456");
 
@@ -187,7 +212,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_multiplePagesInHierarchyWithAncestorIdAsRoot_delegatesToConfluenceRestClient() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), anyString())).thenReturn("1234", "2345");
         when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
 
@@ -220,7 +245,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_metadataOnePageWithNewAttachmentsAndAncestorIdAsRoot_attachesAttachmentToContent() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("4321");
         when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
         when(confluenceClientMock.getAttachmentByFileName(anyString(), anyString())).thenThrow(new NotFoundException());
@@ -257,7 +282,7 @@ public class ConfluencePublisherTest {
         // arrange
         ConfluencePage existingPage = new ConfluencePage("3456", "Existing Page", "<h1>Some Other Confluence Content</h1>", 1);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageByTitle("~personalSpace", "1234", "Existing Page")).thenReturn("3456");
         when(confluenceClientMock.getPageWithContentAndVersionById("3456")).thenReturn(existingPage);
         when(confluenceClientMock.getPropertyByKey("3456", CONTENT_HASH_PROPERTY_KEY)).thenReturn("someWrongHash");
@@ -283,7 +308,7 @@ public class ConfluencePublisherTest {
         // arrange
         ConfluencePage existingPage = new ConfluencePage("1234", "Existing Page", "<h1>Some Other Confluence Content</h1>", 1);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("1234")).thenReturn(existingPage);
         when(confluenceClientMock.getPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY)).thenReturn("someWrongHash");
 
@@ -308,7 +333,7 @@ public class ConfluencePublisherTest {
         // arrange
         ConfluencePage existingPage = new ConfluencePage("1234", "Existing Page (Old Title)", "<h1>Some Confluence Content</h1>", 1);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("1234")).thenReturn(existingPage);
         when(confluenceClientMock.getPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
 
@@ -333,7 +358,7 @@ public class ConfluencePublisherTest {
         // arrange
         ConfluencePage existingPage = new ConfluencePage("72189173", "Existing Page (Old Title)", "<h1>Some Confluence Content</h1>", 1);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(existingPage);
         when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
 
@@ -354,7 +379,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_whenAttachmentsHaveSameContentHash_doesNotUpdateAttachments() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(new ConfluencePage("72189173", "Existing Page (Old Title)", "<h1>Some Confluence Content</h1>", 1));
         when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
 
@@ -377,7 +402,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_whenExistingAttachmentsHaveMissingHashProperty_updatesAttachmentsAndHashProperties() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(new ConfluencePage("72189173", "Existing Page (Old Title)", "<h1>Some Confluence Content</h1>", 1));
         when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
 
@@ -415,7 +440,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_whenExistingAttachmentsHaveDifferentHashProperty_updatesAttachmentsAndHashProperties() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(new ConfluencePage("72189173", "Existing Page (Old Title)", "<h1>Some Confluence Content</h1>", 1));
         when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
 
@@ -450,7 +475,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_whenNewAttachmentsAreEmpty_deletesAttachmentsPresentOnConfluence() {
         //arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(new ConfluencePage("72189173", "Existing Page (Old Title)", "<h1>Some Confluence Content</h1>", 1));
         when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
 
@@ -483,7 +508,7 @@ public class ConfluencePublisherTest {
     @Test
     public void publish_whenSomePreviouslyAttachedFilesHaveBeenRemovedFromPage_deletesAttachmentsNotPresentUnderPage() {
         // arrange
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(new ConfluencePage("72189173", "Existing Page (Old Title)", "<h1>Some Confluence Content</h1>", 1));
         when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
 
@@ -520,7 +545,7 @@ public class ConfluencePublisherTest {
         // arrange
         ConfluencePage existingPage = new ConfluencePage("12", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 1);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getChildPages("1234")).thenReturn(singletonList(existingPage));
         when(confluenceClientMock.getPageByTitle("~personalSpace", "1234", "Some Confluence Content")).thenReturn("12");
         when(confluenceClientMock.getPageWithContentAndVersionById("12")).thenReturn(existingPage);
@@ -535,6 +560,48 @@ public class ConfluencePublisherTest {
         verify(confluenceClientMock, times(1)).setPropertyByKey("12", CONTENT_HASH_PROPERTY_KEY, SOME_CONFLUENCE_CONTENT_SHA256_HASH);
     }
 
+    @Test
+    public void publish_existingPageListedAsChildPageOfAncestor_doesNotLookUpPageByTitle() {
+        // arrange
+        ConfluencePage existingPage = new ConfluencePage("12", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 1);
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getChildPages("1234")).thenReturn(singletonList(existingPage));
+        when(confluenceClientMock.getPageWithContentAndVersionById("12")).thenReturn(existingPage);
+        when(confluenceClientMock.getPropertyByKey("12", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("one-page-space-key", confluenceClientMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock, never()).getPageByTitle(anyString(), anyString(), anyString());
+        verify(confluenceClientMock, never()).deletePage(anyString());
+        verify(confluenceClientMock, never()).addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    public void publish_existingPage_fetchesPageVersionAndContentHashWithCombinedPageStateLookup() {
+        // arrange
+        ConfluencePage existingPage = new ConfluencePage("12", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 1);
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getChildPages("1234")).thenReturn(singletonList(existingPage));
+        doReturn(new ConfluencePageState(existingPage, SOME_CONFLUENCE_CONTENT_SHA256_HASH)).when(confluenceClientMock).getPageStateById("12", CONTENT_HASH_PROPERTY_KEY);
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("one-page-space-key", confluenceClientMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock).getPageStateById("12", CONTENT_HASH_PROPERTY_KEY);
+        verify(confluenceClientMock, never()).getPageWithContentAndVersionById(anyString());
+        verify(confluenceClientMock, never()).getPropertyByKey("12", CONTENT_HASH_PROPERTY_KEY);
+        verify(confluenceClientMock, never()).updatePage(anyString(), anyString(), anyString(), anyString(), anyInt(), any(), anyBoolean());
+    }
+
     @Test
     public void publish_metadataWithMultipleRemovedPagesInHierarchyForAppendToAncestorPublishingStrategy_sendsDeletePageRequestForEachRemovedPage() {
         // arrange
@@ -542,7 +609,7 @@ public class ConfluencePublisherTest {
         ConfluencePage existingChildPage = new ConfluencePage("3456", "Some Child Content", "<h1>Some Child Content</h1>", 3);
         ConfluencePage existingChildChildPage = new ConfluencePage("4567", "Some Child Child Content", "<h1>Some Child Child Content</h1>", 3);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getChildPages("1234")).thenReturn(singletonList(existingParentPage));
         when(confluenceClientMock.getChildPages("2345")).thenReturn(singletonList(existingChildPage));
         when(confluenceClientMock.getChildPages("3456")).thenReturn(singletonList(existingChildChildPage));
@@ -573,7 +640,7 @@ public class ConfluencePublisherTest {
         ConfluencePage existingChildPage = new ConfluencePage("3456", "Some Child Content", "<h1>Some Child Content</h1>", 3);
         ConfluencePage existingChildChildPage = new ConfluencePage("4567", "Some Child Child Content", "<h1>Some Child Child Content</h1>", 3);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getChildPages("1234")).thenReturn(singletonList(existingParentPage));
         when(confluenceClientMock.getChildPages("2345")).thenReturn(singletonList(existingChildPage));
         when(confluenceClientMock.getChildPages("3456")).thenReturn(singletonList(existingChildChildPage));
@@ -598,7 +665,7 @@ public class ConfluencePublisherTest {
         ConfluencePage existingParentPage = new ConfluencePage("2345", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 2);
         ConfluencePage existingChildPage = new ConfluencePage("3456", "Some Child Content", "<h1>Some Child Content</h1>", 3);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageWithContentAndVersionById("1234")).thenReturn(ancestorPage);
         when(confluenceClientMock.getChildPages("1234")).thenReturn(singletonList(existingParentPage));
         when(confluenceClientMock.getChildPages("2345")).thenReturn(singletonList(existingChildPage));
@@ -627,7 +694,7 @@ public class ConfluencePublisherTest {
         // arrange
         ConfluencePage confluencePage = new ConfluencePage("2345", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 1);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageByTitle("~personalSpace", "1234", "Some Confluence Content")).thenReturn("2345");
         when(confluenceClientMock.getPageWithContentAndVersionById("2345")).thenReturn(confluencePage);
         when(confluenceClientMock.getPropertyByKey("2345", CONTENT_HASH_PROPERTY_KEY)).thenReturn("7a901829ba6a0b6f7f084ae4313bdb5d83bc2c4ea21b452ba7073c0b0c60faae");
@@ -649,7 +716,7 @@ public class ConfluencePublisherTest {
         // arrange
         ConfluencePage confluencePage = new ConfluencePage("2345", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 1);
 
-        ConfluenceClient confluenceClientMock = mock(ConfluenceClient.class);
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
         when(confluenceClientMock.getPageByTitle("~personalSpace", "1234", "Some Confluence Content")).thenReturn("2345");
         when(confluenceClientMock.getPageWithContentAndVersionById("2345")).thenReturn(confluencePage);
         when(confluenceClientMock.getPropertyByKey("2345", CONTENT_HASH_PROPERTY_KEY)).thenReturn("7a901829ba6a0b6f7f084ae4313bdb5d83bc2c4ea21b452ba7073c0b0c60faae");
@@ -667,12 +734,678 @@ public class ConfluencePublisherTest {
         verify(confluenceClientMock, times(1)).addLabels(eq("2345"), eq(singletonList("label-one")));
     }
 
+    @Test
+    public void publish_publishingParallelismLowerThanOne_throwsIllegalArgumentException() {
+        // act
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> confluencePublisher("one-page-ancestor-id", confluenceClientMock(), 0));
+
+        // assert
+        assertThat(exception.getMessage(), is("publishingParallelism must be greater than 0"));
+    }
+
+    @Test
+    public void publish_multiplePagesInHierarchyWithPublishingParallelism_publishesChildPagesUnderAddedParentPage() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), eq("Some Confluence Content"), anyString(), any())).thenReturn("1234");
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), eq("Some Child Content"), anyString(), any())).thenReturn("2345");
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("root-ancestor-id-multiple-pages", confluenceClientMock, 4);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).addPageUnderAncestor("~personalSpace", "72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", null);
+        inOrder.verify(confluenceClientMock).addPageUnderAncestor("~personalSpace", "1234", "Some Child Content", "<h1>Some Child Content</h1>", null);
+    }
+
+    @Test
+    public void publish_multiplePagesWithPublishingParallelism_publishesAllSiblingPages() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), eq("Some Confluence Content"), anyString(), any())).thenReturn("1234");
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), eq("Some Other Confluence Content"), anyString(), any())).thenReturn("2345");
+
+        ConfluencePublisherListener confluencePublisherListenerMock = mock(ConfluencePublisherListener.class);
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("multiple-page-ancestor-id", confluenceClientMock, confluencePublisherListenerMock, 4);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock).addPageUnderAncestor("~personalSpace", "72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", null);
+        verify(confluenceClientMock).addPageUnderAncestor("~personalSpace", "72189173", "Some Other Confluence Content", "<h1>Some Confluence Content</h1>", null);
+
+        verify(confluencePublisherListenerMock, times(1)).pageAdded(eq(new ConfluencePage("1234", "Some Confluence Content", "<h1>Some Confluence Content</h1>", INITIAL_PAGE_VERSION)));
+        verify(confluencePublisherListenerMock, times(1)).pageAdded(eq(new ConfluencePage("2345", "Some Other Confluence Content", "<h1>Some Confluence Content</h1>", INITIAL_PAGE_VERSION)));
+        verify(confluencePublisherListenerMock, times(1)).publishCompleted();
+        verifyNoMoreInteractions(confluencePublisherListenerMock);
+    }
+
+    @Test
+    public void publish_exceptionWhenPublishingPageWithPublishingParallelism_throwsExceptionWithPageTitle() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new RuntimeException("expected"));
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("one-page-ancestor-id", confluenceClientMock, 4);
+
+        // act + assert
+        Exception exception = assertThrows(RuntimeException.class, () -> confluencePublisher.publish());
+        assertThat(exception.getMessage(), is("Could not publish page 'Some Confluence Content'"));
+        assertThat(exception.getCause().getMessage(), is("expected"));
+    }
+
+    @Test
+    public void publish_removedPagesWithPublishingParallelism_deletesRemovedPagesAfterPublishingPages() {
+        // arrange
+        ConfluencePage existingPage = new ConfluencePage("3456", "Some Removed Content", "<h1>Some Removed Content</h1>", 2);
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("1234");
+        when(confluenceClientMock.getChildPages("72189173")).thenReturn(singletonList(existingPage));
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("one-page-ancestor-id", confluenceClientMock, 4);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).addPageUnderAncestor("~personalSpace", "72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", null);
+        inOrder.verify(confluenceClientMock).deletePage("3456");
+        verify(confluenceClientMock).getChildPages("1234");
+    }
+
+    @Test
+    public void publish_existingPageAndOrphanPageWithPublishingParallelism_reusesListedChildPagesForLookupAndOrphanRemoval() {
+        // arrange
+        ConfluencePage existingPage = new ConfluencePage("1234", "Some Confluence Content", 1);
+        ConfluencePage orphanPage = new ConfluencePage("99", "Orphan Page", 1);
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getChildPages("72189173")).thenReturn(asList(existingPage, orphanPage));
+        when(confluenceClientMock.getPageWithContentAndVersionById("1234")).thenReturn(new ConfluencePage("1234", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 1));
+        when(confluenceClientMock.getPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "72189173", "Some Other Confluence Content")).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("2345");
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("multiple-page-ancestor-id", confluenceClientMock, 4);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock, times(1)).getChildPages("72189173");
+        verify(confluenceClientMock, never()).getPageByTitle("~personalSpace", "72189173", "Some Confluence Content");
+        verify(confluenceClientMock).deletePage("99");
+        verify(confluenceClientMock, never()).deletePage("1234");
+    }
+
+    @Test
+    public void publish_orphanPageWithDescendants_listsDescendantsOnceAndDeletesLeavesFirst() {
+        // arrange
+        ConfluencePage orphanPage = new ConfluencePage("99", "Orphan Page", 1);
+        ConfluencePage orphanChildPage = new ConfluencePage("100", "Orphan Child Page", 1);
+        ConfluencePage orphanGrandChildPage = new ConfluencePage("101", "Orphan Grand Child Page", 1);
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("1234");
+        when(confluenceClientMock.getChildPages("72189173")).thenReturn(singletonList(orphanPage));
+        doReturn(asList(new ConfluenceDescendantPage(orphanGrandChildPage, "100"), new ConfluenceDescendantPage(orphanChildPage, "99")))
+                .when(confluenceClientMock).getDescendantPages("99");
+
+        ConfluencePublisherListener confluencePublisherListenerMock = mock(ConfluencePublisherListener.class);
+        ConfluencePublisher confluencePublisher = confluencePublisher("one-page-ancestor-id", confluenceClientMock, confluencePublisherListenerMock, 1);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).deletePage("101");
+        inOrder.verify(confluenceClientMock).deletePage("100");
+        inOrder.verify(confluenceClientMock).deletePage("99");
+        verify(confluenceClientMock, times(1)).getDescendantPages("99");
+        verify(confluenceClientMock, never()).getChildPages("99");
+        verify(confluencePublisherListenerMock).pageDeleted(orphanGrandChildPage);
+    }
+
+    @Test
+    public void publish_withContentManifestAndUnchangedPage_onlyReadsContentManifest() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY)).thenReturn(contentManifestJson(sha256Hex("attachment1")));
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingContentManifest("root-ancestor-id-page-with-attachments", REPLACE_ANCESTOR, confluenceClientMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock).getPropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY);
+        verify(confluenceClientMock).getChildPages("72189173");
+        verifyNoMoreInteractions(confluenceClientMock);
+    }
+
+    @Test
+    public void publish_withContentManifestAndChangedAttachment_updatesAttachmentAttachmentHashAndContentManifestOnly() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY)).thenReturn(contentManifestJson("otherHash1"));
+        when(confluenceClientMock.getAttachmentByFileName("72189173", "attachmentOne.txt")).thenReturn(new ConfluenceAttachment("att1", "attachmentOne.txt", "", 1));
+
+        ArgumentCaptor<InputStream> content = ArgumentCaptor.forClass(InputStream.class);
+        ConfluencePublisherListener confluencePublisherListenerMock = mock(ConfluencePublisherListener.class);
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingContentManifest("root-ancestor-id-page-with-attachments", REPLACE_ANCESTOR, confluenceClientMock, confluencePublisherListenerMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock).updateAttachmentContent(eq("72189173"), eq("att1"), content.capture(), eq(true));
+        assertThat(inputStreamAsString(content.getValue(), UTF_8), is("attachment1"));
+
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).deletePropertyByKey("72189173", ATTACHMENT_ONE_SHA256_HASH);
+        inOrder.verify(confluenceClientMock).updateAttachmentContent(eq("72189173"), eq("att1"), any(InputStream.class), eq(true));
+        inOrder.verify(confluenceClientMock).setPropertyByKey("72189173", ATTACHMENT_ONE_SHA256_HASH, sha256Hex("attachment1"));
+        inOrder.verify(confluenceClientMock).deletePropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY);
+        inOrder.verify(confluenceClientMock).setPropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY, contentManifestJson(sha256Hex("attachment1")));
+
+        verify(confluenceClientMock, never()).deletePropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY);
+        verify(confluenceClientMock, never()).setPropertyByKey(eq("72189173"), eq(ATTACHMENT_TWO_SHA256_HASH), anyString());
+
+        verify(confluenceClientMock, never()).getAttachmentByFileName("72189173", "attachmentTwo.txt");
+        verify(confluenceClientMock, never()).getAttachments(anyString());
+        verify(confluenceClientMock, never()).getPageWithContentAndVersionById(anyString());
+        verify(confluenceClientMock, never()).updatePage(anyString(), any(), anyString(), anyString(), anyInt(), any(), anyBoolean());
+        verify(confluenceClientMock, never()).getLabels(anyString());
+
+        verify(confluencePublisherListenerMock).attachmentUpdated("attachmentOne.txt", "72189173");
+        verify(confluencePublisherListenerMock).publishCompleted();
+        verifyNoMoreInteractions(confluencePublisherListenerMock);
+    }
+
+    @Test
+    public void publish_withContentManifestAndChangedContent_updatesPageContentHashAndContentManifest() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        Map<String, String> attachmentHashes = new HashMap<>();
+        attachmentHashes.put("attachmentOne.txt", sha256Hex("attachment1"));
+        attachmentHashes.put("attachmentTwo.txt", sha256Hex("attachment2"));
+        when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY)).thenReturn(new ContentManifest("Some Confluence Content", "otherContentHash", sha256Hex(""), attachmentHashes).toJson());
+        when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(new ConfluencePage("72189173", "Some Confluence Content", "<h1>Other Content</h1>", 1));
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingContentManifest("root-ancestor-id-page-with-attachments", REPLACE_ANCESTOR, confluenceClientMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).deletePropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY);
+        inOrder.verify(confluenceClientMock).updatePage(eq("72189173"), isNull(), eq("Some Confluence Content"), eq("<h1>Some Confluence Content</h1>"), eq(2), any(), anyBoolean());
+        inOrder.verify(confluenceClientMock).setPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY, SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+        inOrder.verify(confluenceClientMock).setPropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY, contentManifestJson(sha256Hex("attachment1")));
+
+        verify(confluenceClientMock, never()).setPropertyByKey(eq("72189173"), eq(ATTACHMENT_ONE_SHA256_HASH), anyString());
+    }
+
+    @Test
+    public void publish_withContentManifestAndPageWithoutContentManifest_publishesPageBasedOnHashPropertiesAndSetsContentManifest() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY)).thenReturn(null);
+        when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(new ConfluencePage("72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 1));
+        when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+
+        when(confluenceClientMock.getAttachmentByFileName("72189173", "attachmentOne.txt")).thenReturn(new ConfluenceAttachment("att1", "attachmentOne.txt", "", 1));
+        when(confluenceClientMock.getPropertyByKey("72189173", ATTACHMENT_ONE_SHA256_HASH)).thenReturn(sha256Hex("attachment1"));
+
+        when(confluenceClientMock.getAttachmentByFileName("72189173", "attachmentTwo.txt")).thenReturn(new ConfluenceAttachment("att2", "attachmentTwo.txt", "", 1));
+        when(confluenceClientMock.getPropertyByKey("72189173", ATTACHMENT_TWO_SHA256_HASH)).thenReturn(sha256Hex("attachment2"));
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingContentManifest("root-ancestor-id-page-with-attachments", REPLACE_ANCESTOR, confluenceClientMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock, never()).updatePage(anyString(), any(), anyString(), anyString(), anyInt(), any(), anyBoolean());
+        verify(confluenceClientMock, never()).updateAttachmentContent(anyString(), anyString(), any(InputStream.class), anyBoolean());
+        verify(confluenceClientMock, never()).deletePropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY);
+        verify(confluenceClientMock).setPropertyByKey("72189173", CONTENT_MANIFEST_PROPERTY_KEY, contentManifestJson(sha256Hex("attachment1")));
+    }
+
+    @Test
+    public void publish_withContentManifestAndNewPage_addsPageLabelsContentHashAndContentManifestWithoutReadingExistingState() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "1234", "Some Confluence Content")).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor("~personalSpace", "1234", "Some Confluence Content", "<h1>Some Confluence Content</h1>", null)).thenReturn("12");
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingContentManifest("page-with-labels", APPEND_TO_ANCESTOR, confluenceClientMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock).addLabels("12", asList("label-one", "label-two"));
+        verify(confluenceClientMock).setPropertyByKey("12", CONTENT_HASH_PROPERTY_KEY, SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+        verify(confluenceClientMock).setPropertyByKey("12", CONTENT_MANIFEST_PROPERTY_KEY, new ContentManifest("Some Confluence Content", SOME_CONFLUENCE_CONTENT_SHA256_HASH, sha256Hex("label-one\nlabel-two"), emptyMap()).toJson());
+        verify(confluenceClientMock, never()).getLabels(anyString());
+        verify(confluenceClientMock, never()).getAttachments(anyString());
+        verify(confluenceClientMock, never()).getPropertyByKey(anyString(), anyString());
+    }
+
+    @Test
+    public void plan_metadataWithNewPageAndOrphanPage_returnsPlannedOperationsWithoutSendingWriteRequests() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getChildPages("72189173")).thenReturn(singletonList(new ConfluencePage("99", "Orphan Page", 1)));
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "72189173", "Some Confluence Content")).thenThrow(new NotFoundException());
+
+        ConfluencePublisherListener confluencePublisherListenerMock = mock(ConfluencePublisherListener.class);
+        ConfluencePublisher confluencePublisher = confluencePublisher("one-page-ancestor-id", confluenceClientMock, confluencePublisherListenerMock, null);
+
+        // act
+        PublishPlan publishPlan = confluencePublisher.plan();
+
+        // assert
+        assertThat(publishPlan.getOperations().stream().map(PlannedOperation::getType).collect(toList()), contains(DELETE_PAGE, ADD_PAGE, SET_PROPERTY));
+        assertThat(publishPlan.getOperations().get(0).getPageTitle(), is("Orphan Page"));
+        assertThat(publishPlan.getOperations().get(1).getPageTitle(), is("Some Confluence Content"));
+        assertThat(publishPlan.getOperations().get(1).getAncestorId(), is("72189173"));
+        assertThat(publishPlan.getReadRequests(), is(3));
+        assertThat(publishPlan.getEstimatedRequests(), is(6));
+
+        verify(confluenceClientMock).getChildPages("72189173");
+        verify(confluenceClientMock).getDescendantPages("99");
+        verify(confluenceClientMock).getChildPages("99");
+        verify(confluenceClientMock).getPageByTitle("~personalSpace", "72189173", "Some Confluence Content");
+        verifyNoMoreInteractions(confluenceClientMock);
+        verifyNoMoreInteractions(confluencePublisherListenerMock);
+    }
+
+    @Test
+    public void plan_unchangedPageBelowOrphanPage_returnsPlannedMoveOfKeptPageAndDeletionOfOrphanPage() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getChildPages("72189173")).thenReturn(singletonList(new ConfluencePage("3456", "Some Removed Content", 2)));
+        when(confluenceClientMock.getChildPages("3456")).thenReturn(singletonList(new ConfluencePage("1234", "Some Confluence Content", 3)));
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "72189173", "Some Confluence Content")).thenReturn("1234");
+        when(confluenceClientMock.getPageWithContentAndVersionById("1234")).thenReturn(new ConfluencePage("1234", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 3));
+        when(confluenceClientMock.getPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("one-page-ancestor-id", confluenceClientMock);
+
+        // act
+        PublishPlan publishPlan = confluencePublisher.plan();
+
+        // assert
+        assertThat(publishPlan.getOperations().stream().map(PlannedOperation::getType).collect(toList()), contains(DELETE_PAGE, MOVE_PAGE));
+        assertThat(publishPlan.getOperations().get(0).getContentId(), is("3456"));
+        assertThat(publishPlan.getOperations().get(1).getContentId(), is("1234"));
+        assertThat(publishPlan.getOperations().get(1).getAncestorId(), is("72189173"));
+
+        verify(confluenceClientMock, never()).updatePage(anyString(), any(), anyString(), anyString(), anyInt(), any(), anyBoolean());
+        verify(confluenceClientMock, never()).deletePage(anyString());
+    }
+
+    @Test
+    public void plan_metadataWithChangedPageTitleAndAttachment_returnsPlannedUpdatesWithoutSendingWriteRequests() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageWithContentAndVersionById("72189173")).thenReturn(new ConfluencePage("72189173", "Existing Page (Old Title)", "<h1>Some Confluence Content</h1>", 1));
+        when(confluenceClientMock.getPropertyByKey("72189173", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+
+        when(confluenceClientMock.getAttachmentByFileName("72189173", "attachmentOne.txt")).thenReturn(new ConfluenceAttachment("att1", "attachmentOne.txt", "", 1));
+        when(confluenceClientMock.getPropertyByKey("72189173", ATTACHMENT_ONE_SHA256_HASH)).thenReturn("otherHash1");
+
+        when(confluenceClientMock.getAttachmentByFileName("72189173", "attachmentTwo.txt")).thenReturn(new ConfluenceAttachment("att2", "attachmentTwo.txt", "", 1));
+        when(confluenceClientMock.getPropertyByKey("72189173", ATTACHMENT_TWO_SHA256_HASH)).thenReturn(sha256Hex("attachment2"));
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("root-ancestor-id-page-with-attachments", REPLACE_ANCESTOR, confluenceClientMock);
+
+        // act
+        PublishPlan publishPlan = confluencePublisher.plan();
+
+        // assert
+        assertThat(publishPlan.getSummary().get(UPDATE_PAGE), is(1));
+        assertThat(publishPlan.getSummary().get(UPDATE_ATTACHMENT), is(1));
+        assertThat(publishPlan.getSummary().containsKey(ADD_ATTACHMENT), is(false));
+
+        PlannedOperation attachmentUpdate = publishPlan.getOperations().stream()
+                .filter((operation) -> operation.getType() == UPDATE_ATTACHMENT)
+                .findFirst()
+                .get();
+        assertThat(attachmentUpdate.getContentId(), is("72189173"));
+        assertThat(attachmentUpdate.getAttachmentFileName(), is("attachmentOne.txt"));
+
+        verify(confluenceClientMock, never()).updatePage(anyString(), any(), anyString(), anyString(), anyInt(), any(), anyBoolean());
+        verify(confluenceClientMock, never()).updateAttachmentContent(anyString(), anyString(), any(InputStream.class), anyBoolean());
+        verify(confluenceClientMock, never()).setPropertyByKey(anyString(), anyString(), anyString());
+        verify(confluenceClientMock, never()).deletePropertyByKey(anyString(), anyString());
+    }
+
+    @Test
+    public void plan_toJson_containsSummaryRequestCountsAndOperations() throws Exception {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "72189173", "Some Confluence Content")).thenThrow(new NotFoundException());
+
+        ConfluencePublisher confluencePublisher = confluencePublisher("one-page-ancestor-id", confluenceClientMock);
+
+        // act
+        String publishPlanJson = confluencePublisher.plan().toJson();
+
+        // assert
+        JsonNode publishPlanNode = new ObjectMapper().readTree(publishPlanJson);
+        assertThat(publishPlanNode.get("summary").get("ADD_PAGE").asInt(), is(1));
+        assertThat(publishPlanNode.get("readRequests").asInt(), is(2));
+        assertThat(publishPlanNode.get("estimatedRequests").asInt(), is(4));
+        assertThat(publishPlanNode.get("operations").get(0).get("type").asText(), is("ADD_PAGE"));
+        assertThat(publishPlanNode.get("operations").get(0).get("contentId").asText(), is("planned-1"));
+    }
+
+    @Test
+    public void publish_withPipelinedPublishingAndNewPagesInHierarchy_addsParentPageBeforeChildPageAndNotifiesListenerWithAddedContentIds() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), eq("Some Confluence Content"), anyString(), any())).thenReturn("1234");
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), eq("Some Child Content"), anyString(), any())).thenReturn("2345");
+
+        ConfluencePublisherListener confluencePublisherListenerMock = mock(ConfluencePublisherListener.class);
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingPipelinedPublishing("root-ancestor-id-multiple-pages", APPEND_TO_ANCESTOR, confluenceClientMock, confluencePublisherListenerMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).addPageUnderAncestor("~personalSpace", "72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", null);
+        inOrder.verify(confluenceClientMock).addPageUnderAncestor("~personalSpace", "1234", "Some Child Content", "<h1>Some Child Content</h1>", null);
+        verify(confluenceClientMock).setPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY, SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+        verify(confluenceClientMock).setPropertyByKey(eq("2345"), eq(CONTENT_HASH_PROPERTY_KEY), anyString());
+        verify(confluenceClientMock, never()).getChildPages("planned-1");
+
+        verify(confluencePublisherListenerMock).pageAdded(new ConfluencePage("1234", "Some Confluence Content", "<h1>Some Confluence Content</h1>", INITIAL_PAGE_VERSION));
+        verify(confluencePublisherListenerMock).pageAdded(new ConfluencePage("2345", "Some Child Content", "<h1>Some Child Content</h1>", INITIAL_PAGE_VERSION));
+        verify(confluencePublisherListenerMock).publishCompleted();
+        verifyNoMoreInteractions(confluencePublisherListenerMock);
+    }
+
+    @Test
+    public void publish_withPipelinedPublishingAndNewPageWithAttachments_uploadsAttachmentsBeforeSettingHashProperties() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("4321");
+
+        ArgumentCaptor<String> attachmentFileName = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<InputStream> attachmentContent = ArgumentCaptor.forClass(InputStream.class);
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingPipelinedPublishing("root-ancestor-id-page-with-attachments", APPEND_TO_ANCESTOR, confluenceClientMock, mock(ConfluencePublisherListener.class));
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock, times(2)).addAttachment(eq("4321"), attachmentFileName.capture(), attachmentContent.capture());
+        inOrder.verify(confluenceClientMock, times(3)).setPropertyByKey(eq("4321"), anyString(), anyString());
+        assertThat(inputStreamAsString(attachmentContent.getAllValues().get(attachmentFileName.getAllValues().indexOf("attachmentOne.txt")), UTF_8), is("attachment1"));
+        assertThat(inputStreamAsString(attachmentContent.getAllValues().get(attachmentFileName.getAllValues().indexOf("attachmentTwo.txt")), UTF_8), is("attachment2"));
+        verify(confluenceClientMock).setPropertyByKey("4321", ATTACHMENT_ONE_SHA256_HASH, sha256Hex("attachment1"));
+        verify(confluenceClientMock).setPropertyByKey("4321", ATTACHMENT_TWO_SHA256_HASH, sha256Hex("attachment2"));
+    }
+
+    @Test
+    public void publish_withPipelinedPublishingAndBlockingConfluenceClient_sendsWritesViaAsyncConfluenceClient() {
+        // arrange
+        AsyncConfluenceClient asyncConfluenceClientMock = mock(AsyncConfluenceClient.class);
+        when(asyncConfluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenReturn(failedFuture(new NotFoundException()));
+        when(asyncConfluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn(completedFuture("1234"));
+        when(asyncConfluenceClientMock.getChildPages(anyString())).thenReturn(completedFuture(emptyList()));
+        when(asyncConfluenceClientMock.setPropertyByKey(anyString(), anyString(), anyString())).thenReturn(completedFuture(null));
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingPipelinedPublishing("one-page-ancestor-id", APPEND_TO_ANCESTOR,
+                new BlockingConfluenceClient(asyncConfluenceClientMock), mock(ConfluencePublisherListener.class));
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(asyncConfluenceClientMock).addPageUnderAncestor("~personalSpace", "72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", null);
+        verify(asyncConfluenceClientMock).setPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY, SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+    }
+
+    @Test
+    public void publish_withPipelinedPublishingAndPageMovedOutOfRemovedPage_movesPageBeforeDeletingRemovedPage() {
+        // arrange
+        ConfluencePage removedPage = new ConfluencePage("3456", "Some Removed Content", 2);
+        ConfluencePage movedPage = new ConfluencePage("1234", "Some Confluence Content", 3);
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getChildPages("72189173")).thenReturn(singletonList(removedPage));
+        when(confluenceClientMock.getChildPages("3456")).thenReturn(singletonList(movedPage));
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "72189173", "Some Confluence Content")).thenReturn("1234");
+        when(confluenceClientMock.getPageWithContentAndVersionById("1234")).thenReturn(new ConfluencePage("1234", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 3));
+        when(confluenceClientMock.getPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY)).thenReturn("someWrongHash");
+
+        ConfluencePublisherListener confluencePublisherListenerMock = mock(ConfluencePublisherListener.class);
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingPipelinedPublishing("one-page-ancestor-id", APPEND_TO_ANCESTOR, confluenceClientMock, confluencePublisherListenerMock);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).updatePage("1234", "72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 4, null, true);
+        inOrder.verify(confluenceClientMock).deletePage("3456");
+        verify(confluenceClientMock, never()).deletePage("1234");
+
+        verify(confluencePublisherListenerMock).pageDeleted(removedPage);
+        verify(confluencePublisherListenerMock, never()).pageDeleted(movedPage);
+    }
+
+    @Test
+    public void publish_withPipelinedPublishingAndUnchangedPageBelowRemovedPage_movesPageBeforeDeletingRemovedPage() {
+        // arrange
+        ConfluencePage removedPage = new ConfluencePage("3456", "Some Removed Content", 2);
+        ConfluencePage keptPage = new ConfluencePage("1234", "Some Confluence Content", 3);
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getChildPages("72189173")).thenReturn(singletonList(removedPage));
+        when(confluenceClientMock.getChildPages("3456")).thenReturn(singletonList(keptPage));
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "72189173", "Some Confluence Content")).thenReturn("1234");
+        when(confluenceClientMock.getPageWithContentAndVersionById("1234")).thenReturn(new ConfluencePage("1234", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 3));
+        when(confluenceClientMock.getPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingPipelinedPublishing("one-page-ancestor-id", APPEND_TO_ANCESTOR, confluenceClientMock, mock(ConfluencePublisherListener.class));
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).updatePage("1234", "72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 4, null, false);
+        inOrder.verify(confluenceClientMock).deletePage("3456");
+        verify(confluenceClientMock, never()).deletePage("1234");
+    }
+
+    @Test
+    public void publish_withPipelinedPublishingAndUnchangedPageBelowRemovedPageWithReAddedTitle_movesPageBeforeDeletingRemovedPage() {
+        // arrange
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getChildPages("72189173")).thenReturn(singletonList(new ConfluencePage("2345", "Some Removed Content", 1)));
+        when(confluenceClientMock.getChildPages("2345")).thenReturn(singletonList(new ConfluencePage("3456", "Some Other Confluence Content", 2)));
+        when(confluenceClientMock.getChildPages("3456")).thenReturn(singletonList(new ConfluencePage("1234", "Some Confluence Content", 3)));
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "72189173", "Some Confluence Content")).thenReturn("1234");
+        when(confluenceClientMock.getPageByTitle("~personalSpace", "72189173", "Some Other Confluence Content")).thenThrow(new NotFoundException());
+        when(confluenceClientMock.getPageWithContentAndVersionById("1234")).thenReturn(new ConfluencePage("1234", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 3));
+        when(confluenceClientMock.getPropertyByKey("1234", CONTENT_HASH_PROPERTY_KEY)).thenReturn(SOME_CONFLUENCE_CONTENT_SHA256_HASH);
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("4567");
+
+        ConfluencePublisher confluencePublisher = confluencePublisherUsingPipelinedPublishing("multiple-page-ancestor-id", APPEND_TO_ANCESTOR, confluenceClientMock, mock(ConfluencePublisherListener.class));
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        InOrder inOrder = inOrder(confluenceClientMock);
+        inOrder.verify(confluenceClientMock).updatePage("1234", "72189173", "Some Confluence Content", "<h1>Some Confluence Content</h1>", 4, null, false);
+        inOrder.verify(confluenceClientMock).deletePage("3456");
+        inOrder.verify(confluenceClientMock).addPageUnderAncestor("~personalSpace", "72189173", "Some Other Confluence Content", "<h1>Some Confluence Content</h1>", null);
+        inOrder.verify(confluenceClientMock).deletePage("2345");
+        verify(confluenceClientMock, never()).deletePage("1234");
+    }
+
+    @Test
+    public void publish_withTrustedPublishStateJournal_skipsUnchangedPagesAndDeletesJournaledOrphansWithoutListingChildPages(@TempDir Path tempDir) {
+        // arrange
+        Path journalFile = tempDir.resolve(PublishStateJournal.DEFAULT_JOURNAL_FILE_NAME);
+
+        ConfluenceClient firstConfluenceClientMock = confluenceClientMock();
+        when(firstConfluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(firstConfluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("1", "2");
+        confluencePublisherWithPublishStateJournal("multiple-page-ancestor-id", firstConfluenceClientMock, journalFile, false).publish();
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        ConfluencePublisher confluencePublisher = confluencePublisherWithPublishStateJournal("one-page-ancestor-id", confluenceClientMock, journalFile, false);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock).getDescendantPages("2");
+        verify(confluenceClientMock).getChildPages("2");
+        verify(confluenceClientMock).deletePage("2");
+        verifyNoMoreInteractions(confluenceClientMock);
+    }
+
+    @Test
+    public void publish_withForcedVerificationOfPublishStateJournal_verifiesUnchangedPagesAgainstConfluence(@TempDir Path tempDir) {
+        // arrange
+        Path journalFile = tempDir.resolve(PublishStateJournal.DEFAULT_JOURNAL_FILE_NAME);
+
+        ConfluenceClient firstConfluenceClientMock = confluenceClientMock();
+        when(firstConfluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(firstConfluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("1");
+        confluencePublisherWithPublishStateJournal("one-page-ancestor-id", firstConfluenceClientMock, journalFile, false).publish();
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("1");
+        ConfluencePublisher confluencePublisher = confluencePublisherWithPublishStateJournal("one-page-ancestor-id", confluenceClientMock, journalFile, true);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock).getChildPages("72189173");
+        verify(confluenceClientMock).getPageByTitle("~personalSpace", "72189173", "Some Confluence Content");
+    }
+
+    @Test
+    public void publish_resumingFailedPublishingWithPublishCheckpoint_skipsConfirmedPagesAndDeletesCheckpoint(@TempDir Path tempDir) {
+        // arrange
+        Path checkpointFile = tempDir.resolve(PublishCheckpoint.DEFAULT_CHECKPOINT_FILE_NAME);
+
+        ConfluenceClient failingConfluenceClientMock = confluenceClientMock();
+        when(failingConfluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(failingConfluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("1").thenThrow(new RuntimeException("timeout"));
+        assertThrows(RuntimeException.class, () -> confluencePublisherWithPublishCheckpoint("multiple-page-ancestor-id", failingConfluenceClientMock, checkpointFile).publish());
+
+        ConfluenceClient confluenceClientMock = confluenceClientMock();
+        when(confluenceClientMock.getPageByTitle(anyString(), anyString(), anyString())).thenThrow(new NotFoundException());
+        when(confluenceClientMock.addPageUnderAncestor(anyString(), anyString(), anyString(), anyString(), any())).thenReturn("2");
+        ConfluencePublisher confluencePublisher = confluencePublisherWithPublishCheckpoint("multiple-page-ancestor-id", confluenceClientMock, checkpointFile);
+
+        // act
+        confluencePublisher.publish();
+
+        // assert
+        verify(confluenceClientMock, never()).addPageUnderAncestor(anyString(), anyString(), eq("Some Confluence Content"), anyString(), any());
+        verify(confluenceClientMock).addPageUnderAncestor(eq("~personalSpace"), eq("72189173"), eq("Some Other Confluence Content"), anyString(), any());
+        assertThat(exists(checkpointFile), is(false));
+    }
+
+    private static String contentManifestJson(String attachmentOneHash) {
+        Map<String, String> attachmentHashes = new HashMap<>();
+        attachmentHashes.put("attachmentOne.txt", attachmentOneHash);
+        attachmentHashes.put("attachmentTwo.txt", sha256Hex("attachment2"));
+
+        return new ContentManifest("Some Confluence Content", SOME_CONFLUENCE_CONTENT_SHA256_HASH, sha256Hex(""), attachmentHashes).toJson();
+    }
+
+    private static ConfluencePublisher confluencePublisherUsingContentManifest(String qualifier, PublishingStrategy publishingStrategy, ConfluenceClient confluenceRestClient) {
+        return confluencePublisherUsingContentManifest(qualifier, publishingStrategy, confluenceRestClient, mock(ConfluencePublisherListener.class));
+    }
+
+    private static ConfluencePublisher confluencePublisherUsingContentManifest(String qualifier, PublishingStrategy publishingStrategy, ConfluenceClient confluenceRestClient, ConfluencePublisherListener confluencePublisherListener) {
+        return confluencePublisher(qualifier, publishingStrategy, REMOVE_ORPHANS, confluenceRestClient, confluencePublisherListener, null, true, 1, true);
+    }
+
+    private static ConfluencePublisher confluencePublisherUsingPipelinedPublishing(String qualifier, PublishingStrategy publishingStrategy, ConfluenceClient confluenceRestClient, ConfluencePublisherListener confluencePublisherListener) {
+        return confluencePublisher(qualifier, publishingStrategy, REMOVE_ORPHANS, confluenceRestClient, confluencePublisherListener, null, true, 4, false, true);
+    }
+
+    private static ConfluencePublisher confluencePublisherWithPublishStateJournal(String qualifier, ConfluenceClient confluenceRestClient, Path journalFile, boolean forceVerification) {
+        Path metadataFilePath = Paths.get(TEST_RESOURCES + "/metadata-" + qualifier + ".json");
+        Path contentRoot = metadataFilePath.getParent().toAbsolutePath();
+
+        ConfluencePublisherMetadata metadata = readConfig(metadataFilePath);
+        resolveAbsoluteContentFileAndAttachmentsPath(metadata.getPages(), contentRoot);
+
+        return ConfluencePublisher.builder(metadata, confluenceRestClient)
+                .publishStateJournal(PublishStateJournal.load(journalFile, PublishStateJournal.DEFAULT_VERIFICATION_INTERVAL, forceVerification))
+                .build();
+    }
+
+    private static ConfluencePublisher confluencePublisherWithPublishCheckpoint(String qualifier, ConfluenceClient confluenceRestClient, Path checkpointFile) {
+        Path metadataFilePath = Paths.get(TEST_RESOURCES + "/metadata-" + qualifier + ".json");
+        Path contentRoot = metadataFilePath.getParent().toAbsolutePath();
+
+        ConfluencePublisherMetadata metadata = readConfig(metadataFilePath);
+        resolveAbsoluteContentFileAndAttachmentsPath(metadata.getPages(), contentRoot);
+
+        return ConfluencePublisher.builder(metadata, confluenceRestClient)
+                .publishCheckpoint(PublishCheckpoint.load(checkpointFile))
+                .build();
+    }
+
+    private static ConfluenceClient confluenceClientMock() {
+        // default methods (e.g. the combined page state lookup) delegate to the stubbed methods
+        return mock(ConfluenceClient.class, CALLS_REAL_METHODS);
+    }
+
+    private static ConfluencePublisher confluencePublisher(String qualifier, ConfluenceClient confluenceRestClient, int publishingParallelism) {
+        return confluencePublisher(qualifier, confluenceRestClient, mock(ConfluencePublisherListener.class), publishingParallelism);
+    }
+
+    private static ConfluencePublisher confluencePublisher(String qualifier, ConfluenceClient confluenceRestClient, ConfluencePublisherListener confluencePublisherListener, int publishingParallelism) {
+        return confluencePublisher(qualifier, APPEND_TO_ANCESTOR, REMOVE_ORPHANS, confluenceRestClient, confluencePublisherListener, null, true, publishingParallelism);
+    }
+
     private static ConfluencePublisher confluencePublisher(String qualifier, ConfluenceClient confluenceRestClient) {
         return confluencePublisher(qualifier, APPEND_TO_ANCESTOR, REMOVE_ORPHANS, confluenceRestClient, mock(ConfluencePublisherListener.class), null, true);
     }
 
     private static ConfluencePublisher confluencePublisher(String qualifier, PublishingStrategy publishingStrategy, String versionMessage) {
-        return confluencePublisher(qualifier, publishingStrategy, REMOVE_ORPHANS, mock(ConfluenceClient.class), mock(ConfluencePublisherListener.class), versionMessage, true);
+        return confluencePublisher(qualifier, publishingStrategy, REMOVE_ORPHANS, confluenceClientMock(), mock(ConfluencePublisherListener.class), versionMessage, true);
     }
 
     private static ConfluencePublisher confluencePublisher(String qualifier, PublishingStrategy publishingStrategy, ConfluenceClient confluenceRestClient) {
@@ -688,13 +1421,34 @@ public class ConfluencePublisherTest {
     }
 
     private static ConfluencePublisher confluencePublisher(String qualifier, PublishingStrategy publishingStrategy, OrphanRemovalStrategy orphanRemovalStrategy, ConfluenceClient confluenceRestClient, ConfluencePublisherListener confluencePublisherListener, String versionMessage, boolean notifyWatchers) {
+        return confluencePublisher(qualifier, publishingStrategy, orphanRemovalStrategy, confluenceRestClient, confluencePublisherListener, versionMessage, notifyWatchers, 1);
+    }
+
+    private static ConfluencePublisher confluencePublisher(String qualifier, PublishingStrategy publishingStrategy, OrphanRemovalStrategy orphanRemovalStrategy, ConfluenceClient confluenceRestClient, ConfluencePublisherListener confluencePublisherListener, String versionMessage, boolean notifyWatchers, int publishingParallelism) {
+        return confluencePublisher(qualifier, publishingStrategy, orphanRemovalStrategy, confluenceRestClient, confluencePublisherListener, versionMessage, notifyWatchers, publishingParallelism, false);
+    }
+
+    private static ConfluencePublisher confluencePublisher(String qualifier, PublishingStrategy publishingStrategy, OrphanRemovalStrategy orphanRemovalStrategy, ConfluenceClient confluenceRestClient, ConfluencePublisherListener confluencePublisherListener, String versionMessage, boolean notifyWatchers, int publishingParallelism, boolean useContentManifest) {
+        return confluencePublisher(qualifier, publishingStrategy, orphanRemovalStrategy, confluenceRestClient, confluencePublisherListener, versionMessage, notifyWatchers, publishingParallelism, useContentManifest, false);
+    }
+
+    private static ConfluencePublisher confluencePublisher(String qualifier, PublishingStrategy publishingStrategy, OrphanRemovalStrategy orphanRemovalStrategy, ConfluenceClient confluenceRestClient, ConfluencePublisherListener confluencePublisherListener, String versionMessage, boolean notifyWatchers, int publishingParallelism, boolean useContentManifest, boolean pipelinedPublishing) {
         Path metadataFilePath = Paths.get(TEST_RESOURCES + "/metadata-" + qualifier + ".json");
         Path contentRoot = metadataFilePath.getParent().toAbsolutePath();
 
         ConfluencePublisherMetadata metadata = readConfig(metadataFilePath);
         resolveAbsoluteContentFileAndAttachmentsPath(metadata.getPages(), contentRoot);
 
-        return new ConfluencePublisher(metadata, publishingStrategy, orphanRemovalStrategy, confluenceRestClient, confluencePublisherListener, versionMessage, notifyWatchers);
+        return ConfluencePublisher.builder(metadata, confluenceRestClient)
+                .publishingStrategy(publishingStrategy)
+                .orphanRemovalStrategy(orphanRemovalStrategy)
+                .confluencePublisherListener(confluencePublisherListener)
+                .versionMessage(versionMessage)
+                .notifyWatchers(notifyWatchers)
+                .publishingParallelism(publishingParallelism)
+                .useContentManifest(useContentManifest)
+                .pipelinedPublishing(pipelinedPublishing)
+                .build();
     }
 
     private static ConfluencePublisherMetadata readConfig(Path metadataFile) {
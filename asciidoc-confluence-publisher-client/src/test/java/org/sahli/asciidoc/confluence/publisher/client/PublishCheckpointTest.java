@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class PublishCheckpointTest {
+
+    @Test
+    public void confirmedContentId_withCheckpointOfSameGeneration_returnsConfirmedContentId(@TempDir Path tempDir) {
+        // arrange
+        Path checkpointFile = tempDir.resolve(PublishCheckpoint.DEFAULT_CHECKPOINT_FILE_NAME);
+        writeCheckpoint(checkpointFile, "generation-1");
+
+        PublishCheckpoint publishCheckpoint = PublishCheckpoint.load(checkpointFile);
+
+        // act
+        publishCheckpoint.begin(() -> "generation-1");
+
+        // assert
+        assertThat(publishCheckpoint.isResuming(), is(true));
+        assertThat(publishCheckpoint.confirmedContentId("1234", "Some Page").orElse(null), is("5678"));
+        assertThat(publishCheckpoint.confirmedContentId("4321", "Some Page").isPresent(), is(false));
+    }
+
+    @Test
+    public void begin_withCheckpointOfOtherGeneration_startsOver(@TempDir Path tempDir) {
+        // arrange
+        Path checkpointFile = tempDir.resolve(PublishCheckpoint.DEFAULT_CHECKPOINT_FILE_NAME);
+        writeCheckpoint(checkpointFile, "generation-1");
+
+        PublishCheckpoint publishCheckpoint = PublishCheckpoint.load(checkpointFile);
+
+        // act
+        publishCheckpoint.begin(() -> "generation-2");
+
+        // assert
+        assertThat(publishCheckpoint.isResuming(), is(false));
+        assertThat(publishCheckpoint.confirmedContentId("1234", "Some Page").isPresent(), is(false));
+
+        PublishCheckpoint nextPublishCheckpoint = PublishCheckpoint.load(checkpointFile);
+        nextPublishCheckpoint.begin(() -> "generation-1");
+        assertThat(nextPublishCheckpoint.isResuming(), is(false));
+    }
+
+    @Test
+    public void begin_withPartiallyWrittenConfirmation_ignoresPartiallyWrittenConfirmation(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path checkpointFile = tempDir.resolve(PublishCheckpoint.DEFAULT_CHECKPOINT_FILE_NAME);
+        writeCheckpoint(checkpointFile, "generation-1");
+        write(checkpointFile, singletonList("{\"ancestorId\":\"1234\",\"title\":\"Some Oth"), UTF_8, APPEND);
+
+        PublishCheckpoint publishCheckpoint = PublishCheckpoint.load(checkpointFile);
+
+        // act
+        publishCheckpoint.begin(() -> "generation-1");
+
+        // assert
+        assertThat(publishCheckpoint.confirmedContentId("1234", "Some Page").orElse(null), is("5678"));
+        assertThat(publishCheckpoint.confirmedContentId("1234", "Some Other Page").isPresent(), is(false));
+    }
+
+    @Test
+    public void complete_withCheckpointFile_deletesCheckpointFile(@TempDir Path tempDir) {
+        // arrange
+        Path checkpointFile = tempDir.resolve(PublishCheckpoint.DEFAULT_CHECKPOINT_FILE_NAME);
+        PublishCheckpoint publishCheckpoint = PublishCheckpoint.load(checkpointFile);
+        publishCheckpoint.begin(() -> "generation-1");
+
+        // act
+        publishCheckpoint.complete();
+
+        // assert
+        assertThat(exists(checkpointFile), is(false));
+    }
+
+    private static void writeCheckpoint(Path checkpointFile, String generation) {
+        PublishCheckpoint publishCheckpoint = PublishCheckpoint.load(checkpointFile);
+        publishCheckpoint.begin(() -> generation);
+        publishCheckpoint.subtreeConfirmed("1234", "Some Page", "5678");
+    }
+
+}
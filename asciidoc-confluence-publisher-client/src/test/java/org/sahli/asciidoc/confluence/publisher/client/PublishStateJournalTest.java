@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static java.nio.file.Files.exists;
+import static java.util.Collections.emptyMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.sahli.asciidoc.confluence.publisher.client.PublishStateJournal.DEFAULT_VERIFICATION_INTERVAL;
+
+public class PublishStateJournalTest {
+
+    private static final ContentManifest CONTENT_MANIFEST = new ContentManifest("Some Page", "content-hash", "labels-hash", emptyMap());
+
+    @Test
+    public void unchangedContentId_withSavedJournalForSameAncestorAndManifest_returnsJournaledContentId(@TempDir Path tempDir) {
+        // arrange
+        Path journalFile = tempDir.resolve(PublishStateJournal.DEFAULT_JOURNAL_FILE_NAME);
+        saveJournal(journalFile, "1234", "5678");
+
+        PublishStateJournal publishStateJournal = PublishStateJournal.load(journalFile, DEFAULT_VERIFICATION_INTERVAL, false);
+        publishStateJournal.begin("~personalSpace", "1234");
+
+        // act + assert
+        assertThat(publishStateJournal.isTrusted(), is(true));
+        assertThat(publishStateJournal.unchangedContentId("1234", CONTENT_MANIFEST).orElse(null), is("5678"));
+        assertThat(publishStateJournal.unchangedContentId("4321", CONTENT_MANIFEST).isPresent(), is(false));
+        assertThat(exists(journalFile), is(false));
+    }
+
+    @Test
+    public void begin_withJournalOlderThanVerificationInterval_doesNotTrustJournal(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path journalFile = tempDir.resolve(PublishStateJournal.DEFAULT_JOURNAL_FILE_NAME);
+        saveJournal(journalFile, "1234", "5678");
+        Thread.sleep(10);
+
+        PublishStateJournal publishStateJournal = PublishStateJournal.load(journalFile, Duration.ofMillis(1), false);
+
+        // act
+        publishStateJournal.begin("~personalSpace", "1234");
+
+        // assert
+        assertThat(publishStateJournal.isTrusted(), is(false));
+        assertThat(publishStateJournal.unchangedContentId("1234", CONTENT_MANIFEST).isPresent(), is(false));
+    }
+
+    @Test
+    public void begin_withJournalOfOtherAncestorOrForcedVerification_doesNotTrustJournal(@TempDir Path tempDir) {
+        // arrange
+        Path journalFile = tempDir.resolve(PublishStateJournal.DEFAULT_JOURNAL_FILE_NAME);
+        saveJournal(journalFile, "1234", "5678");
+
+        PublishStateJournal otherAncestorPublishStateJournal = PublishStateJournal.load(journalFile, DEFAULT_VERIFICATION_INTERVAL, false);
+        PublishStateJournal forcedVerificationPublishStateJournal = PublishStateJournal.load(journalFile, DEFAULT_VERIFICATION_INTERVAL, true);
+
+        // act
+        otherAncestorPublishStateJournal.begin("~personalSpace", "4321");
+        forcedVerificationPublishStateJournal.begin("~personalSpace", "1234");
+
+        // assert
+        assertThat(otherAncestorPublishStateJournal.isTrusted(), is(false));
+        assertThat(forcedVerificationPublishStateJournal.isTrusted(), is(false));
+    }
+
+    private static void saveJournal(Path journalFile, String ancestorId, String contentId) {
+        PublishStateJournal publishStateJournal = PublishStateJournal.load(journalFile, DEFAULT_VERIFICATION_INTERVAL, false);
+        publishStateJournal.begin("~personalSpace", ancestorId);
+        publishStateJournal.record(ancestorId, contentId, CONTENT_MANIFEST);
+        publishStateJournal.save();
+    }
+
+}
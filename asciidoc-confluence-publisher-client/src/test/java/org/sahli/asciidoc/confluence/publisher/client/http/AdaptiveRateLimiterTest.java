@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHeader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveRateLimiterTest {
+
+    @Test
+    public void execute_withThrottledResponseAndRetryAfterHeader_retriesRequestAfterRequestedDelay() throws Exception {
+        // arrange
+        CloseableHttpResponse throttledResponse = response(429);
+        when(throttledResponse.getFirstHeader("Retry-After")).thenReturn(new BasicHeader("Retry-After", "1"));
+        CloseableHttpClient httpClientMock = httpClient(throttledResponse, response(200));
+
+        AdaptiveRateLimiter adaptiveRateLimiter = new AdaptiveRateLimiter(null);
+
+        // act
+        long startTime = currentTimeMillis();
+        int statusCode = adaptiveRateLimiter.execute(httpClientMock, new HttpGet("http://confluence.com"), (response) -> response.getStatusLine().getStatusCode());
+        long endTime = currentTimeMillis();
+
+        // assert
+        assertThat(statusCode, is(200));
+        assertThat(endTime - startTime, is(greaterThanOrEqualTo(1000L)));
+        verify(httpClientMock, times(2)).execute(any(HttpRequestBase.class));
+    }
+
+    @Test
+    public void execute_withThrottledResponseAndRetryAfterHeaderExceedingMaxBackoff_retriesRequestAfterMaxBackoff() throws Exception {
+        // arrange
+        CloseableHttpResponse throttledResponse = response(429);
+        when(throttledResponse.getFirstHeader("Retry-After")).thenReturn(new BasicHeader("Retry-After", "99999999999999999999"));
+        CloseableHttpClient httpClientMock = httpClient(throttledResponse, response(200));
+
+        AdaptiveRateLimiter adaptiveRateLimiter = new AdaptiveRateLimiter(null, 2, Duration.ofMillis(1), Duration.ofMillis(100));
+
+        // act
+        long startTime = currentTimeMillis();
+        int statusCode = adaptiveRateLimiter.execute(httpClientMock, new HttpGet("http://confluence.com"), (response) -> response.getStatusLine().getStatusCode());
+        long endTime = currentTimeMillis();
+
+        // assert
+        assertThat(statusCode, is(200));
+        assertThat(endTime - startTime, is(lessThan(5000L)));
+        verify(httpClientMock, times(2)).execute(any(HttpRequestBase.class));
+    }
+
+    @Test
+    public void execute_withServiceUnavailableResponsesExceedingMaxRetries_returnsLastThrottledResponse() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = httpClient(response(503));
+        AdaptiveRateLimiter adaptiveRateLimiter = new AdaptiveRateLimiter(null, 2, Duration.ofMillis(1), Duration.ofMillis(4));
+
+        // act
+        int statusCode = adaptiveRateLimiter.execute(httpClientMock, new HttpGet("http://confluence.com"), (response) -> response.getStatusLine().getStatusCode());
+
+        // assert
+        assertThat(statusCode, is(503));
+        verify(httpClientMock, times(3)).execute(any(HttpRequestBase.class));
+    }
+
+    @Test
+    public void execute_withThrottledResponseForNonRepeatableRequestEntity_doesNotRetryRequest() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = httpClient(response(429), response(200));
+        AdaptiveRateLimiter adaptiveRateLimiter = new AdaptiveRateLimiter(null, 2, Duration.ofMillis(1), Duration.ofMillis(4));
+
+        HttpPost httpRequest = new HttpPost("http://confluence.com");
+        httpRequest.setEntity(new InputStreamEntity(new ByteArrayInputStream(new byte[]{1, 2, 3})));
+
+        // act
+        int statusCode = adaptiveRateLimiter.execute(httpClientMock, httpRequest, (response) -> response.getStatusLine().getStatusCode());
+
+        // assert
+        assertThat(statusCode, is(429));
+        verify(httpClientMock, times(1)).execute(any(HttpRequestBase.class));
+    }
+
+    @Test
+    public void execute_withThrottledResponse_halvesRate() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = httpClient(response(429), response(200));
+        AdaptiveRateLimiter adaptiveRateLimiter = new AdaptiveRateLimiter(100.0, 2, Duration.ofMillis(1), Duration.ofMillis(4));
+
+        // act
+        adaptiveRateLimiter.execute(httpClientMock, new HttpGet("http://confluence.com"), (response) -> null);
+
+        // assert
+        assertThat(adaptiveRateLimiter.rate(), is(closeTo(50.02, 0.0001)));
+    }
+
+    @Test
+    public void execute_withSuccessfulResponsesAfterThrottling_increasesRateUpToMaxRate() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = httpClient(response(429), response(200));
+        AdaptiveRateLimiter adaptiveRateLimiter = new AdaptiveRateLimiter(2.0, 2, Duration.ofMillis(1), Duration.ofMillis(4));
+
+        // act
+        adaptiveRateLimiter.execute(httpClientMock, new HttpGet("http://confluence.com"), (response) -> null);
+        adaptiveRateLimiter.execute(httpClientMock, new HttpGet("http://confluence.com"), (response) -> null);
+
+        // assert
+        assertThat(adaptiveRateLimiter.rate(), is(2.0));
+    }
+
+    @Test
+    public void execute_withoutMaxRateAndWithoutThrottling_doesNotLimitRate() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = httpClient(response(200));
+        AdaptiveRateLimiter adaptiveRateLimiter = new AdaptiveRateLimiter(null);
+
+        // act
+        adaptiveRateLimiter.execute(httpClientMock, new HttpGet("http://confluence.com"), (response) -> null);
+
+        // assert
+        assertThat(adaptiveRateLimiter.rate(), is(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void executeAsync_withThrottledResponse_retriesRequestWithoutBlockingCaller() throws Exception {
+        // arrange
+        CloseableHttpResponse throttledResponse = response(429);
+        CloseableHttpResponse successfulResponse = response(200);
+        AtomicInteger sentRequests = new AtomicInteger();
+        AdaptiveRateLimiter adaptiveRateLimiter = new AdaptiveRateLimiter(null, 2, Duration.ofMillis(1), Duration.ofMillis(4));
+        ExecutorService pacingExecutor = newSingleThreadExecutor();
+
+        // act
+        CompletableFuture<Integer> statusCode = adaptiveRateLimiter.executeAsync(
+                () -> completedFuture(sentRequests.incrementAndGet() == 1 ? throttledResponse : successfulResponse),
+                (response) -> response.getStatusLine().getStatusCode(),
+                pacingExecutor
+        );
+
+        // assert
+        assertThat(statusCode.get(5, SECONDS), is(200));
+        assertThat(sentRequests.get(), is(2));
+        pacingExecutor.shutdownNow();
+    }
+
+    private static CloseableHttpClient httpClient(CloseableHttpResponse response, CloseableHttpResponse... nextResponses) throws Exception {
+        CloseableHttpClient httpClientMock = mock(CloseableHttpClient.class);
+        when(httpClientMock.execute(any(HttpRequestBase.class))).thenReturn(response, nextResponses);
+
+        return httpClientMock;
+    }
+
+    private static CloseableHttpResponse response(int statusCode) {
+        StatusLine statusLineMock = mock(StatusLine.class);
+        when(statusLineMock.getStatusCode()).thenReturn(statusCode);
+
+        CloseableHttpResponse responseMock = mock(CloseableHttpResponse.class);
+        when(responseMock.getStatusLine()).thenReturn(statusLineMock);
+
+        return responseMock;
+    }
+
+}
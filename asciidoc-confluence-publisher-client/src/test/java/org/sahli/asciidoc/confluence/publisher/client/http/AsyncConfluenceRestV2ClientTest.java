@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.write;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncConfluenceRestV2ClientTest {
+
+    private static final String CONFLUENCE_ROOT_URL = "http://confluence.com";
+    private static final String SPACE_ID_RESPONSE = "{\"results\": [{\"id\": \"98765\", \"key\": \"~personalSpace\"}]}";
+
+    @Test
+    public void addPageUnderAncestor_withSpaceKey_resolvesSpaceIdAndReturnsContentIdOfAddedPage() {
+        // arrange
+        HttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> uri.contains("/spaces?keys=") ? SPACE_ID_RESPONSE : "{\"id\": \"2345\"}", 200);
+        AsyncConfluenceRestV2Client confluenceRestClient = new AsyncConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, "user", "password");
+
+        // act
+        String contentId = confluenceRestClient.addPageUnderAncestor("~personalSpace", "1", "Some title", "Content", null).join();
+
+        // assert
+        assertThat(contentId, is("2345"));
+        List<HttpRequest> requests = sentRequests(httpClientMock);
+        assertThat(requests.stream().map((request) -> request.uri().toString()).collect(toList()), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/spaces?keys=%7EpersonalSpace",
+                CONFLUENCE_ROOT_URL + "/api/v2/pages"
+        ));
+        assertThat(requests.get(1).method(), is("POST"));
+        assertThat(requests.get(1).headers().firstValue("Authorization").orElse(null), startsWith("Basic "));
+        assertThat(requests.get(1).bodyPublisher().get().contentLength() > 0, is(true));
+    }
+
+    @Test
+    public void getLabels_withNextLink_followsNextLinkAndReturnsAllLabels() {
+        // arrange
+        HttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> uri.contains("cursor=")
+                ? "{\"results\": [{\"name\": \"label-two\"}], \"_links\": {}}"
+                : "{\"results\": [{\"name\": \"label-one\"}], \"_links\": {\"next\": \"/api/v2/pages/1234/labels?cursor=abc&limit=1\"}}", 200);
+        AsyncConfluenceRestV2Client confluenceRestClient = new AsyncConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, new PaginationConfiguration(null, null, 1), null, "token");
+
+        // act
+        List<String> labels = confluenceRestClient.getLabels("1234").join();
+
+        // assert
+        assertThat(labels, contains("label-one", "label-two"));
+        assertThat(sentRequests(httpClientMock).stream().map((request) -> request.uri().toString()).collect(toList()), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234/labels?limit=1",
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234/labels?cursor=abc&limit=1"
+        ));
+    }
+
+    @Test
+    public void addAttachment_withAttachmentContent_sendsBufferedMultipartBody() {
+        // arrange
+        HttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> "{}", 200);
+        AsyncConfluenceRestV2Client confluenceRestClient = new AsyncConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null, "token");
+
+        // act
+        confluenceRestClient.addAttachment("1234", "attachment.txt", new ByteArrayInputStream("attachment".getBytes(UTF_8))).join();
+
+        // assert
+        HttpRequest request = sentRequests(httpClientMock).get(0);
+        assertThat(request.headers().firstValue("Content-Type").orElse(""), startsWith("multipart/form-data; boundary="));
+        assertThat(request.headers().firstValue("X-Atlassian-Token").orElse(null), is("no-check"));
+        assertThat(request.bodyPublisher().get().contentLength() > "attachment".length(), is(true));
+    }
+
+    @Test
+    public void addAttachment_withAttachmentInputStream_streamsRepeatableMultipartBodyWithKnownLength(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path attachmentPath = tempDir.resolve("attachment.txt");
+        write(attachmentPath, "attachment".getBytes(UTF_8));
+
+        HttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> "{}", 200);
+        AsyncConfluenceRestV2Client confluenceRestClient = new AsyncConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null, "token");
+
+        // act
+        confluenceRestClient.addAttachment("1234", "attachment.txt", AttachmentInputStream.open(attachmentPath)).join();
+
+        // assert
+        HttpRequest.BodyPublisher bodyPublisher = sentRequests(httpClientMock).get(0).bodyPublisher().get();
+        String body = bodyContent(bodyPublisher);
+        assertThat(body, containsString("attachment"));
+        assertThat((long) body.getBytes(UTF_8).length, is(bodyPublisher.contentLength()));
+        assertThat(bodyContent(bodyPublisher), is(body));
+    }
+
+    @Test
+    public void deletePage_withFailingRequest_completesExceptionallyWithRequestFailedException() {
+        // arrange
+        HttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> "{\"message\": \"page not found\"}", 404);
+        AsyncConfluenceRestV2Client confluenceRestClient = new AsyncConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null, "token");
+
+        // act
+        CompletionException exception = assertThrows(CompletionException.class, () -> confluenceRestClient.deletePage("1234").join());
+
+        // assert
+        assertThat(exception.getCause(), is(instanceOf(RequestFailedException.class)));
+        assertThat(exception.getCause().getMessage(), startsWith("page not found"));
+    }
+
+    private static String bodyContent(HttpRequest.BodyPublisher bodyPublisher) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CompletableFuture<String> bodyContent = new CompletableFuture<>();
+
+        bodyPublisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                body.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                bodyContent.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                bodyContent.complete(new String(body.toByteArray(), UTF_8));
+            }
+
+        });
+
+        return bodyContent.join();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<HttpRequest> sentRequests(HttpClient httpClientMock) {
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClientMock, atLeastOnce()).sendAsync(requestCaptor.capture(), any(BodyHandler.class));
+
+        return requestCaptor.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpClient recordHttpClientForResponsesByRequestUri(Function<String, String> contentPayloadByRequestUri, int statusCode) {
+        HttpClient httpClientMock = mock(HttpClient.class);
+        when(httpClientMock.sendAsync(any(HttpRequest.class), any(BodyHandler.class))).thenAnswer((invocation) -> {
+            HttpRequest request = invocation.getArgument(0);
+
+            return completedFuture(recordHttpResponseForContentAndStatusCode(contentPayloadByRequestUri.apply(request.uri().toString()), statusCode));
+        });
+
+        return httpClientMock;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<byte[]> recordHttpResponseForContentAndStatusCode(String contentPayload, int statusCode) {
+        HttpResponse<byte[]> httpResponseMock = mock(HttpResponse.class);
+        when(httpResponseMock.statusCode()).thenReturn(statusCode);
+        when(httpResponseMock.body()).thenReturn(contentPayload.getBytes(UTF_8));
+        when(httpResponseMock.headers()).thenReturn(HttpHeaders.of((Map<String, List<String>>) (Map<?, ?>) emptyMap(), (name, value) -> true));
+
+        return httpResponseMock;
+    }
+
+}
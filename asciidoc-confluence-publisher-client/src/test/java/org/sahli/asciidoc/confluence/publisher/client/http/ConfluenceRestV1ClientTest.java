@@ -286,6 +286,61 @@ public class ConfluenceRestV1ClientTest {
         assertThat(confluencePage.getVersion(), is(1));
     }
 
+    @Test
+    public void getPageStateById_withExistingProperty_returnsPageAndPropertyValueFromSingleRequest() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForSingleResponseWithContentAndStatusCode("{\"id\": \"1234\", \"title\": \"Some title\", \"version\": {\"number\": 2}, " +
+                "\"body\": {\"storage\": {\"value\": \"Some content\"}}, \"metadata\": {\"properties\": {\"content-hash\": {\"key\": \"content-hash\", \"value\": \"hash-value\"}}}}", 200);
+        ConfluenceRestV1Client confluenceRestClient = new ConfluenceRestV1Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        ConfluencePageState pageState = confluenceRestClient.getPageStateById("1234", "content-hash");
+
+        // assert
+        assertThat(pageState.getPage(), is(new ConfluencePage("1234", "Some title", "Some content", 2)));
+        assertThat(pageState.getPropertyValue(), is("hash-value"));
+
+        ArgumentCaptor<HttpGet> requestCaptor = ArgumentCaptor.forClass(HttpGet.class);
+        verify(httpClientMock, times(1)).execute(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getURI().toString(), containsString("expand=body.storage,version,metadata.properties.content-hash"));
+    }
+
+    @Test
+    public void getPageStateById_withoutProperty_returnsPageAndNullPropertyValue() throws Exception {
+        // arrange
+        String responseFilePath = "src/test/resources/org/sahli/asciidoc/confluence/publisher/client/http/page-content.json";
+        CloseableHttpClient httpClientMock = recordHttpClientForSingleResponseWithContentAndStatusCode(fileContent(responseFilePath, UTF_8), 200);
+        ConfluenceRestV1Client confluenceRestClient = new ConfluenceRestV1Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        ConfluencePageState pageState = confluenceRestClient.getPageStateById("1234", "content-hash");
+
+        // assert
+        assertThat(pageState.getPage().getVersion(), is(1));
+        assertThat(pageState.getPropertyValue(), is(nullValue()));
+    }
+
+    @Test
+    public void getDescendantPages_withExpandedAncestors_returnsDescendantPagesWithParentIdFromSingleRequest() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForSingleResponseWithContentAndStatusCode("{\"results\": [" +
+                "{\"id\": \"2\", \"title\": \"Page 2\", \"version\": {\"number\": 3}, \"ancestors\": [{\"id\": \"100\"}, {\"id\": \"1\"}]}, " +
+                "{\"id\": \"3\", \"title\": \"Page 3\", \"version\": {\"number\": 1}, \"ancestors\": [{\"id\": \"100\"}, {\"id\": \"1\"}, {\"id\": \"2\"}]}" +
+                "], \"size\": 2}", 200);
+        ConfluenceRestV1Client confluenceRestClient = new ConfluenceRestV1Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        List<ConfluenceDescendantPage> descendantPages = confluenceRestClient.getDescendantPages("1");
+
+        // assert
+        assertThat(descendantPages.stream().map(ConfluenceDescendantPage::getPage).collect(toList()), contains(new ConfluencePage("2", "Page 2", 3), new ConfluencePage("3", "Page 3", 1)));
+        assertThat(descendantPages.stream().map(ConfluenceDescendantPage::getParentId).collect(toList()), contains("1", "2"));
+
+        ArgumentCaptor<HttpRequestBase> requestCaptor = ArgumentCaptor.forClass(HttpRequestBase.class);
+        verify(httpClientMock, times(1)).execute(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getURI().toString(), is(CONFLUENCE_ROOT_URL + "/rest/api/content/1/descendant/page?limit=25&start=0&expand=version%2Cancestors"));
+    }
+
     @Test
     public void getChildPages_withValidParametersAndFirstResultSizeSmallerThanLimit_returnsListOfChildPagesWithTitleContentVersionAndId() throws Exception {
         // arrange
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHeader;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConfluenceRestV2ClientTest {
+
+    private static final String CONFLUENCE_ROOT_URL = "http://confluence.com";
+    private static final String SPACE_ID_RESPONSE = "{\"results\": [{\"id\": \"98765\", \"key\": \"~personalSpace\"}]}";
+    private static final String EMPTY_RESULTS_RESPONSE = "{\"results\": []}";
+
+    @Test
+    public void getPageByTitle_calledMultipleTimesForSameSpaceKey_looksUpSpaceIdOnlyOnce() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> uri.contains("/spaces?keys=")
+                ? SPACE_ID_RESPONSE
+                : "{\"results\": [{\"id\": \"1234\", \"title\": \"Some title\"}]}");
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        String firstContentId = confluenceRestClient.getPageByTitle("~personalSpace", "1", "Some title");
+        String secondContentId = confluenceRestClient.getPageByTitle("~personalSpace", "1", "Some title");
+
+        // assert
+        assertThat(firstContentId, is("1234"));
+        assertThat(secondContentId, is("1234"));
+        assertThat(requestedUris(httpClientMock), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/spaces?keys=%7EpersonalSpace",
+                CONFLUENCE_ROOT_URL + "/api/v2/spaces/98765/pages?title=Some+title",
+                CONFLUENCE_ROOT_URL + "/api/v2/spaces/98765/pages?title=Some+title"
+        ));
+    }
+
+    @Test
+    public void addPageUnderAncestor_withSpaceIdResolvedByPreviousRequest_reusesResolvedSpaceId() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> {
+            if (uri.contains("/spaces?keys=")) {
+                return SPACE_ID_RESPONSE;
+            }
+
+            return uri.contains("/pages?title=") ? EMPTY_RESULTS_RESPONSE : "{\"id\": \"2345\"}";
+        });
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        assertThrows(NotFoundException.class, () -> confluenceRestClient.getPageByTitle("~personalSpace", "1", "Some title"));
+        String contentId = confluenceRestClient.addPageUnderAncestor("~personalSpace", "1", "Some title", "Content", null);
+
+        // assert
+        assertThat(contentId, is("2345"));
+        assertThat(requestedUris(httpClientMock), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/spaces?keys=%7EpersonalSpace",
+                CONFLUENCE_ROOT_URL + "/api/v2/spaces/98765/pages?title=Some+title",
+                CONFLUENCE_ROOT_URL + "/api/v2/pages"
+        ));
+    }
+
+    @Test
+    public void getPageByTitle_withUnknownSpaceKey_doesNotCacheFailedLookup() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> EMPTY_RESULTS_RESPONSE);
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        assertThrows(NotFoundException.class, () -> confluenceRestClient.getPageByTitle("~unknownSpace", "1", "Some title"));
+        assertThrows(NotFoundException.class, () -> confluenceRestClient.getPageByTitle("~unknownSpace", "1", "Some title"));
+
+        // assert
+        assertThat(requestedUris(httpClientMock), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/spaces?keys=%7EunknownSpace",
+                CONFLUENCE_ROOT_URL + "/api/v2/spaces?keys=%7EunknownSpace"
+        ));
+    }
+
+    @Test
+    public void connectionPoolStatistics_withDefaultHttpClient_reportsConfiguredConnectionPool() {
+        // arrange
+        ConnectionPoolConfiguration connectionPoolConfiguration = new ConnectionPoolConfiguration(8, 4, 5000, 10000, 30000, false);
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, null, null, connectionPoolConfiguration, false, false, null, null, null, "token");
+
+        // act
+        ConnectionPoolStatistics connectionPoolStatistics = confluenceRestClient.connectionPoolStatistics().orElseThrow();
+
+        // assert
+        assertThat(connectionPoolStatistics.leases(), is(0L));
+        assertThat(connectionPoolStatistics.maxConnectionsTotal(), is(8));
+        assertThat(connectionPoolStatistics.maxConnectionsPerRoute(), is(4));
+    }
+
+    @Test
+    public void connectionPoolStatistics_withProvidedHttpClient_returnsEmptyStatistics() {
+        // arrange
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, mock(CloseableHttpClient.class), null, null, null);
+
+        // act + assert
+        assertThat(confluenceRestClient.connectionPoolStatistics().isPresent(), is(false));
+    }
+
+    @Test
+    public void getAttachments_withDefaultPaginationConfiguration_requestsServerMaximumPageSize() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> "{\"results\": [], \"_links\": {}}");
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        confluenceRestClient.getAttachments("1234");
+        confluenceRestClient.getChildPages("1234");
+        confluenceRestClient.getLabels("1234");
+
+        // assert
+        assertThat(requestedUris(httpClientMock), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234/attachments?limit=250",
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234/direct-children?limit=250",
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234/labels?limit=250"
+        ));
+    }
+
+    @Test
+    public void getLabels_withCustomPageSizeAndNextLink_followsNextLinkAndReturnsAllLabels() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> uri.contains("cursor=")
+                ? "{\"results\": [{\"name\": \"label-two\"}], \"_links\": {}}"
+                : "{\"results\": [{\"name\": \"label-one\"}], \"_links\": {\"next\": \"/api/v2/pages/1234/labels?cursor=abc&limit=1\"}}");
+        PaginationConfiguration paginationConfiguration = new PaginationConfiguration(null, null, 1);
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, paginationConfiguration, null, null);
+
+        // act
+        List<String> labels = confluenceRestClient.getLabels("1234");
+
+        // assert
+        assertThat(labels, contains("label-one", "label-two"));
+        assertThat(requestedUris(httpClientMock), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234/labels?limit=1",
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234/labels?cursor=abc&limit=1"
+        ));
+    }
+
+    @Test
+    public void getPageStateById_withPropertyIncludedInPage_returnsPageAndPropertyValueFromSingleRequest() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> "{\"id\": \"1234\", \"title\": \"Some title\", \"version\": {\"number\": 2}, " +
+                "\"properties\": {\"results\": [{\"key\": \"content-hash\", \"value\": \"hash-value\"}], \"meta\": {\"hasMore\": false}}}");
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        ConfluencePageState pageState = confluenceRestClient.getPageStateById("1234", "content-hash");
+
+        // assert
+        assertThat(pageState.getPage().getVersion(), is(2));
+        assertThat(pageState.getPropertyValue(), is("hash-value"));
+        assertThat(requestedUris(httpClientMock), contains(CONFLUENCE_ROOT_URL + "/api/v2/pages/1234?include-version=true&include-properties=true"));
+    }
+
+    @Test
+    public void getPageStateById_withMorePropertiesThanIncludedInPage_looksUpPropertySeparately() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> uri.contains("/properties?key=")
+                ? "{\"results\": [{\"key\": \"content-hash\", \"value\": \"hash-value\"}]}"
+                : "{\"id\": \"1234\", \"title\": \"Some title\", \"version\": {\"number\": 2}, " +
+                "\"properties\": {\"results\": [{\"key\": \"other\", \"value\": \"other-value\"}], \"meta\": {\"hasMore\": true}}}");
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        ConfluencePageState pageState = confluenceRestClient.getPageStateById("1234", "content-hash");
+
+        // assert
+        assertThat(pageState.getPropertyValue(), is("hash-value"));
+        assertThat(requestedUris(httpClientMock), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234?include-version=true&include-properties=true",
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1234/properties?key=content-hash"
+        ));
+    }
+
+    @Test
+    public void getDescendantPages_withPagesAtMaximumDepth_listsDescendantsOfPagesAtMaximumDepthWithAdditionalRequest() throws Exception {
+        // arrange
+        CloseableHttpClient httpClientMock = recordHttpClientForResponsesByRequestUri((uri) -> uri.contains("/pages/1/")
+                ? "{\"results\": [" +
+                "{\"id\": \"2\", \"title\": \"Page 2\", \"type\": \"page\", \"parentId\": \"1\"}, " +
+                "{\"id\": \"3\", \"title\": \"Folder 3\", \"type\": \"folder\", \"parentId\": \"2\"}, " +
+                "{\"id\": \"4\", \"title\": \"Page 4\", \"type\": \"page\", \"parentId\": \"3\"}, " +
+                "{\"id\": \"5\", \"title\": \"Page 5\", \"type\": \"page\", \"parentId\": \"4\"}, " +
+                "{\"id\": \"6\", \"title\": \"Page 6\", \"type\": \"page\", \"parentId\": \"5\"}" +
+                "], \"_links\": {}}"
+                : "{\"results\": [{\"id\": \"7\", \"title\": \"Page 7\", \"type\": \"page\", \"parentId\": \"6\"}], \"_links\": {}}");
+        ConfluenceRestV2Client confluenceRestClient = new ConfluenceRestV2Client(CONFLUENCE_ROOT_URL, httpClientMock, null, null, null);
+
+        // act
+        List<ConfluenceDescendantPage> descendantPages = confluenceRestClient.getDescendantPages("1");
+
+        // assert
+        assertThat(descendantPages.stream().map((descendantPage) -> descendantPage.getPage().getContentId()).collect(toList()), contains("2", "4", "5", "6", "7"));
+        assertThat(descendantPages.stream().map(ConfluenceDescendantPage::getParentId).collect(toList()), contains("1", "3", "4", "5", "6"));
+        assertThat(requestedUris(httpClientMock), contains(
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/1/descendants?limit=250&depth=5",
+                CONFLUENCE_ROOT_URL + "/api/v2/pages/6/descendants?limit=250&depth=5"
+        ));
+    }
+
+    @Test
+    public void instantiation_withPaginationConfigurationWithNonPositivePageSize_throwsIllegalArgumentException() {
+        // arrange + act
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new PaginationConfiguration(0, null, null));
+
+        // assert
+        assertThat(exception.getMessage(), is("childPagesPageSize must be greater than 0"));
+    }
+
+    private static List<String> requestedUris(CloseableHttpClient httpClientMock) throws IOException {
+        ArgumentCaptor<HttpRequestBase> requestCaptor = ArgumentCaptor.forClass(HttpRequestBase.class);
+        verify(httpClientMock, atLeastOnce()).execute(requestCaptor.capture());
+
+        return requestCaptor.getAllValues().stream()
+                .map((request) -> request.getURI().toString())
+                .collect(toList());
+    }
+
+    private static CloseableHttpClient recordHttpClientForResponsesByRequestUri(Function<String, String> contentPayloadByRequestUri) throws IOException {
+        CloseableHttpClient httpClientMock = mock(CloseableHttpClient.class);
+        when(httpClientMock.execute(any(HttpRequestBase.class))).thenAnswer((invocation) -> {
+            HttpRequestBase request = invocation.getArgument(0);
+
+            return recordHttpResponseForContentAndStatusCode(contentPayloadByRequestUri.apply(request.getURI().toString()), 200);
+        });
+
+        return httpClientMock;
+    }
+
+    private static CloseableHttpResponse recordHttpResponseForContentAndStatusCode(String contentPayload, int statusCode) {
+        CloseableHttpResponse httpResponseMock = mock(CloseableHttpResponse.class);
+        HttpEntity httpEntityMock = recordHttpEntityForContent(contentPayload);
+        when(httpResponseMock.getEntity()).thenReturn(httpEntityMock);
+
+        StatusLine statusLineMock = mock(StatusLine.class);
+        when(statusLineMock.getStatusCode()).thenReturn(statusCode);
+        when(httpResponseMock.getStatusLine()).thenReturn(statusLineMock);
+
+        return httpResponseMock;
+    }
+
+    private static HttpEntity recordHttpEntityForContent(String content) {
+        HttpEntity httpEntityMock = mock(HttpEntity.class);
+        try {
+            when(httpEntityMock.getContent()).thenReturn(new ByteArrayInputStream(content.getBytes()));
+            when(httpEntityMock.getContentEncoding()).thenReturn(new BasicHeader("Content-Encoding", "UTF-8"));
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+
+        return httpEntityMock;
+    }
+
+}
@@ -16,16 +16,20 @@
 
 package org.sahli.asciidoc.confluence.publisher.client.http;
 
+import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
@@ -239,6 +243,31 @@ public class HttpRequestV1FactoryTest {
         assertThat(multiPartPayload, containsString("Some text"));
     }
 
+    @Test
+    public void addAttachmentRequest_withAttachmentInputStream_returnsRepeatableMultipartEntityWithContentLength(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path attachmentFile = Files.write(tempDir.resolve("attachment.txt"), "Some text".getBytes(UTF_8));
+        AttachmentInputStream attachmentContent = AttachmentInputStream.open(attachmentFile);
+
+        // act
+        HttpPost addAttachmentRequest = this.httpRequestFactory.addAttachmentRequest("1234", "attachment.txt", attachmentContent);
+        attachmentContent.close();
+
+        // assert
+        HttpEntity entity = addAttachmentRequest.getEntity();
+        assertThat(entity.isRepeatable(), is(true));
+        assertThat(entity.isChunked(), is(false));
+
+        ByteArrayOutputStream firstEntityContent = new ByteArrayOutputStream();
+        entity.writeTo(firstEntityContent);
+        ByteArrayOutputStream secondEntityContent = new ByteArrayOutputStream();
+        entity.writeTo(secondEntityContent);
+        assertThat((long) firstEntityContent.size(), is(entity.getContentLength()));
+        assertThat(firstEntityContent.toString(UTF_8), containsString("filename=\"attachment.txt\""));
+        assertThat(firstEntityContent.toString(UTF_8), containsString("Some text"));
+        assertThat(secondEntityContent.toString(UTF_8), is(firstEntityContent.toString(UTF_8)));
+    }
+
     @Test
     public void addAttachmentRequest_withEmptyContentId_throwsIllegalArgumentException() {
         // assert
@@ -16,16 +16,20 @@
 
 package org.sahli.asciidoc.confluence.publisher.client.http;
 
+import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -148,6 +152,28 @@ public class HttpRequestV2FactoryTest {
         assertThat(entityContent.toString(UTF_8), containsString("Some text"));
     }
 
+    @Test
+    public void updateAttachmentContentRequest_withAttachmentInputStream_returnsRepeatableMultipartEntityWithContentLength(@TempDir Path tempDir) throws Exception {
+        // arrange
+        Path attachmentFile = Files.write(tempDir.resolve("attachment.txt"), "Some text".getBytes(UTF_8));
+        AttachmentInputStream attachmentContent = AttachmentInputStream.open(attachmentFile);
+
+        // act
+        HttpPost request = this.httpRequestFactory.updateAttachmentContentRequest("1234", "att12", attachmentContent, false);
+        attachmentContent.close();
+
+        // assert
+        HttpEntity entity = request.getEntity();
+        assertThat(entity.isRepeatable(), is(true));
+        assertThat(entity.isChunked(), is(false));
+
+        ByteArrayOutputStream entityContent = new ByteArrayOutputStream();
+        entity.writeTo(entityContent);
+        assertThat((long) entityContent.size(), is(entity.getContentLength()));
+        assertThat(entityContent.toString(UTF_8), containsString("Some text"));
+        assertThat(entityContent.toString(UTF_8), containsString("minorEdit"));
+    }
+
     @Test
     public void addAttachmentRequest_withEmptyContentId_throwsIllegalArgumentException() {
         // assert
@@ -226,6 +252,15 @@ public class HttpRequestV2FactoryTest {
         assertThat(request.getURI().toString(), startsWith(CONFLUENCE_API_V2_ENDPOINT + "/pages/1234"));
     }
 
+    @Test
+    public void getPageByIdRequest_withPropertiesExpandOption_includesPropertiesInPage() {
+        // act
+        HttpGet request = this.httpRequestFactory.getPageByIdRequest("1234", "properties");
+
+        // assert
+        assertThat(request.getURI().toString(), is(CONFLUENCE_API_V2_ENDPOINT + "/pages/1234?include-version=true&include-properties=true"));
+    }
+
     @Test
     public void getChildPagesByIdRequest_withValidParameters_returnsHttpGetToApiV2Endpoint() {
         // act
@@ -321,6 +356,28 @@ public class HttpRequestV2FactoryTest {
         assertThat(request.getURI().toString(), containsString(CONFLUENCE_API_V2_ENDPOINT + "/pages/1234/properties"));
     }
 
+    @Test
+    public void getLabelsRequest_withLimit_returnsHttpGetToApiV2EndpointWithLimit() {
+        // act
+        HttpGet request = this.httpRequestFactory.getLabelsRequest("1234", 250);
+
+        // assert
+        assertThat(request.getMethod(), is("GET"));
+        assertThat(request.getURI().toString(), is(CONFLUENCE_API_V2_ENDPOINT + "/pages/1234/labels?limit=250"));
+    }
+
+    @Test
+    public void getNextLabelsRequest_withRelativeNextLink_prependsConfluenceServerUrl() {
+        // arrange
+        String nextLink = "/wiki/api/v2/pages/1234/labels?cursor=zzz&limit=250";
+
+        // act
+        HttpGet request = this.httpRequestFactory.getNextLabelsRequest(nextLink);
+
+        // assert
+        assertThat(request.getURI().toString(), is(ROOT_CONFLUENCE_URL + nextLink));
+    }
+
     @Test
     public void addLabelsRequest_withValidParameters_fallsBackToV1RestApiEndpoint() {
         // arrange
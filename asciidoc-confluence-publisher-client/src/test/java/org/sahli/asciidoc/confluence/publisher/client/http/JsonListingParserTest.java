@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonListingParserTest {
+
+    private final JsonListingParser jsonListingParser = new JsonListingParser(new JsonFactory());
+
+    @Test
+    public void parseResults_withResultsAndNextLink_addsEntriesAndReturnsNextLink() {
+        // arrange
+        HttpResponse response = response("{\"results\": ["
+                + "{\"id\": \"1\", \"title\": \"Page 1\", \"version\": {\"number\": 3, \"message\": \"\"}},"
+                + "{\"id\": \"2\", \"title\": \"Page 2\", \"version\": 5}"
+                + "], \"_links\": {\"base\": \"http://confluence.com\", \"next\": \"/wiki/api/v2/pages/1/children?cursor=abc\"}}");
+        List<JsonListingParser.Entry> entries = new ArrayList<>();
+
+        // act
+        String nextLink = this.jsonListingParser.parseResults(response, entries);
+
+        // assert
+        assertThat(nextLink, is("/wiki/api/v2/pages/1/children?cursor=abc"));
+        assertThat(entries, hasSize(2));
+        assertThat(entries.get(0).id(), is("1"));
+        assertThat(entries.get(0).title(), is("Page 1"));
+        assertThat(entries.get(0).version(), is(3));
+        assertThat(entries.get(1).id(), is("2"));
+        assertThat(entries.get(1).version(), is(5));
+    }
+
+    @Test
+    public void parseResults_withoutNextLink_returnsNull() {
+        // arrange
+        HttpResponse response = response("{\"results\": [{\"name\": \"label-one\"}], \"_links\": {}}");
+        List<JsonListingParser.Entry> entries = new ArrayList<>();
+
+        // act
+        String nextLink = this.jsonListingParser.parseResults(response, entries);
+
+        // assert
+        assertThat(nextLink, is(nullValue()));
+        assertThat(entries.get(0).name(), is("label-one"));
+    }
+
+    @Test
+    public void parseResults_withUnknownNestedFields_skipsUnknownFields() {
+        // arrange
+        HttpResponse response = response("{\"size\": 1, \"results\": [{\"body\": {\"storage\": {\"value\": \"<p>{\\\"id\\\": \\\"x\\\"}</p>\"}},"
+                + " \"ancestors\": [{\"id\": \"99\", \"title\": \"Ancestor\"}], \"id\": \"1\", \"title\": \"Page\"}], \"start\": 0}");
+        List<JsonListingParser.Entry> entries = new ArrayList<>();
+
+        // act
+        this.jsonListingParser.parseResults(response, entries);
+
+        // assert
+        assertThat(entries, hasSize(1));
+        assertThat(entries.get(0).id(), is("1"));
+        assertThat(entries.get(0).title(), is("Page"));
+        assertThat(entries.get(0).version(), is(nullValue()));
+    }
+
+    @Test
+    public void parseResults_withDownloadLinkAndLinksDownload_prefersLinksDownload() {
+        // arrange
+        HttpResponse response = response("{\"results\": ["
+                + "{\"id\": \"att1\", \"downloadLink\": \"/download-link\", \"_links\": {\"download\": \"/links-download\"}},"
+                + "{\"id\": \"att2\", \"downloadLink\": \"/download-link\"}"
+                + "], \"_links\": {}}");
+        List<JsonListingParser.Entry> entries = new ArrayList<>();
+
+        // act
+        this.jsonListingParser.parseResults(response, entries);
+
+        // assert
+        assertThat(entries.get(0).downloadLink(), is("/links-download"));
+        assertThat(entries.get(1).downloadLink(), is("/download-link"));
+    }
+
+    @Test
+    public void parseSingleEntry_withScalarAndObjectValues_returnsScalarValueOrEmptyValue() {
+        // act
+        JsonListingParser.Entry scalarEntry = this.jsonListingParser.parseSingleEntry(response("{\"key\": \"content-hash\", \"value\": \"abc\"}"));
+        JsonListingParser.Entry objectEntry = this.jsonListingParser.parseSingleEntry(response("{\"key\": \"content-hash\", \"value\": {\"hash\": \"abc\"}}"));
+
+        // assert
+        assertThat(scalarEntry.value(), is("abc"));
+        assertThat(objectEntry.value(), is(""));
+    }
+
+    @Test
+    public void parseResults_withMalformedResponse_throwsRuntimeException() {
+        // act + assert
+        assertThrows(RuntimeException.class, () -> this.jsonListingParser.parseResults(response("[]"), new ArrayList<>()));
+    }
+
+    private static HttpResponse response(String content) {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setEntity(new StringEntity(content, "UTF-8"));
+
+        return response;
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.client.http;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LeaseTimingConnectionManagerTest {
+
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("confluence.com", 80));
+
+    @Test
+    public void constructor_withConnectionPoolConfiguration_appliesMaxConnections() {
+        // arrange
+        ConnectionPoolConfiguration connectionPoolConfiguration = new ConnectionPoolConfiguration(50, 10, null, null, null, null);
+
+        // act
+        LeaseTimingConnectionManager connectionManager = new LeaseTimingConnectionManager(connectionPoolConfiguration, null, false, null);
+
+        // assert
+        assertThat(connectionManager.statistics().maxConnectionsTotal(), is(50));
+        assertThat(connectionManager.statistics().maxConnectionsPerRoute(), is(10));
+        assertThat(connectionManager.getDefaultSocketConfig().isTcpNoDelay(), is(true));
+    }
+
+    @Test
+    public void requestConnection_withExhaustedPool_recordsLeaseWaitTime() throws Exception {
+        // arrange
+        ConnectionPoolConfiguration connectionPoolConfiguration = new ConnectionPoolConfiguration(1, 1, null, null, null, null);
+        Iterator<Long> nanoTimes = List.of(0L, 0L, MILLISECONDS.toNanos(10), MILLISECONDS.toNanos(110)).iterator();
+        LeaseTimingConnectionManager connectionManager = new LeaseTimingConnectionManager(connectionPoolConfiguration, null, false, null, nanoTimes::next);
+
+        // act
+        connectionManager.requestConnection(ROUTE, null).get(1, MILLISECONDS);
+        assertThrows(ConnectionPoolTimeoutException.class, () -> connectionManager.requestConnection(ROUTE, null).get(1, MILLISECONDS));
+
+        // assert
+        ConnectionPoolStatistics statistics = connectionManager.statistics();
+        assertThat(statistics.leases(), is(2L));
+        assertThat(statistics.maxLeaseWaitMillis(), is(100L));
+        assertThat(statistics.totalLeaseWaitMillis(), is(100L));
+        connectionManager.shutdown();
+    }
+
+}
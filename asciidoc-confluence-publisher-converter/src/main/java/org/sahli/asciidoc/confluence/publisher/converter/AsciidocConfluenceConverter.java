@@ -16,9 +16,11 @@
 
 package org.sahli.asciidoc.confluence.publisher.converter;
 
+import org.asciidoctor.Asciidoctor;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePageMetadata;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePublisherMetadata;
 import org.sahli.asciidoc.confluence.publisher.converter.AsciidocPagesStructureProvider.AsciidocPage;
+import org.sahli.asciidoc.confluence.publisher.converter.ConversionCache.CachedPage;
 
 import java.io.IOException;
 import java.net.URI;
@@ -30,8 +32,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -42,10 +53,16 @@ import static java.nio.file.Files.list;
 import static java.nio.file.Files.write;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluencePage.defaultAsciidoctor;
 import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluencePage.newAsciidocConfluencePage;
+import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluencePage.newPageTitleIndex;
+import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluencePage.pageHeader;
+import static org.sahli.asciidoc.confluence.publisher.converter.ConversionCache.settingsDigest;
 
 /**
  * @author Alain Sahli
@@ -54,13 +71,36 @@ import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluen
 public final class AsciidocConfluenceConverter {
 
     private static final String TEMPLATE_ROOT_CLASS_PATH_LOCATION = "org/sahli/asciidoc/confluence/publisher/converter/templates";
+    private static final String CONVERSION_CACHE_FILE_NAME = "conversion-cache.json";
 
     private final String spaceKey;
     private final String ancestorId;
+    private final int conversionParallelism;
+    private final boolean incrementalConversion;
+    private final boolean scanPageHeaders;
 
     public AsciidocConfluenceConverter(String spaceKey, String ancestorId) {
-        this.spaceKey = spaceKey;
-        this.ancestorId = ancestorId;
+        this(builder(spaceKey, ancestorId));
+    }
+
+    private AsciidocConfluenceConverter(Builder builder) {
+        if (builder.conversionParallelism < 1) {
+            throw new IllegalArgumentException("conversionParallelism must be greater than 0");
+        }
+
+        this.spaceKey = builder.spaceKey;
+        this.ancestorId = builder.ancestorId;
+        this.conversionParallelism = builder.conversionParallelism;
+        this.incrementalConversion = builder.incrementalConversion;
+        this.scanPageHeaders = builder.scanPageHeaders;
+    }
+
+    /**
+     * @return builder of a converter for the given space and ancestor, converting pages sequentially and without cache
+     * unless configured otherwise
+     */
+    public static Builder builder(String spaceKey, String ancestorId) {
+        return new Builder(spaceKey, ancestorId);
     }
 
     public ConfluencePublisherMetadata convert(AsciidocPagesStructureProvider asciidocPagesStructureProvider, PageTitlePostProcessor pageTitlePostProcessor, Path buildFolder, Map<String, Object> userAttributes) {
@@ -70,13 +110,36 @@ public final class AsciidocConfluenceConverter {
         Path assetsRootFolder = buildFolder.resolve("assets").toAbsolutePath();
         createDirectories(assetsRootFolder);
 
+        AttachmentBlobStore attachmentBlobStore = new AttachmentBlobStore(buildFolder.resolve("blobs").toAbsolutePath());
+
         extractTemplatesFromClassPathTo(templatesRootFolder);
 
         AsciidocPagesStructureProvider.AsciidocPagesStructure structure = asciidocPagesStructureProvider.structure();
         List<AsciidocPage> asciidocPages = structure.pages();
         Charset sourceEncoding = asciidocPagesStructureProvider.sourceEncoding();
         Path rootFolder = asciidocPagesStructureProvider.rootFolder();
-        List<ConfluencePageMetadata> confluencePages = buildPageTree(templatesRootFolder, assetsRootFolder, asciidocPages, sourceEncoding, pageTitlePostProcessor, userAttributes, this.spaceKey, rootFolder);
+        PageTitleIndex pageTitleIndex = newPageTitleIndex(sourceEncoding, templatesRootFolder, assetsRootFolder, pageTitlePostProcessor, userAttributes, rootFolder);
+        ConversionCache conversionCache = this.incrementalConversion
+                ? ConversionCache.load(buildFolder.resolve(CONVERSION_CACHE_FILE_NAME), sourceEncoding, userAttributes, settingsDigest(this.spaceKey, sourceEncoding, rootFolder, userAttributes, pageTitlePostProcessor, templatesRootFolder), asciidocPagesStructureProvider.sourceRevision().orElse(null), asciidocPagesStructureProvider.baseRevision().orElse(null), asciidocPagesStructureProvider.changedFiles().orElse(null))
+                : ConversionCache.disabled();
+        PageTask<PageHeader> pageHeaderScanner = (asciidoctor, asciidocPage) -> pageHeader(asciidoctor, asciidocPage, sourceEncoding, templatesRootFolder, assetsRootFolder, pageTitlePostProcessor, userAttributes, rootFolder);
+        PageTask<ConfluencePageMetadata> pageConverter = (asciidoctor, asciidocPage) -> convertPage(asciidoctor, asciidocPage, templatesRootFolder, assetsRootFolder, sourceEncoding, pageTitlePostProcessor, userAttributes, this.spaceKey, rootFolder, pageTitleIndex, conversionCache, attachmentBlobStore);
+
+        List<AsciidocPage> allPages = allPages(asciidocPages);
+        Map<AsciidocPage, ConfluencePageMetadata> convertedPages;
+
+        try (PageTaskExecutor pageTaskExecutor = new PageTaskExecutor(this.conversionParallelism)) {
+            if (this.scanPageHeaders) {
+                Map<AsciidocPage, PageHeader> pageHeaders = pageTaskExecutor.execute(allPages, pageHeaderScanner);
+                ensureUniquePageTitles(allPages, pageHeaders);
+                pageHeaders.forEach((asciidocPage, pageHeader) -> pageTitleIndex.add(asciidocPage.path(), pageHeader.crossReferenceTitle()));
+            }
+
+            convertedPages = pageTaskExecutor.execute(allPages, pageConverter);
+        }
+
+        List<ConfluencePageMetadata> confluencePages = buildPageTree(asciidocPages, convertedPages);
+        conversionCache.save();
 
         ConfluencePublisherMetadata confluencePublisherMetadata = new ConfluencePublisherMetadata();
         confluencePublisherMetadata.setSpaceKey(this.spaceKey);
@@ -86,31 +149,123 @@ public final class AsciidocConfluenceConverter {
         return confluencePublisherMetadata;
     }
 
-    private static List<ConfluencePageMetadata> buildPageTree(Path templatesRootFolder, Path assetsRootFolder, List<AsciidocPage> asciidocPages, Charset sourceEncoding, PageTitlePostProcessor pageTitlePostProcessor, Map<String, Object> userAttributes, String spaceKey, Path rootFolder) {
-        List<ConfluencePageMetadata> confluencePages = new ArrayList<>();
+    private static List<AsciidocPage> allPages(List<AsciidocPage> asciidocPages) {
+        List<AsciidocPage> allPages = new ArrayList<>();
+        asciidocPages.forEach((asciidocPage) -> {
+            allPages.add(asciidocPage);
+            allPages.addAll(allPages(asciidocPage.children()));
+        });
+
+        return allPages;
+    }
 
+    private static void ensureUniquePageTitles(List<AsciidocPage> asciidocPages, Map<AsciidocPage, PageHeader> pageHeaders) {
+        Map<String, AsciidocPage> asciidocPagesByTitle = new HashMap<>();
         asciidocPages.forEach((asciidocPage) -> {
-            Path pageAssetsFolder = determinePageAssetsFolder(assetsRootFolder, asciidocPage);
-            createDirectories(pageAssetsFolder);
+            String pageTitle = pageHeaders.get(asciidocPage).title();
+            AsciidocPage asciidocPageWithSameTitle = asciidocPagesByTitle.putIfAbsent(pageTitle, asciidocPage);
 
-            AsciidocConfluencePage asciidocConfluencePage = newAsciidocConfluencePage(asciidocPage, sourceEncoding, templatesRootFolder, pageAssetsFolder, pageTitlePostProcessor, userAttributes, spaceKey, rootFolder);
-            Path contentFileTargetPath = writeToTargetStructure(asciidocPage, pageAssetsFolder, asciidocConfluencePage);
+            if (asciidocPageWithSameTitle != null) {
+                throw new RuntimeException("Pages '" + asciidocPageWithSameTitle.path().toAbsolutePath() + "' and '" + asciidocPage.path().toAbsolutePath() + "' have the same title '" + pageTitle + "'");
+            }
+        });
+    }
 
-            List<AttachmentMetadata> attachments = buildAttachments(asciidocPage, pageAssetsFolder, asciidocConfluencePage.attachments());
-            copyAttachmentsAvailableInSourceStructureToTargetStructure(attachments);
-            ensureAttachmentsExist(attachments);
+    private static void awaitTermination(ExecutorService executorService) {
+        try {
+            executorService.awaitTermination(Long.MAX_VALUE, MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            List<ConfluencePageMetadata> childConfluencePages = buildPageTree(templatesRootFolder, assetsRootFolder, asciidocPage.children(), sourceEncoding, pageTitlePostProcessor, userAttributes, spaceKey, rootFolder);
-            ConfluencePageMetadata confluencePageMetadata = buildConfluencePageMetadata(asciidocConfluencePage, contentFileTargetPath, childConfluencePages, attachments);
+    private static <T> T awaitResult(Future<T> result) {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
 
-            confluencePages.add(confluencePageMetadata);
-        });
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for page processing", e);
+        }
+    }
+
+    private static List<ConfluencePageMetadata> buildPageTree(List<AsciidocPage> asciidocPages, Map<AsciidocPage, ConfluencePageMetadata> convertedPages) {
+        return asciidocPages.stream()
+                .map((asciidocPage) -> {
+                    ConfluencePageMetadata confluencePageMetadata = convertedPages.get(asciidocPage);
+                    confluencePageMetadata.setChildren(buildPageTree(asciidocPage.children(), convertedPages));
+
+                    return confluencePageMetadata;
+                })
+                .collect(toList());
+    }
+
+    private static ConfluencePageMetadata convertPage(Asciidoctor asciidoctor, AsciidocPage asciidocPage, Path templatesRootFolder, Path assetsRootFolder, Charset sourceEncoding, PageTitlePostProcessor pageTitlePostProcessor, Map<String, Object> userAttributes, String spaceKey, Path rootFolder, PageTitleIndex pageTitleIndex, ConversionCache conversionCache, AttachmentBlobStore attachmentBlobStore) {
+        Path pageAssetsFolder = determinePageAssetsFolder(assetsRootFolder, asciidocPage);
+        createDirectories(pageAssetsFolder);
+
+        // pages whose recorded sources did not change since the base revision are re-used without reading their sources
+        Optional<CachedPage> upToDateCachedPage = conversionCache.unchangedCachedPage(asciidocPage.path())
+                .or(() -> conversionCache.cacheKey(asciidocPage.path()).flatMap((key) -> conversionCache.cachedPage(asciidocPage.path(), key)))
+                .filter((cachedPage) -> isUpToDate(asciidoctor, cachedPage, pageTitleIndex));
+
+        if (upToDateCachedPage.isPresent()) {
+            CachedPage cachedPage = upToDateCachedPage.get();
+            List<AttachmentMetadata> attachments = buildAttachments(asciidocPage, pageAssetsFolder, cachedPage.getAttachments());
+            copyAttachmentsAvailableInSourceStructureToTargetStructure(attachments, attachmentBlobStore);
+
+            if (attachments.stream().allMatch((attachment) -> exists(attachment.targetPath()))) {
+                conversionCache.store(asciidocPage.path(), cachedPage);
+
+                return buildConfluencePageMetadata(cachedPage.getTitle(), cachedPage.getLabels(), Paths.get(cachedPage.getContentFilePath()), new ArrayList<>(), attachments);
+            }
+        }
+
+        AsciidocConfluencePage asciidocConfluencePage = newAsciidocConfluencePage(asciidoctor, asciidocPage, sourceEncoding, templatesRootFolder, pageAssetsFolder, pageTitlePostProcessor, userAttributes, spaceKey, rootFolder, pageTitleIndex, conversionCache.enabled());
+        Path contentFileTargetPath = writeToTargetStructure(asciidocPage, pageAssetsFolder, asciidocConfluencePage);
+
+        List<AttachmentMetadata> attachments = buildAttachments(asciidocPage, pageAssetsFolder, asciidocConfluencePage.attachments().keySet());
+        copyAttachmentsAvailableInSourceStructureToTargetStructure(attachments, attachmentBlobStore);
+        ensureAttachmentsExist(attachments);
+
+        // the cache key of the converted page is based on the includes recorded during this conversion
+        conversionCache.assets(asciidocPage.path(), asciidocConfluencePage.includes(), asciidocConfluencePage.attachments().keySet())
+                .ifPresent((assets) -> conversionCache.cacheKey(asciidocPage.path(), asciidocConfluencePage.includes(), assets)
+                        .ifPresent((key) -> conversionCache.store(asciidocPage.path(), cachedPage(key, asciidocConfluencePage, assets, contentFileTargetPath))));
+
+        return buildConfluencePageMetadata(asciidocConfluencePage.pageTitle(), asciidocConfluencePage.keywords(), contentFileTargetPath, new ArrayList<>(), attachments);
+    }
+
+    private static boolean isUpToDate(Asciidoctor asciidoctor, CachedPage cachedPage, PageTitleIndex pageTitleIndex) {
+        return exists(Paths.get(cachedPage.getContentFilePath())) && cachedPage.getReferencedPageTitles().entrySet().stream()
+                .allMatch((referencedPageTitle) -> {
+                    Path referencedPagePath = Paths.get(referencedPageTitle.getKey());
+
+                    return exists(referencedPagePath) && referencedPageTitle.getValue().equals(pageTitleIndex.pageTitle(referencedPagePath, asciidoctor));
+                });
+    }
 
-        return confluencePages;
+    private static CachedPage cachedPage(String cacheKey, AsciidocConfluencePage asciidocConfluencePage, List<String> assets, Path contentFileTargetPath) {
+        CachedPage cachedPage = new CachedPage();
+        cachedPage.setCacheKey(cacheKey);
+        cachedPage.setTitle(asciidocConfluencePage.pageTitle());
+        cachedPage.setContentFilePath(contentFileTargetPath.toAbsolutePath().toString());
+        cachedPage.setAttachments(new ArrayList<>(asciidocConfluencePage.attachments().keySet()));
+        cachedPage.setLabels(new ArrayList<>(asciidocConfluencePage.keywords()));
+        cachedPage.setIncludes(new ArrayList<>(asciidocConfluencePage.includes()));
+        cachedPage.setAssets(assets);
+        asciidocConfluencePage.referencedPageTitles().forEach((referencedPagePath, referencedPageTitle) -> cachedPage.getReferencedPageTitles().put(referencedPagePath.toString(), referencedPageTitle));
+
+        return cachedPage;
     }
 
-    private static List<AttachmentMetadata> buildAttachments(AsciidocPage asciidocPage, Path pageAssetsFolder, Map<String, String> attachmentsWithRelativePath) {
-        return attachmentsWithRelativePath.keySet().stream()
+    private static List<AttachmentMetadata> buildAttachments(AsciidocPage asciidocPage, Path pageAssetsFolder, Collection<String> attachmentsWithRelativePath) {
+        return attachmentsWithRelativePath.stream()
                 .map((attachmentWithRelativePath) -> {
                     Path relativeAttachmentPath = Paths.get(attachmentWithRelativePath);
                     Path attachmentSourcePath = asciidocPage.path().getParent().resolve(relativeAttachmentPath);
@@ -121,13 +276,13 @@ public final class AsciidocConfluenceConverter {
                 .collect(toList());
     }
 
-    private static ConfluencePageMetadata buildConfluencePageMetadata(AsciidocConfluencePage asciidocConfluencePage, Path contentFileTargetPath, List<ConfluencePageMetadata> childConfluencePages, List<AttachmentMetadata> attachments) {
+    private static ConfluencePageMetadata buildConfluencePageMetadata(String title, List<String> labels, Path contentFileTargetPath, List<ConfluencePageMetadata> childConfluencePages, List<AttachmentMetadata> attachments) {
         ConfluencePageMetadata confluencePageMetadata = new ConfluencePageMetadata();
-        confluencePageMetadata.setTitle(asciidocConfluencePage.pageTitle());
+        confluencePageMetadata.setTitle(title);
         confluencePageMetadata.setContentFilePath(contentFileTargetPath.toAbsolutePath().toString());
         confluencePageMetadata.setChildren(childConfluencePages);
         confluencePageMetadata.getAttachments().putAll(toTargetAttachmentFileNameAndAttachmentPath(attachments));
-        confluencePageMetadata.getLabels().addAll(asciidocConfluencePage.keywords());
+        confluencePageMetadata.getLabels().addAll(labels);
 
         return confluencePageMetadata;
     }
@@ -143,14 +298,10 @@ public final class AsciidocConfluenceConverter {
         }
     }
 
-    private static void copyAttachmentsAvailableInSourceStructureToTargetStructure(List<AttachmentMetadata> attachments) {
+    private static void copyAttachmentsAvailableInSourceStructureToTargetStructure(List<AttachmentMetadata> attachments, AttachmentBlobStore attachmentBlobStore) {
         attachments.forEach((attachment) -> {
-            try {
-                if (exists(attachment.sourcePath())) {
-                    copy(attachment.sourcePath(), attachment.targetPath(), REPLACE_EXISTING);
-                }
-            } catch (IOException e) {
-                throw new RuntimeException("Could not copy attachment to target structure", e);
+            if (exists(attachment.sourcePath())) {
+                attachmentBlobStore.link(attachment.sourcePath(), attachment.targetPath());
             }
         });
     }
@@ -252,6 +403,131 @@ public final class AsciidocConfluenceConverter {
     }
 
 
+    public static class Builder {
+
+        private final String spaceKey;
+        private final String ancestorId;
+        private int conversionParallelism = 1;
+        private boolean incrementalConversion;
+        private boolean scanPageHeaders;
+
+        private Builder(String spaceKey, String ancestorId) {
+            this.spaceKey = spaceKey;
+            this.ancestorId = ancestorId;
+        }
+
+        /**
+         * @param conversionParallelism maximum number of pages converted concurrently (defaults to {@code 1}). A value of
+         *                              {@code 1} converts pages sequentially, higher values convert pages in parallel
+         *                              using a pool of (up to {@code conversionParallelism}) dedicated Asciidoctor
+         *                              instances. The resulting page tree does not depend on the conversion parallelism.
+         */
+        public Builder conversionParallelism(int conversionParallelism) {
+            this.conversionParallelism = conversionParallelism;
+
+            return this;
+        }
+
+        /**
+         * @param incrementalConversion whether to keep a cache of converted pages in the build folder and to reuse the
+         *                              converted content of pages whose source, included files and conversion settings
+         *                              did not change since the previous conversion into the same build folder
+         */
+        public Builder incrementalConversion(boolean incrementalConversion) {
+            this.incrementalConversion = incrementalConversion;
+
+            return this;
+        }
+
+        /**
+         * @param scanPageHeaders whether to read the header (i.e. the title) of all pages before converting any page. The
+         *                        header scan uses the same conversion parallelism, detects duplicate page titles before
+         *                        the (expensive) conversion starts, and provides the titles of cross-referenced pages
+         *                        without parsing them again during conversion.
+         */
+        public Builder scanPageHeaders(boolean scanPageHeaders) {
+            this.scanPageHeaders = scanPageHeaders;
+
+            return this;
+        }
+
+        public AsciidocConfluenceConverter build() {
+            return new AsciidocConfluenceConverter(this);
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface PageTask<T> {
+
+        T execute(Asciidoctor asciidoctor, AsciidocPage asciidocPage);
+
+    }
+
+
+    /**
+     * Executes a task for all pages, either sequentially using the default Asciidoctor instance, or concurrently using a
+     * pool of dedicated Asciidoctor instances that is shared by all tasks (i.e. header scan and conversion).
+     */
+    private static class PageTaskExecutor implements AutoCloseable {
+
+        private final AsciidoctorPool asciidoctorPool;
+        private final ExecutorService executorService;
+
+        PageTaskExecutor(int parallelism) {
+            this.asciidoctorPool = parallelism > 1 ? new AsciidoctorPool(AsciidocConfluencePage::newAsciidoctor, parallelism) : null;
+            this.executorService = parallelism > 1 ? newFixedThreadPool(parallelism, new ConversionThreadFactory()) : null;
+        }
+
+        <T> Map<AsciidocPage, T> execute(List<AsciidocPage> asciidocPages, PageTask<T> pageTask) {
+            Map<AsciidocPage, T> results = new IdentityHashMap<>();
+
+            if (this.executorService == null) {
+                asciidocPages.forEach((asciidocPage) -> results.put(asciidocPage, pageTask.execute(defaultAsciidoctor(), asciidocPage)));
+
+                return results;
+            }
+
+            Map<AsciidocPage, Future<T>> pendingResults = new IdentityHashMap<>();
+            asciidocPages.forEach((asciidocPage) -> pendingResults.put(asciidocPage, this.executorService.submit(() -> this.asciidoctorPool.withAsciidoctor((asciidoctor) -> pageTask.execute(asciidoctor, asciidocPage)))));
+
+            for (AsciidocPage asciidocPage : asciidocPages) {
+                results.put(asciidocPage, awaitResult(pendingResults.get(asciidocPage)));
+            }
+
+            return results;
+        }
+
+        @Override
+        public void close() {
+            if (this.executorService == null) {
+                return;
+            }
+
+            // Asciidoctor instances must not be shut down while still in use by running tasks
+            this.executorService.shutdownNow();
+            awaitTermination(this.executorService);
+            this.asciidoctorPool.close();
+        }
+
+    }
+
+
+    private static class ConversionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "asciidoc-confluence-converter-" + this.threadCount.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+
+    }
+
+
     private static class AttachmentMetadata {
 
         private final Path sourcePath;
@@ -42,6 +42,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.regex.MatchResult;
@@ -56,6 +58,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
 import static java.util.regex.Matcher.quoteReplacement;
 import static java.util.regex.Pattern.DOTALL;
 import static java.util.regex.Pattern.compile;
@@ -65,6 +68,7 @@ import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.lang3.StringEscapeUtils.unescapeHtml3;
 import static org.asciidoctor.Asciidoctor.Factory.create;
 import static org.asciidoctor.SafeMode.UNSAFE;
+import static org.sahli.asciidoc.confluence.publisher.converter.IncludeRecordingProcessor.recordIncludes;
 
 /**
  * @author Alain Sahli
@@ -76,30 +80,42 @@ public class AsciidocConfluencePage {
     private static final Pattern ATTACHMENT_PATH_PATTERN = compile("<ri:attachment ri:filename=\"(.*?)\"");
     private static final Pattern PAGE_TITLE_PATTERN = compile("<ri:page ri:content-title=\"(.*?)\"");
 
-    private static final Asciidoctor ASCIIDOCTOR = create();
-
-    static {
-        ASCIIDOCTOR.requireLibrary("asciidoctor-diagram");
-        ASCIIDOCTOR.registerLogHandler(new LogHandler() {
-            @Override
-            public void log(LogRecord logRecord) {
-                if (logRecord.getSeverity().compareTo(Severity.ERROR) >= 0) {
-                    throw new RuntimeException(logRecord.getMessage());
-                }
-            }
-        });
-    }
+    private static final Asciidoctor ASCIIDOCTOR = newAsciidoctor();
 
     private final String pageTitle;
     private final String htmlContent;
     private final Map<String, String> attachments;
     private final List<String> keywords;
+    private final Map<Path, String> referencedPageTitles;
+    private final Set<String> includes;
 
-    private AsciidocConfluencePage(String pageTitle, String htmlContent, Map<String, String> attachments, List<String> keywords) {
+    private AsciidocConfluencePage(String pageTitle, String htmlContent, Map<String, String> attachments, List<String> keywords, Map<Path, String> referencedPageTitles, Set<String> includes) {
         this.pageTitle = pageTitle;
         this.htmlContent = htmlContent;
         this.attachments = attachments;
         this.keywords = keywords;
+        this.referencedPageTitles = referencedPageTitles;
+        this.includes = includes;
+    }
+
+    static Asciidoctor defaultAsciidoctor() {
+        return ASCIIDOCTOR;
+    }
+
+    static Asciidoctor newAsciidoctor() {
+        Asciidoctor asciidoctor = create();
+        asciidoctor.requireLibrary("asciidoctor-diagram");
+        asciidoctor.javaExtensionRegistry().includeProcessor(new IncludeRecordingProcessor());
+        asciidoctor.registerLogHandler(new LogHandler() {
+            @Override
+            public void log(LogRecord logRecord) {
+                if (logRecord.getSeverity().compareTo(Severity.ERROR) >= 0) {
+                    throw new RuntimeException(logRecord.getMessage());
+                }
+            }
+        });
+
+        return asciidoctor;
     }
 
     public String content() {
@@ -118,6 +134,18 @@ public class AsciidocConfluencePage {
         return unmodifiableList(this.keywords);
     }
 
+    Map<Path, String> referencedPageTitles() {
+        return unmodifiableMap(this.referencedPageTitles);
+    }
+
+    /**
+     * @return the absolute paths of all (transitively) included files, as recorded while loading the page (empty if
+     * includes were not recorded)
+     */
+    Set<String> includes() {
+        return unmodifiableSet(this.includes);
+    }
+
     public static AsciidocConfluencePage newAsciidocConfluencePage(AsciidocPage asciidocPage, Charset sourceEncoding, Path templatesDir, Path pageAssetsFolder) {
         return newAsciidocConfluencePage(asciidocPage, sourceEncoding, templatesDir, pageAssetsFolder, new NoOpPageTitlePostProcessor(), emptyMap(), "");
     }
@@ -143,23 +171,38 @@ public class AsciidocConfluencePage {
     }
 
     public static AsciidocConfluencePage newAsciidocConfluencePage(AsciidocPage asciidocPage, Charset sourceEncoding, Path templatesDir, Path pageAssetsFolder, PageTitlePostProcessor pageTitlePostProcessor, Map<String, Object> userAttributes, String spaceKey, Path rootFolder) {
+        PageTitleIndex pageTitleIndex = newPageTitleIndex(sourceEncoding, templatesDir, pageAssetsFolder, pageTitlePostProcessor, userAttributes, rootFolder);
+
+        return newAsciidocConfluencePage(asciidocPage, sourceEncoding, templatesDir, pageAssetsFolder, pageTitlePostProcessor, userAttributes, spaceKey, rootFolder, pageTitleIndex);
+    }
+
+    static AsciidocConfluencePage newAsciidocConfluencePage(AsciidocPage asciidocPage, Charset sourceEncoding, Path templatesDir, Path pageAssetsFolder, PageTitlePostProcessor pageTitlePostProcessor, Map<String, Object> userAttributes, String spaceKey, Path rootFolder, PageTitleIndex pageTitleIndex) {
+        return newAsciidocConfluencePage(ASCIIDOCTOR, asciidocPage, sourceEncoding, templatesDir, pageAssetsFolder, pageTitlePostProcessor, userAttributes, spaceKey, rootFolder, pageTitleIndex, false);
+    }
+
+    /**
+     * @param includeRecording whether to record the {@linkplain #includes() included files} of the page
+     */
+    static AsciidocConfluencePage newAsciidocConfluencePage(Asciidoctor asciidoctor, AsciidocPage asciidocPage, Charset sourceEncoding, Path templatesDir, Path pageAssetsFolder, PageTitlePostProcessor pageTitlePostProcessor, Map<String, Object> userAttributes, String spaceKey, Path rootFolder, PageTitleIndex pageTitleIndex, boolean includeRecording) {
         try {
             Path asciidocPagePath = asciidocPage.path();
             String asciidocContent = readIntoString(newInputStream(asciidocPagePath), sourceEncoding);
 
             Map<String, String> attachmentCollector = new HashMap<>();
+            Map<Path, String> referencedPageTitleCollector = new HashMap<>();
 
             Map<String, Object> userAttributesWithMaskedNullValues = maskNullWithEmptyString(userAttributes);
             Options options = options(templatesDir, asciidocPagePath.getParent(), pageAssetsFolder, userAttributesWithMaskedNullValues, asciidocPagePath, rootFolder);
 
-            Document document = ASCIIDOCTOR.load(asciidocContent, options);
+            Set<String> includes = new TreeSet<>();
+            Document document = includeRecording ? recordIncludes(includes, () -> asciidoctor.load(asciidocContent, options)) : asciidoctor.load(asciidocContent, options);
 
             String pageTitle = unescapeHtml3(pageTitle(document, userAttributesWithMaskedNullValues, pageTitlePostProcessor));
-            String pageContent = convertedContent(document, asciidocPagePath, attachmentCollector, userAttributesWithMaskedNullValues, pageTitlePostProcessor, sourceEncoding, spaceKey, templatesDir, pageAssetsFolder, rootFolder, options);
+            String pageContent = convertedContent(asciidoctor, document, asciidocPagePath, attachmentCollector, referencedPageTitleCollector, sourceEncoding, spaceKey, pageTitleIndex);
 
             List<String> keywords = keywords(document);
 
-            return new AsciidocConfluencePage(pageTitle, pageContent, attachmentCollector, keywords);
+            return new AsciidocConfluencePage(pageTitle, pageContent, attachmentCollector, keywords, referencedPageTitleCollector, includes);
         } catch (Exception e) {
             throw new RuntimeException("failed to create confluence page for asciidoc content in '" + asciidocPage.path().toAbsolutePath() + " '", e);
         }
@@ -169,10 +212,16 @@ public class AsciidocConfluencePage {
         return path.contains("/") ? path.substring(path.lastIndexOf('/') + 1) : path;
     }
 
-    private static String convertedContent(Document document, Path pagePath, Map<String, String> attachmentCollector, Map<String, Object> userAttributes, PageTitlePostProcessor pageTitlePostProcessor, Charset sourceEncoding, String spaceKey, Path templatesDir, Path pageAssetsFolder, Path rootFolder, Options options) {
+    static PageTitleIndex newPageTitleIndex(Charset sourceEncoding, Path templatesDir, Path generatedAssetsFolder, PageTitlePostProcessor pageTitlePostProcessor, Map<String, Object> userAttributes, Path rootFolder) {
+        Map<String, Object> userAttributesWithMaskedNullValues = maskNullWithEmptyString(userAttributes);
+
+        return new PageTitleIndex((asciidocPagePath, asciidoctor) -> referencedPageTitle(asciidoctor, asciidocPagePath, sourceEncoding, templatesDir, generatedAssetsFolder, pageTitlePostProcessor, userAttributesWithMaskedNullValues, rootFolder));
+    }
+
+    private static String convertedContent(Asciidoctor asciidoctor, Document document, Path pagePath, Map<String, String> attachmentCollector, Map<Path, String> referencedPageTitleCollector, Charset sourceEncoding, String spaceKey, PageTitleIndex pageTitleIndex) {
         String content = document.convert();
         String postProcessedContent = postProcessContent(content,
-                replaceCrossReferenceTargets(pagePath, userAttributes, pageTitlePostProcessor, sourceEncoding, spaceKey, templatesDir, pageAssetsFolder, rootFolder),
+                replaceCrossReferenceTargets(asciidoctor, pagePath, referencedPageTitleCollector, spaceKey, pageTitleIndex),
                 collectAndReplaceAttachmentFileNames(attachmentCollector, sourceEncoding),
                 unescapeCdataHtmlContent()
         );
@@ -255,34 +304,65 @@ public class AsciidocConfluencePage {
                 .build();
     }
 
-    private static Function<String, String> replaceCrossReferenceTargets(Path pagePath, Map<String, Object> userAttributes, PageTitlePostProcessor pageTitlePostProcessor, Charset sourceEncoding, String spaceKey, Path templatesDir, Path pageAssetsFolder, Path rootFolder) {
+    private static Function<String, String> replaceCrossReferenceTargets(Asciidoctor asciidoctor, Path pagePath, Map<Path, String> referencedPageTitleCollector, String spaceKey, PageTitleIndex pageTitleIndex) {
         return (content) -> replaceAll(content, PAGE_TITLE_PATTERN, (matchResult) -> {
             String htmlTarget = matchResult.group(1);
             String htmlTargetWithoutAnchor = htmlTarget.contains("#") ? htmlTarget.substring(0, htmlTarget.indexOf('#')) : htmlTarget;
             Path referencedPagePath = pagePath.getParent().resolve(Paths.get(htmlTargetWithoutAnchor.substring(0, htmlTargetWithoutAnchor.lastIndexOf('.')) + ".adoc"));
+            String referencedPageTitle = pageTitleIndex.pageTitle(referencedPagePath, asciidoctor);
 
-            try {
-                Map<String, Object> userAttributesWithMaskedNullValues = maskNullWithEmptyString(userAttributes);
-                Options referencedPageOptions = options(templatesDir, referencedPagePath.getParent(), pageAssetsFolder, userAttributesWithMaskedNullValues, referencedPagePath, rootFolder);
-                String referencedPageContent = readIntoString(new FileInputStream(referencedPagePath.toFile()), sourceEncoding);
-                Document referencedDocument = ASCIIDOCTOR.load(referencedPageContent, referencedPageOptions);
-                String referencedPageTitle = pageTitle(referencedDocument, userAttributes, pageTitlePostProcessor);
-
-                /*
-                    Currently the ri:space-key attribute is required in order
-                    to update a page that has been converted to the new confluence
-                    editor, this seems to be a bug in confluence but needs to be
-                    addressed here until it is fixed. See confluence issue:
-
-                    https://jira.atlassian.com/browse/CONFCLOUD-69902
-                */
-                return "<ri:page ri:content-title=\"" + referencedPageTitle + "\" ri:space-key=\"" + spaceKey + "\"";
-            } catch (FileNotFoundException e) {
-                throw new RuntimeException("unable to find cross-referenced page '" + referencedPagePath + "'", e);
-            }
+            referencedPageTitleCollector.put(referencedPagePath.toAbsolutePath().normalize(), referencedPageTitle);
+
+            /*
+                Currently the ri:space-key attribute is required in order
+                to update a page that has been converted to the new confluence
+                editor, this seems to be a bug in confluence but needs to be
+                addressed here until it is fixed. See confluence issue:
+
+                https://jira.atlassian.com/browse/CONFCLOUD-69902
+            */
+            return "<ri:page ri:content-title=\"" + referencedPageTitle + "\" ri:space-key=\"" + spaceKey + "\"";
         });
     }
 
+    private static String referencedPageTitle(Asciidoctor asciidoctor, Path referencedPagePath, Charset sourceEncoding, Path templatesDir, Path generatedAssetsFolder, PageTitlePostProcessor pageTitlePostProcessor, Map<String, Object> userAttributes, Path rootFolder) {
+        try {
+            Document referencedDocument = loadHeader(asciidoctor, referencedPagePath, sourceEncoding, templatesDir, generatedAssetsFolder, userAttributes, rootFolder);
+
+            return pageTitle(referencedDocument, userAttributes, pageTitlePostProcessor);
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("unable to find cross-referenced page '" + referencedPagePath + "'", e);
+        }
+    }
+
+    static PageHeader pageHeader(Asciidoctor asciidoctor, AsciidocPage asciidocPage, Charset sourceEncoding, Path templatesDir, Path generatedAssetsFolder, PageTitlePostProcessor pageTitlePostProcessor, Map<String, Object> userAttributes, Path rootFolder) {
+        try {
+            Map<String, Object> userAttributesWithMaskedNullValues = maskNullWithEmptyString(userAttributes);
+            Document document = loadHeader(asciidoctor, asciidocPage.path(), sourceEncoding, templatesDir, generatedAssetsFolder, userAttributesWithMaskedNullValues, rootFolder);
+            String crossReferenceTitle = pageTitle(document, userAttributesWithMaskedNullValues, pageTitlePostProcessor);
+
+            return new PageHeader(unescapeHtml3(crossReferenceTitle), crossReferenceTitle);
+        } catch (Exception e) {
+            throw new RuntimeException("failed to read header of asciidoc content in '" + asciidocPage.path().toAbsolutePath() + "'", e);
+        }
+    }
+
+    private static Document loadHeader(Asciidoctor asciidoctor, Path asciidocPagePath, Charset sourceEncoding, Path templatesDir, Path generatedAssetsFolder, Map<String, Object> userAttributes, Path rootFolder) throws FileNotFoundException {
+        String asciidocContent = readIntoString(new FileInputStream(asciidocPagePath.toFile()), sourceEncoding);
+        Options options = options(templatesDir, asciidocPagePath.getParent(), generatedAssetsFolder, userAttributes, asciidocPagePath, rootFolder);
+
+        // the title is part of the document header, so parsing the header is sufficient in most cases
+        options.setParseHeaderOnly(true);
+        Document document = asciidoctor.load(asciidocContent, options);
+
+        if (document.getStructuredDoctitle() == null) {
+            options.setParseHeaderOnly(false);
+            document = asciidoctor.load(asciidocContent, options);
+        }
+
+        return document;
+    }
+
     private static String replaceUserAttributes(String title, Map<String, Object> userAttributes) {
         return userAttributes.entrySet().stream().reduce(title, (accumulator, entry) -> accumulator.replace("{" + entry.getKey() + "}", entry.getValue().toString()), unusedCombiner());
     }
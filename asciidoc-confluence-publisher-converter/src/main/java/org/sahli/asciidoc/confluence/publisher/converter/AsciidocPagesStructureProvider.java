@@ -19,6 +19,8 @@ package org.sahli.asciidoc.confluence.publisher.converter;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface AsciidocPagesStructureProvider {
 
@@ -28,6 +30,32 @@ public interface AsciidocPagesStructureProvider {
 
     Path rootFolder();
 
+    /**
+     * @return the revision (e.g. git commit) the page sources are at, or an empty optional if unknown (e.g. because of
+     * uncommitted changes)
+     */
+    default Optional<String> sourceRevision() {
+        return Optional.empty();
+    }
+
+    /**
+     * @return the revision the {@linkplain #changedFiles() changed files} are determined against, or an empty optional if
+     * the sources are not compared with a previous revision
+     */
+    default Optional<String> baseRevision() {
+        return Optional.empty();
+    }
+
+    /**
+     * @return the real paths of all files changed since the {@linkplain #baseRevision() base revision} (e.g. as
+     * determined by {@link GitDiffAsciidocPagesStructureProvider}), or an empty optional if the sources are not compared
+     * with a previous revision. A page previously converted at the base revision is re-used without reading its sources
+     * again if neither its source nor any file recorded as included or referenced during its conversion changed.
+     */
+    default Optional<Set<Path>> changedFiles() {
+        return Optional.empty();
+    }
+
 
     interface AsciidocPagesStructure {
 
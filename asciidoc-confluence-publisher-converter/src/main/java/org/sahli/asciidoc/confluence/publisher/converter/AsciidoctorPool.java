@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import org.asciidoctor.Asciidoctor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of {@link Asciidoctor} instances. Every instance is backed by its own JRuby runtime, which is expensive
+ * to create, so instances are created lazily (up to the maximum pool size) and only when no idle instance is available.
+ * Each instance is used by one thread at a time.
+ */
+class AsciidoctorPool implements AutoCloseable {
+
+    private final Supplier<Asciidoctor> asciidoctorFactory;
+    private final int maximumPoolSize;
+    private final BlockingQueue<Asciidoctor> idleInstances = new LinkedBlockingQueue<>();
+    private final List<Asciidoctor> createdInstances = new ArrayList<>();
+
+    AsciidoctorPool(Supplier<Asciidoctor> asciidoctorFactory, int maximumPoolSize) {
+        if (maximumPoolSize < 1) {
+            throw new IllegalArgumentException("maximumPoolSize must be greater than 0");
+        }
+
+        this.asciidoctorFactory = asciidoctorFactory;
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    <T> T withAsciidoctor(Function<Asciidoctor, T> asciidoctorConsumer) {
+        Asciidoctor asciidoctor = acquire();
+
+        try {
+            return asciidoctorConsumer.apply(asciidoctor);
+        } finally {
+            this.idleInstances.add(asciidoctor);
+        }
+    }
+
+    private Asciidoctor acquire() {
+        Asciidoctor idleInstance = this.idleInstances.poll();
+        if (idleInstance != null) {
+            return idleInstance;
+        }
+
+        synchronized (this.createdInstances) {
+            if (this.createdInstances.size() < this.maximumPoolSize) {
+                Asciidoctor newInstance = this.asciidoctorFactory.get();
+                this.createdInstances.add(newInstance);
+
+                return newInstance;
+            }
+        }
+
+        try {
+            return this.idleInstances.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Asciidoctor instance", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this.createdInstances) {
+            this.createdInstances.forEach(Asciidoctor::shutdown);
+            this.createdInstances.clear();
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createLink;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.size;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+
+/**
+ * Content-addressed store of attachment files in the build folder. Each distinct attachment content is stored once as
+ * a blob named after its SHA-256 digest, and the attachment files in the asset folders of the pages are hard links to
+ * these blobs (or copies of them, if the file system does not support hard links). Attachments referenced by several
+ * pages are therefore only read and written once per conversion.
+ */
+class AttachmentBlobStore {
+
+    private final Path blobsFolder;
+    private final Map<Path, Path> blobsBySourcePath = new ConcurrentHashMap<>();
+
+    AttachmentBlobStore(Path blobsFolder) {
+        this.blobsFolder = blobsFolder;
+    }
+
+    void link(Path sourcePath, Path targetPath) {
+        Path blob = this.blobsBySourcePath.computeIfAbsent(sourcePath.toAbsolutePath().normalize(), this::store);
+
+        try {
+            // an existing target (e.g. from a previous conversion) is replaced, and never written through
+            deleteIfExists(targetPath);
+            createLink(targetPath, blob);
+        } catch (UnsupportedOperationException | IOException e) {
+            copyBlob(blob, targetPath);
+        }
+    }
+
+    private Path store(Path sourcePath) {
+        try {
+            createDirectories(this.blobsFolder);
+            Path temporaryBlob = createTempFile(this.blobsFolder, "blob-", ".tmp");
+            MessageDigest digest = getSha256Digest();
+
+            try (InputStream sourceContent = new DigestInputStream(newInputStream(sourcePath), digest)) {
+                copy(sourceContent, temporaryBlob, REPLACE_EXISTING);
+            }
+
+            Path blob = this.blobsFolder.resolve(encodeHexString(digest.digest()));
+
+            if (exists(blob) && size(blob) == size(temporaryBlob)) {
+                deleteIfExists(temporaryBlob);
+            } else {
+                move(temporaryBlob, blob, REPLACE_EXISTING);
+            }
+
+            return blob;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not copy attachment '" + sourcePath + "' to target structure", e);
+        }
+    }
+
+    private static void copyBlob(Path blob, Path targetPath) {
+        try {
+            copy(blob, targetPath, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not copy attachment to target structure", e);
+        }
+    }
+
+}
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.list;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.regex.Pattern.MULTILINE;
+import static java.util.regex.Pattern.compile;
+import static java.util.stream.Stream.concat;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+
+/**
+ * Persistent cache of converted pages, stored as JSON in the build folder. A page is only taken from the cache if its
+ * cache key is unchanged. The cache key is derived from the page source, all (transitively) included files, all
+ * referenced asset files (images and diagram sources referenced by block macros like {@code plantuml::diagram.puml[]})
+ * and the settings of the conversion run (user attributes, page title post-processor, templates, space key and source
+ * encoding).
+ * <p>
+ * The included files of a page are taken from the include graph recorded during its previous conversion and stored with
+ * the cached page, so that a changed included file invalidates exactly the pages including it. Includes of pages
+ * without a recorded include graph (e.g. cached by a previous version) are resolved statically, in which case pages with
+ * includes that cannot be resolved (e.g. includes using document attributes) are not taken from the cache. Pages
+ * including URLs and pages referencing asset files that cannot be resolved are never cached.
+ * <p>
+ * Each cached page records the source revision it was converted at (if known). If the files changed since a base
+ * revision are known, pages converted at the base revision are taken from the cache without reading their sources if
+ * neither their source nor any of their recorded includes and assets changed.
+ */
+class ConversionCache {
+
+    private static final Pattern INCLUDE_PATTERN = compile("^include::(.+?)\\[.*\\]\\s*$", MULTILINE);
+    // block macros with a target (e.g. images or diagrams) and inline images
+    private static final Pattern ASSET_PATTERN = compile("(?:^([a-z][a-z0-9_-]*)::|\\bimage:)([^\\[\\s]+)\\[", MULTILINE);
+    // preprocessor directives and block macros whose target is not a file (unknown block macros, e.g. of extensions, are
+    // conservatively treated as referencing a file)
+    private static final Set<String> NON_ASSET_MACROS = Set.of("include", "ifdef", "ifndef", "ifeval", "endif", "video", "audio");
+    private static final Pattern ATTRIBUTE_REFERENCE_PATTERN = compile("\\{([^}]+)\\}");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Path cacheFile;
+    private final Charset sourceEncoding;
+    private final Map<String, Object> userAttributes;
+    private final String settingsDigest;
+    private final String sourceRevision;
+    private final String baseRevision;
+    private final Set<Path> changedFiles;
+    private final Map<String, CachedPage> previousPages;
+    private final Map<String, CachedPage> currentPages = new ConcurrentHashMap<>();
+
+    private ConversionCache(Path cacheFile, Charset sourceEncoding, Map<String, Object> userAttributes, String settingsDigest, String sourceRevision, String baseRevision, Set<Path> changedFiles, Map<String, CachedPage> previousPages) {
+        this.cacheFile = cacheFile;
+        this.sourceEncoding = sourceEncoding;
+        this.userAttributes = userAttributes;
+        this.settingsDigest = settingsDigest;
+        this.sourceRevision = sourceRevision;
+        this.baseRevision = baseRevision;
+        this.changedFiles = changedFiles;
+        this.previousPages = previousPages;
+    }
+
+    static ConversionCache disabled() {
+        return new ConversionCache(null, null, null, null, null, null, null, new HashMap<>());
+    }
+
+    static ConversionCache load(Path cacheFile, Charset sourceEncoding, Map<String, Object> userAttributes, String settingsDigest) {
+        return load(cacheFile, sourceEncoding, userAttributes, settingsDigest, null, null, null);
+    }
+
+    /**
+     * @param sourceRevision the revision the converted page sources are at, or {@code null} if unknown
+     * @param baseRevision   the revision the changed files are determined against, or {@code null} if the sources are not
+     *                       compared with a previous revision
+     * @param changedFiles   the real paths of the files changed since the base revision, or {@code null} if the sources
+     *                       are not compared with a previous revision
+     */
+    static ConversionCache load(Path cacheFile, Charset sourceEncoding, Map<String, Object> userAttributes, String settingsDigest, String sourceRevision, String baseRevision, Set<Path> changedFiles) {
+        return new ConversionCache(cacheFile, sourceEncoding, userAttributes, settingsDigest, sourceRevision, baseRevision, changedFiles, readCachedPages(cacheFile));
+    }
+
+    static String settingsDigest(String spaceKey, Charset sourceEncoding, Path rootFolder, Map<String, Object> userAttributes, PageTitlePostProcessor pageTitlePostProcessor, Path templatesFolder) {
+        MessageDigest digest = getSha256Digest();
+        update(digest, String.valueOf(ConversionCache.class.getPackage().getImplementationVersion()));
+        update(digest, spaceKey);
+        update(digest, sourceEncoding.name());
+        update(digest, rootFolder.toAbsolutePath().normalize().toString());
+        new TreeMap<>(userAttributes).forEach((name, value) -> update(digest, name + "=" + value));
+
+        // the post-processed empty title captures the configuration of prefix/suffix-based post processors
+        update(digest, pageTitlePostProcessor.getClass().getName());
+        update(digest, pageTitlePostProcessor.process(""));
+
+        try {
+            for (Path template : list(templatesFolder).sorted().collect(toList())) {
+                update(digest, template.getFileName().toString());
+                digest.update(readAllBytes(template));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read templates from '" + templatesFolder + "'", e);
+        }
+
+        return encodeHexString(digest.digest());
+    }
+
+    /**
+     * @return {@code false} if pages are neither taken from nor stored in the cache, in which case the includes of
+     * converted pages do not need to be recorded
+     */
+    boolean enabled() {
+        return this.cacheFile != null;
+    }
+
+    Optional<String> cacheKey(Path asciidocPagePath) {
+        if (this.cacheFile == null) {
+            return Optional.empty();
+        }
+
+        CachedPage previousPage = this.previousPages.get(pageId(asciidocPagePath));
+        if (previousPage != null && previousPage.getIncludes() != null && previousPage.getAssets() != null) {
+            return cacheKey(asciidocPagePath, previousPage.getIncludes(), previousPage.getAssets());
+        }
+
+        MessageDigest digest = getSha256Digest();
+        update(digest, this.settingsDigest);
+
+        Path normalizedAsciidocPagePath = asciidocPagePath.toAbsolutePath().normalize();
+
+        return updateWithSourceIncludesAndAssets(digest, normalizedAsciidocPagePath, normalizedAsciidocPagePath.getParent(), new ArrayList<>())
+                ? Optional.of(encodeHexString(digest.digest()))
+                : Optional.empty();
+    }
+
+    /**
+     * Returns the cache key of a page with the given (recorded) includes and referenced assets.
+     */
+    Optional<String> cacheKey(Path asciidocPagePath, Collection<String> includes, Collection<String> assets) {
+        if (this.cacheFile == null || includes.stream().anyMatch((include) -> include.contains("://") || !Paths.get(include).isAbsolute())) {
+            return Optional.empty();
+        }
+
+        MessageDigest digest = getSha256Digest();
+        update(digest, this.settingsDigest);
+
+        try {
+            List<Path> sourcePaths = concat(Stream.of(asciidocPagePath.toAbsolutePath().normalize()), concat(includes.stream().sorted(), assets.stream().sorted()).map(Paths::get)).collect(toList());
+
+            for (Path sourcePath : sourcePaths) {
+                update(digest, sourcePath.toString());
+
+                if (isRegularFile(sourcePath)) {
+                    digest.update(readAllBytes(sourcePath));
+                } else {
+                    // e.g. a missing optional include, which invalidates the page once the included file is created
+                    update(digest, "<missing>");
+                }
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+
+        return Optional.of(encodeHexString(digest.digest()));
+    }
+
+    /**
+     * Returns the absolute paths of the asset files referenced by a converted page, i.e. the images attached from the
+     * source structure and the diagram sources referenced by block macros in the page or its included files, or an empty
+     * optional if a referenced asset file cannot be resolved.
+     *
+     * @param attachments the attachments of the converted page, relative to the page folder
+     */
+    Optional<List<String>> assets(Path asciidocPagePath, Collection<String> includes, Collection<String> attachments) {
+        if (this.cacheFile == null) {
+            return Optional.empty();
+        }
+
+        Path pageFolder = asciidocPagePath.toAbsolutePath().normalize().getParent();
+        Set<String> assets = new TreeSet<>();
+
+        // attachments not available in the source structure are generated (e.g. diagrams) and covered by their sources
+        attachments.stream()
+                .map((attachment) -> pageFolder.resolve(attachment).normalize())
+                .filter(Files::isRegularFile)
+                .forEach((attachmentPath) -> assets.add(attachmentPath.toString()));
+
+        try {
+            for (Path sourcePath : concat(Stream.of(asciidocPagePath.toAbsolutePath().normalize()), includes.stream().map(Paths::get)).collect(toList())) {
+                if (!isRegularFile(sourcePath)) {
+                    continue;
+                }
+
+                Matcher assetMatcher = ASSET_PATTERN.matcher(new String(readAllBytes(sourcePath), this.sourceEncoding));
+                while (assetMatcher.find()) {
+                    // images are covered by the attachments
+                    if (isAssetMacro(assetMatcher) && !isImage(assetMatcher) && !isRemote(assetMatcher.group(2))) {
+                        Optional<Path> assetPath = resolve(pageFolder, assetMatcher.group(2));
+
+                        if (!assetPath.isPresent() || !isRegularFile(assetPath.get())) {
+                            return Optional.empty();
+                        }
+
+                        assets.add(assetPath.get().toString());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ArrayList<>(assets));
+    }
+
+    Optional<CachedPage> cachedPage(Path asciidocPagePath, String cacheKey) {
+        return Optional.ofNullable(this.previousPages.get(pageId(asciidocPagePath)))
+                .filter((cachedPage) -> cacheKey.equals(cachedPage.getCacheKey()));
+    }
+
+    /**
+     * Returns the cached page without reading its sources (i.e. without computing its cache key), if it was converted at
+     * the base revision with the same conversion settings, and neither its source nor any of its recorded includes and
+     * assets changed since then.
+     */
+    Optional<CachedPage> unchangedCachedPage(Path asciidocPagePath) {
+        if (this.baseRevision == null || this.changedFiles == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(this.previousPages.get(pageId(asciidocPagePath)))
+                .filter((cachedPage) -> this.baseRevision.equals(cachedPage.getSourceRevision()))
+                .filter((cachedPage) -> this.settingsDigest.equals(cachedPage.getSettingsDigest()))
+                .filter((cachedPage) -> cachedPage.getIncludes() != null && cachedPage.getAssets() != null)
+                .filter((cachedPage) -> concat(Stream.of(asciidocPagePath), concat(cachedPage.getIncludes().stream(), cachedPage.getAssets().stream()).map(Paths::get))
+                        .map(ConversionCache::realPath)
+                        .noneMatch(this.changedFiles::contains));
+    }
+
+    void store(Path asciidocPagePath, CachedPage cachedPage) {
+        if (this.cacheFile != null) {
+            cachedPage.setSettingsDigest(this.settingsDigest);
+            cachedPage.setSourceRevision(this.sourceRevision);
+            this.currentPages.put(pageId(asciidocPagePath), cachedPage);
+        }
+    }
+
+    void save() {
+        if (this.cacheFile == null) {
+            return;
+        }
+
+        try {
+            createDirectories(this.cacheFile.toAbsolutePath().getParent());
+            Path temporaryCacheFile = this.cacheFile.resolveSibling(this.cacheFile.getFileName() + ".tmp");
+            write(temporaryCacheFile, OBJECT_MAPPER.writeValueAsBytes(new TreeMap<>(this.currentPages)));
+            move(temporaryCacheFile, this.cacheFile, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write conversion cache to '" + this.cacheFile + "'", e);
+        }
+    }
+
+    private boolean updateWithSourceIncludesAndAssets(MessageDigest digest, Path sourcePath, Path pageFolder, List<Path> visitedPaths) {
+        if (visitedPaths.contains(sourcePath) || !isRegularFile(sourcePath)) {
+            return false;
+        }
+
+        visitedPaths.add(sourcePath);
+
+        try {
+            byte[] source = readAllBytes(sourcePath);
+            update(digest, sourcePath.toString());
+            digest.update(source);
+
+            Matcher includeMatcher = INCLUDE_PATTERN.matcher(new String(source, this.sourceEncoding));
+            while (includeMatcher.find()) {
+                Optional<Path> includedPath = resolve(sourcePath.getParent(), includeMatcher.group(1));
+
+                if (!includedPath.isPresent() || !updateWithSourceIncludesAndAssets(digest, includedPath.get(), pageFolder, visitedPaths)) {
+                    return false;
+                }
+            }
+
+            // assets are resolved relative to the page, also when referenced from an included file
+            Matcher assetMatcher = ASSET_PATTERN.matcher(new String(source, this.sourceEncoding));
+            while (assetMatcher.find()) {
+                if (isAssetMacro(assetMatcher) && !isRemote(assetMatcher.group(2))) {
+                    Optional<Path> assetPath = resolve(pageFolder, assetMatcher.group(2));
+
+                    if (!assetPath.isPresent() || !isRegularFile(assetPath.get())) {
+                        return false;
+                    }
+
+                    update(digest, assetPath.get().toString());
+                    digest.update(readAllBytes(assetPath.get()));
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        } finally {
+            visitedPaths.remove(sourcePath);
+        }
+
+        return true;
+    }
+
+    private static boolean isAssetMacro(Matcher assetMatcher) {
+        return assetMatcher.group(1) == null || !NON_ASSET_MACROS.contains(assetMatcher.group(1));
+    }
+
+    private static boolean isImage(Matcher assetMatcher) {
+        return assetMatcher.group(1) == null || "image".equals(assetMatcher.group(1));
+    }
+
+    private static boolean isRemote(String assetTarget) {
+        return assetTarget.contains("://") || assetTarget.startsWith("data:");
+    }
+
+    private Optional<Path> resolve(Path folder, String target) {
+        if (target.contains("://")) {
+            return Optional.empty();
+        }
+
+        Matcher attributeReferenceMatcher = ATTRIBUTE_REFERENCE_PATTERN.matcher(target);
+        StringBuffer resolvedTarget = new StringBuffer();
+
+        while (attributeReferenceMatcher.find()) {
+            String attributeName = attributeReferenceMatcher.group(1);
+            Object attributeValue = "docdir".equals(attributeName) ? folder.toString() : this.userAttributes.get(attributeName);
+
+            if (attributeValue == null) {
+                return Optional.empty();
+            }
+
+            attributeReferenceMatcher.appendReplacement(resolvedTarget, Matcher.quoteReplacement(attributeValue.toString()));
+        }
+
+        attributeReferenceMatcher.appendTail(resolvedTarget);
+
+        return Optional.of(folder.resolve(resolvedTarget.toString()).normalize());
+    }
+
+    private static Map<String, CachedPage> readCachedPages(Path cacheFile) {
+        if (!exists(cacheFile)) {
+            return new HashMap<>();
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(cacheFile.toFile(), new TypeReference<HashMap<String, CachedPage>>() {
+            });
+        } catch (IOException e) {
+            // an unreadable cache (e.g. written by an incompatible version) is discarded and rebuilt
+            return new HashMap<>();
+        }
+    }
+
+    private static Path realPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            // e.g. a missing optional include
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    private static String pageId(Path asciidocPagePath) {
+        return sha256Hex(asciidocPagePath.toAbsolutePath().normalize().toString());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(UTF_8));
+        digest.update((byte) 0);
+    }
+
+
+    static class CachedPage {
+
+        private String cacheKey;
+        private String settingsDigest;
+        private String sourceRevision;
+        private String title;
+        private String contentFilePath;
+        private List<String> attachments = new ArrayList<>();
+        private List<String> labels = new ArrayList<>();
+        private Map<String, String> referencedPageTitles = new HashMap<>();
+        private List<String> includes;
+        private List<String> assets;
+
+        public String getCacheKey() {
+            return this.cacheKey;
+        }
+
+        public void setCacheKey(String cacheKey) {
+            this.cacheKey = cacheKey;
+        }
+
+        public String getSettingsDigest() {
+            return this.settingsDigest;
+        }
+
+        public void setSettingsDigest(String settingsDigest) {
+            this.settingsDigest = settingsDigest;
+        }
+
+        public String getSourceRevision() {
+            return this.sourceRevision;
+        }
+
+        public void setSourceRevision(String sourceRevision) {
+            this.sourceRevision = sourceRevision;
+        }
+
+        public String getTitle() {
+            return this.title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getContentFilePath() {
+            return this.contentFilePath;
+        }
+
+        public void setContentFilePath(String contentFilePath) {
+            this.contentFilePath = contentFilePath;
+        }
+
+        public List<String> getAttachments() {
+            return this.attachments;
+        }
+
+        public void setAttachments(List<String> attachments) {
+            this.attachments = attachments;
+        }
+
+        public List<String> getLabels() {
+            return this.labels;
+        }
+
+        public void setLabels(List<String> labels) {
+            this.labels = labels;
+        }
+
+        public Map<String, String> getReferencedPageTitles() {
+            return this.referencedPageTitles;
+        }
+
+        public void setReferencedPageTitles(Map<String, String> referencedPageTitles) {
+            this.referencedPageTitles = referencedPageTitles;
+        }
+
+        /**
+         * @return the includes recorded during conversion, or {@code null} if they are unknown
+         */
+        public List<String> getIncludes() {
+            return this.includes;
+        }
+
+        public void setIncludes(List<String> includes) {
+            this.includes = includes;
+        }
+
+        /**
+         * @return the referenced asset files, or {@code null} if they are unknown
+         */
+        public List<String> getAssets() {
+            return this.assets;
+        }
+
+        public void setAssets(List<String> assets) {
+            this.assets = assets;
+        }
+
+    }
+
+}
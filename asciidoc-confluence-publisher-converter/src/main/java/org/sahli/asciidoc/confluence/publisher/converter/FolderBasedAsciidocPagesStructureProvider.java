@@ -17,17 +17,28 @@
 package org.sahli.asciidoc.confluence.publisher.converter;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.PathMatcher;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
-import static java.nio.file.Files.walk;
+import java.util.Set;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.ForkJoinPool.commonPool;
+import static java.util.concurrent.ForkJoinTask.invokeAll;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 
 public class FolderBasedAsciidocPagesStructureProvider implements AsciidocPagesStructureProvider {
 
@@ -39,8 +50,21 @@ public class FolderBasedAsciidocPagesStructureProvider implements AsciidocPagesS
     private final Path documentationRootFolder;
 
     public FolderBasedAsciidocPagesStructureProvider(Path documentationRootFolder, Charset sourceEncoding) {
+        this(documentationRootFolder, sourceEncoding, emptyList(), emptyList());
+    }
+
+    /**
+     * Patterns are globs. Patterns containing a {@code /} are matched against the path relative to the documentation
+     * root folder, all other patterns against the file or folder name only (e.g. {@code target} matches all folders
+     * named {@code target}).
+     *
+     * @param sourceIncludes patterns of the AsciiDoc files to publish, all AsciiDoc files are published if empty. Pages
+     *                       whose parent page is not published are skipped.
+     * @param sourceExcludes patterns of the files and folders to skip. Excluded folders are not traversed.
+     */
+    public FolderBasedAsciidocPagesStructureProvider(Path documentationRootFolder, Charset sourceEncoding, List<String> sourceIncludes, List<String> sourceExcludes) {
         this.documentationRootFolder = documentationRootFolder;
-        this.structure = buildStructure(documentationRootFolder);
+        this.structure = buildStructure(documentationRootFolder, new SourceFilter(documentationRootFolder, sourceIncludes, sourceExcludes));
         this.sourceEncoding = sourceEncoding;
     }
 
@@ -59,53 +83,117 @@ public class FolderBasedAsciidocPagesStructureProvider implements AsciidocPagesS
         return this.documentationRootFolder;
     }
 
-    private AsciidocPagesStructure buildStructure(Path documentationRootFolder) {
+    private static AsciidocPagesStructure buildStructure(Path documentationRootFolder, SourceFilter sourceFilter) {
         try {
-            Map<Path, DefaultAsciidocPage> asciidocPageIndex = indexAsciidocPagesByFolderPath(documentationRootFolder);
-            List<DefaultAsciidocPage> allAsciidocPages = connectAsciidocPagesToParent(asciidocPageIndex);
-            List<AsciidocPage> topLevelAsciiPages = findTopLevelAsciiPages(allAsciidocPages, documentationRootFolder);
+            List<AsciidocPage> topLevelAsciidocPages = new ArrayList<>(commonPool().invoke(new FolderScan(documentationRootFolder, sourceFilter)));
 
-            return new DefaultAsciidocPagesStructure(topLevelAsciiPages);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not create asciidoc source structure", e);
+            return new DefaultAsciidocPagesStructure(topLevelAsciidocPages);
+        } catch (UncheckedIOException e) {
+            throw new RuntimeException("Could not create asciidoc source structure", e.getCause());
         }
     }
 
-    @SuppressWarnings("CodeBlock2Expr")
-    private List<DefaultAsciidocPage> connectAsciidocPagesToParent(Map<Path, DefaultAsciidocPage> asciidocPageIndex) {
-        asciidocPageIndex.forEach((asciidocPageFolderPath, asciidocPage) -> {
-            asciidocPageIndex.computeIfPresent(asciidocPage.path().getParent(), (ignored, parentAsciidocPage) -> {
-                parentAsciidocPage.addChild(asciidocPage);
-
-                return parentAsciidocPage;
-            });
-        });
+    private static Path childPagesFolder(Path asciidocPagePath) {
+        String fileName = asciidocPagePath.getFileName().toString();
 
-        return new ArrayList<>(asciidocPageIndex.values());
+        return asciidocPagePath.resolveSibling(fileName.substring(0, fileName.length() - ADOC_FILE_EXTENSION.length()));
     }
 
-    private static Map<Path, DefaultAsciidocPage> indexAsciidocPagesByFolderPath(Path documentationRootFolder) throws IOException {
-        return walk(documentationRootFolder)
-                .filter((path) -> isAdocFile(path) && !isIncludeFile(path))
-                .collect(toMap((asciidocPagePath) -> removeExtension(asciidocPagePath), (asciidocPagePath) -> new DefaultAsciidocPage(asciidocPagePath)));
+    private static boolean isAdocFile(Path file) {
+        return file.toString().endsWith(ADOC_FILE_EXTENSION);
     }
 
-    private static List<AsciidocPage> findTopLevelAsciiPages(List<DefaultAsciidocPage> asciiPageByFolderPath, Path documentationRootFolder) {
-        return asciiPageByFolderPath.stream()
-                .filter((asciidocPage) -> asciidocPage.path().equals(documentationRootFolder.resolve(asciidocPage.path().getFileName())))
-                .collect(toList());
+    private static boolean isIncludeFile(Path file) {
+        return file.getFileName().toString().startsWith(INCLUDE_FILE_PREFIX);
     }
 
-    private static Path removeExtension(Path path) {
-        return Paths.get(path.toString().substring(0, path.toString().lastIndexOf('.')));
-    }
 
-    private static boolean isAdocFile(Path file) {
-        return file.toString().endsWith(ADOC_FILE_EXTENSION);
+    /**
+     * Lists the pages of a folder and scans the child page folders of these pages concurrently. Folders without a
+     * corresponding page (e.g. image folders or build output) cannot contain publishable pages and are not traversed.
+     */
+    private static class FolderScan extends RecursiveTask<List<DefaultAsciidocPage>> {
+
+        private final Path folder;
+        private final SourceFilter sourceFilter;
+
+        FolderScan(Path folder, SourceFilter sourceFilter) {
+            this.folder = folder;
+            this.sourceFilter = sourceFilter;
+        }
+
+        @Override
+        protected List<DefaultAsciidocPage> compute() {
+            List<Path> asciidocPagePaths = new ArrayList<>();
+            Set<Path> subFolders = new HashSet<>();
+
+            try (DirectoryStream<Path> entries = newDirectoryStream(this.folder)) {
+                for (Path entry : entries) {
+                    if (this.sourceFilter.isExcluded(entry)) {
+                        continue;
+                    }
+
+                    if (isDirectory(entry, NOFOLLOW_LINKS)) {
+                        subFolders.add(entry);
+                    } else if (isAdocFile(entry) && !isIncludeFile(entry) && this.sourceFilter.isIncluded(entry)) {
+                        asciidocPagePaths.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            asciidocPagePaths.sort(Path::compareTo);
+
+            Map<DefaultAsciidocPage, FolderScan> childPagesFolderScans = new LinkedHashMap<>();
+            List<DefaultAsciidocPage> asciidocPages = asciidocPagePaths.stream()
+                    .map((asciidocPagePath) -> {
+                        DefaultAsciidocPage asciidocPage = new DefaultAsciidocPage(asciidocPagePath);
+                        Path childPagesFolder = childPagesFolder(asciidocPagePath);
+
+                        if (subFolders.contains(childPagesFolder)) {
+                            childPagesFolderScans.put(asciidocPage, new FolderScan(childPagesFolder, this.sourceFilter));
+                        }
+
+                        return asciidocPage;
+                    })
+                    .collect(toList());
+
+            invokeAll(childPagesFolderScans.values());
+            childPagesFolderScans.forEach((asciidocPage, childPagesFolderScan) -> childPagesFolderScan.join().forEach(asciidocPage::addChild));
+
+            return asciidocPages;
+        }
+
     }
 
-    private static boolean isIncludeFile(Path file) {
-        return file.getFileName().toString().startsWith(INCLUDE_FILE_PREFIX);
+
+    private static class SourceFilter {
+
+        private final List<Predicate<Path>> includes;
+        private final List<Predicate<Path>> excludes;
+
+        SourceFilter(Path rootFolder, List<String> includePatterns, List<String> excludePatterns) {
+            this.includes = includePatterns.stream().map((pattern) -> matcher(rootFolder, pattern)).collect(toList());
+            this.excludes = excludePatterns.stream().map((pattern) -> matcher(rootFolder, pattern)).collect(toList());
+        }
+
+        boolean isIncluded(Path file) {
+            return this.includes.isEmpty() || this.includes.stream().anyMatch((include) -> include.test(file));
+        }
+
+        boolean isExcluded(Path fileOrFolder) {
+            return this.excludes.stream().anyMatch((exclude) -> exclude.test(fileOrFolder));
+        }
+
+        private static Predicate<Path> matcher(Path rootFolder, String pattern) {
+            PathMatcher pathMatcher = rootFolder.getFileSystem().getPathMatcher("glob:" + pattern);
+
+            return pattern.contains("/")
+                    ? (path) -> pathMatcher.matches(rootFolder.relativize(path))
+                    : (path) -> pathMatcher.matches(path.getFileName());
+        }
+
     }
 
 
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.stream;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toCollection;
+
+/**
+ * Decorates an {@link AsciidocPagesStructureProvider} with the files changed between two git revisions. The working
+ * tree (including untracked files) is compared with the base revision if no head revision is provided.
+ * <p>
+ * Changed files are matched with the included files and assets recorded during the previous conversion of a page, so
+ * that pages whose sources did not change are re-used without reading their sources again. The base revision and the
+ * head revision (or the {@code HEAD} commit if the working tree has no uncommitted changes) are resolved to commit ids,
+ * so that pages converted at the head revision can be re-used by a later run based on it.
+ */
+public class GitDiffAsciidocPagesStructureProvider implements AsciidocPagesStructureProvider {
+
+    private final AsciidocPagesStructureProvider asciidocPagesStructureProvider;
+    private final Set<Path> changedFiles;
+    private final String sourceRevision;
+    private final String baseRevision;
+
+    public GitDiffAsciidocPagesStructureProvider(AsciidocPagesStructureProvider asciidocPagesStructureProvider, String baseRevision) {
+        this(asciidocPagesStructureProvider, baseRevision, null);
+    }
+
+    public GitDiffAsciidocPagesStructureProvider(AsciidocPagesStructureProvider asciidocPagesStructureProvider, String baseRevision, String headRevision) {
+        Path rootFolder = asciidocPagesStructureProvider.rootFolder();
+
+        this.asciidocPagesStructureProvider = asciidocPagesStructureProvider;
+        this.changedFiles = changedFiles(rootFolder, baseRevision, headRevision);
+        this.sourceRevision = headRevision != null ? commitId(rootFolder, headRevision) : workingTreeCommitId(rootFolder);
+        this.baseRevision = commitId(rootFolder, baseRevision);
+    }
+
+    @Override
+    public AsciidocPagesStructure structure() {
+        return this.asciidocPagesStructureProvider.structure();
+    }
+
+    @Override
+    public Charset sourceEncoding() {
+        return this.asciidocPagesStructureProvider.sourceEncoding();
+    }
+
+    @Override
+    public Path rootFolder() {
+        return this.asciidocPagesStructureProvider.rootFolder();
+    }
+
+    @Override
+    public Optional<String> sourceRevision() {
+        return Optional.ofNullable(this.sourceRevision);
+    }
+
+    @Override
+    public Optional<String> baseRevision() {
+        return Optional.of(this.baseRevision);
+    }
+
+    @Override
+    public Optional<Set<Path>> changedFiles() {
+        return Optional.of(unmodifiableSet(this.changedFiles));
+    }
+
+    private static Set<Path> changedFiles(Path rootFolder, String baseRevision, String headRevision) {
+        Path repositoryRootFolder = Paths.get(git(rootFolder, "rev-parse", "--show-toplevel").trim());
+
+        List<String> diffCommand = new ArrayList<>(List.of("diff", "--name-only", "--no-renames", "-z", baseRevision));
+        if (headRevision != null) {
+            diffCommand.add(headRevision);
+        }
+
+        Set<Path> changedFiles = repositoryPaths(repositoryRootFolder, git(rootFolder, diffCommand.toArray(new String[0])));
+
+        // untracked files are not reported by 'git diff', but may be included by pages converted from the working tree
+        if (headRevision == null) {
+            changedFiles.addAll(repositoryPaths(repositoryRootFolder, git(repositoryRootFolder, "ls-files", "--others", "--exclude-standard", "-z")));
+        }
+
+        return changedFiles;
+    }
+
+    private static Set<Path> repositoryPaths(Path repositoryRootFolder, String nullSeparatedPaths) {
+        return stream(nullSeparatedPaths.split("\0"))
+                .filter((path) -> !path.isEmpty())
+                .map((path) -> realPath(repositoryRootFolder.resolve(path)))
+                .collect(toCollection(HashSet::new));
+    }
+
+    private static String commitId(Path rootFolder, String revision) {
+        return git(rootFolder, "rev-parse", "--verify", "--quiet", revision + "^{commit}").trim();
+    }
+
+    private static String workingTreeCommitId(Path rootFolder) {
+        // the sources of a working tree with uncommitted changes do not correspond to any revision
+        return git(rootFolder, "status", "--porcelain").isEmpty() ? commitId(rootFolder, "HEAD") : null;
+    }
+
+    private static String git(Path workingFolder, String... arguments) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(arguments));
+
+        try {
+            Process process = new ProcessBuilder(command)
+                    .directory(workingFolder.toFile())
+                    .redirectErrorStream(false)
+                    .start();
+
+            String output = readIntoString(process.getInputStream());
+            String error = readIntoString(process.getErrorStream());
+
+            if (process.waitFor() != 0) {
+                throw new RuntimeException("Could not execute '" + String.join(" ", command) + "': " + error.trim());
+            }
+
+            return output;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not execute '" + String.join(" ", command) + "'", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while executing '" + String.join(" ", command) + "'", e);
+        }
+    }
+
+    private static String readIntoString(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        inputStream.transferTo(output);
+
+        return output.toString(UTF_8);
+    }
+
+    private static Path realPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            // deleted files do not have a real path
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+}
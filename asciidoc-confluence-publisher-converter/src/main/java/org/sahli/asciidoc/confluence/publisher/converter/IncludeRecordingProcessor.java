@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.extension.IncludeProcessor;
+import org.asciidoctor.extension.PreprocessorReader;
+import org.asciidoctor.jruby.internal.RubyObjectWrapper;
+import org.jruby.Ruby;
+import org.jruby.runtime.builtin.IRubyObject;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Records the files included by a document while it is loaded, so that the include graph of converted pages is known
+ * exactly (including includes that depend on document attributes). Asciidoctor does not expose resolved include paths,
+ * so relative includes are resolved against the folder of the including file and the include directive is then
+ * preprocessed by Asciidoctor with the absolute path, which is recorded and processed as usual (i.e. including tags,
+ * lines, level offsets and the maximum include depth). Includes are only resolved while
+ * {@linkplain #recordIncludes(Set, Supplier) recording}, all other documents are processed by Asciidoctor unchanged.
+ */
+class IncludeRecordingProcessor extends IncludeProcessor {
+
+    private static final ThreadLocal<Set<String>> RECORDED_INCLUDES = new ThreadLocal<>();
+
+    /**
+     * Records the includes of all documents loaded by the current thread while executing the given action. Included
+     * files are recorded as absolute paths, includes that cannot be resolved to a file (e.g. URLs) as written.
+     */
+    static <T> T recordIncludes(Set<String> includes, Supplier<T> action) {
+        Set<String> outerIncludes = RECORDED_INCLUDES.get();
+        RECORDED_INCLUDES.set(includes);
+
+        try {
+            return action.get();
+        } finally {
+            RECORDED_INCLUDES.set(outerIncludes);
+        }
+    }
+
+    @Override
+    public boolean handles(String target) {
+        if (RECORDED_INCLUDES.get() == null) {
+            return false;
+        }
+
+        Path targetPath = toPath(target);
+
+        if (targetPath == null) {
+            record(target);
+
+            return false;
+        }
+
+        if (targetPath.isAbsolute()) {
+            record(targetPath.normalize().toString());
+
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public void process(Document document, PreprocessorReader reader, String target, Map<String, Object> attributes) {
+        Path includedFile = Paths.get(reader.getDir()).resolve(target).toAbsolutePath().normalize();
+        String attributeList = attributeList(attributes);
+
+        // pushing a rewritten include directive would add an include level, so the directive is restored and
+        // preprocessed in place instead (the absolute path is then recorded by handles())
+        reader.restoreLine("include::" + target + "[" + attributeList + "]");
+        preprocessIncludeDirective(reader, includedFile.toString(), attributeList);
+    }
+
+    private static void preprocessIncludeDirective(PreprocessorReader reader, String target, String attributeList) {
+        IRubyObject rubyReader = ((RubyObjectWrapper) reader).getRubyObject();
+        Ruby runtime = rubyReader.getRuntime();
+        rubyReader.callMethod(runtime.getCurrentContext(), "preprocess_include_directive", new IRubyObject[]{runtime.newString(target), runtime.newString(attributeList)});
+    }
+
+    private static void record(String include) {
+        RECORDED_INCLUDES.get().add(include);
+    }
+
+    private static Path toPath(String target) {
+        if (target.contains("://")) {
+            return null;
+        }
+
+        try {
+            return Paths.get(target);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static String attributeList(Map<?, ?> attributes) {
+        // positional attributes (with numeric keys) are not used by include directives
+        return attributes.entrySet().stream()
+                .filter((attribute) -> attribute.getKey() instanceof String && !((String) attribute.getKey()).isEmpty() && !Character.isDigit(((String) attribute.getKey()).charAt(0)))
+                .map((attribute) -> attribute.getKey() + "=\"" + String.valueOf(attribute.getValue()).replace("\"", "\\\"") + "\"")
+                .collect(joining(","));
+    }
+
+}
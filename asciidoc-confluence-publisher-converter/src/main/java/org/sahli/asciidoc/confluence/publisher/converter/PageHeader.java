@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+/**
+ * Title of an AsciiDoc page, determined from the document header only (i.e. without converting the page). The title is
+ * available both as published (i.e. unescaped) and as used in cross-references to the page.
+ */
+class PageHeader {
+
+    private final String title;
+    private final String crossReferenceTitle;
+
+    PageHeader(String title, String crossReferenceTitle) {
+        this.title = title;
+        this.crossReferenceTitle = crossReferenceTitle;
+    }
+
+    String title() {
+        return this.title;
+    }
+
+    String crossReferenceTitle() {
+        return this.crossReferenceTitle;
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import org.asciidoctor.Asciidoctor;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Index of the page titles of AsciiDoc pages, used for resolving the targets of cross-references. Page titles are
+ * resolved lazily on first access and kept for the lifetime of the index (usually one conversion run), so that every
+ * referenced page is parsed at most once, independent of the number of cross-references pointing to it.
+ */
+class PageTitleIndex {
+
+    private final BiFunction<Path, Asciidoctor, String> pageTitleResolver;
+    private final Map<Path, String> pageTitlesByPath = new ConcurrentHashMap<>();
+
+    PageTitleIndex(BiFunction<Path, Asciidoctor, String> pageTitleResolver) {
+        this.pageTitleResolver = pageTitleResolver;
+    }
+
+    String pageTitle(Path asciidocPagePath, Asciidoctor asciidoctor) {
+        return this.pageTitlesByPath.computeIfAbsent(asciidocPagePath.toAbsolutePath().normalize(), (ignored) -> this.pageTitleResolver.apply(asciidocPagePath, asciidoctor));
+    }
+
+    /**
+     * Registers the already known title of a page (e.g. from a header scan), so that it does not need to be resolved.
+     */
+    void add(Path asciidocPagePath, String pageTitle) {
+        this.pageTitlesByPath.put(asciidocPagePath.toAbsolutePath().normalize(), pageTitle);
+    }
+
+}
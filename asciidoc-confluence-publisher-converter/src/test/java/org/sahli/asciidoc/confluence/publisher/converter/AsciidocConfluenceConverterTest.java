@@ -21,20 +21,35 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePageMetadata;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePublisherMetadata;
+import org.sahli.asciidoc.confluence.publisher.converter.AsciidocPagesStructureProvider.AsciidocPage;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
 import static java.nio.file.Files.createTempDirectory;
 import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readString;
+import static java.nio.file.Files.write;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluenceConverter.uniquePageId;
 
 /**
@@ -94,6 +109,48 @@ public class AsciidocConfluenceConverterTest {
         assertAttachmentFilePath(subPageMetadata, "embedded-diagram.png", targetFilePath(buildFolder, documentationRootFolder, "index/sub-page.adoc", "embedded-diagram.png"));
     }
 
+    @Test
+    public void convertAndBuildConfluencePages_withConversionParallelism_returnsSameMetadataAsSequentialConversion() throws Exception {
+        // arrange
+        Path documentationRootFolder = Paths.get(DOCUMENTATION_LOCATION).toAbsolutePath();
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+
+        // act
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").conversionParallelism(2).build();
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        assertThat(confluencePublisherMetadata.getPages().size(), is(1));
+
+        ConfluencePageMetadata indexPageMetadata = confluencePublisherMetadata.getPages().get(0);
+        assertThat(indexPageMetadata.getTitle(), is("Test Document"));
+        assertThat(indexPageMetadata.getChildren().size(), is(1));
+
+        ConfluencePageMetadata subPageMetadata = indexPageMetadata.getChildren().get(0);
+        assertThat(subPageMetadata.getTitle(), is("Sub Page"));
+        assertThat(subPageMetadata.getAttachments().size(), is(2));
+        assertThat(subPageMetadata.getChildren().size(), is(1));
+
+        ConfluencePageMetadata subSubPageMetadata = subPageMetadata.getChildren().get(0);
+        assertThat(subSubPageMetadata.getTitle(), is("Sub Sub Page"));
+        assertThat(subSubPageMetadata.getLabels().size(), is(1));
+
+        assertContentFilePath(indexPageMetadata, targetFilePath(buildFolder, documentationRootFolder, "index.adoc", "index.html"));
+        assertContentFilePath(subPageMetadata, targetFilePath(buildFolder, documentationRootFolder, "index/sub-page.adoc", "sub-page.html"));
+        assertContentFilePath(subSubPageMetadata, targetFilePath(buildFolder, documentationRootFolder, "index/sub-page/sub-sub-page.adoc", "sub-sub-page.html"));
+    }
+
+    @Test
+    public void instantiation_withConversionParallelismLowerThanOne_throwsIllegalArgumentException() {
+        // act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> AsciidocConfluenceConverter.builder("~personalSpace", "1234").conversionParallelism(0).build());
+
+        // assert
+        assertThat(exception.getMessage(), is("conversionParallelism must be greater than 0"));
+    }
+
     @Test
     public void convertAndBuildConfluencePages_withPageReferencingNonExistingAttachment_throwsException() throws Exception {
         // arrange
@@ -147,6 +204,293 @@ public class AsciidocConfluenceConverterTest {
         assertThat(exists(buildFolder.resolve("templates").resolve("helpers.rb")), is(true));
     }
 
+    @Test
+    public void convert_withIncrementalConversionAndUnchangedSources_reusesPreviouslyConvertedContent() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        writeFile(documentationRootFolder.resolve("index.adoc"), "= Index\n:keywords: foo\n\ninclude::_partial.adoc[]");
+        writeFile(documentationRootFolder.resolve("_partial.adoc"), "Partial content");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").incrementalConversion(true).build();
+
+        ConfluencePageMetadata previousIndexPageMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap()).getPages().get(0);
+        writeFile(Paths.get(previousIndexPageMetadata.getContentFilePath()), "previously converted content");
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata indexPageMetadata = confluencePublisherMetadata.getPages().get(0);
+        assertThat(indexPageMetadata.getTitle(), is("Index"));
+        assertThat(indexPageMetadata.getLabels(), contains("foo"));
+        assertThat(indexPageMetadata.getContentFilePath(), is(previousIndexPageMetadata.getContentFilePath()));
+        assertThat(readString(Paths.get(indexPageMetadata.getContentFilePath())), is("previously converted content"));
+    }
+
+    @Test
+    public void convert_withIncrementalConversionAndUnchangedPageWithPreprocessorDirectives_reusesPreviouslyConvertedContent() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        writeFile(documentationRootFolder.resolve("index.adoc"), "= Index\n\nifdef::backend-html5[]\nHTML content\nendif::backend-html5[]\n\nifndef::env-github[]\nContent\nendif::[]");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").incrementalConversion(true).build();
+
+        ConfluencePageMetadata previousIndexPageMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap()).getPages().get(0);
+        writeFile(Paths.get(previousIndexPageMetadata.getContentFilePath()), "previously converted content");
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata indexPageMetadata = confluencePublisherMetadata.getPages().get(0);
+        assertThat(readString(Paths.get(indexPageMetadata.getContentFilePath())), is("previously converted content"));
+    }
+
+    @Test
+    public void convert_withIncrementalConversionAndNoChangedFilesSinceRevisionOfCache_reusesPreviouslyConvertedContentWithoutReadingSources() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        Path indexPagePath = documentationRootFolder.resolve("index.adoc");
+        writeFile(indexPagePath, "= Index\n\nContent");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").incrementalConversion(true).build();
+        ConfluencePageMetadata previousIndexPageMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider(indexPagePath, "revision-1", null, null), new NoOpPageTitlePostProcessor(), buildFolder, emptyMap()).getPages().get(0);
+
+        // a change not reported as changed file is not detected, as the sources are not read again
+        writeFile(indexPagePath, "= Index\n\nChanged content");
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider(indexPagePath, "revision-2", "revision-1", emptySet()), new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata indexPageMetadata = confluencePublisherMetadata.getPages().get(0);
+        assertThat(indexPageMetadata.getContentFilePath(), is(previousIndexPageMetadata.getContentFilePath()));
+        assertThat(readString(Paths.get(indexPageMetadata.getContentFilePath())), not(containsString("Changed content")));
+    }
+
+    @Test
+    public void convert_withIncrementalConversionAndNoChangedFilesSinceOtherRevisionThanRevisionOfCache_checksSourcesAndConvertsPageAgain() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        Path indexPagePath = documentationRootFolder.resolve("index.adoc");
+        writeFile(indexPagePath, "= Index\n\nContent");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").incrementalConversion(true).build();
+        asciidocConfluenceConverter.convert(asciidocPagesStructureProvider(indexPagePath, "revision-1", null, null), new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+        writeFile(indexPagePath, "= Index\n\nChanged content");
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider(indexPagePath, "revision-3", "revision-2", emptySet()), new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata indexPageMetadata = confluencePublisherMetadata.getPages().get(0);
+        assertThat(readString(Paths.get(indexPageMetadata.getContentFilePath())), containsString("Changed content"));
+    }
+
+    @Test
+    public void convert_withIncrementalConversionAndDiagramSourceChangedBetweenGitRevisions_convertsPageAgain() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        writeFile(documentationRootFolder.resolve("index.adoc"), "= Index\n\nplantuml::diagram.puml[]");
+        writeFile(documentationRootFolder.resolve("diagram.puml"), "@startuml\nA -> B\n@enduml");
+        commit(documentationRootFolder);
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").incrementalConversion(true).build();
+
+        ConfluencePageMetadata previousIndexPageMetadata = asciidocConfluenceConverter.convert(new GitDiffAsciidocPagesStructureProvider(asciidocPagesStructureProvider, "HEAD"), new NoOpPageTitlePostProcessor(), buildFolder, emptyMap()).getPages().get(0);
+        writeFile(Paths.get(previousIndexPageMetadata.getContentFilePath()), "previously converted content");
+
+        writeFile(documentationRootFolder.resolve("diagram.puml"), "@startuml\nA -> C\n@enduml");
+        commit(documentationRootFolder);
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(new GitDiffAsciidocPagesStructureProvider(asciidocPagesStructureProvider, "HEAD~1", "HEAD"), new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata indexPageMetadata = confluencePublisherMetadata.getPages().get(0);
+        assertThat(readString(Paths.get(indexPageMetadata.getContentFilePath())), containsString("diagram.png"));
+    }
+
+    @Test
+    public void convert_withIncrementalConversionAndChangedIncludedFile_convertsPageAgain() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        writeFile(documentationRootFolder.resolve("index.adoc"), "= Index\n\ninclude::_partial.adoc[]");
+        writeFile(documentationRootFolder.resolve("_partial.adoc"), "Partial content");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").incrementalConversion(true).build();
+
+        asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+        writeFile(documentationRootFolder.resolve("_partial.adoc"), "Changed partial content");
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata indexPageMetadata = confluencePublisherMetadata.getPages().get(0);
+        assertThat(readString(Paths.get(indexPageMetadata.getContentFilePath())), containsString("Changed partial content"));
+    }
+
+    @Test
+    public void convert_withIncrementalConversionAndChangedFileIncludedViaDocumentAttribute_convertsOnlyIncludingPageAgain() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        createDirectories(documentationRootFolder.resolve("index"));
+        createDirectories(documentationRootFolder.resolve("partials"));
+        writeFile(documentationRootFolder.resolve("index.adoc"), "= Index\n:partials: partials\n\ninclude::{partials}/_shared.adoc[]");
+        writeFile(documentationRootFolder.resolve("index").resolve("other.adoc"), "= Other\n:partials: ../partials\n\ninclude::{partials}/_other.adoc[]");
+        writeFile(documentationRootFolder.resolve("partials").resolve("_shared.adoc"), "Shared content");
+        writeFile(documentationRootFolder.resolve("partials").resolve("_other.adoc"), "Other content");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").incrementalConversion(true).build();
+
+        ConfluencePublisherMetadata previousConfluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+        Path otherPageContentFile = Paths.get(previousConfluencePublisherMetadata.getPages().get(0).getChildren().get(0).getContentFilePath());
+        writeFile(otherPageContentFile, "cached content");
+        writeFile(documentationRootFolder.resolve("partials").resolve("_shared.adoc"), "Changed shared content");
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata indexPageMetadata = confluencePublisherMetadata.getPages().get(0);
+        assertThat(readString(Paths.get(indexPageMetadata.getContentFilePath())), containsString("Changed shared content"));
+        assertThat(readString(Paths.get(indexPageMetadata.getChildren().get(0).getContentFilePath())), is("cached content"));
+    }
+
+    @Test
+    public void convert_withIncrementalConversionAndChangedTitleOfCrossReferencedPage_convertsReferencingPageAgain() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        writeFile(documentationRootFolder.resolve("page-one.adoc"), "= Page One\n\nSee <<page-two.adoc#,Page Two>>.");
+        writeFile(documentationRootFolder.resolve("page-two.adoc"), "= Page Two\n\nContent");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").incrementalConversion(true).build();
+
+        asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+        writeFile(documentationRootFolder.resolve("page-two.adoc"), "= Renamed Page Two\n\nContent");
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata pageOneMetadata = confluencePublisherMetadata.getPages().stream()
+                .filter((page) -> page.getTitle().equals("Page One"))
+                .findFirst()
+                .get();
+        assertThat(readString(Paths.get(pageOneMetadata.getContentFilePath())), containsString("ri:content-title=\"Renamed Page Two\""));
+    }
+
+    @Test
+    public void convert_withoutIncrementalConversion_doesNotWriteConversionCache() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        writeFile(documentationRootFolder.resolve("index.adoc"), "= Index\n\nContent");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = new AsciidocConfluenceConverter("~personalSpace", "1234");
+
+        // act
+        asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        assertThat(exists(buildFolder.resolve("conversion-cache.json")), is(false));
+    }
+
+    @Test
+    public void convert_withPageHeaderScanAndConversionParallelism_resolvesCrossReferencedPageTitlesFromScannedHeaders() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        writeFile(documentationRootFolder.resolve("page-one.adoc"), "= Page One\n:keywords: one, first\n\nSee <<page-two.adoc#,Page Two>>.");
+        writeFile(documentationRootFolder.resolve("page-two.adoc"), "= Page Two\n\nContent");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").conversionParallelism(2).scanPageHeaders(true).build();
+
+        // act
+        ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap());
+
+        // assert
+        ConfluencePageMetadata pageOneMetadata = confluencePublisherMetadata.getPages().stream()
+                .filter((page) -> page.getTitle().equals("Page One"))
+                .findFirst()
+                .get();
+        assertThat(pageOneMetadata.getLabels(), contains("one", "first"));
+        assertThat(readString(Paths.get(pageOneMetadata.getContentFilePath())), containsString("ri:content-title=\"Page Two\""));
+    }
+
+    @Test
+    public void convert_withPageHeaderScanAndDuplicatePageTitles_throwsExceptionBeforeConvertingAnyPage() throws Exception {
+        // arrange
+        Path documentationRootFolder = createTempDirectory(this.temporaryFolder, "doc").toAbsolutePath();
+        writeFile(documentationRootFolder.resolve("page-one.adoc"), "= Same Title\n\nContent");
+        writeFile(documentationRootFolder.resolve("page-two.adoc"), "= Same Title\n\nContent");
+        Path buildFolder = createTempDirectory(this.temporaryFolder, "tmp").toAbsolutePath();
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(documentationRootFolder, UTF_8);
+        AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder("~personalSpace", "1234").scanPageHeaders(true).build();
+
+        // act
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, new NoOpPageTitlePostProcessor(), buildFolder, emptyMap())
+        );
+
+        // assert
+        assertThat(exception.getMessage(), containsString("have the same title 'Same Title'"));
+        assertThat(exists(Paths.get(targetFilePath(buildFolder, documentationRootFolder, "page-one.adoc", "page-one.html"))), is(false));
+        assertThat(exists(Paths.get(targetFilePath(buildFolder, documentationRootFolder, "page-two.adoc", "page-two.html"))), is(false));
+    }
+
+    private static void writeFile(Path path, String content) throws Exception {
+        write(path, content.getBytes(UTF_8));
+    }
+
+    private static void commit(Path folder) throws Exception {
+        git(folder, "init", "-q");
+        git(folder, "add", "-A");
+        git(folder, "-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-q", "-m", "commit");
+    }
+
+    private static void git(Path folder, String... arguments) throws Exception {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(arguments));
+
+        int exitCode = new ProcessBuilder(command).directory(folder.toFile()).inheritIO().start().waitFor();
+        assertThat(exitCode, is(0));
+    }
+
+    private static AsciidocPagesStructureProvider asciidocPagesStructureProvider(Path asciidocPagePath, String sourceRevision, String baseRevision, Set<Path> changedFiles) {
+        AsciidocPage asciidocPage = mock(AsciidocPage.class);
+        when(asciidocPage.path()).thenReturn(asciidocPagePath);
+        when(asciidocPage.children()).thenReturn(emptyList());
+
+        AsciidocPagesStructureProvider asciidocPagesStructureProvider = mock(AsciidocPagesStructureProvider.class);
+        when(asciidocPagesStructureProvider.structure()).thenReturn(() -> List.of(asciidocPage));
+        when(asciidocPagesStructureProvider.sourceEncoding()).thenReturn(UTF_8);
+        when(asciidocPagesStructureProvider.rootFolder()).thenReturn(asciidocPagePath.getParent());
+        when(asciidocPagesStructureProvider.sourceRevision()).thenReturn(Optional.ofNullable(sourceRevision));
+        when(asciidocPagesStructureProvider.baseRevision()).thenReturn(Optional.ofNullable(baseRevision));
+        when(asciidocPagesStructureProvider.changedFiles()).thenReturn(Optional.ofNullable(changedFiles));
+
+        return asciidocPagesStructureProvider;
+    }
+
     private static String targetFilePath(Path buildFolder, Path documentationRootFolder, String relevantAdocFilePath, String targetFileName) {
         Path sourceFilePath = documentationRootFolder.resolve(relevantAdocFilePath);
         Path targetFilePath = buildFolder.resolve("assets").resolve(uniquePageId(sourceFilePath)).resolve(targetFileName);
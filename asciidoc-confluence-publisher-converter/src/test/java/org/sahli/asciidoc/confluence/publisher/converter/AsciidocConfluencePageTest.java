@@ -44,17 +44,23 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluencePage.defaultAsciidoctor;
 import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluencePage.newAsciidocConfluencePage;
+import static org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluencePage.newPageTitleIndex;
 
 /**
  * @author Alain Sahli
@@ -1334,6 +1340,24 @@ public class AsciidocConfluencePageTest {
         assertThat(asciidocConfluencePage.content(), is(expectedContent));
     }
 
+    @Test
+    public void renderConfluencePage_asciiDocWithInterDocumentCrossReferenceAndSharedPageTitleIndex_resolvesReferencedPageTitleOnlyOnce() throws IOException {
+        // arrange
+        Path rootFolder = copyAsciidocSourceToTemporaryFolder("src/test/resources/inter-document-cross-references");
+        AsciidocPage asciidocPage = asciidocPage(rootFolder, "source-page.adoc");
+        Path pageAssetsFolder = assetsTargetFolderFor(asciidocPage);
+        PageTitleIndex pageTitleIndex = newPageTitleIndex(UTF_8, TEMPLATES_FOLDER, pageAssetsFolder, new NoOpPageTitlePostProcessor(), emptyMap(), rootFolder);
+
+        newAsciidocConfluencePage(asciidocPage, UTF_8, TEMPLATES_FOLDER, pageAssetsFolder, new NoOpPageTitlePostProcessor(), emptyMap(), "TEST", rootFolder, pageTitleIndex);
+        write(rootFolder.resolve("target-page.adoc"), "= Changed Target Page".getBytes(UTF_8));
+
+        // act
+        AsciidocConfluencePage asciidocConfluencePage = newAsciidocConfluencePage(asciidocPage, UTF_8, TEMPLATES_FOLDER, pageAssetsFolder, new NoOpPageTitlePostProcessor(), emptyMap(), "TEST", rootFolder, pageTitleIndex);
+
+        // assert
+        assertThat(asciidocConfluencePage.content(), containsString("<ri:page ri:content-title=\"Target Page\" ri:space-key=\"TEST\">"));
+    }
+
     @Test
     public void renderConfluencePage_asciiDocWithCircularInterDocumentCrossReference_returnsConfluencePagesWithLinkToReferencedPageByPageTitle() {
         // arrange
@@ -1391,6 +1415,59 @@ public class AsciidocConfluencePageTest {
         assertThat(asciidocConfluencePage.content(), containsString("<p>included content</p>"));
     }
 
+    @Test
+    public void renderConfluencePage_asciiDocWithIncludeAndIncludeRecording_returnsConfluencePageWithContentAndAbsolutePathOfIncludedPage() {
+        // arrange
+        Path rootFolder = copyAsciidocSourceToTemporaryFolder("src/test/resources/includes");
+        AsciidocPage asciidocPage = asciidocPage(rootFolder, "page.adoc");
+        PageTitleIndex pageTitleIndex = newPageTitleIndex(UTF_8, TEMPLATES_FOLDER, assetsTargetFolderFor(asciidocPage), new NoOpPageTitlePostProcessor(), emptyMap(), rootFolder);
+
+        // act
+        AsciidocConfluencePage asciidocConfluencePage = newAsciidocConfluencePage(defaultAsciidoctor(), asciidocPage, UTF_8, TEMPLATES_FOLDER, assetsTargetFolderFor(asciidocPage), new NoOpPageTitlePostProcessor(), emptyMap(), "", rootFolder, pageTitleIndex, true);
+
+        // assert
+        assertThat(asciidocConfluencePage.content(), containsString("<p>included content</p>"));
+        assertThat(asciidocConfluencePage.includes(), contains(rootFolder.resolve("_included-page.adoc").toAbsolutePath().normalize().toString()));
+    }
+
+    @Test
+    public void renderConfluencePage_asciiDocWithNestedIncludesUpToMaxIncludeDepthAndIncludeRecording_returnsConfluencePageWithContentAndAbsolutePathsOfAllIncludedPages() {
+        // arrange
+        Path rootFolder = copyAsciidocSourceToTemporaryFolder("src/test/resources/nested-includes");
+        AsciidocPage asciidocPage = asciidocPage(rootFolder, "page.adoc");
+        Map<String, Object> userAttributes = new HashMap<>();
+        userAttributes.put("max-include-depth", "3");
+        PageTitleIndex pageTitleIndex = newPageTitleIndex(UTF_8, TEMPLATES_FOLDER, assetsTargetFolderFor(asciidocPage), new NoOpPageTitlePostProcessor(), userAttributes, rootFolder);
+
+        // act
+        AsciidocConfluencePage asciidocConfluencePage = newAsciidocConfluencePage(defaultAsciidoctor(), asciidocPage, UTF_8, TEMPLATES_FOLDER, assetsTargetFolderFor(asciidocPage), new NoOpPageTitlePostProcessor(), userAttributes, "", rootFolder, pageTitleIndex, true);
+
+        // assert
+        String expectedContent = newAsciidocConfluencePage(asciidocPage, UTF_8, TEMPLATES_FOLDER, assetsTargetFolderFor(asciidocPage), userAttributes).content();
+        assertThat(asciidocConfluencePage.content(), is(expectedContent));
+        assertThat(asciidocConfluencePage.content(), containsString("<p>snippet content</p>"));
+        assertThat(asciidocConfluencePage.content(), not(containsString("excluded content")));
+        assertThat(asciidocConfluencePage.includes(), containsInAnyOrder(
+                rootFolder.resolve("chapters/_chapter.adoc").toAbsolutePath().normalize().toString(),
+                rootFolder.resolve("chapters/_section.adoc").toAbsolutePath().normalize().toString(),
+                rootFolder.resolve("_snippet.adoc").toAbsolutePath().normalize().toString()
+        ));
+    }
+
+    @Test
+    public void renderConfluencePage_asciiDocWithIncludeAndWithoutIncludeRecording_returnsConfluencePageWithoutRecordedIncludes() {
+        // arrange
+        Path rootFolder = copyAsciidocSourceToTemporaryFolder("src/test/resources/includes");
+        AsciidocPage asciidocPage = asciidocPage(rootFolder, "page.adoc");
+
+        // act
+        AsciidocConfluencePage asciidocConfluencePage = newAsciidocConfluencePage(asciidocPage, UTF_8, TEMPLATES_FOLDER, assetsTargetFolderFor(asciidocPage));
+
+        // assert
+        assertThat(asciidocConfluencePage.content(), containsString("<p>included content</p>"));
+        assertThat(asciidocConfluencePage.includes(), is(empty()));
+    }
+
     @Test
     public void renderConfluencePage_asciiDocWithUtf8CharacterInTitle_returnsConfluencePageWithCorrectlyEncodedUtf8CharacterInTitle() {
         try {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import org.asciidoctor.Asciidoctor;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsciidoctorPoolTest {
+
+    @Test
+    public void withAsciidoctor_sequentialUsage_reusesIdleInstance() {
+        // arrange
+        Supplier<Asciidoctor> asciidoctorFactoryMock = asciidoctorFactoryMock();
+        AsciidoctorPool asciidoctorPool = new AsciidoctorPool(asciidoctorFactoryMock, 4);
+
+        // act
+        Asciidoctor firstInstance = asciidoctorPool.withAsciidoctor((asciidoctor) -> asciidoctor);
+        Asciidoctor secondInstance = asciidoctorPool.withAsciidoctor((asciidoctor) -> asciidoctor);
+
+        // assert
+        assertThat(firstInstance, is(sameInstance(secondInstance)));
+        verify(asciidoctorFactoryMock, times(1)).get();
+    }
+
+    @Test
+    public void withAsciidoctor_nestedUsage_createsAdditionalInstance() {
+        // arrange
+        Supplier<Asciidoctor> asciidoctorFactoryMock = asciidoctorFactoryMock();
+        AsciidoctorPool asciidoctorPool = new AsciidoctorPool(asciidoctorFactoryMock, 2);
+
+        // act
+        Asciidoctor[] instances = asciidoctorPool.withAsciidoctor((outer) -> asciidoctorPool.withAsciidoctor((inner) -> new Asciidoctor[]{outer, inner}));
+
+        // assert
+        assertThat(instances[0], is(not(sameInstance(instances[1]))));
+        verify(asciidoctorFactoryMock, times(2)).get();
+    }
+
+    @Test
+    public void close_withCreatedInstances_shutsDownAllCreatedInstances() {
+        // arrange
+        Supplier<Asciidoctor> asciidoctorFactoryMock = asciidoctorFactoryMock();
+        AsciidoctorPool asciidoctorPool = new AsciidoctorPool(asciidoctorFactoryMock, 2);
+        Asciidoctor[] instances = asciidoctorPool.withAsciidoctor((outer) -> asciidoctorPool.withAsciidoctor((inner) -> new Asciidoctor[]{outer, inner}));
+
+        // act
+        asciidoctorPool.close();
+
+        // assert
+        verify(instances[0]).shutdown();
+        verify(instances[1]).shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Asciidoctor> asciidoctorFactoryMock() {
+        Supplier<Asciidoctor> asciidoctorFactoryMock = mock(Supplier.class);
+        when(asciidoctorFactoryMock.get()).thenAnswer((invocation) -> mock(Asciidoctor.class));
+
+        return asciidoctorFactoryMock;
+    }
+
+}
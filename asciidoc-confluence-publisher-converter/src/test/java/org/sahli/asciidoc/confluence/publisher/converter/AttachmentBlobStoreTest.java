@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.list;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.write;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class AttachmentBlobStoreTest {
+
+    @TempDir
+    Path temporaryFolder;
+
+    @Test
+    public void link_sameContentForSeveralPages_storesOneBlobAndLinksAllTargets() throws Exception {
+        // arrange
+        Path firstSource = writeFile("docs/logo.png", "logo");
+        Path secondSource = writeFile("docs/other/logo-copy.png", "logo");
+        Path firstTarget = createDirectories(this.temporaryFolder.resolve("assets/page-one")).resolve("logo.png");
+        Path secondTarget = createDirectories(this.temporaryFolder.resolve("assets/page-two")).resolve("logo.png");
+        Path thirdTarget = createDirectories(this.temporaryFolder.resolve("assets/page-three")).resolve("logo-copy.png");
+        AttachmentBlobStore attachmentBlobStore = new AttachmentBlobStore(this.temporaryFolder.resolve("blobs"));
+
+        // act
+        attachmentBlobStore.link(firstSource, firstTarget);
+        attachmentBlobStore.link(firstSource, secondTarget);
+        attachmentBlobStore.link(secondSource, thirdTarget);
+
+        // assert
+        assertThat(list(this.temporaryFolder.resolve("blobs")).count(), is(1L));
+        assertThat(new String(readAllBytes(firstTarget), UTF_8), is("logo"));
+        assertThat(new String(readAllBytes(secondTarget), UTF_8), is("logo"));
+        assertThat(new String(readAllBytes(thirdTarget), UTF_8), is("logo"));
+    }
+
+    @Test
+    public void link_existingTargetFromPreviousConversion_replacesTargetWithoutChangingBlob() throws Exception {
+        // arrange
+        Path source = writeFile("docs/logo.png", "new logo");
+        Path target = writeFile("assets/page-one/logo.png", "old logo");
+        AttachmentBlobStore attachmentBlobStore = new AttachmentBlobStore(this.temporaryFolder.resolve("blobs"));
+
+        // act
+        attachmentBlobStore.link(source, target);
+
+        // assert
+        Path blob = list(this.temporaryFolder.resolve("blobs")).findFirst().get();
+        assertThat(new String(readAllBytes(target), UTF_8), is("new logo"));
+        assertThat(new String(readAllBytes(blob), UTF_8), is("new logo"));
+    }
+
+    private Path writeFile(String relativePath, String content) throws Exception {
+        Path file = this.temporaryFolder.resolve(relativePath);
+        createDirectories(file.getParent());
+
+        return write(file, content.getBytes(UTF_8));
+    }
+
+}
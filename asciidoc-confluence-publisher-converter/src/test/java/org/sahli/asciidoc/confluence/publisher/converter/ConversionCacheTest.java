@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sahli.asciidoc.confluence.publisher.converter.ConversionCache.CachedPage;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class ConversionCacheTest {
+
+    @TempDir
+    Path temporaryFolder;
+
+    @Test
+    public void cacheKey_disabledCache_returnsEmpty() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index");
+
+        // act
+        Optional<String> cacheKey = ConversionCache.disabled().cacheKey(page);
+
+        // assert
+        assertThat(cacheKey.isPresent(), is(false));
+    }
+
+    @Test
+    public void cacheKey_changedIncludedFile_returnsDifferentCacheKey() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\ninclude::_partial.adoc[]");
+        writeFile("_partial.adoc", "include::includes/_nested.adoc[]");
+        writeFile("includes/_nested.adoc", "Nested content");
+        ConversionCache conversionCache = conversionCache(emptyMap());
+        String previousCacheKey = conversionCache.cacheKey(page).get();
+
+        writeFile("includes/_nested.adoc", "Changed nested content");
+
+        // act
+        String cacheKey = conversionCache.cacheKey(page).get();
+
+        // assert
+        assertThat(cacheKey, is(not(previousCacheKey)));
+    }
+
+    @Test
+    public void cacheKey_includeWithUserAttribute_resolvesIncludeUsingUserAttribute() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\ninclude::{partials}/_partial.adoc[]");
+        writeFile("partials/_partial.adoc", "Partial content");
+
+        // act
+        Optional<String> cacheKey = conversionCache(singletonMap("partials", "partials")).cacheKey(page);
+
+        // assert
+        assertThat(cacheKey.isPresent(), is(true));
+    }
+
+    @Test
+    public void cacheKey_includeWithUnknownAttribute_returnsEmpty() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n:partials: partials\n\ninclude::{partials}/_partial.adoc[]");
+        writeFile("partials/_partial.adoc", "Partial content");
+
+        // act
+        Optional<String> cacheKey = conversionCache(emptyMap()).cacheKey(page);
+
+        // assert
+        assertThat(cacheKey.isPresent(), is(false));
+    }
+
+    @Test
+    public void cacheKey_missingIncludedFile_returnsEmpty() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\ninclude::_missing.adoc[]");
+
+        // act
+        Optional<String> cacheKey = conversionCache(emptyMap()).cacheKey(page);
+
+        // assert
+        assertThat(cacheKey.isPresent(), is(false));
+    }
+
+    @Test
+    public void cacheKey_changedDiagramSourceReferencedFromIncludedFile_returnsDifferentCacheKey() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\ninclude::includes/_partial.adoc[]");
+        writeFile("includes/_partial.adoc", "plantuml::diagrams/sequence.puml[format=svg]\n\nimage::images/logo.png[]");
+        writeFile("diagrams/sequence.puml", "@startuml\nA -> B\n@enduml");
+        writeFile("images/logo.png", "logo");
+        ConversionCache conversionCache = conversionCache(emptyMap());
+        String previousCacheKey = conversionCache.cacheKey(page).get();
+
+        writeFile("diagrams/sequence.puml", "@startuml\nA -> C\n@enduml");
+
+        // act
+        String cacheKey = conversionCache.cacheKey(page).get();
+
+        // assert
+        assertThat(cacheKey, is(not(previousCacheKey)));
+    }
+
+    @Test
+    public void cacheKey_missingReferencedImage_returnsEmpty() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\nSee image:images/missing.png[] and image:https://example.com/logo.png[].");
+
+        // act
+        Optional<String> cacheKey = conversionCache(emptyMap()).cacheKey(page);
+
+        // assert
+        assertThat(cacheKey.isPresent(), is(false));
+    }
+
+    @Test
+    public void cacheKey_pageWithPreprocessorDirectivesAndVideo_returnsCacheKey() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\nifdef::backend-html5[]\nContent\nendif::backend-html5[]\n\nifndef::env-github[]\nOther content\nendif::[]\n\nvideo::abc123[youtube]");
+
+        // act
+        Optional<String> cacheKey = conversionCache(emptyMap()).cacheKey(page);
+
+        // assert
+        assertThat(cacheKey.isPresent(), is(true));
+    }
+
+    @Test
+    public void assets_pageWithPreprocessorDirectivesAndVideo_returnsNoAssets() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\nifdef::backend-html5[]\nContent\nendif::backend-html5[]\n\nvideo::abc123[youtube]");
+
+        // act
+        Optional<List<String>> assets = conversionCache(emptyMap()).assets(page, emptyList(), emptyList());
+
+        // assert
+        assertThat(assets.get(), is(empty()));
+    }
+
+    @Test
+    public void assets_pageWithDiagramMacroAndAttachments_returnsDiagramSourceAndSourceImages() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\nplantuml::{diagrams}/sequence.puml[]\n\nimage::images/logo.png[]");
+        Path diagram = writeFile("diagrams/sequence.puml", "@startuml\nA -> B\n@enduml");
+        Path image = writeFile("images/logo.png", "logo");
+
+        // act
+        Optional<List<String>> assets = conversionCache(singletonMap("diagrams", "diagrams")).assets(page, emptyList(), asList("images/logo.png", "sequence.png"));
+
+        // assert
+        assertThat(assets.get(), contains(diagram.toAbsolutePath().normalize().toString(), image.toAbsolutePath().normalize().toString()));
+    }
+
+    @Test
+    public void assets_diagramMacroWithUnknownAttribute_returnsEmpty() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\nplantuml::{diagrams}/sequence.puml[]");
+
+        // act
+        Optional<List<String>> assets = conversionCache(emptyMap()).assets(page, emptyList(), emptyList());
+
+        // assert
+        assertThat(assets.isPresent(), is(false));
+    }
+
+    @Test
+    public void cacheKey_changedRecordedInclude_returnsDifferentCacheKey() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n:partials: partials\n\ninclude::{partials}/_partial.adoc[]");
+        Path partial = writeFile("partials/_partial.adoc", "Partial content");
+        ConversionCache conversionCache = conversionCache(emptyMap());
+        String previousCacheKey = conversionCache.cacheKey(page, singletonList(partial.toAbsolutePath().toString()), emptyList()).get();
+
+        writeFile("partials/_partial.adoc", "Changed partial content");
+
+        // act
+        String cacheKey = conversionCache.cacheKey(page, singletonList(partial.toAbsolutePath().toString()), emptyList()).get();
+
+        // assert
+        assertThat(cacheKey, is(not(previousCacheKey)));
+    }
+
+    @Test
+    public void cacheKey_pageWithRecordedIncludesInPreviousCache_usesRecordedIncludes() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n:partials: partials\n\ninclude::{partials}/_partial.adoc[]");
+        Path partial = writeFile("partials/_partial.adoc", "Partial content");
+        Path cacheFile = this.temporaryFolder.resolve("build").resolve("conversion-cache.json");
+
+        CachedPage cachedPage = new CachedPage();
+        cachedPage.setCacheKey("key");
+        cachedPage.setIncludes(singletonList(partial.toAbsolutePath().toString()));
+        cachedPage.setAssets(emptyList());
+
+        ConversionCache conversionCache = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings");
+        conversionCache.store(page, cachedPage);
+        conversionCache.save();
+
+        ConversionCache reloadedConversionCache = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings");
+
+        // act
+        Optional<String> cacheKey = reloadedConversionCache.cacheKey(page);
+
+        // assert
+        assertThat(cacheKey, is(reloadedConversionCache.cacheKey(page, singletonList(partial.toAbsolutePath().toString()), emptyList())));
+    }
+
+    @Test
+    public void settingsDigest_differentUserAttributes_returnsDifferentDigest() throws Exception {
+        // arrange
+        Path templatesFolder = createDirectories(this.temporaryFolder.resolve("templates"));
+
+        // act
+        String digest = ConversionCache.settingsDigest("~personalSpace", UTF_8, this.temporaryFolder, singletonMap("version", "1.0"), new NoOpPageTitlePostProcessor(), templatesFolder);
+        String otherDigest = ConversionCache.settingsDigest("~personalSpace", UTF_8, this.temporaryFolder, singletonMap("version", "2.0"), new NoOpPageTitlePostProcessor(), templatesFolder);
+
+        // assert
+        assertThat(digest, is(not(otherDigest)));
+    }
+
+    @Test
+    public void settingsDigest_differentPageTitlePostProcessorConfiguration_returnsDifferentDigest() throws Exception {
+        // arrange
+        Path templatesFolder = createDirectories(this.temporaryFolder.resolve("templates"));
+
+        // act
+        String digest = ConversionCache.settingsDigest("~personalSpace", UTF_8, this.temporaryFolder, emptyMap(), new PrefixAndSuffixPageTitlePostProcessor("Doc :: ", null), templatesFolder);
+        String otherDigest = ConversionCache.settingsDigest("~personalSpace", UTF_8, this.temporaryFolder, emptyMap(), new PrefixAndSuffixPageTitlePostProcessor("Docs :: ", null), templatesFolder);
+
+        // assert
+        assertThat(digest, is(not(otherDigest)));
+    }
+
+    @Test
+    public void cachedPage_savedAndReloadedCache_returnsCachedPageForMatchingCacheKeyOnly() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index");
+        Path cacheFile = this.temporaryFolder.resolve("build").resolve("conversion-cache.json");
+
+        CachedPage cachedPage = new CachedPage();
+        cachedPage.setCacheKey("key");
+        cachedPage.setTitle("Index");
+
+        ConversionCache conversionCache = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings");
+        conversionCache.store(page, cachedPage);
+        conversionCache.save();
+
+        // act
+        ConversionCache reloadedConversionCache = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings");
+
+        // assert
+        assertThat(reloadedConversionCache.cachedPage(page, "key").get().getTitle(), is("Index"));
+        assertThat(reloadedConversionCache.cachedPage(page, "other-key").isPresent(), is(false));
+    }
+
+    @Test
+    public void unchangedCachedPage_pageWithoutChangedFilesSinceRevisionOfCache_returnsCachedPageOnlyIfStoredAtBaseRevision() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\ninclude::_partial.adoc[]\n\nplantuml::diagram.puml[]");
+        Path include = writeFile("_partial.adoc", "Partial content");
+        Path diagram = writeFile("diagram.puml", "@startuml\nA -> B\n@enduml");
+        Path cacheFile = storeCachedPageAtRevision(page, include, diagram, "revision-1");
+
+        // act
+        ConversionCache conversionCacheBasedOnRevisionOfCache = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings", "revision-2", "revision-1", emptySet());
+        ConversionCache conversionCacheBasedOnOtherRevision = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings", "revision-3", "revision-2", emptySet());
+        ConversionCache conversionCacheWithoutBaseRevision = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings");
+
+        // assert
+        assertThat(conversionCacheBasedOnRevisionOfCache.unchangedCachedPage(page).get().getTitle(), is("Index"));
+        assertThat(conversionCacheBasedOnOtherRevision.unchangedCachedPage(page).isPresent(), is(false));
+        assertThat(conversionCacheWithoutBaseRevision.unchangedCachedPage(page).isPresent(), is(false));
+    }
+
+    @Test
+    public void unchangedCachedPage_changedRecordedIncludeOrAssetSinceRevisionOfCache_returnsEmpty() throws Exception {
+        // arrange
+        Path page = writeFile("index.adoc", "= Index\n\ninclude::_partial.adoc[]\n\nplantuml::diagram.puml[]");
+        Path include = writeFile("_partial.adoc", "Partial content");
+        Path diagram = writeFile("diagram.puml", "@startuml\nA -> B\n@enduml");
+        Path unrelatedFile = writeFile("unrelated.adoc", "= Unrelated");
+        Path cacheFile = storeCachedPageAtRevision(page, include, diagram, "revision-1");
+
+        // act
+        ConversionCache conversionCacheWithChangedInclude = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings", "revision-2", "revision-1", singleton(include.toRealPath()));
+        ConversionCache conversionCacheWithChangedAsset = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings", "revision-2", "revision-1", singleton(diagram.toRealPath()));
+        ConversionCache conversionCacheWithChangedUnrelatedFile = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings", "revision-2", "revision-1", singleton(unrelatedFile.toRealPath()));
+
+        // assert
+        assertThat(conversionCacheWithChangedInclude.unchangedCachedPage(page).isPresent(), is(false));
+        assertThat(conversionCacheWithChangedAsset.unchangedCachedPage(page).isPresent(), is(false));
+        assertThat(conversionCacheWithChangedUnrelatedFile.unchangedCachedPage(page).isPresent(), is(true));
+    }
+
+    private Path storeCachedPageAtRevision(Path page, Path include, Path asset, String revision) {
+        Path cacheFile = this.temporaryFolder.resolve("build").resolve("conversion-cache.json");
+
+        CachedPage cachedPage = new CachedPage();
+        cachedPage.setCacheKey("key");
+        cachedPage.setTitle("Index");
+        cachedPage.setIncludes(singletonList(include.toAbsolutePath().normalize().toString()));
+        cachedPage.setAssets(singletonList(asset.toAbsolutePath().normalize().toString()));
+
+        ConversionCache conversionCache = ConversionCache.load(cacheFile, UTF_8, emptyMap(), "settings", revision, null, null);
+        conversionCache.store(page, cachedPage);
+        conversionCache.save();
+
+        return cacheFile;
+    }
+
+    private ConversionCache conversionCache(Map<String, Object> userAttributes) {
+        return ConversionCache.load(this.temporaryFolder.resolve("conversion-cache.json"), UTF_8, userAttributes, "settings");
+    }
+
+    private Path writeFile(String relativePath, String content) throws Exception {
+        Path path = this.temporaryFolder.resolve(relativePath);
+        createDirectories(path.getParent());
+        write(path, content.getBytes(UTF_8));
+
+        return path;
+    }
+
+}
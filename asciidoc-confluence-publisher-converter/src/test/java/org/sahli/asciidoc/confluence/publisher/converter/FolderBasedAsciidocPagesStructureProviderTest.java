@@ -17,6 +17,7 @@
 package org.sahli.asciidoc.confluence.publisher.converter;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.sahli.asciidoc.confluence.publisher.converter.AsciidocPagesStructureProvider.AsciidocPage;
 
 import java.nio.charset.Charset;
@@ -25,6 +26,12 @@ import java.nio.file.Paths;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.write;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
@@ -35,6 +42,9 @@ public class FolderBasedAsciidocPagesStructureProviderTest {
 
     private static final AsciidocPage NON_EXISTING_ASCIIDOC_PAGE = mock(AsciidocPage.class);
 
+    @TempDir
+    Path temporaryFolder;
+
     @Test
     public void structure_nestedStructure_returnsAsciidocPagesStructureWithAllNonIncludeAdocFiles() {
         // arrange
@@ -77,6 +87,53 @@ public class FolderBasedAsciidocPagesStructureProviderTest {
         assertThat(sourceEncoding, is(UTF_8));
     }
 
+    @Test
+    public void structure_withSourceExcludes_skipsExcludedFilesAndFolders() throws Exception {
+        // arrange
+        writeFile(this.temporaryFolder.resolve("index.adoc"));
+        writeFile(this.temporaryFolder.resolve("index/sub-page.adoc"));
+        writeFile(this.temporaryFolder.resolve("index/draft.adoc"));
+        writeFile(this.temporaryFolder.resolve("index/target.adoc"));
+        writeFile(this.temporaryFolder.resolve("index/target/generated.adoc"));
+
+        FolderBasedAsciidocPagesStructureProvider folderBasedAsciidocSourceStructureProvider = new FolderBasedAsciidocPagesStructureProvider(this.temporaryFolder, UTF_8, emptyList(), List.of("target", "index/draft.adoc"));
+
+        // act
+        AsciidocPagesStructureProvider.AsciidocPagesStructure structure = folderBasedAsciidocSourceStructureProvider.structure();
+
+        // assert
+        assertThat(paths(structure.pages()), contains(this.temporaryFolder.resolve("index.adoc")));
+        assertThat(paths(structure.pages().get(0).children()), contains(this.temporaryFolder.resolve("index/sub-page.adoc"), this.temporaryFolder.resolve("index/target.adoc")));
+        assertThat(structure.pages().get(0).children().get(1).children().size(), is(0));
+    }
+
+    @Test
+    public void structure_withSourceIncludes_onlyReturnsIncludedPagesWithIncludedParentPages() throws Exception {
+        // arrange
+        writeFile(this.temporaryFolder.resolve("index.adoc"));
+        writeFile(this.temporaryFolder.resolve("index/sub-page.adoc"));
+        writeFile(this.temporaryFolder.resolve("other.adoc"));
+        writeFile(this.temporaryFolder.resolve("other/sub-page.adoc"));
+
+        FolderBasedAsciidocPagesStructureProvider folderBasedAsciidocSourceStructureProvider = new FolderBasedAsciidocPagesStructureProvider(this.temporaryFolder, UTF_8, List.of("index.adoc", "sub-page.adoc"), emptyList());
+
+        // act
+        AsciidocPagesStructureProvider.AsciidocPagesStructure structure = folderBasedAsciidocSourceStructureProvider.structure();
+
+        // assert
+        assertThat(paths(structure.pages()), contains(this.temporaryFolder.resolve("index.adoc")));
+        assertThat(paths(structure.pages().get(0).children()), contains(this.temporaryFolder.resolve("index/sub-page.adoc")));
+    }
+
+    private static void writeFile(Path path) throws Exception {
+        createDirectories(path.getParent());
+        write(path, singletonList("= " + path.getFileName()), UTF_8);
+    }
+
+    private static List<Path> paths(List<AsciidocPage> asciidocPages) {
+        return asciidocPages.stream().map(AsciidocPage::path).collect(toList());
+    }
+
     private AsciidocPage asciidocPageByPath(List<AsciidocPage> asciidocPages, Path asciidocPagePath) {
         return asciidocPages.stream()
                 .filter((asciidocPage) -> asciidocPage.path().equals(asciidocPagePath))
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sahli.asciidoc.confluence.publisher.converter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.write;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+public class GitDiffAsciidocPagesStructureProviderTest {
+
+    @TempDir
+    Path temporaryFolder;
+
+    @Test
+    public void changedFiles_withChangedAndUntrackedFilesInWorkingTree_returnsRealPathsOfChangedAndUntrackedFiles() throws Exception {
+        // arrange
+        writeFile("page-one.adoc", "= Page One\n\ninclude::_partial.adoc[]");
+        writeFile("_partial.adoc", "Partial content");
+        writeFile("diagrams/diagram.puml", "@startuml\nA -> B\n@enduml");
+        commit();
+
+        writeFile("diagrams/diagram.puml", "@startuml\nA -> C\n@enduml");
+        writeFile("_new-partial.adoc", "New partial content");
+
+        // act
+        GitDiffAsciidocPagesStructureProvider gitDiffAsciidocPagesStructureProvider = new GitDiffAsciidocPagesStructureProvider(new FolderBasedAsciidocPagesStructureProvider(this.temporaryFolder, UTF_8), "HEAD");
+
+        // assert
+        assertThat(gitDiffAsciidocPagesStructureProvider.changedFiles().get(), containsInAnyOrder(realPath("diagrams/diagram.puml"), realPath("_new-partial.adoc")));
+    }
+
+    @Test
+    public void changedFiles_withChangedFileBetweenRevisions_returnsRealPathOfChangedFileOnly() throws Exception {
+        // arrange
+        writeFile("page-one.adoc", "= Page One\n\nContent");
+        writeFile("page-one/child-page.adoc", "= Child Page\n\nContent");
+        commit();
+
+        writeFile("page-one/child-page.adoc", "= Child Page\n\nChanged content");
+        commit();
+
+        writeFile("page-one.adoc", "= Page One\n\nUncommitted content");
+
+        // act
+        GitDiffAsciidocPagesStructureProvider gitDiffAsciidocPagesStructureProvider = new GitDiffAsciidocPagesStructureProvider(new FolderBasedAsciidocPagesStructureProvider(this.temporaryFolder, UTF_8), "HEAD~1", "HEAD");
+
+        // assert
+        assertThat(gitDiffAsciidocPagesStructureProvider.changedFiles().get(), contains(realPath("page-one/child-page.adoc")));
+    }
+
+    @Test
+    public void sourceRevisionAndBaseRevision_withCommittedChanges_returnsCommitIdsOfHeadAndBaseRevision() throws Exception {
+        // arrange
+        writeFile("page-one.adoc", "= Page One\n\nContent");
+        commit();
+
+        writeFile("page-one.adoc", "= Page One\n\nChanged content");
+        commit();
+
+        // act
+        GitDiffAsciidocPagesStructureProvider gitDiffAsciidocPagesStructureProvider = new GitDiffAsciidocPagesStructureProvider(new FolderBasedAsciidocPagesStructureProvider(this.temporaryFolder, UTF_8), "HEAD~1");
+
+        // assert
+        assertThat(gitDiffAsciidocPagesStructureProvider.sourceRevision(), is(Optional.of(commitId("HEAD"))));
+        assertThat(gitDiffAsciidocPagesStructureProvider.baseRevision(), is(Optional.of(commitId("HEAD~1"))));
+    }
+
+    @Test
+    public void sourceRevision_withUncommittedChanges_returnsEmptyOptional() throws Exception {
+        // arrange
+        writeFile("page-one.adoc", "= Page One\n\nContent");
+        commit();
+
+        writeFile("page-one.adoc", "= Page One\n\nChanged content");
+
+        // act
+        GitDiffAsciidocPagesStructureProvider gitDiffAsciidocPagesStructureProvider = new GitDiffAsciidocPagesStructureProvider(new FolderBasedAsciidocPagesStructureProvider(this.temporaryFolder, UTF_8), "HEAD");
+
+        // assert
+        assertThat(gitDiffAsciidocPagesStructureProvider.sourceRevision(), is(Optional.empty()));
+        assertThat(gitDiffAsciidocPagesStructureProvider.baseRevision(), is(Optional.of(commitId("HEAD"))));
+    }
+
+    private void writeFile(String relativePath, String content) throws Exception {
+        Path path = this.temporaryFolder.resolve(relativePath);
+        createDirectories(path.getParent());
+        write(path, content.getBytes(UTF_8));
+    }
+
+    private void commit() throws Exception {
+        git("init", "-q");
+        git("add", "-A");
+        git("-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-q", "-m", "commit");
+    }
+
+    private void git(String... arguments) throws Exception {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(arguments));
+
+        int exitCode = new ProcessBuilder(command).directory(this.temporaryFolder.toFile()).inheritIO().start().waitFor();
+        assertThat(exitCode, is(0));
+    }
+
+    private String commitId(String revision) throws Exception {
+        Process process = new ProcessBuilder("git", "rev-parse", revision).directory(this.temporaryFolder.toFile()).start();
+        String commitId = new String(process.getInputStream().readAllBytes(), UTF_8).trim();
+        assertThat(process.waitFor(), is(0));
+
+        return commitId;
+    }
+
+    private Path realPath(String relativePath) throws Exception {
+        return this.temporaryFolder.resolve(relativePath).toRealPath();
+    }
+
+}
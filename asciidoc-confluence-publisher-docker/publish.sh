@@ -3,10 +3,25 @@ exec java -cp "/opt/*:/opt/extensions/*" \
     org.sahli.asciidoc.confluence.publisher.cli.AsciidocConfluencePublisherCommandLineClient \
     asciidocRootFolder="$ASCIIDOC_ROOT_FOLDER" \
     sourceEncoding="$SOURCE_ENCODING" \
+    sourceIncludes="$SOURCE_INCLUDES" \
+    sourceExcludes="$SOURCE_EXCLUDES" \
     rootConfluenceUrl="$ROOT_CONFLUENCE_URL" \
     skipSslVerification="$SKIP_SSL_VERIFICATION" \
     maxRequestsPerSecond="$MAX_REQUESTS_PER_SECOND" \
     connectionTimeToLive="$CONNECTION_TIME_TO_LIVE" \
+    maxConnectionsTotal="$MAX_CONNECTIONS_TOTAL" \
+    maxConnectionsPerRoute="$MAX_CONNECTIONS_PER_ROUTE" \
+    keepAliveTimeout="$KEEP_ALIVE_TIMEOUT" \
+    idleConnectionTimeout="$IDLE_CONNECTION_TIMEOUT" \
+    socketTimeout="$SOCKET_TIMEOUT" \
+    tcpNoDelay="$TCP_NO_DELAY" \
+    publishingParallelism="$PUBLISHING_PARALLELISM" \
+    childPagesPageSize="$CHILD_PAGES_PAGE_SIZE" \
+    attachmentsPageSize="$ATTACHMENTS_PAGE_SIZE" \
+    labelsPageSize="$LABELS_PAGE_SIZE" \
+    conversionParallelism="$CONVERSION_PARALLELISM" \
+    incrementalConversion="$INCREMENTAL_CONVERSION" \
+    scanPageHeaders="$SCAN_PAGE_HEADERS" \
     spaceKey="$SPACE_KEY" \
     ancestorId="$ANCESTOR_ID" \
     username="$USERNAME" \
@@ -17,6 +32,16 @@ exec java -cp "/opt/*:/opt/extensions/*" \
     orphanRemovalStrategy="$ORPHAN_REMOVAL_STRATEGY" \
     versionMessage="$VERSION_MESSAGE" \
     notifyWatchers="$NOTIFY_WATCHERS" \
+    useContentManifest="$USE_CONTENT_MANIFEST" \
+    pipelinedPublishing="$PIPELINED_PUBLISHING" \
+    asyncRequests="$ASYNC_REQUESTS" \
+    deduplicateAttachments="$DEDUPLICATE_ATTACHMENTS" \
+    publishStateJournal="$PUBLISH_STATE_JOURNAL" \
+    publishStateJournalFile="$PUBLISH_STATE_JOURNAL_FILE" \
+    verifyPublishState="$VERIFY_PUBLISH_STATE" \
+    publishStateVerificationInterval="$PUBLISH_STATE_VERIFICATION_INTERVAL" \
+    resumablePublishing="$RESUMABLE_PUBLISHING" \
+    publishCheckpointFile="$PUBLISH_CHECKPOINT_FILE" \
     attributes="$ATTRIBUTES" \
     proxyScheme="$PROXY_SCHEME" \
     proxyHost="$PROXY_HOST" \
@@ -24,6 +49,8 @@ exec java -cp "/opt/*:/opt/extensions/*" \
     proxyUsername="$PROXY_USERNAME" \
     proxyPassword="$PROXY_PASSWORD" \
     convertOnly="$CONVERT_ONLY" \
+    dryRun="$DRY_RUN" \
+    publishPlanFile="$PUBLISH_PLAN_FILE" \
     failOnError="$FAIL_ON_ERROR" \
     asciidocBuildFolder="$ASCIIDOC_BUILD_FOLDER" \
     restApiVersion="$REST_API_VERSION"
@@ -24,19 +24,28 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.settings.Server;
 import org.apache.maven.settings.Settings;
+import org.sahli.asciidoc.confluence.publisher.client.AttachmentDigestCache;
 import org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisher;
 import org.sahli.asciidoc.confluence.publisher.client.ConfluencePublisherListener;
 import org.sahli.asciidoc.confluence.publisher.client.OrphanRemovalStrategy;
+import org.sahli.asciidoc.confluence.publisher.client.PublishCheckpoint;
+import org.sahli.asciidoc.confluence.publisher.client.PublishPlan;
+import org.sahli.asciidoc.confluence.publisher.client.PublishStateJournal;
 import org.sahli.asciidoc.confluence.publisher.client.PublishingStrategy;
+import org.sahli.asciidoc.confluence.publisher.client.http.AsyncConfluenceRestV2Client;
+import org.sahli.asciidoc.confluence.publisher.client.http.BlockingConfluenceClient;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceClient;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluencePage;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV1Client;
 import org.sahli.asciidoc.confluence.publisher.client.http.ConfluenceRestV2Client;
+import org.sahli.asciidoc.confluence.publisher.client.http.ConnectionPoolConfiguration;
+import org.sahli.asciidoc.confluence.publisher.client.http.PaginationConfiguration;
 import org.sahli.asciidoc.confluence.publisher.client.http.ProxyConfiguration;
 import org.sahli.asciidoc.confluence.publisher.client.metadata.ConfluencePublisherMetadata;
 import org.sahli.asciidoc.confluence.publisher.converter.AsciidocConfluenceConverter;
 import org.sahli.asciidoc.confluence.publisher.converter.AsciidocPagesStructureProvider;
 import org.sahli.asciidoc.confluence.publisher.converter.FolderBasedAsciidocPagesStructureProvider;
+import org.sahli.asciidoc.confluence.publisher.converter.GitDiffAsciidocPagesStructureProvider;
 import org.sahli.asciidoc.confluence.publisher.converter.PageTitlePostProcessor;
 import org.sahli.asciidoc.confluence.publisher.converter.PrefixAndSuffixPageTitlePostProcessor;
 import org.sonatype.plexus.components.sec.dispatcher.DefaultSecDispatcher;
@@ -45,8 +54,16 @@ import org.sonatype.plexus.components.sec.dispatcher.SecDispatcherException;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.write;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 
 /**
@@ -67,6 +84,12 @@ public class AsciidocConfluencePublisherMojo extends AbstractMojo {
     @Parameter(property = PREFIX + "sourceEncoding", defaultValue = "UTF-8")
     private String sourceEncoding;
 
+    @Parameter(property = PREFIX + "sourceIncludes")
+    private List<String> sourceIncludes;
+
+    @Parameter(property = PREFIX + "sourceExcludes")
+    private List<String> sourceExcludes;
+
     @Parameter(property = PREFIX + "rootConfluenceUrl")
     private String rootConfluenceUrl;
 
@@ -82,6 +105,51 @@ public class AsciidocConfluencePublisherMojo extends AbstractMojo {
     @Parameter(property = PREFIX + "connectionTimeToLive")
     private Integer connectionTimeToLive;
 
+    @Parameter(property = PREFIX + "maxConnectionsTotal")
+    private Integer maxConnectionsTotal;
+
+    @Parameter(property = PREFIX + "maxConnectionsPerRoute")
+    private Integer maxConnectionsPerRoute;
+
+    @Parameter(property = PREFIX + "keepAliveTimeout")
+    private Integer keepAliveTimeout;
+
+    @Parameter(property = PREFIX + "idleConnectionTimeout")
+    private Integer idleConnectionTimeout;
+
+    @Parameter(property = PREFIX + "socketTimeout")
+    private Integer socketTimeout;
+
+    @Parameter(property = PREFIX + "tcpNoDelay")
+    private Boolean tcpNoDelay;
+
+    @Parameter(property = PREFIX + "publishingParallelism", defaultValue = "1")
+    private int publishingParallelism;
+
+    @Parameter(property = PREFIX + "childPagesPageSize")
+    private Integer childPagesPageSize;
+
+    @Parameter(property = PREFIX + "attachmentsPageSize")
+    private Integer attachmentsPageSize;
+
+    @Parameter(property = PREFIX + "labelsPageSize")
+    private Integer labelsPageSize;
+
+    @Parameter(property = PREFIX + "conversionParallelism", defaultValue = "1")
+    private int conversionParallelism;
+
+    @Parameter(property = PREFIX + "incrementalConversion", defaultValue = "false")
+    private boolean incrementalConversion;
+
+    @Parameter(property = PREFIX + "scanPageHeaders", defaultValue = "false")
+    private boolean scanPageHeaders;
+
+    @Parameter(property = PREFIX + "gitBaseRevision")
+    private String gitBaseRevision;
+
+    @Parameter(property = PREFIX + "gitHeadRevision")
+    private String gitHeadRevision;
+
     @Parameter(property = PREFIX + "spaceKey", required = true)
     private String spaceKey;
 
@@ -139,6 +207,42 @@ public class AsciidocConfluencePublisherMojo extends AbstractMojo {
     @Parameter(property = PREFIX + "notifyWatchers")
     private boolean notifyWatchers;
 
+    @Parameter(property = PREFIX + "useContentManifest", defaultValue = "false")
+    private boolean useContentManifest;
+
+    @Parameter(property = PREFIX + "pipelinedPublishing", defaultValue = "false")
+    private boolean pipelinedPublishing;
+
+    @Parameter(property = PREFIX + "asyncRequests", defaultValue = "false")
+    private boolean asyncRequests;
+
+    @Parameter(property = PREFIX + "deduplicateAttachments", defaultValue = "false")
+    private boolean deduplicateAttachments;
+
+    @Parameter(property = PREFIX + "publishStateJournal", defaultValue = "false")
+    private boolean publishStateJournal;
+
+    @Parameter(property = PREFIX + "publishStateJournalFile")
+    private File publishStateJournalFile;
+
+    @Parameter(property = PREFIX + "verifyPublishState", defaultValue = "false")
+    private boolean verifyPublishState;
+
+    @Parameter(property = PREFIX + "publishStateVerificationInterval", defaultValue = "24")
+    private int publishStateVerificationInterval;
+
+    @Parameter(property = PREFIX + "resumablePublishing", defaultValue = "false")
+    private boolean resumablePublishing;
+
+    @Parameter(property = PREFIX + "publishCheckpointFile")
+    private File publishCheckpointFile;
+
+    @Parameter(property = PREFIX + "dryRun", defaultValue = "false")
+    private boolean dryRun;
+
+    @Parameter(property = PREFIX + "publishPlanFile")
+    private File publishPlanFile;
+
     @Parameter(property = PREFIX + "restApiVersion", defaultValue = "v2")
     private String restApiVersion;
 
@@ -161,9 +265,18 @@ public class AsciidocConfluencePublisherMojo extends AbstractMojo {
         try {
             PageTitlePostProcessor pageTitlePostProcessor = new PrefixAndSuffixPageTitlePostProcessor(this.pageTitlePrefix, this.pageTitleSuffix);
 
-            AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(this.asciidocRootFolder.toPath(), Charset.forName(this.sourceEncoding));
+            List<String> sourceIncludes = this.sourceIncludes != null ? this.sourceIncludes : emptyList();
+            List<String> sourceExcludes = this.sourceExcludes != null ? this.sourceExcludes : emptyList();
+            AsciidocPagesStructureProvider asciidocPagesStructureProvider = new FolderBasedAsciidocPagesStructureProvider(this.asciidocRootFolder.toPath(), Charset.forName(this.sourceEncoding), sourceIncludes, sourceExcludes);
+            if (this.gitBaseRevision != null) {
+                asciidocPagesStructureProvider = new GitDiffAsciidocPagesStructureProvider(asciidocPagesStructureProvider, this.gitBaseRevision, this.gitHeadRevision);
+            }
 
-            AsciidocConfluenceConverter asciidocConfluenceConverter = new AsciidocConfluenceConverter(this.spaceKey, this.ancestorId);
+            AsciidocConfluenceConverter asciidocConfluenceConverter = AsciidocConfluenceConverter.builder(this.spaceKey, this.ancestorId)
+                    .conversionParallelism(this.conversionParallelism)
+                    .incrementalConversion(this.incrementalConversion)
+                    .scanPageHeaders(this.scanPageHeaders)
+                    .build();
             Map<String, Object> attributes = this.attributes != null ? this.attributes : emptyMap();
             ConfluencePublisherMetadata confluencePublisherMetadata = asciidocConfluenceConverter.convert(asciidocPagesStructureProvider, pageTitlePostProcessor, this.confluencePublisherBuildFolder.toPath(), attributes);
 
@@ -174,14 +287,40 @@ public class AsciidocConfluencePublisherMojo extends AbstractMojo {
             if (this.convertOnly) {
                 getLog().info("Publishing to Confluence skipped ('convert only' is enabled)");
             } else {
-                getLog().info("Publishing to Confluence (REST API " + this.restApiVersion + ")");
+                getLog().info((this.dryRun ? "Computing publish plan for Confluence (dry run, REST API " : "Publishing to Confluence (REST API ") + this.restApiVersion + ")");
 
                 ProxyConfiguration proxyConfiguration = new ProxyConfiguration(this.proxyScheme, this.proxyHost, this.proxyPort, this.proxyUsername, this.proxyPassword);
                 ConfluenceClient confluenceClient = buildConfluenceClient(proxyConfiguration);
                 ConfluencePublisherListener confluencePublisherListener = new LoggingConfluencePublisherListener(getLog());
 
-                ConfluencePublisher confluencePublisher = new ConfluencePublisher(confluencePublisherMetadata, this.publishingStrategy, this.orphanRemovalStrategy, confluenceClient, confluencePublisherListener, this.versionMessage, this.notifyWatchers);
-                confluencePublisher.publish();
+                ConfluencePublisher confluencePublisher = ConfluencePublisher.builder(confluencePublisherMetadata, confluenceClient)
+                        .publishingStrategy(this.publishingStrategy)
+                        .orphanRemovalStrategy(this.orphanRemovalStrategy)
+                        .confluencePublisherListener(confluencePublisherListener)
+                        .versionMessage(this.versionMessage)
+                        .notifyWatchers(this.notifyWatchers)
+                        .publishingParallelism(this.publishingParallelism)
+                        .useContentManifest(this.useContentManifest)
+                        .pipelinedPublishing(this.pipelinedPublishing)
+                        .attachmentDigestCache(AttachmentDigestCache.load(this.confluencePublisherBuildFolder.toPath().resolve(AttachmentDigestCache.DEFAULT_CACHE_FILE_NAME)))
+                        .deduplicateAttachments(this.deduplicateAttachments)
+                        .publishStateJournal(publishStateJournal())
+                        .publishCheckpoint(publishCheckpoint())
+                        .build();
+
+                if (this.dryRun) {
+                    PublishPlan publishPlan = confluencePublisher.plan();
+                    logPublishPlan(publishPlan);
+
+                    if (this.publishPlanFile != null) {
+                        write(this.publishPlanFile.toPath(), publishPlan.toJson().getBytes(UTF_8));
+                        getLog().info("Publish plan written to '" + this.publishPlanFile.getAbsolutePath() + "'");
+                    }
+                } else {
+                    confluencePublisher.publish();
+                }
+
+                confluenceClient.connectionPoolStatistics().ifPresent((statistics) -> getLog().info("Connection pool: " + statistics));
             }
         } catch (Exception e) {
             if (getLog().isDebugEnabled()) {
@@ -197,11 +336,60 @@ public class AsciidocConfluencePublisherMojo extends AbstractMojo {
         }
     }
 
+    private void logPublishPlan(PublishPlan publishPlan) {
+        publishPlan.getOperations().forEach((operation) -> getLog().info("Planned " + operation));
+        publishPlan.getSummary().forEach((type, count) -> getLog().info("Planned " + type + " operations: " + count));
+        getLog().info("Estimated requests: " + publishPlan.getEstimatedRequests() + " (" + publishPlan.getReadRequests() + " read, " + publishPlan.getWriteRequests() + " write)");
+    }
+
+    private PublishStateJournal publishStateJournal() {
+        if (!this.publishStateJournal) {
+            return PublishStateJournal.disabled();
+        }
+
+        Path journalFile = this.publishStateJournalFile != null
+                ? this.publishStateJournalFile.toPath()
+                : this.confluencePublisherBuildFolder.toPath().resolve(PublishStateJournal.DEFAULT_JOURNAL_FILE_NAME);
+
+        return PublishStateJournal.load(journalFile, Duration.ofHours(this.publishStateVerificationInterval), this.verifyPublishState);
+    }
+
+    private PublishCheckpoint publishCheckpoint() {
+        if (!this.resumablePublishing) {
+            return PublishCheckpoint.disabled();
+        }
+
+        Path checkpointFile = this.publishCheckpointFile != null
+                ? this.publishCheckpointFile.toPath()
+                : this.confluencePublisherBuildFolder.toPath().resolve(PublishCheckpoint.DEFAULT_CHECKPOINT_FILE_NAME);
+
+        return PublishCheckpoint.load(checkpointFile);
+    }
+
     private ConfluenceClient buildConfluenceClient(ProxyConfiguration proxyConfiguration) {
+        ConnectionPoolConfiguration connectionPoolConfiguration = new ConnectionPoolConfiguration(this.maxConnectionsTotal, this.maxConnectionsPerRoute, this.keepAliveTimeout,
+                this.idleConnectionTimeout, this.socketTimeout, this.tcpNoDelay);
+
         if ("v1".equals(this.restApiVersion)) {
-            return new ConfluenceRestV1Client(this.rootConfluenceUrl, proxyConfiguration, this.skipSslVerification, this.enableHttpClientSystemProperties, this.maxRequestsPerSecond, this.connectionTimeToLive, this.username, this.password);
+            if (this.asyncRequests) {
+                getLog().warn("Asynchronous requests are only supported for REST API v2, using blocking requests");
+            }
+
+            return new ConfluenceRestV1Client(this.rootConfluenceUrl, proxyConfiguration, connectionPoolConfiguration, this.skipSslVerification, this.enableHttpClientSystemProperties, this.maxRequestsPerSecond, this.connectionTimeToLive, this.username, this.password);
         } else {
-            return new ConfluenceRestV2Client(this.rootConfluenceUrl, proxyConfiguration, this.skipSslVerification, this.enableHttpClientSystemProperties, this.maxRequestsPerSecond, this.connectionTimeToLive, this.username, this.password);
+            PaginationConfiguration paginationConfiguration = new PaginationConfiguration(this.childPagesPageSize, this.attachmentsPageSize, this.labelsPageSize);
+
+            if (this.asyncRequests && this.skipSslVerification) {
+                getLog().warn("Asynchronous requests do not support skipping the SSL hostname verification, using blocking requests");
+            } else if (this.asyncRequests) {
+                if (Stream.of(this.maxConnectionsTotal, this.maxConnectionsPerRoute, this.keepAliveTimeout, this.idleConnectionTimeout, this.socketTimeout, this.tcpNoDelay, this.connectionTimeToLive).anyMatch(Objects::nonNull)) {
+                    getLog().warn("Connection pool settings and connection time to live are not supported with asynchronous requests, using the connection handling of the JDK http client");
+                }
+
+                return new BlockingConfluenceClient(new AsyncConfluenceRestV2Client(this.rootConfluenceUrl, proxyConfiguration, paginationConfiguration, this.skipSslVerification, this.enableHttpClientSystemProperties, this.maxRequestsPerSecond, this.username, this.password));
+            }
+
+            return new ConfluenceRestV2Client(this.rootConfluenceUrl, proxyConfiguration, paginationConfiguration, connectionPoolConfiguration, this.skipSslVerification, this.enableHttpClientSystemProperties, this.maxRequestsPerSecond, this.connectionTimeToLive, this.username, this.password);
         }
     }
 